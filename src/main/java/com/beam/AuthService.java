@@ -27,6 +27,15 @@ public class AuthService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     @Transactional
     public AuthResponse register(AuthRequest request) {
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
@@ -61,6 +70,7 @@ public class AuthService {
         user.setVerificationCode(verificationCode);
         user.setVerificationCodeExpiresAt(LocalDateTime.now().plusMinutes(5));
         user = userRepository.save(user);
+        userSearchIndex.onUserChanged(user);
 
         emailService.sendVerificationEmail(request.getEmail(), verificationCode);
 
@@ -90,6 +100,8 @@ public class AuthService {
         user.setLastSeen(LocalDateTime.now());
         user.setIsOnline(true);
         userRepository.save(user);
+        userDirectory.invalidate(user.getId());
+        inboxService.updatePresence(user.getId(), true);
 
         String token = jwtUtil.generateToken(user.getUsername(), user.getId());
 
@@ -111,6 +123,8 @@ public class AuthService {
             user.setIsOnline(false);
             user.setLastSeen(LocalDateTime.now());
             userRepository.save(user);
+            userDirectory.invalidate(userId);
+            inboxService.updatePresence(userId, false);
         }
     }
 
@@ -170,6 +184,9 @@ public class AuthService {
         user.setVerificationCode(null);
         user.setVerificationCodeExpiresAt(null);
         userRepository.save(user);
+        userDirectory.invalidate(user.getId());
+        // 활성화된 시점부터 검색 대상
+        userSearchIndex.onUserChanged(user);
 
         String token = jwtUtil.generateToken(user.getUsername(), user.getId());
 
@@ -22,6 +22,12 @@ public class ChatController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -120,6 +126,8 @@ public class ChatController {
             user.setDisplayName(displayName);
             user.setIsOnline(true);
             userRepository.save(user);
+            userDirectory.invalidate(user.getId());
+            userSearchIndex.onUserChanged(user);
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
@@ -215,6 +223,7 @@ public class ChatController {
             user.setVerificationCodeExpiresAt(null);
             user.setIsOnline(true);
             userRepository.save(user);
+            userDirectory.invalidate(user.getId());
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
@@ -326,6 +335,8 @@ public class ChatController {
             user.setVerificationCode(null);
             user.setVerificationCodeExpiresAt(null);
             userRepository.save(user);
+            userDirectory.invalidate(user.getId());
+            userSearchIndex.onUserChanged(user);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -372,6 +383,8 @@ public class ChatController {
             user.setDisplayName(displayName);
             user.setIsOnline(true);
             userRepository.save(user);
+            userDirectory.invalidate(user.getId());
+            userSearchIndex.onUserChanged(user);
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
@@ -414,6 +427,7 @@ public class ChatController {
             // 사용자 온라인 상태 업데이트
             user.setIsOnline(true);
             userRepository.save(user);
+            userDirectory.invalidate(user.getId());
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
@@ -0,0 +1,331 @@
+package com.beam;
+
+import com.beam.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Conversation Delta Buffer
+ *
+ * <p>Keeps unread counters and last-message metadata of DM conversations
+ * out of the send and read transactions. Sends and read receipts record a
+ * delta in one of {@code conversation.delta.stripes} lock stripes; every
+ * {@code conversation.delta.flush-ms} the pending deltas are swapped out and
+ * folded into {@code conversations} with one atomic
+ * {@code SET unread = unread + :delta} update per conversation. Two users
+ * chatting fast therefore no longer serialize on the conversation row, and
+ * no increment is lost to a read-modify-write.
+ *
+ * <p>Reads go through {@link #merge(List)}, which overlays pending and
+ * in-flight deltas on the rows, so counters are exact except for the short
+ * moment between a flush commit and the in-flight deltas being released.
+ * Pending deltas are lost if the process dies before a flush; disable with
+ * {@code conversation.delta.enabled=false} to update the row in the send
+ * transaction instead.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class ConversationDeltaBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationDeltaBuffer.class);
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${conversation.delta.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${conversation.delta.stripes:64}")
+    private int stripeCount = 64;
+
+    @Value("${conversation.delta.max-known:100000}")
+    private long maxKnown = 100000;
+
+    private Stripe[] stripes;
+    private Cache<String, Boolean> knownConversations;
+
+    @PostConstruct
+    public void init() {
+        stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        knownConversations = Caffeine.newBuilder()
+            .maximumSize(maxKnown)
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 대화방 행이 이미 있는지 (이 인스턴스가 확인했거나 만든 대화방만 기억)
+     */
+    public boolean isKnown(String conversationId) {
+        return knownConversations.getIfPresent(conversationId) != null;
+    }
+
+    /**
+     * 대화방 행 확인/생성 후 호출 - 생성이 롤백될 수 있으므로 커밋 후 기억
+     */
+    public void markKnown(String conversationId) {
+        TransactionHooks.afterCommit(() -> knownConversations.put(conversationId, Boolean.TRUE));
+    }
+
+    /**
+     * 메시지 전송 반영 - 받는 사람 안 읽음 +1, 마지막 메시지 갱신 (커밋 후 적용)
+     */
+    public void recordMessage(DirectMessageEntity message) {
+        TransactionHooks.afterCommit(() -> update(message.getConversationId(),
+            message.getSenderId(), message.getReceiverId(),
+            delta -> delta.addMessage(message.getSenderId(), message.getReceiverId(),
+                message.getContent(), message.getTimestamp())));
+    }
+
+    /**
+     * 읽음 처리 반영 - readerId 쪽 안 읽음 수를 0으로 (커밋 후 적용)
+     */
+    public void recordRead(String conversationId, Long readerId, Long otherUserId) {
+        TransactionHooks.afterCommit(() -> update(conversationId, readerId, otherUserId,
+            delta -> delta.reset(readerId)));
+    }
+
+    /**
+     * 조회한 대화방 행에 아직 반영되지 않은 델타를 덮어씌운 사본 목록 (최근 메시지 순)
+     */
+    public List<ConversationEntity> merge(List<ConversationEntity> conversations) {
+        List<ConversationEntity> merged = new ArrayList<>(conversations.size());
+        boolean changed = false;
+        for (ConversationEntity conversation : conversations) {
+            Delta delta = snapshot(conversation.getConversationId());
+            if (delta == null) {
+                merged.add(conversation);
+            } else {
+                merged.add(delta.applyTo(conversation));
+                changed = true;
+            }
+        }
+        if (changed) {
+            merged.sort(Comparator.comparing(ConversationEntity::getLastMessageTime,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        }
+        return merged;
+    }
+
+    /**
+     * 대기 중인 델타를 대화방 행에 반영
+     */
+    @Scheduled(fixedDelayString = "${conversation.delta.flush-ms:1000}")
+    public synchronized void flush() {
+        List<Delta> batch = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                batch.addAll(stripe.pending.values());
+                stripe.inFlight = stripe.pending;
+                stripe.pending = new HashMap<>();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (Delta delta : batch) {
+                    apply(delta, now);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도 - 그 사이 쌓인 델타보다 앞선 것으로 합침
+            logger.warn("Conversation delta flush failed, retrying {} conversations: {}", batch.size(), e.getMessage());
+            for (Delta delta : batch) {
+                Stripe stripe = stripeFor(delta.conversationId);
+                synchronized (stripe) {
+                    Delta later = stripe.pending.get(delta.conversationId);
+                    stripe.pending.put(delta.conversationId, later != null ? delta.followedBy(later) : delta);
+                }
+            }
+        } finally {
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.inFlight = Map.of();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void apply(Delta delta, LocalDateTime now) {
+        int updated = delta.lastMessageTime != null
+            ? conversationRepository.applyDelta(delta.conversationId,
+                delta.unread1, delta.reset1, delta.unread2, delta.reset2,
+                delta.lastMessage, delta.lastMessageTime, delta.lastMessageSenderId, now)
+            : conversationRepository.applyUnreadDelta(delta.conversationId,
+                delta.unread1, delta.reset1, delta.unread2, delta.reset2, now);
+        if (updated == 0) {
+            logger.warn("Dropping delta for missing conversation {}", delta.conversationId);
+        }
+    }
+
+    private void update(String conversationId, Long userA, Long userB, Consumer<Delta> change) {
+        Stripe stripe = stripeFor(conversationId);
+        synchronized (stripe) {
+            change.accept(stripe.pending.computeIfAbsent(conversationId,
+                id -> new Delta(id, Math.min(userA, userB))));
+        }
+    }
+
+    private Delta snapshot(String conversationId) {
+        Stripe stripe = stripeFor(conversationId);
+        synchronized (stripe) {
+            Delta inFlight = stripe.inFlight.get(conversationId);
+            Delta pending = stripe.pending.get(conversationId);
+            if (inFlight == null) {
+                return pending != null ? pending.copy() : null;
+            }
+            return pending != null ? inFlight.followedBy(pending) : inFlight.copy();
+        }
+    }
+
+    private Stripe stripeFor(String conversationId) {
+        return stripes[Math.floorMod(conversationId.hashCode(), stripes.length)];
+    }
+
+    private static final class Stripe {
+        Map<String, Delta> pending = new HashMap<>();
+        Map<String, Delta> inFlight = Map.of();
+    }
+
+    /**
+     * 한 대화방의 미반영 변경분 (user1 = 작은 id)
+     */
+    static final class Delta {
+        final String conversationId;
+        final Long user1Id;
+        int unread1;
+        int unread2;
+        boolean reset1;
+        boolean reset2;
+        String lastMessage;
+        LocalDateTime lastMessageTime;
+        Long lastMessageSenderId;
+
+        Delta(String conversationId, Long user1Id) {
+            this.conversationId = conversationId;
+            this.user1Id = user1Id;
+        }
+
+        void addMessage(Long senderId, Long receiverId, String content, LocalDateTime time) {
+            if (receiverId.equals(user1Id)) {
+                unread1++;
+            } else {
+                unread2++;
+            }
+            if (lastMessageTime == null || !time.isBefore(lastMessageTime)) {
+                lastMessage = content;
+                lastMessageTime = time;
+                lastMessageSenderId = senderId;
+            }
+        }
+
+        void reset(Long readerId) {
+            if (readerId.equals(user1Id)) {
+                unread1 = 0;
+                reset1 = true;
+            } else {
+                unread2 = 0;
+                reset2 = true;
+            }
+        }
+
+        /**
+         * this 다음에 later 가 일어난 것으로 합친 델타
+         */
+        Delta followedBy(Delta later) {
+            Delta combined = later.copy();
+            if (!later.reset1) {
+                combined.unread1 = unread1 + later.unread1;
+                combined.reset1 = reset1;
+            }
+            if (!later.reset2) {
+                combined.unread2 = unread2 + later.unread2;
+                combined.reset2 = reset2;
+            }
+            if (lastMessageTime != null
+                && (later.lastMessageTime == null || lastMessageTime.isAfter(later.lastMessageTime))) {
+                combined.lastMessage = lastMessage;
+                combined.lastMessageTime = lastMessageTime;
+                combined.lastMessageSenderId = lastMessageSenderId;
+            }
+            return combined;
+        }
+
+        Delta copy() {
+            Delta copy = new Delta(conversationId, user1Id);
+            copy.unread1 = unread1;
+            copy.unread2 = unread2;
+            copy.reset1 = reset1;
+            copy.reset2 = reset2;
+            copy.lastMessage = lastMessage;
+            copy.lastMessageTime = lastMessageTime;
+            copy.lastMessageSenderId = lastMessageSenderId;
+            return copy;
+        }
+
+        /**
+         * 행은 건드리지 않고 델타를 반영한 사본 반환 (영속 엔티티 변경 방지)
+         */
+        ConversationEntity applyTo(ConversationEntity row) {
+            boolean newer = lastMessageTime != null
+                && (row.getLastMessageTime() == null || !lastMessageTime.isBefore(row.getLastMessageTime()));
+            return ConversationEntity.builder()
+                .id(row.getId())
+                .conversationId(row.getConversationId())
+                .user1Id(row.getUser1Id())
+                .user2Id(row.getUser2Id())
+                .lastMessage(newer ? lastMessage : row.getLastMessage())
+                .lastMessageTime(newer ? lastMessageTime : row.getLastMessageTime())
+                .lastMessageSenderId(newer ? lastMessageSenderId : row.getLastMessageSenderId())
+                .unreadCountUser1(reset1 ? unread1 : valueOf(row.getUnreadCountUser1()) + unread1)
+                .unreadCountUser2(reset2 ? unread2 : valueOf(row.getUnreadCountUser2()) + unread2)
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+        }
+
+        private static int valueOf(Integer count) {
+            return count != null ? count : 0;
+        }
+    }
+}
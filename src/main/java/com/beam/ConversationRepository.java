@@ -1,10 +1,12 @@
 package com.beam;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +24,52 @@ public interface ConversationRepository extends JpaRepository<ConversationEntity
            "(c.user1Id = :user1Id AND c.user2Id = :user2Id) OR " +
            "(c.user1Id = :user2Id AND c.user2Id = :user1Id)")
     Optional<ConversationEntity> findByUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
-}
\ No newline at end of file
+
+    /**
+     * userId 쪽 안 읽음 수를 0으로 (행을 읽어오지 않고 원자적으로)
+     */
+    @Modifying
+    @Query("UPDATE ConversationEntity c SET " +
+           "c.unreadCountUser1 = CASE WHEN c.user1Id = :userId THEN 0 ELSE c.unreadCountUser1 END, " +
+           "c.unreadCountUser2 = CASE WHEN c.user2Id = :userId THEN 0 ELSE c.unreadCountUser2 END, " +
+           "c.updatedAt = :now " +
+           "WHERE c.conversationId = :conversationId")
+    int resetUnreadCount(@Param("conversationId") String conversationId, @Param("userId") Long userId,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * 안 읽음 수 델타 반영 (reset 이면 기존 값을 버리고 델타로 덮어씀)
+     */
+    @Modifying
+    @Query("UPDATE ConversationEntity c SET " +
+           "c.unreadCountUser1 = CASE WHEN :reset1 = true THEN :unread1 ELSE c.unreadCountUser1 + :unread1 END, " +
+           "c.unreadCountUser2 = CASE WHEN :reset2 = true THEN :unread2 ELSE c.unreadCountUser2 + :unread2 END, " +
+           "c.updatedAt = :now " +
+           "WHERE c.conversationId = :conversationId")
+    int applyUnreadDelta(@Param("conversationId") String conversationId,
+                         @Param("unread1") int unread1, @Param("reset1") boolean reset1,
+                         @Param("unread2") int unread2, @Param("reset2") boolean reset2,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * 안 읽음 수 델타 + 마지막 메시지 반영 (마지막 메시지는 더 최신일 때만 교체)
+     */
+    @Modifying
+    @Query("UPDATE ConversationEntity c SET " +
+           "c.unreadCountUser1 = CASE WHEN :reset1 = true THEN :unread1 ELSE c.unreadCountUser1 + :unread1 END, " +
+           "c.unreadCountUser2 = CASE WHEN :reset2 = true THEN :unread2 ELSE c.unreadCountUser2 + :unread2 END, " +
+           "c.lastMessage = CASE WHEN c.lastMessageTime IS NULL OR c.lastMessageTime <= :lastMessageTime " +
+           "THEN :lastMessage ELSE c.lastMessage END, " +
+           "c.lastMessageSenderId = CASE WHEN c.lastMessageTime IS NULL OR c.lastMessageTime <= :lastMessageTime " +
+           "THEN :lastMessageSenderId ELSE c.lastMessageSenderId END, " +
+           "c.lastMessageTime = CASE WHEN c.lastMessageTime IS NULL OR c.lastMessageTime <= :lastMessageTime " +
+           "THEN :lastMessageTime ELSE c.lastMessageTime END, " +
+           "c.updatedAt = :now " +
+           "WHERE c.conversationId = :conversationId")
+    int applyDelta(@Param("conversationId") String conversationId,
+                   @Param("unread1") int unread1, @Param("reset1") boolean reset1,
+                   @Param("unread2") int unread2, @Param("reset2") boolean reset2,
+                   @Param("lastMessage") String lastMessage, @Param("lastMessageTime") LocalDateTime lastMessageTime,
+                   @Param("lastMessageSenderId") Long lastMessageSenderId,
+                   @Param("now") LocalDateTime now);
+}
@@ -1,9 +1,12 @@
 package com.beam;
 
+import com.beam.dto.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -15,7 +18,7 @@ public class DirectMessageController {
     private DirectMessageService directMessageService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -55,18 +58,23 @@ public class DirectMessageController {
 
             List<ConversationEntity> conversations = directMessageService.getUserConversations(userId);
 
+            // 상대방 프로필을 한 번에 조회 (대화방마다 findById 하지 않음)
+            Map<Long, UserSummary> otherUsers = userDirectory.findAll(conversations.stream()
+                .map(conv -> conv.getUser1Id().equals(userId) ? conv.getUser2Id() : conv.getUser1Id())
+                .toList());
+
             List<Map<String, Object>> result = conversations.stream().map(conv -> {
                 Long otherUserId = conv.getUser1Id().equals(userId) ? conv.getUser2Id() : conv.getUser1Id();
-                Optional<UserEntity> otherUserOpt = userRepository.findById(otherUserId);
+                Optional<UserSummary> otherUserOpt = Optional.ofNullable(otherUsers.get(otherUserId));
 
                 Map<String, Object> convMap = new HashMap<>();
                 convMap.put("conversationId", conv.getConversationId());
                 convMap.put("otherUserId", otherUserId);
-                convMap.put("otherUserName", otherUserOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                convMap.put("otherUserName", otherUserOpt.map(UserSummary::getDisplayName).orElse("Unknown"));
                 convMap.put("lastMessage", conv.getLastMessage());
                 convMap.put("lastMessageTime", conv.getLastMessageTime() != null ? conv.getLastMessageTime().toString() : null);
                 convMap.put("unreadCount", conv.getUnreadCount(userId));
-                convMap.put("isOnline", otherUserOpt.map(UserEntity::getIsOnline).orElse(false));
+                convMap.put("isOnline", otherUserOpt.map(UserSummary::isOnline).orElse(false));
 
                 return convMap;
             }).collect(Collectors.toList());
@@ -111,6 +119,48 @@ public class DirectMessageController {
         }
     }
 
+    /**
+     * 과거 내역 조회 (커서 기반, 최신순) - 아카이브된 오래된 메시지까지 이어서 조회
+     */
+    @GetMapping("/conversation/{conversationId}/history")
+    public ResponseEntity<?> getConversationHistory(
+            @RequestHeader("Authorization") String token,
+            @PathVariable String conversationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+
+            List<DirectMessageEntity> messages =
+                directMessageService.getConversationHistory(conversationId, userId, before, limit);
+
+            List<Map<String, Object>> result = messages.stream().map(msg -> {
+                Map<String, Object> msgMap = new HashMap<>();
+                msgMap.put("id", msg.getId());
+                msgMap.put("senderId", msg.getSenderId());
+                msgMap.put("receiverId", msg.getReceiverId());
+                msgMap.put("content", msg.getContent());
+                msgMap.put("timestamp", msg.getTimestamp().toString());
+                msgMap.put("isRead", msg.getIsRead());
+                msgMap.put("messageType", msg.getMessageType() != null ? msg.getMessageType().toString() : null);
+                msgMap.put("isMine", msg.getSenderId().equals(userId));
+
+                return msgMap;
+            }).collect(Collectors.toList());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("messages", result);
+            response.put("nextBefore", messages.isEmpty() ? null
+                : messages.get(messages.size() - 1).getTimestamp().toString());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PostMapping("/conversation/start")
     public ResponseEntity<?> startConversation(
             @RequestHeader("Authorization") String token,
@@ -122,12 +172,12 @@ public class DirectMessageController {
 
             ConversationEntity conversation = directMessageService.getOrCreateConversation(userId, otherUserId);
 
-            Optional<UserEntity> otherUser = userRepository.findById(otherUserId);
+            Optional<UserSummary> otherUser = userDirectory.find(otherUserId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("conversationId", conversation.getConversationId());
             response.put("otherUserId", otherUserId);
-            response.put("otherUserName", otherUser.map(UserEntity::getDisplayName).orElse("Unknown"));
+            response.put("otherUserName", otherUser.map(UserSummary::getDisplayName).orElse("Unknown"));
             response.put("success", true);
 
             return ResponseEntity.ok(response);
@@ -146,11 +196,12 @@ public class DirectMessageController {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            directMessageService.markMessagesAsRead(conversationId, userId);
+            int count = directMessageService.markMessagesAsRead(conversationId, userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Messages marked as read");
+            response.put("count", count);
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -104,6 +104,26 @@ public class DirectMessageEntity {
         return "dm_" + smaller + "_" + larger;
     }
 
+    /**
+     * generateConversationId 로 만든 id 에서 상대방 id 추출 (형식이 다르거나 참여자가 아니면 null)
+     */
+    public static Long otherParticipantId(String conversationId, Long userId) {
+        String[] parts = conversationId.split("_");
+        if (parts.length != 3 || !"dm".equals(parts[0])) {
+            return null;
+        }
+        try {
+            long smaller = Long.parseLong(parts[1]);
+            long larger = Long.parseLong(parts[2]);
+            if (userId == smaller) {
+                return larger;
+            }
+            return userId == larger ? smaller : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     // Getters
     public Long getId() {
         return id;
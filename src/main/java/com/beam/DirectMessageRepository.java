@@ -1,10 +1,17 @@
 package com.beam;
 
+import com.beam.search.SearchFanOut;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,12 +21,40 @@ public interface DirectMessageRepository extends JpaRepository<DirectMessageEnti
 
     List<DirectMessageEntity> findTop50ByConversationIdOrderByTimestampDesc(String conversationId);
 
+    // 커서 이전 메시지 (최신순)
+    List<DirectMessageEntity> findByConversationIdAndTimestampBeforeOrderByTimestampDescIdDesc(
+            String conversationId, LocalDateTime before, Pageable pageable);
+
+    // 아카이브 대상 (오래된 순)
+    @Query("SELECT DISTINCT d.conversationId FROM DirectMessageEntity d WHERE d.timestamp < :cutoff")
+    List<String> findConversationIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    List<DirectMessageEntity> findByConversationIdAndTimestampBeforeOrderByTimestampAscIdAsc(
+            String conversationId, LocalDateTime cutoff, Pageable pageable);
+
+    // 키워드 검색 (최신순, 커서 이후부터) - pattern 은 소문자 LIKE 패턴, 팬아웃 마감 뒤에는 DB 에서 끊김
+    @Query("SELECT d FROM DirectMessageEntity d WHERE d.conversationId IN :conversationIds " +
+           "AND LOWER(d.content) LIKE :pattern ESCAPE '\\' " +
+           "AND (d.timestamp < :beforeTime OR (d.timestamp = :beforeTime AND d.id < :beforeId)) " +
+           "ORDER BY d.timestamp DESC, d.id DESC")
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = SearchFanOut.QUERY_TIMEOUT_MS))
+    List<DirectMessageEntity> searchBefore(@Param("conversationIds") Collection<String> conversationIds,
+                                           @Param("pattern") String pattern,
+                                           @Param("beforeTime") LocalDateTime beforeTime,
+                                           @Param("beforeId") Long beforeId,
+                                           Pageable pageable);
+
+    // 검색 색인 따라잡기 (id 순)
+    List<DirectMessageEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     @Query("SELECT COUNT(d) FROM DirectMessageEntity d WHERE d.conversationId = :conversationId " +
            "AND d.receiverId = :userId AND d.isRead = false")
     Integer countUnreadMessages(@Param("conversationId") String conversationId, @Param("userId") Long userId);
 
-    @Query("SELECT d FROM DirectMessageEntity d WHERE d.conversationId = :conversationId " +
-           "AND d.receiverId = :userId AND d.isRead = false")
-    List<DirectMessageEntity> findUnreadMessages(@Param("conversationId") String conversationId,
-                                                   @Param("userId") Long userId);
+    // 받은 메시지 일괄 읽음 처리 (엔티티를 읽어오지 않음)
+    @Modifying
+    @Query("UPDATE DirectMessageEntity d SET d.isRead = true, d.readAt = :readAt " +
+           "WHERE d.conversationId = :conversationId AND d.receiverId = :userId AND d.isRead = false")
+    int markConversationRead(@Param("conversationId") String conversationId, @Param("userId") Long userId,
+                             @Param("readAt") LocalDateTime readAt);
 }
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.beam;
 
+import com.beam.archive.ArchiveCodecs;
+import com.beam.archive.MessageArchive;
+import com.beam.dto.UserSummary;
+import com.beam.search.MessageSearchIndexer;
+import com.beam.search.SearchResultCache;
+import com.beam.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 public class DirectMessageService {
@@ -18,21 +27,41 @@ public class DirectMessageService {
     private ConversationRepository conversationRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private DirectMessageWriter directMessageWriter;
+
+    @Autowired
+    private ConversationDeltaBuffer conversationDeltaBuffer;
+
+    @Autowired
+    private InboxService inboxService;
+
+    // archive.enabled=false 면 없음
+    @Autowired(required = false)
+    private MessageArchive messageArchive;
+
+    @Autowired
+    private MessageSearchIndexer messageSearchIndexer;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired(required = false)
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
 
     @Transactional
     public DirectMessageEntity sendMessage(Long senderId, Long receiverId, String content) {
-        UserEntity sender = userRepository.findById(senderId)
+        UserSummary sender = userDirectory.find(senderId)
             .orElseThrow(() -> new RuntimeException("Sender not found"));
-        UserEntity receiver = userRepository.findById(receiverId)
+        UserSummary receiver = userDirectory.find(receiverId)
             .orElseThrow(() -> new RuntimeException("Receiver not found"));
 
         String conversationId = DirectMessageEntity.generateConversationId(senderId, receiverId);
 
-        ConversationEntity conversation = conversationRepository
-            .findByConversationId(conversationId)
-            .orElseGet(() -> createConversation(senderId, receiverId, conversationId));
-
         DirectMessageEntity message = DirectMessageEntity.builder()
             .conversationId(conversationId)
             .senderId(senderId)
@@ -41,55 +70,124 @@ public class DirectMessageService {
             .messageType(DirectMessageEntity.MessageType.TEXT)
             .timestamp(LocalDateTime.now())
             .isRead(false)
+            .isDeleted(false)
             .build();
 
-        message = directMessageRepository.save(message);
+        if (conversationDeltaBuffer.isEnabled()) {
+            // 대화방 행은 존재만 보장하고 안 읽음 수/마지막 메시지는 델타 버퍼가 모아서 반영 (행 잠금 없음)
+            if (directMessageWriter.isSupported()) {
+                message.setId(directMessageWriter.insert(message));
+            } else {
+                if (!conversationDeltaBuffer.isKnown(conversationId)) {
+                    conversationRepository.findByConversationId(conversationId)
+                        .orElseGet(() -> createConversation(senderId, receiverId, conversationId));
+                    conversationDeltaBuffer.markKnown(conversationId);
+                }
+                message = directMessageRepository.save(message);
+            }
+            conversationDeltaBuffer.recordMessage(message);
+        } else if (directMessageWriter.isSupported()) {
+            // PostgreSQL: 메시지 INSERT + 대화방 UPSERT(안 읽음 수 원자적 증가)를 한 번의 왕복으로 처리
+            message.setId(directMessageWriter.send(message));
+        } else {
+            ConversationEntity conversation = conversationRepository
+                .findByConversationId(conversationId)
+                .orElseGet(() -> createConversation(senderId, receiverId, conversationId));
+
+            message = directMessageRepository.save(message);
+
+            conversation.setLastMessage(content);
+            conversation.setLastMessageTime(message.getTimestamp());
+            conversation.setLastMessageSenderId(senderId);
+            conversation.incrementUnreadCount(receiverId);
+            conversationRepository.save(conversation);
+        }
 
-        conversation.setLastMessage(content);
-        conversation.setLastMessageTime(message.getTimestamp());
-        conversation.setLastMessageSenderId(senderId);
-        conversation.incrementUnreadCount(receiverId);
-        conversationRepository.save(conversation);
+        inboxService.onDirectMessage(message, sender, receiver);
+        messageSearchIndexer.onDirectMessage(message);
+        searchResultCache.onDirectMessage(senderId, receiverId, content);
 
         return message;
     }
 
+    /**
+     * 대화의 핫 테이블 메시지 (오래된 순) - 아카이브된 과거 내역은 getConversationHistory 커서로 조회
+     */
     @Transactional
     public List<DirectMessageEntity> getConversationMessages(String conversationId, Long userId) {
-        List<DirectMessageEntity> messages = directMessageRepository
-            .findByConversationIdOrderByTimestampAsc(conversationId);
-
+        // 일괄 UPDATE 는 영속성 컨텍스트를 거치지 않으므로 읽음 처리 후 조회
         markMessagesAsRead(conversationId, userId);
 
+        return directMessageRepository.findByConversationIdOrderByTimestampAsc(conversationId);
+    }
+
+    /**
+     * 커서 기반 과거 내역 조회 (before 이전 메시지를 최신순으로 최대 limit 건)
+     * 핫 테이블에서 모자라는 만큼 아카이브 세그먼트에서 이어서 읽음
+     */
+    @Transactional(readOnly = true)
+    public List<DirectMessageEntity> getConversationHistory(String conversationId, Long userId,
+                                                            LocalDateTime before, int limit) {
+        ConversationEntity conversation = conversationRepository.findByConversationId(conversationId)
+            .orElseThrow(() -> new RuntimeException("Conversation not found"));
+        if (!userId.equals(conversation.getUser1Id()) && !userId.equals(conversation.getUser2Id())) {
+            throw new RuntimeException("Not a participant of this conversation");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        LocalDateTime cursor = before != null ? before : LocalDateTime.now().plusSeconds(1);
+
+        List<DirectMessageEntity> messages = new ArrayList<>(directMessageRepository
+            .findByConversationIdAndTimestampBeforeOrderByTimestampDescIdDesc(
+                conversationId, cursor, PageRequest.of(0, pageSize)));
+
+        // 핫 테이블에 cursor 이전 메시지가 더 없으면 나머지는 전부 아카이브에 있음 (아카이브 키 < 핫 키)
+        if (messages.size() < pageSize && messageArchive != null) {
+            MessageArchive.appendUnseen(ArchiveCodecs.DIRECT_MESSAGES, messages, messageArchive.readBefore(
+                ArchiveCodecs.DIRECT_MESSAGES, conversationId, cursor, pageSize - messages.size()));
+        }
         return messages;
     }
 
+    /**
+     * 받은 메시지를 UPDATE 한 번으로 읽음 처리하고, 안 읽음 수 초기화와 읽음 알림은 묶음당 한 번만
+     *
+     * @return 읽음 처리된 메시지 수
+     */
     @Transactional
-    public void markMessagesAsRead(String conversationId, Long userId) {
-        List<DirectMessageEntity> unreadMessages = directMessageRepository
-            .findUnreadMessages(conversationId, userId);
-
+    public int markMessagesAsRead(String conversationId, Long userId) {
         LocalDateTime now = LocalDateTime.now();
-        for (DirectMessageEntity message : unreadMessages) {
-            message.setIsRead(true);
-            message.setReadAt(now);
+        int updated = directMessageRepository.markConversationRead(conversationId, userId, now);
+        if (updated == 0) {
+            return 0;
         }
 
-        if (!unreadMessages.isEmpty()) {
-            directMessageRepository.saveAll(unreadMessages);
+        Long otherUserId = DirectMessageEntity.otherParticipantId(conversationId, userId);
+        if (conversationDeltaBuffer.isEnabled() && otherUserId != null) {
+            conversationDeltaBuffer.recordRead(conversationId, userId, otherUserId);
+        } else {
+            conversationRepository.resetUnreadCount(conversationId, userId, now);
+        }
 
-            Optional<ConversationEntity> conversationOpt = conversationRepository
-                .findByConversationId(conversationId);
-            conversationOpt.ifPresent(conv -> {
-                conv.resetUnreadCount(userId);
-                conversationRepository.save(conv);
-            });
+        inboxService.onDirectMessagesRead(conversationId, userId);
+
+        if (messagingTemplate != null && otherUserId != null) {
+            Map<String, Object> notification = Map.of(
+                "type", "READ_RECEIPT_DM_BATCH",
+                "conversationId", conversationId,
+                "userId", userId,
+                "count", updated,
+                "readAt", now.toString()
+            );
+            TransactionHooks.afterCommit(() -> messagingTemplate.convertAndSendToUser(
+                otherUserId.toString(), "/queue/read-receipts", notification));
         }
+        return updated;
     }
 
     @Transactional(readOnly = true)
     public List<ConversationEntity> getUserConversations(Long userId) {
-        return conversationRepository.findUserConversations(userId);
+        return conversationDeltaBuffer.merge(conversationRepository.findUserConversations(userId));
     }
 
     @Transactional(readOnly = true)
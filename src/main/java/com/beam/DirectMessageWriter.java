@@ -0,0 +1,149 @@
+package com.beam;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+
+/**
+ * Direct Message Writer
+ *
+ * <p>Sends a DM in one statement on PostgreSQL: a data-modifying CTE inserts
+ * the {@code direct_messages} row and upserts the {@code conversations} row,
+ * bumping the receiver's unread column atomically in the database instead of
+ * a read-modify-write through JPA. Concurrent sends therefore never lose an
+ * unread increment, and {@code last_message} only moves forward in time.
+ *
+ * <p>With the {@link ConversationDeltaBuffer} enabled, {@link #insert} only
+ * makes sure the conversation row exists ({@code ON CONFLICT DO NOTHING}
+ * takes no row lock) and the counters are folded in later by the buffer.
+ *
+ * <p>Other databases (H2 in dev/test) keep using the JPA path in
+ * {@link DirectMessageService}. Disable with {@code dm.single-statement-send=false}.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class DirectMessageWriter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${dm.single-statement-send:true}")
+    private boolean enabled = true;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:}")
+    private String schema = "";
+
+    private volatile Boolean postgres;
+    private volatile String sendSql;
+    private volatile String insertSql;
+
+    public boolean isSupported() {
+        if (!enabled) {
+            return false;
+        }
+        Boolean isPostgres = postgres;
+        if (isPostgres == null) {
+            isPostgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgres = isPostgres;
+        }
+        return Boolean.TRUE.equals(isPostgres);
+    }
+
+    /**
+     * 메시지 INSERT + 대화방 UPSERT 를 한 번에 전송
+     *
+     * @return 생성된 메시지 id
+     */
+    public Long send(DirectMessageEntity message) {
+        Long user1Id = Math.min(message.getSenderId(), message.getReceiverId());
+        Long user2Id = Math.max(message.getSenderId(), message.getReceiverId());
+        boolean receiverIsUser1 = message.getReceiverId().equals(user1Id);
+        Timestamp time = Timestamp.valueOf(message.getTimestamp());
+
+        return jdbcTemplate.queryForObject(sendSql(), Long.class,
+            message.getConversationId(), message.getSenderId(), message.getReceiverId(), message.getContent(),
+            message.getMessageType().name(), time,
+            message.getConversationId(), user1Id, user2Id, message.getContent(), time, message.getSenderId(),
+            receiverIsUser1 ? 1 : 0, receiverIsUser1 ? 0 : 1, time, time);
+    }
+
+    /**
+     * 메시지 INSERT + 대화방 행이 없으면 생성 (안 읽음 수/마지막 메시지는 델타 버퍼가 반영)
+     *
+     * @return 생성된 메시지 id
+     */
+    public Long insert(DirectMessageEntity message) {
+        Timestamp time = Timestamp.valueOf(message.getTimestamp());
+
+        return jdbcTemplate.queryForObject(insertSql(), Long.class,
+            message.getConversationId(), message.getSenderId(), message.getReceiverId(), message.getContent(),
+            message.getMessageType().name(), time,
+            message.getConversationId(), Math.min(message.getSenderId(), message.getReceiverId()),
+            Math.max(message.getSenderId(), message.getReceiverId()), time, time);
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            sql = """
+                WITH msg AS (
+                    INSERT INTO %1$sdirect_messages
+                        (conversation_id, sender_id, receiver_id, content, message_type, timestamp, is_read, is_deleted)
+                    VALUES (?, ?, ?, ?, ?, ?, false, false)
+                    RETURNING id
+                ), conv AS (
+                    INSERT INTO %1$sconversations
+                        (conversation_id, user1_id, user2_id, unread_count_user1, unread_count_user2, created_at, updated_at)
+                    VALUES (?, ?, ?, 0, 0, ?, ?)
+                    ON CONFLICT (conversation_id) DO NOTHING
+                )
+                SELECT id FROM msg
+                """.formatted(tablePrefix());
+            insertSql = sql;
+        }
+        return sql;
+    }
+
+    private String sendSql() {
+        String sql = sendSql;
+        if (sql == null) {
+            sql = """
+                WITH msg AS (
+                    INSERT INTO %1$sdirect_messages
+                        (conversation_id, sender_id, receiver_id, content, message_type, timestamp, is_read, is_deleted)
+                    VALUES (?, ?, ?, ?, ?, ?, false, false)
+                    RETURNING id
+                ), conv AS (
+                    INSERT INTO %1$sconversations AS c
+                        (conversation_id, user1_id, user2_id, last_message, last_message_time, last_message_sender_id,
+                         unread_count_user1, unread_count_user2, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    ON CONFLICT (conversation_id) DO UPDATE SET
+                        last_message = CASE WHEN c.last_message_time IS NULL
+                            OR c.last_message_time <= EXCLUDED.last_message_time
+                            THEN EXCLUDED.last_message ELSE c.last_message END,
+                        last_message_sender_id = CASE WHEN c.last_message_time IS NULL
+                            OR c.last_message_time <= EXCLUDED.last_message_time
+                            THEN EXCLUDED.last_message_sender_id ELSE c.last_message_sender_id END,
+                        last_message_time = GREATEST(c.last_message_time, EXCLUDED.last_message_time),
+                        unread_count_user1 = c.unread_count_user1 + EXCLUDED.unread_count_user1,
+                        unread_count_user2 = c.unread_count_user2 + EXCLUDED.unread_count_user2,
+                        updated_at = EXCLUDED.updated_at
+                )
+                SELECT id FROM msg
+                """.formatted(tablePrefix());
+            sendSql = sql;
+        }
+        return sql;
+    }
+
+    private String tablePrefix() {
+        return schema == null || schema.isBlank() ? "" : schema + ".";
+    }
+}
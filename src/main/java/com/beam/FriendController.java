@@ -29,7 +29,7 @@ public class FriendController {
     private FriendService friendService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -146,19 +146,24 @@ public class FriendController {
 
             List<FriendEntity> friendships = friendService.getFriendList(userId);
 
+            // 친구 프로필을 한 번에 조회 (친구마다 findById 하지 않음)
+            Map<Long, UserSummary> friends = userDirectory.findAll(friendships.stream()
+                .map(friendship -> friendship.getUserId().equals(userId) ? friendship.getFriendId() : friendship.getUserId())
+                .toList());
+
             List<Map<String, Object>> result = friendships.stream().map(friendship -> {
                 Long friendId = friendship.getUserId().equals(userId)
                     ? friendship.getFriendId()
                     : friendship.getUserId();
 
-                Optional<UserEntity> friendOpt = userRepository.findById(friendId);
+                Optional<UserSummary> friendOpt = Optional.ofNullable(friends.get(friendId));
 
                 Map<String, Object> friendMap = new HashMap<>();
                 friendMap.put("friendId", friendId);
-                friendMap.put("username", friendOpt.map(UserEntity::getUsername).orElse("Unknown"));
-                friendMap.put("displayName", friendOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
-                friendMap.put("phoneNumber", friendOpt.map(UserEntity::getPhoneNumber).orElse(null));
-                friendMap.put("isOnline", friendOpt.map(UserEntity::getIsOnline).orElse(false));
+                friendMap.put("username", friendOpt.map(UserSummary::getUsername).orElse("Unknown"));
+                friendMap.put("displayName", friendOpt.map(UserSummary::getDisplayName).orElse("Unknown"));
+                friendMap.put("phoneNumber", friendOpt.map(UserSummary::getPhoneNumber).orElse(null));
+                friendMap.put("isOnline", friendOpt.map(UserSummary::isOnline).orElse(false));
                 friendMap.put("lastSeen", friendOpt.map(u -> u.getLastSeen() != null ? u.getLastSeen().toString() : null).orElse(null));
                 friendMap.put("friendsSince", friendship.getAcceptedAt() != null ? friendship.getAcceptedAt().toString() : null);
 
@@ -181,16 +186,18 @@ public class FriendController {
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
             List<FriendEntity> requests = friendService.getPendingRequestsReceived(userId);
+            Map<Long, UserSummary> requesters = userDirectory.findAll(
+                requests.stream().map(FriendEntity::getUserId).toList());
 
             List<Map<String, Object>> result = requests.stream().map(request -> {
                 Long requesterId = request.getUserId();
-                Optional<UserEntity> requesterOpt = userRepository.findById(requesterId);
+                Optional<UserSummary> requesterOpt = Optional.ofNullable(requesters.get(requesterId));
 
                 Map<String, Object> requestMap = new HashMap<>();
                 requestMap.put("requestId", request.getId());
                 requestMap.put("requesterId", requesterId);
-                requestMap.put("username", requesterOpt.map(UserEntity::getUsername).orElse("Unknown"));
-                requestMap.put("displayName", requesterOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                requestMap.put("username", requesterOpt.map(UserSummary::getUsername).orElse("Unknown"));
+                requestMap.put("displayName", requesterOpt.map(UserSummary::getDisplayName).orElse("Unknown"));
                 requestMap.put("requestedAt", request.getRequestedAt() != null ? request.getRequestedAt().toString() : null);
 
                 return requestMap;
@@ -212,16 +219,18 @@ public class FriendController {
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
             List<FriendEntity> requests = friendService.getPendingRequestsSent(userId);
+            Map<Long, UserSummary> recipients = userDirectory.findAll(
+                requests.stream().map(FriendEntity::getFriendId).toList());
 
             List<Map<String, Object>> result = requests.stream().map(request -> {
                 Long friendId = request.getFriendId();
-                Optional<UserEntity> friendOpt = userRepository.findById(friendId);
+                Optional<UserSummary> friendOpt = Optional.ofNullable(recipients.get(friendId));
 
                 Map<String, Object> requestMap = new HashMap<>();
                 requestMap.put("requestId", request.getId());
                 requestMap.put("friendId", friendId);
-                requestMap.put("username", friendOpt.map(UserEntity::getUsername).orElse("Unknown"));
-                requestMap.put("displayName", friendOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                requestMap.put("username", friendOpt.map(UserSummary::getUsername).orElse("Unknown"));
+                requestMap.put("displayName", friendOpt.map(UserSummary::getDisplayName).orElse("Unknown"));
                 requestMap.put("requestedAt", request.getRequestedAt() != null ? request.getRequestedAt().toString() : null);
 
                 return requestMap;
@@ -264,17 +273,16 @@ public class FriendController {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            List<UserEntity> users = friendService.searchUsers(query);
+            List<UserSummary> users = friendService.searchUsers(userId, query);
 
             List<Map<String, Object>> result = users.stream()
-                .filter(user -> !user.getId().equals(userId))
                 .map(user -> {
                     Map<String, Object> userMap = new HashMap<>();
                     userMap.put("userId", user.getId());
                     userMap.put("username", user.getUsername());
                     userMap.put("displayName", user.getDisplayName());
                     userMap.put("phoneNumber", user.getPhoneNumber());
-                    userMap.put("isOnline", user.getIsOnline());
+                    userMap.put("isOnline", user.isOnline());
 
                     return userMap;
                 }).collect(Collectors.toList());
@@ -36,5 +36,12 @@ public interface FriendRepository extends JpaRepository<FriendEntity, Long> {
     @Query("SELECT COUNT(f) FROM FriendEntity f WHERE f.status = 'PENDING'")
     long countAllPendingRequests();
 
+    // 친구 그래프 일괄 적재용 (사용자 검색 순위)
+    List<FriendEntity> findByStatus(FriendEntity.FriendStatus status);
+
+    // 검색 색인 갱신용 - since 이후 생성/수정된 관계
+    @Query("SELECT f FROM FriendEntity f WHERE f.createdAt > :since OR f.updatedAt > :since")
+    List<FriendEntity> findChangedSince(@Param("since") java.time.LocalDateTime since);
+
     boolean existsByUserIdAndFriendId(Long userId, Long friendId);
 }
@@ -1,5 +1,6 @@
 package com.beam;
 
+import com.beam.dto.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -10,7 +11,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * Friend Service
@@ -23,12 +27,21 @@ import java.util.Optional;
 @Service
 public class FriendService {
 
+    // 전화번호로 보이는 검색어 (숫자, '-', 앞의 '+')
+    private static final Pattern PHONE_QUERY = Pattern.compile("\\+?[0-9][0-9-]{6,}");
+
     @Autowired
     private FriendRepository friendRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     @Transactional
     @Caching(evict = {
         @CacheEvict(value = "friends", key = "#userId"),
@@ -88,7 +101,9 @@ public class FriendService {
         friendRequest.setStatus(FriendEntity.FriendStatus.ACCEPTED);
         friendRequest.setAcceptedAt(LocalDateTime.now());
 
-        return friendRepository.save(friendRequest);
+        FriendEntity saved = friendRepository.save(friendRequest);
+        userSearchIndex.onFriendshipAccepted(requesterId, userId);
+        return saved;
     }
 
     @Transactional
@@ -130,6 +145,7 @@ public class FriendService {
                 .build();
             friendRepository.save(blockRelation);
         }
+        userSearchIndex.onUserBlocked(userId, blockUserId);
     }
 
     @Transactional
@@ -142,6 +158,7 @@ public class FriendService {
             .orElseThrow(() -> new RuntimeException("Friendship not found"));
 
         friendRepository.delete(friendship);
+        userSearchIndex.onFriendshipRemoved(userId, friendId);
     }
 
     @Transactional(readOnly = true)
@@ -167,20 +184,26 @@ public class FriendService {
         return friendRepository.countPendingRequests(userId);
     }
 
+    /**
+     * 아이디/이름 자동완성 (친구, 친구의 친구 순) - 전화번호 형태면 정확히 일치하는 사용자를 맨 앞에
+     */
     @Transactional(readOnly = true)
-    public List<UserEntity> searchUsers(String query) {
-        List<UserEntity> users = new ArrayList<>();
-
-        Optional<UserEntity> byUsername = userRepository.findByUsername(query);
-        byUsername.ifPresent(users::add);
-
-        Optional<UserEntity> byPhone = userRepository.findByPhoneNumber(query);
-        byPhone.ifPresent(user -> {
-            if (!users.contains(user)) {
-                users.add(user);
-            }
-        });
+    public List<UserSummary> searchUsers(Long userId, String query) {
+        List<Long> userIds = new ArrayList<>(userSearchIndex.search(userId, query));
+
+        String trimmed = query == null ? "" : query.trim();
+        if (PHONE_QUERY.matcher(trimmed).matches()) {
+            userRepository.findByPhoneNumber(trimmed)
+                .filter(user -> Boolean.TRUE.equals(user.getIsActive()))
+                .map(UserEntity::getId)
+                .filter(id -> !id.equals(userId) && !userIds.contains(id) && !userSearchIndex.isBlocked(userId, id))
+                .ifPresent(id -> userIds.add(0, id));
+        }
 
-        return users;
+        Map<Long, UserSummary> users = userDirectory.findAll(userIds);
+        return userIds.stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .toList();
     }
 }
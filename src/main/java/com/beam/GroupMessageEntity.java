@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "group_messages", indexes = {
     @Index(name = "idx_room_timestamp", columnList = "roomId,timestamp"),
+    @Index(name = "idx_room_seq", columnList = "roomId,seq"),
     @Index(name = "idx_sender", columnList = "senderId")
 })
 public class GroupMessageEntity {
@@ -20,6 +21,10 @@ public class GroupMessageEntity {
     @Column(nullable = false)
     private Long senderId;
 
+    // 방 내 메시지 순번 (RoomEntity.lastMessageSeq 로부터 할당)
+    @Column
+    private Long seq;
+
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
@@ -54,12 +59,13 @@ public class GroupMessageEntity {
     public GroupMessageEntity() {
     }
 
-    public GroupMessageEntity(Long id, Long roomId, Long senderId, String content, MessageType messageType,
+    public GroupMessageEntity(Long id, Long roomId, Long senderId, Long seq, String content, MessageType messageType,
                               String fileUrl, LocalDateTime timestamp, Integer readCount, Boolean isDeleted,
                               LocalDateTime deletedAt) {
         this.id = id;
         this.roomId = roomId;
         this.senderId = senderId;
+        this.seq = seq;
         this.content = content;
         this.messageType = messageType;
         this.fileUrl = fileUrl;
@@ -102,6 +108,10 @@ public class GroupMessageEntity {
         return senderId;
     }
 
+    public Long getSeq() {
+        return seq;
+    }
+
     public String getContent() {
         return content;
     }
@@ -143,6 +153,10 @@ public class GroupMessageEntity {
         this.senderId = senderId;
     }
 
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
     public void setContent(String content) {
         this.content = content;
     }
@@ -180,6 +194,7 @@ public class GroupMessageEntity {
         private Long id;
         private Long roomId;
         private Long senderId;
+        private Long seq;
         private String content;
         private MessageType messageType = MessageType.TEXT;
         private String fileUrl;
@@ -203,6 +218,11 @@ public class GroupMessageEntity {
             return this;
         }
 
+        public Builder seq(Long seq) {
+            this.seq = seq;
+            return this;
+        }
+
         public Builder content(String content) {
             this.content = content;
             return this;
@@ -243,6 +263,7 @@ public class GroupMessageEntity {
             entity.id = this.id;
             entity.roomId = this.roomId;
             entity.senderId = this.senderId;
+            entity.seq = this.seq;
             entity.content = this.content;
             entity.messageType = this.messageType;
             entity.fileUrl = this.fileUrl;
@@ -1,11 +1,16 @@
 package com.beam;
 
+import com.beam.search.SearchFanOut;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,6 +20,36 @@ public interface GroupMessageRepository extends JpaRepository<GroupMessageEntity
 
     List<GroupMessageEntity> findTop100ByRoomIdAndIsDeletedFalseOrderByTimestampDesc(Long roomId);
 
+    @Query("SELECT MAX(gm.id) FROM GroupMessageEntity gm")
+    Long findMaxId();
+
+    @Query("SELECT gm FROM GroupMessageEntity gm WHERE gm.roomId = :roomId AND gm.isDeleted = false " +
+           "ORDER BY gm.timestamp DESC, gm.id DESC LIMIT :limit")
+    List<GroupMessageEntity> findLatestByRoomId(@Param("roomId") Long roomId, @Param("limit") int limit);
+
+    @Query("SELECT gm FROM GroupMessageEntity gm WHERE gm.roomId = :roomId AND gm.isDeleted = false " +
+           "ORDER BY gm.timestamp ASC, gm.id ASC LIMIT :limit OFFSET :offset")
+    List<GroupMessageEntity> findRoomMessagesSlice(@Param("roomId") Long roomId,
+                                                   @Param("offset") int offset,
+                                                   @Param("limit") int limit);
+
+    long countByRoomIdAndIsDeletedFalse(Long roomId);
+
+    // 키워드 검색 (최신순, 커서 이후부터) - pattern 은 소문자 LIKE 패턴, 팬아웃 마감 뒤에는 DB 에서 끊김
+    @Query("SELECT gm FROM GroupMessageEntity gm WHERE gm.roomId IN :roomIds AND gm.isDeleted = false " +
+           "AND LOWER(gm.content) LIKE :pattern ESCAPE '\\' " +
+           "AND (gm.timestamp < :beforeTime OR (gm.timestamp = :beforeTime AND gm.id < :beforeId)) " +
+           "ORDER BY gm.timestamp DESC, gm.id DESC")
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = SearchFanOut.QUERY_TIMEOUT_MS))
+    List<GroupMessageEntity> searchBefore(@Param("roomIds") Collection<Long> roomIds,
+                                          @Param("pattern") String pattern,
+                                          @Param("beforeTime") LocalDateTime beforeTime,
+                                          @Param("beforeId") Long beforeId,
+                                          Pageable pageable);
+
+    // 검색 색인 따라잡기 (id 순)
+    List<GroupMessageEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     @Query("SELECT gm FROM GroupMessageEntity gm WHERE " +
            "gm.roomId = :roomId AND " +
            "gm.timestamp > :since AND " +
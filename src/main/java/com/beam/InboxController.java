@@ -0,0 +1,48 @@
+package com.beam;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inbox Controller
+ *
+ * <p>Serves the unified per-user inbox (DM conversations and group rooms)
+ * from {@link InboxService}.
+ *
+ * @since 1.3.0
+ */
+@RestController
+@RequestMapping("/api/inbox")
+@Tag(name = "Inbox", description = "DM 대화와 그룹 채팅방 통합 목록 API")
+public class InboxController {
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Operation(summary = "통합 inbox 조회", description = "DM 대화와 참여 중인 채팅방을 최근 활동 순으로 조회합니다")
+    @GetMapping
+    public ResponseEntity<?> getInbox(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+
+            return ResponseEntity.ok(inboxService.getInbox(userId, page, size));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
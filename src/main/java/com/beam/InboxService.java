@@ -0,0 +1,403 @@
+package com.beam;
+
+import com.beam.dto.RoomSummary;
+import com.beam.dto.UserSummary;
+import com.beam.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Inbox Service
+ *
+ * <p>Keeps a per-user inbox of DM conversations and group rooms in memory,
+ * ordered by last activity. An inbox is loaded once from the database
+ * (conversations, the other parties in one bulk lookup, and the room summaries)
+ * and is then updated in place by {@link DirectMessageService} and
+ * {@link RoomService} as messages are sent and read.
+ *
+ * <p>Inboxes of users that have not opened them for a while are evicted and
+ * reloaded on the next request. Updates for users whose inbox is not loaded
+ * are dropped, since the next load reads the committed state anyway. Every
+ * update also bumps a per-user version; a load that overlapped an update is
+ * returned to its caller but not kept, so a commit that lands while a load
+ * is reading cannot be lost. Inboxes are also rebuilt after
+ * {@code inbox.max-age-minutes} however active the user is, which bounds
+ * the damage of any update that never reaches this node.
+ *
+ * @since 1.3.0
+ */
+@Service
+public class InboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboxService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationDeltaBuffer conversationDeltaBuffer;
+
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${inbox.idle-minutes:30}")
+    private long idleMinutes = 30;
+
+    @Value("${inbox.max-age-minutes:10}")
+    private long maxAgeMinutes = 10;
+
+    @Value("${inbox.max-users:10000}")
+    private long maxUsers = 10000;
+
+    @Value("${inbox.max-presence:100000}")
+    private long maxPresence = 100000;
+
+    private Cache<Long, UserInbox> inboxes;
+
+    // 사용자별 마지막 갱신 번호 - 적재 중에 커밋된 갱신을 감지
+    private Cache<Long, Long> versions;
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    // 상대방 접속 상태 - 로그인/웹소켓 연결 이벤트로 갱신, 밀려나면 다음 적재 때 DB 값 사용
+    private Cache<Long, Boolean> presence;
+
+    @PostConstruct
+    public void init() {
+        inboxes = Caffeine.newBuilder()
+            .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+            .expireAfterWrite(maxAgeMinutes, TimeUnit.MINUTES)
+            .maximumSize(maxUsers)
+            .build();
+        versions = Caffeine.newBuilder()
+            .expireAfterWrite(maxAgeMinutes, TimeUnit.MINUTES)
+            .maximumSize(maxUsers)
+            .build();
+        presence = Caffeine.newBuilder()
+            .maximumSize(maxPresence)
+            .build();
+    }
+
+    /**
+     * 사용자의 inbox 한 페이지 조회 (메모리에 없으면 DB에서 적재)
+     */
+    public Map<String, Object> getInbox(Long userId, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(0, page);
+
+        UserInbox inbox = inboxes.getIfPresent(userId);
+        if (inbox == null) {
+            inbox = loadAndInstall(userId);
+        }
+
+        List<Map<String, Object>> items;
+        int total;
+        int totalUnread;
+        synchronized (inbox) {
+            total = inbox.ordered.size();
+            totalUnread = inbox.ordered.stream().mapToInt(item -> item.unreadCount).sum();
+            items = inbox.ordered.stream()
+                .skip((long) pageIndex * pageSize)
+                .limit(pageSize)
+                .map(item -> item.toMap(presence.asMap()))
+                .collect(Collectors.toList());
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("items", items);
+        result.put("page", pageIndex);
+        result.put("size", pageSize);
+        result.put("totalCount", total);
+        result.put("totalUnread", totalUnread);
+        result.put("hasNext", (long) (pageIndex + 1) * pageSize < total);
+        return result;
+    }
+
+    /**
+     * DM 전송 반영 - 보낸 사람/받는 사람의 대화 항목을 맨 위로 올림
+     */
+    public void onDirectMessage(DirectMessageEntity message, UserSummary sender, UserSummary receiver) {
+        String conversationId = message.getConversationId();
+        String content = message.getContent();
+        LocalDateTime time = message.getTimestamp();
+
+        TransactionHooks.afterCommit(() -> {
+            bumpVersion(sender.getId());
+            bumpVersion(receiver.getId());
+            UserInbox senderInbox = inboxes.getIfPresent(sender.getId());
+            if (senderInbox != null) {
+                senderInbox.upsertDirect(conversationId, receiver, content, time, false);
+            }
+
+            UserInbox receiverInbox = inboxes.getIfPresent(receiver.getId());
+            if (receiverInbox != null) {
+                receiverInbox.upsertDirect(conversationId, sender, content, time, true);
+            }
+        });
+    }
+
+    /**
+     * DM 읽음 처리 반영
+     */
+    public void onDirectMessagesRead(String conversationId, Long userId) {
+        TransactionHooks.afterCommit(() -> {
+            bumpVersion(userId);
+            UserInbox inbox = inboxes.getIfPresent(userId);
+            if (inbox != null) {
+                inbox.markRead(UserInbox.directKey(conversationId));
+            }
+        });
+    }
+
+    /**
+     * 그룹 메시지 전송 반영 - 방 멤버 전원의 방 항목 갱신
+     */
+    public void onRoomMessage(Long roomId, Collection<Long> memberIds, Long senderId,
+                              String content, LocalDateTime time) {
+        TransactionHooks.afterCommit(() -> {
+            for (Long memberId : memberIds) {
+                bumpVersion(memberId);
+                UserInbox inbox = inboxes.getIfPresent(memberId);
+                if (inbox != null && !inbox.touchRoom(roomId, content, time, !memberId.equals(senderId))) {
+                    // 적재 이후 참여한 방 - 다음 조회 시 다시 적재
+                    inboxes.invalidate(memberId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 방 읽음 처리 반영
+     */
+    public void onRoomRead(Long roomId, Long userId) {
+        TransactionHooks.afterCommit(() -> {
+            bumpVersion(userId);
+            UserInbox inbox = inboxes.getIfPresent(userId);
+            if (inbox != null) {
+                inbox.markRead(UserInbox.roomKey(roomId));
+            }
+        });
+    }
+
+    /**
+     * 방 참여/탈퇴, 방 정보 변경 등 구조가 바뀐 경우 해당 사용자들의 inbox 폐기
+     */
+    public void invalidate(Collection<Long> userIds) {
+        TransactionHooks.afterCommit(() -> {
+            userIds.forEach(this::bumpVersion);
+            inboxes.invalidateAll(userIds);
+        });
+    }
+
+    public void updatePresence(Long userId, boolean online) {
+        presence.put(userId, online);
+    }
+
+    /**
+     * DB 에서 적재 후 그 사이 갱신이 없었을 때만 보관
+     * 갱신은 버전을 먼저 올리고 보관된 inbox 를 고치므로, 보관 직후 다시 확인하면 놓치는 갱신이 없음
+     */
+    private UserInbox loadAndInstall(Long userId) {
+        Long before = versions.getIfPresent(userId);
+        UserInbox loaded = load(userId);
+        if (!Objects.equals(before, versions.getIfPresent(userId))) {
+            return loaded;
+        }
+
+        UserInbox existing = inboxes.asMap().putIfAbsent(userId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (!Objects.equals(before, versions.getIfPresent(userId))) {
+            inboxes.asMap().remove(userId, loaded);
+        }
+        return loaded;
+    }
+
+    private void bumpVersion(Long userId) {
+        versions.put(userId, versionSequence.incrementAndGet());
+    }
+
+    private UserInbox load(Long userId) {
+        UserInbox inbox = new UserInbox();
+
+        List<ConversationEntity> conversations = conversationDeltaBuffer.merge(
+            conversationRepository.findUserConversations(userId));
+        Set<Long> otherUserIds = conversations.stream()
+            .map(conv -> conv.getUser1Id().equals(userId) ? conv.getUser2Id() : conv.getUser1Id())
+            .collect(Collectors.toSet());
+
+        // 상대방 정보는 한 번에 조회
+        Map<Long, UserEntity> otherUsers = new HashMap<>();
+        if (!otherUserIds.isEmpty()) {
+            for (UserEntity user : userRepository.findAllById(otherUserIds)) {
+                otherUsers.put(user.getId(), user);
+                presence.asMap().putIfAbsent(user.getId(), Boolean.TRUE.equals(user.getIsOnline()));
+            }
+        }
+
+        for (ConversationEntity conv : conversations) {
+            Long otherUserId = conv.getUser1Id().equals(userId) ? conv.getUser2Id() : conv.getUser1Id();
+            UserEntity other = otherUsers.get(otherUserId);
+
+            InboxItem item = new InboxItem(UserInbox.directKey(conv.getConversationId()), InboxItem.Type.DM);
+            item.conversationId = conv.getConversationId();
+            item.otherUserId = otherUserId;
+            item.title = other != null ? other.getDisplayName() : "Unknown";
+            item.lastMessage = conv.getLastMessage();
+            item.lastMessageTime = conv.getLastMessageTime();
+            Integer unread = conv.getUnreadCount(userId);
+            item.unreadCount = unread != null ? unread : 0;
+            inbox.put(item);
+        }
+
+        for (RoomSummary summary : roomMemberRepository.findRoomSummaries(userId)) {
+            InboxItem item = new InboxItem(UserInbox.roomKey(summary.getRoomId()), InboxItem.Type.ROOM);
+            item.roomId = summary.getRoomId();
+            item.title = summary.getRoomName();
+            item.lastMessage = summary.getLastMessage();
+            item.lastMessageTime = summary.getLastMessageTime();
+            item.unreadCount = summary.getUnreadCount();
+            inbox.put(item);
+        }
+
+        logger.debug("Loaded inbox for user {}: {} items", userId, inbox.ordered.size());
+        return inbox;
+    }
+
+    /**
+     * 사용자 한 명의 inbox - 최근 활동 순으로 정렬된 항목
+     * 정렬 키(lastMessageTime)를 바꿀 때는 반드시 제거 후 다시 넣는다
+     */
+    static class UserInbox {
+
+        private static final Comparator<InboxItem> BY_ACTIVITY = Comparator
+            .comparing((InboxItem item) -> item.lastMessageTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(item -> item.key);
+
+        private final Map<String, InboxItem> items = new HashMap<>();
+        private final TreeSet<InboxItem> ordered = new TreeSet<>(BY_ACTIVITY);
+
+        static String directKey(String conversationId) {
+            return "dm:" + conversationId;
+        }
+
+        static String roomKey(Long roomId) {
+            return "room:" + roomId;
+        }
+
+        synchronized void put(InboxItem item) {
+            InboxItem previous = items.put(item.key, item);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(item);
+        }
+
+        synchronized void upsertDirect(String conversationId, UserSummary otherUser, String content,
+                                       LocalDateTime time, boolean unread) {
+            String key = directKey(conversationId);
+            InboxItem item = items.get(key);
+            if (item == null) {
+                item = new InboxItem(key, InboxItem.Type.DM);
+                item.conversationId = conversationId;
+                item.otherUserId = otherUser.getId();
+                item.title = otherUser.getDisplayName();
+            } else {
+                ordered.remove(item);
+            }
+
+            item.lastMessage = content;
+            item.lastMessageTime = time;
+            if (unread) {
+                item.unreadCount++;
+            }
+
+            items.put(key, item);
+            ordered.add(item);
+        }
+
+        /**
+         * @return 방 항목이 없으면 false
+         */
+        synchronized boolean touchRoom(Long roomId, String content, LocalDateTime time, boolean unread) {
+            InboxItem item = items.get(roomKey(roomId));
+            if (item == null) {
+                return false;
+            }
+
+            ordered.remove(item);
+            item.lastMessage = content;
+            item.lastMessageTime = time;
+            item.unreadCount = unread ? item.unreadCount + 1 : 0;
+            ordered.add(item);
+            return true;
+        }
+
+        synchronized void markRead(String key) {
+            InboxItem item = items.get(key);
+            if (item != null) {
+                item.unreadCount = 0;
+            }
+        }
+    }
+
+    /**
+     * inbox 항목 하나 (DM 대화 또는 그룹 채팅방)
+     */
+    static class InboxItem {
+
+        enum Type {
+            DM, ROOM
+        }
+
+        private final String key;
+        private final Type type;
+        private String conversationId;
+        private Long roomId;
+        private Long otherUserId;
+        private String title;
+        private String lastMessage;
+        private LocalDateTime lastMessageTime;
+        private int unreadCount;
+
+        InboxItem(String key, Type type) {
+            this.key = key;
+            this.type = type;
+        }
+
+        Map<String, Object> toMap(Map<Long, Boolean> presence) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("type", type.toString());
+            map.put("title", title);
+            map.put("lastMessage", lastMessage);
+            map.put("lastMessageTime", lastMessageTime != null ? lastMessageTime.toString() : null);
+            map.put("unreadCount", unreadCount);
+            if (type == Type.DM) {
+                map.put("conversationId", conversationId);
+                map.put("otherUserId", otherUserId);
+                map.put("otherUserName", title);
+                map.put("isOnline", presence.getOrDefault(otherUserId, false));
+            } else {
+                map.put("roomId", roomId);
+            }
+            return map;
+        }
+    }
+}
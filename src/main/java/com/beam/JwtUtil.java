@@ -56,6 +56,22 @@ public class JwtUtil {
         return claims.get("userId", Long.class);
     }
 
+    /**
+     * 서명과 만료를 검증하고 사용자 ID 반환 (파싱 한 번), 유효하지 않으면 null
+     */
+    public Long getUserIdIfValid(String token) {
+        try {
+            return Jwts.parser()
+                .verifyWith(getSigningKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .get("userId", Long.class);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public boolean validateToken(String token) {
         try {
             Jwts.parser()
@@ -0,0 +1,167 @@
+package com.beam;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Message Partition Scheduler
+ *
+ * <p>Maintains the monthly range partitions created by the
+ * {@code V4__Partition_message_tables} migration (PostgreSQL only):
+ * <ul>
+ *   <li>Pre-creates partitions for the current month and the next
+ *       {@code message.partitioning.premake-months} months</li>
+ *   <li>Moves rows that landed in the default partition (e.g. while the
+ *       application was down past the pre-created months) into monthly
+ *       partitions, so retention covers them too</li>
+ *   <li>Applies retention by dropping whole partitions older than
+ *       {@code message.partitioning.retention-months} (0 = keep forever)
+ *       instead of running row DELETEs</li>
+ * </ul>
+ *
+ * <p>Runs by default and skips tables that are not partitioned (other
+ * databases, or V4 not applied): once V4 is applied, every month without a
+ * partition fills the default partition. Turn off with
+ * {@code message.partitioning.enabled=false} only when partitions are
+ * maintained outside the application.
+ *
+ * @since 1.3.0
+ */
+@Component
+@ConditionalOnProperty(name = "message.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class MessagePartitionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessagePartitionScheduler.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("messages", "direct_messages", "group_messages");
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${message.partitioning.premake-months:3}")
+    private int premakeMonths = 3;
+
+    @Value("${message.partitioning.retention-months:0}")
+    private int retentionMonths = 0;
+
+    private volatile Boolean postgres;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * 매일 새벽 파티션 유지보수 (기본: 03:00)
+     */
+    @Scheduled(cron = "${message.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        maintainPartitions(YearMonth.now());
+    }
+
+    void maintainPartitions(YearMonth currentMonth) {
+        if (!isPostgres()) {
+            return;
+        }
+
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                if (!isPartitioned(table)) {
+                    continue;
+                }
+                createUpcomingPartitions(table, currentMonth);
+                partitionDefaultRows(table);
+                dropExpiredPartitions(table, currentMonth);
+            } catch (DataAccessException e) {
+                // 한 테이블 실패가 나머지 테이블 유지보수를 막지 않도록
+                logger.error("Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    private void createUpcomingPartitions(String table, YearMonth currentMonth) {
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                table, Date.valueOf(month.atDay(1)));
+        }
+    }
+
+    /**
+     * default 파티션에 쌓인 행의 월마다 파티션 생성 (create_monthly_partition 이 행을 옮김)
+     */
+    private void partitionDefaultRows(String table) {
+        List<Date> months = jdbcTemplate.queryForList(
+            "SELECT DISTINCT date_trunc('month', \"timestamp\")::date FROM \"" + table + "_default\"", Date.class);
+        for (Date month : months) {
+            String partition = jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                table, month);
+            logger.info("Moved default partition rows of {} into {}", table, partition);
+        }
+    }
+
+    /**
+     * 보존 기간이 지난 월 파티션을 통째로 삭제
+     * 예) retention 6, 현재 2024-07 -> 2024-01 이전 파티션 삭제 (최소 6개월 보존)
+     */
+    private void dropExpiredPartitions(String table, YearMonth currentMonth) {
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        YearMonth cutoff = currentMonth.minusMonths(retentionMonths);
+        Pattern monthlyPartition = Pattern.compile("^" + Pattern.quote(table) + "_(\\d{6})$");
+
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass(?)", String.class, table);
+
+        for (String partition : partitions) {
+            Matcher matcher = monthlyPartition.matcher(partition);
+            if (!matcher.matches()) {
+                continue; // default 파티션 등
+            }
+
+            YearMonth month = YearMonth.parse(matcher.group(1), SUFFIX_FORMAT);
+            if (month.isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS \"" + partition + "\"");
+                logger.info("Dropped expired partition {} (retention {} months)", partition, retentionMonths);
+            }
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+            Boolean.class, table));
+    }
+
+    private boolean isPostgres() {
+        Boolean isPostgres = postgres;
+        if (isPostgres == null) {
+            isPostgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgres = isPostgres;
+        }
+        return Boolean.TRUE.equals(isPostgres);
+    }
+}
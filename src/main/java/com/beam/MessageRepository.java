@@ -22,11 +22,37 @@ public interface MessageRepository extends JpaRepository<MessageEntity, Long> {
     // 페이징 지원 버전 (대용량 채팅방 처리용)
     Page<MessageEntity> findByRoomIdOrderByTimestampAsc(String roomId, Pageable pageable);
 
-    // 읽지 않은 메시지 ID 목록 조회 (배치 읽음 처리용)
-    @Query("SELECT m.id FROM MessageEntity m WHERE m.roomId = :roomId " +
-           "AND m.sender != :username " +
-           "AND NOT EXISTS (SELECT r FROM MessageReadReceipt r WHERE r.messageId = m.id AND r.userId = :userId)")
-    List<Long> findUnreadMessageIds(@Param("roomId") String roomId,
-                                     @Param("userId") Long userId,
-                                     @Param("username") String username);
+    long countByRoomId(String roomId);
+
+    @Query("SELECT m FROM MessageEntity m WHERE m.roomId = :roomId " +
+           "ORDER BY m.timestamp DESC, m.id DESC LIMIT :limit")
+    List<MessageEntity> findLatestByRoomId(@Param("roomId") String roomId, @Param("limit") int limit);
+
+    // 아카이브 이후 핫 테이블 구간 조회 (페이지 경계와 무관한 offset)
+    @Query("SELECT m FROM MessageEntity m WHERE m.roomId = :roomId " +
+           "ORDER BY m.timestamp ASC, m.id ASC LIMIT :limit OFFSET :offset")
+    List<MessageEntity> findRoomMessagesSlice(@Param("roomId") String roomId,
+                                              @Param("offset") int offset,
+                                              @Param("limit") int limit);
+
+    // 아카이브 대상 (오래된 순)
+    @Query("SELECT DISTINCT m.roomId FROM MessageEntity m WHERE m.timestamp < :cutoff")
+    List<String> findRoomIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    List<MessageEntity> findByRoomIdAndTimestampBeforeOrderByTimestampAscIdAsc(String roomId,
+                                                                              LocalDateTime cutoff,
+                                                                              Pageable pageable);
+
+    @Query("SELECT MAX(m.id) FROM MessageEntity m WHERE m.roomId = :roomId")
+    Long findLatestMessageId(@Param("roomId") String roomId);
+
+    @Query("SELECT MAX(m.id) FROM MessageEntity m")
+    Long findMaxId();
+
+    // 읽음 워터마크 이후 다른 사람이 보낸 메시지 수
+    @Query("SELECT COUNT(m) FROM MessageEntity m WHERE m.roomId = :roomId " +
+           "AND m.id > :afterId AND m.sender <> :username")
+    long countRoomMessagesAfter(@Param("roomId") String roomId,
+                                @Param("afterId") Long afterId,
+                                @Param("username") String username);
 }
\ No newline at end of file
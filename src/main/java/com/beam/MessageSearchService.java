@@ -1,14 +1,32 @@
 package com.beam;
 
+import com.beam.dto.UserSummary;
+import com.beam.search.BatchedSource;
+import com.beam.search.HangulNgramTokenizer;
+import com.beam.search.IndexedMessage;
+import com.beam.search.MessageSearchIndexer;
+import com.beam.search.SearchCursor;
+import com.beam.search.SearchFanOut;
+import com.beam.search.SearchHit;
+import com.beam.search.SearchPage;
+import com.beam.search.SearchResultCache;
+import com.beam.search.TopKMerger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 public class MessageSearchService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private DirectMessageRepository directMessageRepository;
 
@@ -22,93 +40,265 @@ public class MessageSearchService {
     private RoomMemberRepository roomMemberRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private MessageSearchIndexer messageSearchIndexer;
 
-    public List<Map<String, Object>> searchDirectMessages(Long userId, String keyword) {
-        List<ConversationEntity> userConversations = conversationRepository.findUserConversations(userId);
+    @Autowired
+    private SearchFanOut searchFanOut;
 
-        List<Map<String, Object>> results = new ArrayList<>();
+    @Autowired
+    private SearchResultCache searchResultCache;
 
-        for (ConversationEntity conversation : userConversations) {
-            List<DirectMessageEntity> messages = directMessageRepository
-                .findByConversationIdOrderByTimestampAsc(conversation.getConversationId());
+    // 한 소스(병렬 쿼리 하나)가 맡는 대화방/채팅방 수
+    @Value("${search.fan-out.shard-size:25}")
+    private int shardSize = 25;
 
-            List<DirectMessageEntity> matchedMessages = messages.stream()
-                .filter(msg -> msg.getContent().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
+    /**
+     * keyword 를 포함하는 메시지 중 커서 이후 최신순 limit 개
+     * 대화방/채팅방을 샤드로 나눠 병렬로 조회하고 (샤드마다 최대 limit + 1 개) 힙으로 병합
+     * 마감 시각까지 끝나지 않은 샤드는 빼고 partial 로 표시 (이때는 다음 페이지 커서 없음)
+     * 첫 페이지는 캐시 (새 메시지/멤버십 변경 시 영향받는 사용자의 검색만 무효화)
+     *
+     * @param type "DM", "ROOM", 그 외는 전체
+     */
+    public SearchPage search(Long userId, String keyword, String type, int limit, String cursor) {
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
-            for (DirectMessageEntity message : matchedMessages) {
-                Long otherUserId = message.getSenderId().equals(userId)
-                    ? message.getReceiverId()
-                    : message.getSenderId();
+        if (cursor == null || cursor.isBlank()) {
+            return searchResultCache.get(userId, keyword, type, pageSize,
+                () -> fetchPage(userId, keyword, type, pageSize, after));
+        }
+        return fetchPage(userId, keyword, type, pageSize, after);
+    }
 
-                Optional<UserEntity> otherUser = userRepository.findById(otherUserId);
+    private SearchPage fetchPage(Long userId, String keyword, String type, int pageSize, SearchCursor after) {
+        // 다음 페이지가 있는지 알기 위해 한 개 더
+        int perSource = pageSize + 1;
+        List<SearchFanOut.Source<Match>> sources = new ArrayList<>();
+        if (!"ROOM".equalsIgnoreCase(type)) {
+            addDirectMessageSources(sources, userId, keyword, after, perSource);
+        }
+        if (!"DM".equalsIgnoreCase(type)) {
+            addRoomMessageSources(sources, userId, keyword, after, perSource);
+        }
 
-                Map<String, Object> result = new HashMap<>();
-                result.put("type", "DM");
-                result.put("messageId", message.getId());
-                result.put("conversationId", message.getConversationId());
-                result.put("content", message.getContent());
-                result.put("senderId", message.getSenderId());
-                result.put("timestamp", message.getTimestamp().toString());
-                result.put("otherUserId", otherUserId);
-                result.put("otherUserName", otherUser.map(UserEntity::getDisplayName).orElse("Unknown"));
-                result.put("isMine", message.getSenderId().equals(userId));
+        SearchFanOut.Result<Match> fanOut = searchFanOut.collect(sources);
+        List<Match> top = TopKMerger.merge(fanOut.results().stream().map(List::iterator).toList(),
+            Match.NEWEST_FIRST, perSource);
 
-                results.add(result);
+        String nextCursor = null;
+        if (top.size() > pageSize) {
+            top = top.subList(0, pageSize);
+            // 빠진 소스가 있으면 그 소스의 더 최신 결과를 다음 페이지가 건너뛰므로 커서를 주지 않음
+            if (!fanOut.partial()) {
+                nextCursor = top.get(pageSize - 1).position().encode();
             }
         }
+        return new SearchPage(toResults(userId, top), nextCursor, fanOut.partial());
+    }
 
-        return results;
+    private void addDirectMessageSources(List<SearchFanOut.Source<Match>> sources, Long userId, String keyword,
+                                         SearchCursor after, int perSource) {
+        List<String> conversationIds = conversationRepository.findUserConversations(userId).stream()
+            .map(ConversationEntity::getConversationId)
+            .toList();
+        if (conversationIds.isEmpty()) {
+            return;
+        }
+
+        if (useIndex(keyword, true)) {
+            // 색인은 메모리에서 한 번에 조회하므로 나누지 않음
+            Set<String> scopes = conversationIds.stream().map(IndexedMessage::dmScope).collect(Collectors.toSet());
+            sources.add(new SearchFanOut.Source<>("dm", () -> take(indexedMatches(
+                messageSearchIndexer.search(keyword, IndexedMessage.Kind.DM, scopes), after, perSource,
+                directMessageRepository::findAllById, DirectMessageEntity::getId, Match::of,
+                msg -> containsKeyword(msg.getContent(), keyword)), perSource)));
+            return;
+        }
+
+        String pattern = likePattern(keyword);
+        for (List<String> shard : partition(conversationIds)) {
+            sources.add(new SearchFanOut.Source<>("dm", () -> directMessageRepository.searchBefore(shard, pattern,
+                    after.timestamp(), after.idBoundFor(IndexedMessage.Kind.DM), PageRequest.of(0, perSource))
+                .stream().map(Match::of).toList()));
+        }
     }
 
-    public List<Map<String, Object>> searchRoomMessages(Long userId, String keyword) {
-        List<RoomMemberEntity> memberships = roomMemberRepository.findByUserIdAndIsActiveTrue(userId);
+    private void addRoomMessageSources(List<SearchFanOut.Source<Match>> sources, Long userId, String keyword,
+                                       SearchCursor after, int perSource) {
+        List<Long> roomIds = roomMemberRepository.findByUserIdAndIsActiveTrue(userId).stream()
+            .map(RoomMemberEntity::getRoomId)
+            .toList();
+        if (roomIds.isEmpty()) {
+            return;
+        }
 
-        List<Map<String, Object>> results = new ArrayList<>();
+        if (useIndex(keyword, messageSearchIndexer.indexesRoomMessages())) {
+            Set<String> scopes = roomIds.stream().map(IndexedMessage::roomScope).collect(Collectors.toSet());
+            sources.add(new SearchFanOut.Source<>("room", () -> take(indexedMatches(
+                messageSearchIndexer.search(keyword, IndexedMessage.Kind.ROOM, scopes), after, perSource,
+                groupMessageRepository::findAllById, GroupMessageEntity::getId, Match::of,
+                msg -> !Boolean.TRUE.equals(msg.getIsDeleted()) && containsKeyword(msg.getContent(), keyword)), perSource)));
+            return;
+        }
 
-        for (RoomMemberEntity membership : memberships) {
-            List<GroupMessageEntity> messages = groupMessageRepository
-                .findByRoomIdAndIsDeletedFalseOrderByTimestampAsc(membership.getRoomId());
+        String pattern = likePattern(keyword);
+        for (List<Long> shard : partition(roomIds)) {
+            sources.add(new SearchFanOut.Source<>("room", () -> groupMessageRepository.searchBefore(shard, pattern,
+                    after.timestamp(), after.idBoundFor(IndexedMessage.Kind.ROOM), PageRequest.of(0, perSource))
+                .stream().map(Match::of).toList()));
+        }
+    }
 
-            List<GroupMessageEntity> matchedMessages = messages.stream()
-                .filter(msg -> msg.getContent().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
+    private <T> List<List<T>> partition(List<T> ids) {
+        List<List<T>> shards = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += shardSize) {
+            shards.add(ids.subList(i, Math.min(i + shardSize, ids.size())));
+        }
+        return shards;
+    }
 
-            for (GroupMessageEntity message : matchedMessages) {
-                Optional<UserEntity> sender = userRepository.findById(message.getSenderId());
+    private static <T> List<T> take(Iterator<T> iterator, int count) {
+        List<T> taken = new ArrayList<>(count);
+        while (taken.size() < count && iterator.hasNext()) {
+            taken.add(iterator.next());
+        }
+        return taken;
+    }
 
-                Map<String, Object> result = new HashMap<>();
-                result.put("type", "ROOM");
-                result.put("messageId", message.getId());
-                result.put("roomId", message.getRoomId());
-                result.put("content", message.getContent());
-                result.put("senderId", message.getSenderId());
-                result.put("senderName", sender.map(UserEntity::getDisplayName).orElse("Unknown"));
-                result.put("timestamp", message.getTimestamp().toString());
-                result.put("isMine", message.getSenderId().equals(userId));
+    // 색인 히트(최신순)를 batchSize 개씩 한 번에 조회하고 실제 내용으로 다시 확인
+    private <T> Iterator<Match> indexedMatches(List<SearchHit> hits, SearchCursor after, int batchSize,
+                                               Function<List<Long>, List<T>> loader, Function<T, Long> idOf,
+                                               Function<T, Match> toMatch, Predicate<T> stillMatches) {
+        // 커서보다 확실히 최신인 히트는 건너뜀 (같은 밀리초는 엔티티 시각으로 비교)
+        long afterMillis = IndexedMessage.epochMillis(after.timestamp());
+        int first = 0;
+        while (first < hits.size() && hits.get(first).timestamp() > afterMillis) {
+            first++;
+        }
+        int start = first;
+
+        return new BatchedSource<>() {
+            private int next = start;
+
+            @Override
+            protected List<Match> fetchNext() {
+                while (next < hits.size()) {
+                    List<SearchHit> batch = hits.subList(next, Math.min(next + batchSize, hits.size()));
+                    next += batch.size();
+
+                    Map<Long, T> byId = loader.apply(batch.stream().map(SearchHit::messageId).toList()).stream()
+                        .collect(Collectors.toMap(idOf, message -> message));
+                    List<Match> matches = batch.stream()
+                        .map(hit -> byId.get(hit.messageId()))
+                        .filter(message -> message != null && stillMatches.test(message))
+                        .map(toMatch)
+                        .filter(match -> SearchCursor.NEWEST_FIRST.compare(after, match.position()) < 0)
+                        .sorted(Match.NEWEST_FIRST)
+                        .toList();
+                    if (!matches.isEmpty()) {
+                        return matches;
+                    }
+                }
+                return List.of();
+            }
+        };
+    }
 
-                results.add(result);
+    private List<Map<String, Object>> toResults(Long userId, List<Match> matches) {
+        // 결과에 나오는 상대방/보낸 사람을 한 번에 조회
+        Set<Long> userIds = new HashSet<>();
+        for (Match match : matches) {
+            if (match.directMessage() != null) {
+                userIds.add(otherUserId(match.directMessage(), userId));
+            } else {
+                userIds.add(match.groupMessage().getSenderId());
             }
         }
+        Map<Long, UserSummary> users = userDirectory.findAll(userIds);
 
+        List<Map<String, Object>> results = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            results.add(match.directMessage() != null
+                ? directMessageResult(match.directMessage(), userId, users)
+                : roomMessageResult(match.groupMessage(), userId, users));
+        }
         return results;
     }
 
-    public List<Map<String, Object>> searchAllMessages(Long userId, String keyword) {
-        List<Map<String, Object>> dmResults = searchDirectMessages(userId, keyword);
-        List<Map<String, Object>> roomResults = searchRoomMessages(userId, keyword);
+    private Map<String, Object> directMessageResult(DirectMessageEntity message, Long userId, Map<Long, UserSummary> users) {
+        Long otherUserId = otherUserId(message, userId);
+        Optional<UserSummary> otherUser = Optional.ofNullable(users.get(otherUserId));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", "DM");
+        result.put("messageId", message.getId());
+        result.put("conversationId", message.getConversationId());
+        result.put("content", message.getContent());
+        result.put("senderId", message.getSenderId());
+        result.put("timestamp", message.getTimestamp().toString());
+        result.put("otherUserId", otherUserId);
+        result.put("otherUserName", otherUser.map(UserSummary::getDisplayName).orElse("Unknown"));
+        result.put("isMine", message.getSenderId().equals(userId));
+        return result;
+    }
+
+    private Map<String, Object> roomMessageResult(GroupMessageEntity message, Long userId, Map<Long, UserSummary> users) {
+        Optional<UserSummary> sender = Optional.ofNullable(users.get(message.getSenderId()));
 
-        List<Map<String, Object>> allResults = new ArrayList<>();
-        allResults.addAll(dmResults);
-        allResults.addAll(roomResults);
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", "ROOM");
+        result.put("messageId", message.getId());
+        result.put("roomId", message.getRoomId());
+        result.put("content", message.getContent());
+        result.put("senderId", message.getSenderId());
+        result.put("senderName", sender.map(UserSummary::getDisplayName).orElse("Unknown"));
+        result.put("timestamp", message.getTimestamp().toString());
+        result.put("isMine", message.getSenderId().equals(userId));
+        return result;
+    }
 
-        allResults.sort((a, b) -> {
-            String timeA = a.get("timestamp").toString();
-            String timeB = b.get("timestamp").toString();
-            return timeB.compareTo(timeA);
-        });
+    private static Long otherUserId(DirectMessageEntity message, Long userId) {
+        return message.getSenderId().equals(userId) ? message.getReceiverId() : message.getSenderId();
+    }
 
-        return allResults;
+    // 색인 따라잡기가 끝났고 검색어에 색인 가능한 용어가 있을 때만 색인 사용 (아니면 DB LIKE 검색)
+    private boolean useIndex(String keyword, boolean kindIndexed) {
+        return kindIndexed && messageSearchIndexer.isReady() && !HangulNgramTokenizer.queryTerms(keyword).isEmpty();
+    }
+
+    // 색인은 후보만 좁히므로 실제 내용으로 다시 확인
+    private static boolean containsKeyword(String content, String keyword) {
+        return content != null && content.toLowerCase().contains(keyword.toLowerCase());
+    }
+
+    // LIKE 특수문자를 이스케이프한 소문자 부분 일치 패턴
+    static String likePattern(String keyword) {
+        String escaped = keyword.toLowerCase()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * 병합 단위 - 결과 순서상의 위치와 원본 메시지
+     */
+    private record Match(SearchCursor position, DirectMessageEntity directMessage, GroupMessageEntity groupMessage) {
+
+        static final Comparator<Match> NEWEST_FIRST = Comparator.comparing(Match::position, SearchCursor.NEWEST_FIRST);
+
+        static Match of(DirectMessageEntity message) {
+            return new Match(new SearchCursor(message.getTimestamp(), IndexedMessage.Kind.DM, message.getId()),
+                message, null);
+        }
+
+        static Match of(GroupMessageEntity message) {
+            return new Match(new SearchCursor(message.getTimestamp(), IndexedMessage.Kind.ROOM, message.getId()),
+                null, message);
+        }
     }
-}
\ No newline at end of file
+}
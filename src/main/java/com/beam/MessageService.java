@@ -1,15 +1,20 @@
 package com.beam;
 
+import com.beam.archive.ArchiveCodecs;
+import com.beam.archive.MessageArchive;
+import com.beam.store.MessageStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class MessageService {
@@ -18,7 +23,17 @@ public class MessageService {
     private MessageRepository messageRepository;
 
     @Autowired
-    private MessageReadReceiptRepository readReceiptRepository;
+    private RoomReadWatermarkRepository readWatermarkRepository;
+
+    @Autowired
+    private RoomReadWatermarkWriter readWatermarkWriter;
+
+    // archive.enabled=false 면 없음
+    @Autowired(required = false)
+    private MessageArchive messageArchive;
+
+    @Autowired
+    private MessageStore<MessageEntity> messageStore;
 
     private static final int DEFAULT_PAGE_SIZE = 100;
     private static final int MAX_PAGE_SIZE = 500;
@@ -33,11 +48,11 @@ public class MessageService {
 
         entity.setSecurityType(chatMessage.getSecurityType());
 
-        return messageRepository.save(entity);
+        return messageStore.append(entity);
     }
 
     public List<MessageEntity> getRecentMessages(String roomId) {
-        return messageRepository.findTop50ByRoomIdOrderByTimestampDesc(roomId);
+        return messageStore.findLatest(roomId, 50);
     }
 
     /**
@@ -46,7 +61,20 @@ public class MessageService {
      */
     @Deprecated
     public List<MessageEntity> getAllRoomMessages(String roomId) {
-        return messageRepository.findByRoomIdOrderByTimestampAsc(roomId);
+        List<MessageEntity> hot = messageStore.findRange(roomId, 0, Integer.MAX_VALUE);
+        if (messageArchive == null) {
+            return hot;
+        }
+        List<MessageEntity> archived = messageArchive.readAll(ArchiveCodecs.ROOM_MESSAGES, roomId);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        // 세그먼트 기록 후 원본 삭제 전이면 같은 메시지가 양쪽에 있음
+        List<MessageEntity> messages = new ArrayList<>(archived.size() + hot.size());
+        messages.addAll(archived);
+        MessageArchive.appendUnseen(ArchiveCodecs.ROOM_MESSAGES, messages, hot);
+        return messages;
     }
 
     /**
@@ -55,68 +83,125 @@ public class MessageService {
     public Page<MessageEntity> getAllRoomMessages(String roomId, int page, int size) {
         int pageSize = Math.min(size, MAX_PAGE_SIZE);
         Pageable pageable = PageRequest.of(page, pageSize);
-        return messageRepository.findByRoomIdOrderByTimestampAsc(roomId, pageable);
-    }
 
-    /**
-     * 메시지를 읽음 처리
-     */
-    public MessageReadReceipt markMessageAsRead(Long messageId, Long userId) {
-        // 이미 읽음 표시가 있으면 그대로 반환
-        var existing = readReceiptRepository.findByMessageIdAndUserId(messageId, userId);
-        if (existing.isPresent()) {
-            return existing.get();
+        // 아카이브(오래된 구간) 뒤에 핫 저장소가 이어지는 하나의 시간순 목록으로 페이징
+        long archivedCount = messageArchive != null ? messageArchive.count(ArchiveCodecs.ROOM_MESSAGES, roomId) : 0;
+        long offset = pageable.getOffset();
+        List<MessageEntity> content = new ArrayList<>(pageSize);
+        if (offset < archivedCount) {
+            content.addAll(messageArchive.read(ArchiveCodecs.ROOM_MESSAGES, roomId, offset, pageSize));
+        }
+        if (content.size() < pageSize) {
+            long hotOffset = Math.max(0, offset - archivedCount);
+            content.addAll(messageStore.findRange(roomId, hotOffset, pageSize - content.size()));
         }
 
-        // 새로운 읽음 표시 생성
-        MessageReadReceipt receipt = new MessageReadReceipt(messageId, userId);
-        return readReceiptRepository.save(receipt);
+        long total = archivedCount + messageStore.count(roomId);
+        return new PageImpl<>(content, pageable, total);
     }
 
     /**
-     * 채팅방의 모든 메시지를 읽음 처리 (배치 처리로 N+1 쿼리 방지)
+     * 메시지를 읽음 처리 - 해당 메시지까지 읽음 워터마크를 앞으로 이동
      */
     @Transactional
-    public void markRoomMessagesAsRead(String roomId, Long userId, String username) {
-        // 1. 읽지 않은 메시지 ID 목록을 한 번의 쿼리로 조회
-        List<Long> unreadMessageIds = messageRepository.findUnreadMessageIds(roomId, userId, username);
-
-        if (unreadMessageIds.isEmpty()) {
-            return;
-        }
-
-        // 2. 배치로 읽음 표시 생성
-        List<MessageReadReceipt> receipts = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
+    public void markMessageAsRead(Long messageId, Long userId, String username) {
+        MessageEntity message = messageStore.findById(messageId)
+            .orElseThrow(() -> new RuntimeException("Message not found"));
+        advanceReadWatermark(message.getRoomId(), userId, username, messageId);
+    }
 
-        for (Long messageId : unreadMessageIds) {
-            MessageReadReceipt receipt = new MessageReadReceipt(messageId, userId);
-            receipt.setReadAt(now);
-            receipts.add(receipt);
+    /**
+     * 채팅방의 모든 메시지를 읽음 처리 (메시지별 행 대신 워터마크 한 행만 갱신)
+     *
+     * @return 새 워터마크 (이미 끝까지 읽었거나 메시지가 없으면 null)
+     */
+    @Transactional
+    public Long markRoomMessagesAsRead(String roomId, Long userId, String username) {
+        Long latestMessageId = messageRepository.findLatestMessageId(roomId);
+        if (latestMessageId == null) {
+            return null;
         }
+        return advanceReadWatermark(roomId, userId, username, latestMessageId) ? latestMessageId : null;
+    }
 
-        // 3. 한 번에 저장 (배치 insert)
-        readReceiptRepository.saveAll(receipts);
+    /**
+     * 워터마크를 messageId 로 이동 (이미 더 앞이면 그대로)
+     *
+     * @return 워터마크가 움직였으면 true
+     */
+    @Transactional
+    public boolean advanceReadWatermark(String roomId, Long userId, String username, Long messageId) {
+        return readWatermarkWriter.advance(roomId, userId, username, messageId);
     }
 
     /**
-     * 채팅방의 안읽은 메시지 수 조회
+     * 채팅방의 안읽은 메시지 수 조회 (워터마크 이후 다른 사람이 보낸 메시지)
      */
     public long getUnreadMessageCount(String roomId, Long userId, String username) {
-        return readReceiptRepository.countUnreadMessagesInRoom(roomId, userId, username);
+        long lastRead = readWatermarkRepository.findByRoomIdAndUserId(roomId, userId)
+            .map(RoomReadWatermark::getLastReadMessageId)
+            .orElse(0L);
+        return messageRepository.countRoomMessagesAfter(roomId, lastRead, username);
     }
 
     /**
-     * 메시지를 읽은 사용자 수 조회
+     * 메시지를 읽은 사용자 수 조회 (보낸 사람 제외)
      */
     public long getReadCount(Long messageId) {
-        return readReceiptRepository.countByMessageId(messageId);
+        return messageStore.findById(messageId)
+            .map(message -> getReadCounts(message.getRoomId(), List.of(message)).get(messageId))
+            .orElse(0L);
+    }
+
+    /**
+     * 여러 메시지의 읽은 사용자 수 - 방의 워터마크를 한 번 읽어 정렬된 배열에서 이진 탐색
+     */
+    public Map<Long, Long> getReadCounts(String roomId, List<MessageEntity> messages) {
+        List<RoomReadWatermark> watermarks = readWatermarkRepository.findByRoomIdOrderByLastReadMessageIdAsc(roomId);
+        long[] sorted = new long[watermarks.size()];
+        Map<String, Long> byUsername = new HashMap<>();
+        for (int i = 0; i < sorted.length; i++) {
+            RoomReadWatermark watermark = watermarks.get(i);
+            sorted[i] = watermark.getLastReadMessageId();
+            if (watermark.getUsername() != null) {
+                byUsername.put(watermark.getUsername(), watermark.getLastReadMessageId());
+            }
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (MessageEntity message : messages) {
+            long readers = sorted.length - lowerBound(sorted, message.getId());
+            Long senderWatermark = byUsername.get(message.getSender());
+            if (senderWatermark != null && senderWatermark >= message.getId()) {
+                readers--;
+            }
+            counts.put(message.getId(), readers);
+        }
+        return counts;
     }
 
     /**
      * 메시지 읽음 여부 확인
      */
     public boolean isMessageRead(Long messageId, Long userId) {
-        return readReceiptRepository.existsByMessageIdAndUserId(messageId, userId);
+        return messageStore.findById(messageId)
+            .flatMap(message -> readWatermarkRepository.findByRoomIdAndUserId(message.getRoomId(), userId))
+            .map(watermark -> watermark.getLastReadMessageId() >= messageId)
+            .orElse(false);
+    }
+
+    // value 이상인 첫 위치
+    private static int lowerBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.beam;
 
+import com.beam.datasource.ReadWriteDataSource;
+import com.beam.datasource.ReplicaRoutingPolicy;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
@@ -14,6 +16,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -22,7 +25,7 @@ import java.util.concurrent.TimeUnit;
  *
  * <p>Configures performance-related features including:
  * <ul>
- *   <li>Database connection pooling (HikariCP)</li>
+ *   <li>Database connection pooling (HikariCP), optionally split into primary and read replica</li>
  *   <li>Async task execution</li>
  *   <li>Application-level caching (Caffeine)</li>
  * </ul>
@@ -46,17 +49,61 @@ public class PerformanceConfig {
     @Value("${spring.datasource.driver-class-name:org.h2.Driver}")
     private String driverClassName;
 
+    @Value("${datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username:${spring.datasource.username:sa}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replica.max-lag-ms:1000}")
+    private long replicaMaxLagMillis;
+
+    @Value("${datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMillis;
+
+    @Value("${datasource.replica.lag-check-ms:1000}")
+    private long replicaLagCheckMillis;
+
+    @Value("${datasource.replica.lag-query:" + ReadWriteDataSource.POSTGRES_LAG_QUERY + "}")
+    private String replicaLagQuery;
+
+    /**
+     * Primary pool, or a primary/replica pair when {@code datasource.replica.url} is set
+     * ({@code @Transactional(readOnly = true)} reads go to the replica)
+     */
     @Bean
     @Profile("prod")
     public DataSource dataSource() {
+        HikariDataSource primary = createPool("beam-primary", datasourceUrl, datasourceUsername,
+            datasourcePassword, 20, 10);
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            return primary;
+        }
+
+        HikariDataSource replica = createPool("beam-replica", replicaUrl, replicaUsername,
+            replicaPassword, replicaPoolSize, Math.min(10, replicaPoolSize));
+        ReplicaRoutingPolicy policy = new ReplicaRoutingPolicy(
+            Duration.ofMillis(replicaMaxLagMillis), Duration.ofMillis(readYourWritesMillis));
+        return new ReadWriteDataSource(primary, replica, policy, replicaLagQuery, replicaLagCheckMillis);
+    }
+
+    private HikariDataSource createPool(String poolName, String url, String username, String password,
+                                        int maximumPoolSize, int minimumIdle) {
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(datasourceUrl);
-        config.setUsername(datasourceUsername);
-        config.setPassword(datasourcePassword);
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
         config.setDriverClassName(driverClassName);
 
-        config.setMaximumPoolSize(20);
-        config.setMinimumIdle(10);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(minimumIdle);
         config.setConnectionTimeout(30000);
         config.setIdleTimeout(600000);
         config.setMaxLifetime(1800000);
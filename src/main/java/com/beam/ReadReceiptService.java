@@ -1,5 +1,8 @@
 package com.beam;
 
+import com.beam.dto.UserSummary;
+import com.beam.store.MessageStore;
+import com.beam.websocket.ReadUpdateBroadcaster;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
@@ -19,10 +22,16 @@ public class ReadReceiptService {
     private DirectMessageRepository directMessageRepository;
 
     @Autowired
-    private GroupMessageRepository groupMessageRepository;
+    private MessageStore<GroupMessageEntity> groupMessageStore;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private RoomReadIndex roomReadIndex;
+
+    @Autowired
+    private ReadUpdateBroadcaster readUpdateBroadcaster;
 
     @Autowired(required = false)
     private SimpMessageSendingOperations messagingTemplate;
@@ -68,62 +77,65 @@ public class ReadReceiptService {
         }
     }
 
+    /**
+     * 그룹 메시지 읽음 - 메시지마다 행을 쓰지 않고 읽음 인덱스의 멤버 워터마크만 전진
+     * (해당 메시지까지 읽은 것으로 처리, DB 반영은 인덱스가 모아서 지연 처리)
+     * 방금 보낸 메시지도 찾을 수 있도록 복제본이 아닌 primary 에서 조회
+     */
     @Transactional
     public void markGroupMessageAsRead(Long messageId, Long userId) {
-        if (readReceiptRepository.existsByGroupMessageIdAndUserId(messageId, userId)) {
-            return;
-        }
-
-        GroupMessageEntity message = groupMessageRepository.findById(messageId)
+        GroupMessageEntity message = groupMessageStore.findById(messageId)
             .orElseThrow(() -> new RuntimeException("Message not found"));
 
-        if (message.getSenderId().equals(userId)) {
+        if (message.getSenderId().equals(userId) || message.getSeq() == null) {
             return;
         }
 
-        ReadReceiptEntity receipt = ReadReceiptEntity.builder()
-            .groupMessageId(messageId)
-            .userId(userId)
-            .readAt(LocalDateTime.now())
-            .build();
-
-        readReceiptRepository.save(receipt);
-
-        message.incrementReadCount();
-        groupMessageRepository.save(message);
-
-        if (messagingTemplate != null) {
-            Map<String, Object> notification = Map.of(
-                "type", "READ_RECEIPT_GROUP",
-                "messageId", messageId,
-                "roomId", message.getRoomId(),
-                "userId", userId,
-                "readAt", LocalDateTime.now().toString(),
-                "totalReadCount", message.getReadCount()
-            );
-
-            messagingTemplate.convertAndSend(
-                "/topic/room." + message.getRoomId() + ".read-receipts",
-                notification
-            );
+        // 알림은 방 단위로 모아서 전송 (읽은 사람 -> 새 워터마크)
+        if (roomReadIndex.advance(message.getRoomId(), userId, message.getSeq())) {
+            readUpdateBroadcaster.recordGroupRead(message.getRoomId(), userId, message.getSeq());
         }
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getMessageReadReceipts(Long messageId, boolean isGroupMessage) {
-        List<ReadReceiptEntity> receipts = isGroupMessage
-            ? readReceiptRepository.findByGroupMessageId(messageId)
-            : readReceiptRepository.findByMessageId(messageId);
+        if (isGroupMessage) {
+            return getGroupMessageReaders(messageId);
+        }
+
+        List<ReadReceiptEntity> receipts = readReceiptRepository.findByMessageId(messageId);
+        Map<Long, UserSummary> readers = userDirectory.findAll(
+            receipts.stream().map(ReadReceiptEntity::getUserId).toList());
 
         return receipts.stream().map(receipt -> {
-            Optional<UserEntity> userOpt = userRepository.findById(receipt.getUserId());
+            Optional<UserSummary> userOpt = Optional.ofNullable(readers.get(receipt.getUserId()));
 
             Map<String, Object> receiptMap = new HashMap<>();
             receiptMap.put("userId", receipt.getUserId());
-            receiptMap.put("userName", userOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+            receiptMap.put("userName", userOpt.map(UserSummary::getDisplayName).orElse("Unknown"));
             receiptMap.put("readAt", receipt.getReadAt().toString());
 
             return receiptMap;
         }).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // 그룹 메시지는 워터마크가 해당 메시지 이상인 멤버가 읽은 사람 (개별 읽은 시각은 없음)
+    private List<Map<String, Object>> getGroupMessageReaders(Long messageId) {
+        GroupMessageEntity message = groupMessageStore.findById(messageId)
+            .orElseThrow(() -> new RuntimeException("Message not found"));
+        if (message.getSeq() == null) {
+            return List.of();
+        }
+
+        List<Long> readerIds = roomReadIndex.readers(message.getRoomId(), message.getSeq(), message.getSenderId());
+        Map<Long, UserSummary> readers = userDirectory.findAll(readerIds);
+
+        return readerIds.stream().map(readerId -> {
+            Map<String, Object> receiptMap = new HashMap<>();
+            receiptMap.put("userId", readerId);
+            receiptMap.put("userName", Optional.ofNullable(readers.get(readerId))
+                .map(UserSummary::getDisplayName).orElse("Unknown"));
+            return receiptMap;
+        }).collect(Collectors.toList());
+    }
+}
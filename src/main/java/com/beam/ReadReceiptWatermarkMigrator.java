@@ -0,0 +1,147 @@
+package com.beam;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read Receipt Watermark Migrator
+ *
+ * <p>Folds the legacy {@code message_read_receipts} rows into
+ * {@link RoomReadWatermark}s while the server keeps running. Each batch of
+ * {@code read-watermark.migration.batch-size} receipts is grouped by
+ * (room, user), the watermark is advanced to the highest message id read,
+ * and the receipts are deleted, all in one short transaction. Watermarks
+ * only move forward, so live reads and the migration can interleave freely.
+ *
+ * <p>Receipts of messages that no longer exist (archived or deleted) and of
+ * deleted users are dropped. Enabled by default; turn off with
+ * {@code read-watermark.migration.enabled=false}.
+ *
+ * @since 1.3.0
+ */
+@Component
+@ConditionalOnProperty(name = "read-watermark.migration.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadReceiptWatermarkMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReceiptWatermarkMigrator.class);
+
+    @Autowired
+    private MessageReadReceiptRepository readReceiptRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${read-watermark.migration.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${read-watermark.migration.max-batches-per-run:50}")
+    private int maxBatchesPerRun = 50;
+
+    @Value("${read-watermark.migration.pause-ms:100}")
+    private long pauseMs = 100;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 새 읽음 표시 행은 더 이상 생기지 않으므로 한 번 비면 끝
+    private volatile boolean completed = false;
+
+    /**
+     * 주기적으로 몇 배치씩 이관 (기본: 1분마다 최대 50배치)
+     */
+    @Scheduled(initialDelayString = "${read-watermark.migration.initial-delay-ms:30000}",
+               fixedDelayString = "${read-watermark.migration.interval-ms:60000}")
+    public void migrate() {
+        if (completed || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long migrated = 0;
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int count = migrateBatch();
+                if (count == 0) {
+                    completed = true;
+                    logger.info("Read receipt migration finished");
+                    break;
+                }
+                migrated += count;
+                Thread.sleep(pauseMs);
+            }
+            if (migrated > 0) {
+                logger.info("Migrated {} read receipts into room read watermarks", migrated);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Read receipt migration interrupted");
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 가장 오래된 batchSize 건을 워터마크로 옮기고 삭제
+     *
+     * @return 처리한 읽음 표시 수 (0 이면 남은 행 없음)
+     */
+    int migrateBatch() {
+        Integer migrated = new TransactionTemplate(transactionManager).execute(status -> {
+            List<MessageReadReceipt> receipts = readReceiptRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (receipts.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, MessageEntity> messages = messageRepository.findAllById(receipts.stream()
+                    .map(MessageReadReceipt::getMessageId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(MessageEntity::getId, Function.identity()));
+            Map<Long, UserEntity> users = userRepository.findAllById(receipts.stream()
+                    .map(MessageReadReceipt::getUserId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+            // (방, 사용자)별 가장 큰 메시지 id
+            Map<RoomUser, Long> highest = new HashMap<>();
+            for (MessageReadReceipt receipt : receipts) {
+                MessageEntity message = messages.get(receipt.getMessageId());
+                if (message == null || !users.containsKey(receipt.getUserId())) {
+                    continue;
+                }
+                highest.merge(new RoomUser(message.getRoomId(), receipt.getUserId()), message.getId(), Math::max);
+            }
+
+            highest.forEach((key, messageId) -> messageService.advanceReadWatermark(key.roomId(), key.userId(),
+                users.get(key.userId()).getUsername(), messageId));
+
+            readReceiptRepository.deleteAllByIdInBatch(receipts.stream()
+                .map(MessageReadReceipt::getId).filter(Objects::nonNull).toList());
+            return receipts.size();
+        });
+        return migrated != null ? migrated : 0;
+    }
+
+    private record RoomUser(String roomId, Long userId) {
+    }
+}
@@ -32,9 +32,6 @@ public class RoomController {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private RoomMemberRepository roomMemberRepository;
-
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -221,6 +218,7 @@ public class RoomController {
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
             List<GroupMessageEntity> messages = roomService.getRoomMessages(roomId, userId);
+            Map<Long, Integer> readCounts = roomService.getReadCounts(roomId, messages);
 
             List<Map<String, Object>> result = messages.stream().map(msg -> {
                 Optional<UserEntity> senderOpt = userRepository.findById(msg.getSenderId());
@@ -232,7 +230,7 @@ public class RoomController {
                 msgMap.put("content", msg.getContent());
                 msgMap.put("messageType", msg.getMessageType().toString());
                 msgMap.put("timestamp", msg.getTimestamp().toString());
-                msgMap.put("readCount", msg.getReadCount());
+                msgMap.put("readCount", readCounts.getOrDefault(msg.getId(), 0));
                 msgMap.put("isMine", msg.getSenderId().equals(userId));
 
                 return msgMap;
@@ -278,27 +276,9 @@ public class RoomController {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            List<RoomEntity> rooms = roomService.getUserRooms(userId);
-
-            List<Map<String, Object>> result = rooms.stream().map(room -> {
-                Optional<RoomMemberEntity> membershipOpt = roomMemberRepository
-                    .findByRoomIdAndUserIdAndIsActiveTrue(room.getId(), userId);
-
-                Map<String, Object> roomMap = new HashMap<>();
-                roomMap.put("roomId", room.getId());
-                roomMap.put("roomName", room.getRoomName());
-                roomMap.put("description", room.getDescription());
-                roomMap.put("roomType", room.getRoomType().toString());
-                roomMap.put("currentMembers", room.getCurrentMembers());
-                roomMap.put("maxMembers", room.getMaxMembers());
-                roomMap.put("lastMessage", room.getLastMessage());
-                roomMap.put("lastMessageTime", room.getLastMessageTime() != null
-                    ? room.getLastMessageTime().toString() : null);
-                roomMap.put("unreadCount", membershipOpt.map(RoomMemberEntity::getUnreadCount).orElse(0));
-                roomMap.put("myRole", membershipOpt.map(m -> m.getRole().toString()).orElse("MEMBER"));
-
-                return roomMap;
-            }).collect(Collectors.toList());
+            List<Map<String, Object>> result = roomService.getRoomSummaries(userId).stream()
+                .map(RoomSummary::toMap)
+                .collect(Collectors.toList());
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -48,6 +48,13 @@ public class RoomEntity {
     @Column
     private Long lastMessageSenderId;
 
+    /**
+     * 방의 마지막 메시지 시퀀스 (head). 멤버별 안읽은 수는 head - lastReadSeq 로 계산한다.
+     * 엔티티 save 시 stale 값으로 덮어쓰지 않도록 벌크 UPDATE 로만 증가시킨다.
+     */
+    @Column(nullable = false, updatable = false)
+    private Long lastMessageSeq = 0L;
+
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -66,7 +73,7 @@ public class RoomEntity {
     public RoomEntity(Long id, String roomName, String description, RoomType roomType, Long createdBy,
                       Integer maxMembers, Integer currentMembers, String roomImageUrl, Boolean isActive,
                       String lastMessage, LocalDateTime lastMessageTime, Long lastMessageSenderId,
-                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+                      Long lastMessageSeq, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.roomName = roomName;
         this.description = description;
@@ -79,6 +86,7 @@ public class RoomEntity {
         this.lastMessage = lastMessage;
         this.lastMessageTime = lastMessageTime;
         this.lastMessageSenderId = lastMessageSenderId;
+        this.lastMessageSeq = lastMessageSeq;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -100,6 +108,9 @@ public class RoomEntity {
         if (this.currentMembers == null) {
             this.currentMembers = 0;
         }
+        if (this.lastMessageSeq == null) {
+            this.lastMessageSeq = 0L;
+        }
     }
 
     @PreUpdate
@@ -166,6 +177,10 @@ public class RoomEntity {
         return lastMessageSenderId;
     }
 
+    public Long getLastMessageSeq() {
+        return lastMessageSeq;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -223,6 +238,10 @@ public class RoomEntity {
         this.lastMessageSenderId = lastMessageSenderId;
     }
 
+    public void setLastMessageSeq(Long lastMessageSeq) {
+        this.lastMessageSeq = lastMessageSeq;
+    }
+
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
@@ -249,6 +268,7 @@ public class RoomEntity {
         private String lastMessage;
         private LocalDateTime lastMessageTime;
         private Long lastMessageSenderId;
+        private Long lastMessageSeq = 0L;
         private LocalDateTime createdAt = LocalDateTime.now();
         private LocalDateTime updatedAt;
 
@@ -312,6 +332,11 @@ public class RoomEntity {
             return this;
         }
 
+        public Builder lastMessageSeq(Long lastMessageSeq) {
+            this.lastMessageSeq = lastMessageSeq;
+            return this;
+        }
+
         public Builder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -336,6 +361,7 @@ public class RoomEntity {
             entity.lastMessage = this.lastMessage;
             entity.lastMessageTime = this.lastMessageTime;
             entity.lastMessageSenderId = this.lastMessageSenderId;
+            entity.lastMessageSeq = this.lastMessageSeq;
             entity.createdAt = this.createdAt;
             entity.updatedAt = this.updatedAt;
             return entity;
@@ -30,8 +30,12 @@ public class RoomMemberEntity {
     @Column
     private LocalDateTime mutedUntil;
 
-    @Column(nullable = false)
-    private Integer unreadCount = 0;
+    /**
+     * 읽음 워터마크: 이 멤버가 읽은 마지막 메시지 시퀀스.
+     * 안읽은 수는 방의 lastMessageSeq 와의 차이로 계산하며, 벌크 UPDATE 로만 전진시킨다.
+     */
+    @Column(nullable = false, updatable = false)
+    private Long lastReadSeq = 0L;
 
     @Column
     private LocalDateTime lastReadTime;
@@ -55,7 +59,7 @@ public class RoomMemberEntity {
     }
 
     public RoomMemberEntity(Long id, Long roomId, Long userId, MemberRole role, Boolean isMuted,
-                            LocalDateTime mutedUntil, Integer unreadCount, LocalDateTime lastReadTime,
+                            LocalDateTime mutedUntil, Long lastReadSeq, LocalDateTime lastReadTime,
                             LocalDateTime joinedAt, LocalDateTime leftAt, Boolean isActive) {
         this.id = id;
         this.roomId = roomId;
@@ -63,7 +67,7 @@ public class RoomMemberEntity {
         this.role = role;
         this.isMuted = isMuted;
         this.mutedUntil = mutedUntil;
-        this.unreadCount = unreadCount;
+        this.lastReadSeq = lastReadSeq;
         this.lastReadTime = lastReadTime;
         this.joinedAt = joinedAt;
         this.leftAt = leftAt;
@@ -81,21 +85,21 @@ public class RoomMemberEntity {
         if (this.isMuted == null) {
             this.isMuted = false;
         }
-        if (this.unreadCount == null) {
-            this.unreadCount = 0;
+        if (this.lastReadSeq == null) {
+            this.lastReadSeq = 0L;
         }
         if (this.isActive == null) {
             this.isActive = true;
         }
     }
 
-    public void resetUnreadCount() {
-        this.unreadCount = 0;
-        this.lastReadTime = LocalDateTime.now();
-    }
-
-    public void incrementUnreadCount() {
-        this.unreadCount++;
+    /**
+     * 방의 head 시퀀스 기준 안읽은 메시지 수
+     */
+    public int getUnreadCount(Long headSeq) {
+        long head = headSeq != null ? headSeq : 0L;
+        long read = lastReadSeq != null ? lastReadSeq : 0L;
+        return (int) Math.max(0L, head - read);
     }
 
     // Getters
@@ -123,8 +127,8 @@ public class RoomMemberEntity {
         return mutedUntil;
     }
 
-    public Integer getUnreadCount() {
-        return unreadCount;
+    public Long getLastReadSeq() {
+        return lastReadSeq;
     }
 
     public LocalDateTime getLastReadTime() {
@@ -168,8 +172,8 @@ public class RoomMemberEntity {
         this.mutedUntil = mutedUntil;
     }
 
-    public void setUnreadCount(Integer unreadCount) {
-        this.unreadCount = unreadCount;
+    public void setLastReadSeq(Long lastReadSeq) {
+        this.lastReadSeq = lastReadSeq;
     }
 
     public void setLastReadTime(LocalDateTime lastReadTime) {
@@ -200,7 +204,7 @@ public class RoomMemberEntity {
         private MemberRole role = MemberRole.MEMBER;
         private Boolean isMuted = false;
         private LocalDateTime mutedUntil;
-        private Integer unreadCount = 0;
+        private Long lastReadSeq = 0L;
         private LocalDateTime lastReadTime;
         private LocalDateTime joinedAt = LocalDateTime.now();
         private LocalDateTime leftAt;
@@ -236,8 +240,8 @@ public class RoomMemberEntity {
             return this;
         }
 
-        public Builder unreadCount(Integer unreadCount) {
-            this.unreadCount = unreadCount;
+        public Builder lastReadSeq(Long lastReadSeq) {
+            this.lastReadSeq = lastReadSeq;
             return this;
         }
 
@@ -269,7 +273,7 @@ public class RoomMemberEntity {
             entity.role = this.role;
             entity.isMuted = this.isMuted;
             entity.mutedUntil = this.mutedUntil;
-            entity.unreadCount = this.unreadCount;
+            entity.lastReadSeq = this.lastReadSeq;
             entity.lastReadTime = this.lastReadTime;
             entity.joinedAt = this.joinedAt;
             entity.leftAt = this.leftAt;
@@ -1,10 +1,14 @@
 package com.beam;
 
+import com.beam.dto.RoomSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,8 @@ public interface RoomMemberRepository extends JpaRepository<RoomMemberEntity, Lo
 
     List<RoomMemberEntity> findByRoomIdAndIsActiveTrue(Long roomId);
 
+    List<RoomMemberEntity> findByRoomIdInAndIsActiveTrue(Collection<Long> roomIds);
+
     List<RoomMemberEntity> findByUserIdAndIsActiveTrue(Long userId);
 
     @Query("SELECT COUNT(rm) FROM RoomMemberEntity rm WHERE " +
@@ -28,7 +34,29 @@ public interface RoomMemberRepository extends JpaRepository<RoomMemberEntity, Lo
 
     boolean existsByRoomIdAndUserIdAndIsActiveTrue(Long roomId, Long userId);
 
-    @Query("SELECT SUM(rm.unreadCount) FROM RoomMemberEntity rm WHERE " +
-           "rm.userId = :userId AND rm.isActive = true")
-    Integer getTotalUnreadCount(@Param("userId") Long userId);
+    @Query("SELECT rm.userId FROM RoomMemberEntity rm WHERE rm.roomId = :roomId AND rm.isActive = true")
+    List<Long> findActiveUserIds(@Param("roomId") Long roomId);
+
+    // 방 목록(inbox)을 room_members + rooms 단일 조인으로 조회 (N+1 방지)
+    @Query("SELECT new com.beam.dto.RoomSummary(r.id, r.roomName, r.description, r.roomType, " +
+           "r.currentMembers, r.maxMembers, r.lastMessage, r.lastMessageTime, r.lastMessageSeq, " +
+           "rm.lastReadSeq, rm.role) " +
+           "FROM RoomMemberEntity rm, RoomEntity r WHERE " +
+           "rm.roomId = r.id AND rm.userId = :userId AND rm.isActive = true AND r.isActive = true " +
+           "ORDER BY r.lastMessageTime DESC NULLS LAST, r.id DESC")
+    List<RoomSummary> findRoomSummaries(@Param("userId") Long userId);
+
+    @Query("SELECT COALESCE(SUM(r.lastMessageSeq - rm.lastReadSeq), 0) " +
+           "FROM RoomMemberEntity rm, RoomEntity r WHERE " +
+           "rm.roomId = r.id AND rm.userId = :userId AND rm.isActive = true AND r.isActive = true")
+    Long getTotalUnreadCount(@Param("userId") Long userId);
+
+    // 읽음 워터마크 전진 (뒤로 가지 않도록 lastReadSeq < :seq 조건)
+    @Modifying
+    @Query("UPDATE RoomMemberEntity rm SET rm.lastReadSeq = :seq, rm.lastReadTime = :readTime WHERE " +
+           "rm.roomId = :roomId AND rm.userId = :userId AND rm.isActive = true AND rm.lastReadSeq < :seq")
+    int advanceReadWatermark(@Param("roomId") Long roomId,
+                             @Param("userId") Long userId,
+                             @Param("seq") Long seq,
+                             @Param("readTime") LocalDateTime readTime);
 }
\ No newline at end of file
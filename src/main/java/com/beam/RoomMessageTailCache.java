@@ -0,0 +1,460 @@
+package com.beam;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Room Message Tail Cache
+ *
+ * <p>Keeps the latest {@value #TAIL_SIZE} messages of recently read rooms.
+ * New messages are appended on send, so an active room stays warm instead
+ * of being evicted on every write.
+ *
+ * <p>Messages are stored serialized in off-heap slabs (direct
+ * {@link ByteBuffer}s), one slab per room, sized from the loaded tail: the
+ * smallest power of two from {@code room.tail.slab-kb} up to
+ * {@code room.tail.max-slab-kb} that holds twice the tail, leaving room for
+ * appends. A room whose latest {@value #TAIL_SIZE} messages do not fit the
+ * largest slab is not cached. Slabs of all sizes together never exceed
+ * {@code room.tail.budget-mb}; when the budget is used up, free slabs of
+ * other sizes are dropped and then least recently used rooms give up their
+ * slabs. A room whose tail no longer covers the latest {@value #TAIL_SIZE}
+ * messages (appends outgrew the slab, out-of-order commits) is reloaded
+ * from the database on the next read, into a slab sized for the new data.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class RoomMessageTailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomMessageTailCache.class);
+
+    /** findTop100ByRoomIdAndIsDeletedFalseOrderByTimestampDesc 와 동일한 크기 */
+    public static final int TAIL_SIZE = 100;
+
+    private static final GroupMessageEntity.MessageType[] MESSAGE_TYPES = GroupMessageEntity.MessageType.values();
+
+    @Value("${room.tail.budget-mb:64}")
+    private long budgetMb = 64;
+
+    @Value("${room.tail.slab-kb:16}")
+    private int slabKb = 16;
+
+    @Value("${room.tail.max-slab-kb:512}")
+    private int maxSlabKb = 512;
+
+    private int minSlabSize;
+    private int maxSlabSize;
+    private long budgetBytes;
+
+    // 할당한 슬랩 수/바이트와 크기별로 반납된 슬랩 (같은 크기는 재사용)
+    private int allocatedSlabs;
+    private long allocatedBytes;
+    private final Map<Integer, ArrayDeque<ByteBuffer>> freeSlabs = new HashMap<>();
+
+    // 접근 순서 기준 LRU - 구조 변경은 모두 this 잠금 안에서
+    private final LinkedHashMap<Long, RoomTail> rooms = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        budgetBytes = budgetMb * 1024 * 1024;
+        minSlabSize = slabKb * 1024;
+        maxSlabSize = (int) Math.min(budgetBytes, Math.max(minSlabSize, maxSlabKb * 1024L));
+        logger.info("Room tail cache: slabs of {}-{} KB ({} MB off-heap budget)",
+            minSlabSize / 1024, maxSlabSize / 1024, budgetMb);
+    }
+
+    /**
+     * 방의 최근 메시지 (최신순). 꼬리가 준비되지 않았으면 loader 결과를 적재한 뒤 반환
+     *
+     * @param loader 최신순 최대 {@value #TAIL_SIZE}개를 DB에서 읽는 함수
+     */
+    public List<GroupMessageEntity> getLatest(Long roomId, Supplier<List<GroupMessageEntity>> loader) {
+        RoomTail tail;
+        synchronized (this) {
+            tail = rooms.computeIfAbsent(roomId, RoomTail::new);
+        }
+
+        long generation;
+        synchronized (tail) {
+            if (tail.isServable()) {
+                hits.incrementAndGet();
+                return tail.readNewestFirst();
+            }
+            generation = tail.generation;
+        }
+
+        misses.incrementAndGet();
+        List<GroupMessageEntity> loaded = loader.get();
+        install(tail, generation, loaded);
+        return loaded;
+    }
+
+    /**
+     * 커밋된 새 메시지를 꼬리에 추가 (적재되지 않은 방은 무시 - 다음 조회 시 DB에서 적재)
+     */
+    public void append(GroupMessageEntity message) {
+        RoomTail tail;
+        synchronized (this) {
+            tail = rooms.get(message.getRoomId());
+        }
+        if (tail == null) {
+            return;
+        }
+
+        ByteBuffer released;
+        synchronized (tail) {
+            tail.generation++;
+            if (tail.slab == null) {
+                return;
+            }
+
+            byte[] record = encode(message);
+            boolean inOrder = message.getSeq() != null && message.getSeq() > tail.lastSeq;
+            if (inOrder && record.length <= tail.slab.capacity()) {
+                tail.append(record, message.getSeq());
+                return;
+            }
+            // 순서가 뒤바뀐 커밋이나 슬랩보다 큰 메시지 - 다음 조회 시 DB에서 다시 적재
+            released = tail.release();
+        }
+        releaseSlab(released);
+    }
+
+    public void invalidate(Long roomId) {
+        RoomTail tail;
+        synchronized (this) {
+            tail = rooms.remove(roomId);
+        }
+        if (tail == null) {
+            return;
+        }
+
+        ByteBuffer released;
+        synchronized (tail) {
+            tail.generation++;
+            released = tail.release();
+        }
+        releaseSlab(released);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            int free = freeSlabs.values().stream().mapToInt(ArrayDeque::size).sum();
+            stats.put("rooms", rooms.size());
+            stats.put("slabsInUse", allocatedSlabs - free);
+            stats.put("bytesAllocated", allocatedBytes);
+        }
+        stats.put("budgetBytes", budgetBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    private void install(RoomTail tail, long generation, List<GroupMessageEntity> newestFirst) {
+        // 오래된 것부터 직렬화해 필요한 크기 계산 - 가장 큰 슬랩에도 안 들어가면 캐시하지 않음
+        List<byte[]> records = new ArrayList<>(newestFirst.size());
+        long bytes = 0;
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            byte[] record = encode(newestFirst.get(i));
+            records.add(record);
+            bytes += record.length;
+        }
+        if (bytes > maxSlabSize) {
+            return;
+        }
+
+        // 공간이 모자라 더는 서빙할 수 없는 꼬리는 예전 슬랩을 반납하고 새 크기로 다시 적재
+        ByteBuffer previous;
+        synchronized (tail) {
+            if (tail.generation != generation || tail.isServable()) {
+                return;
+            }
+            previous = tail.release();
+        }
+        releaseSlab(previous);
+
+        ByteBuffer slab = acquireSlab(tail, slabSizeFor(bytes));
+        if (slab == null) {
+            return;
+        }
+
+        ByteBuffer unused = slab;
+        synchronized (tail) {
+            // 적재 중에 새 메시지가 들어왔거나 이미 다른 스레드가 적재한 경우 폐기
+            if (tail.generation == generation && tail.slab == null) {
+                tail.load(slab, newestFirst, records);
+                unused = null;
+            }
+        }
+        if (unused != null) {
+            releaseSlab(unused);
+        }
+    }
+
+    // 꼬리의 두 배 이상인 가장 작은 2의 거듭제곱 (최소/최대 슬랩 크기 사이)
+    private int slabSizeFor(long bytes) {
+        long size = minSlabSize;
+        while (size < bytes * 2 && size < maxSlabSize) {
+            size *= 2;
+        }
+        return (int) Math.min(size, maxSlabSize);
+    }
+
+    /**
+     * 슬랩 할당 - 예산을 다 쓴 경우 다른 크기의 빈 슬랩을 버리고, 그래도 모자라면 가장 오래 안 쓴 방의 슬랩을 회수
+     */
+    private synchronized ByteBuffer acquireSlab(RoomTail requester, int size) {
+        // 적재 중 invalidate 로 맵에서 빠진 방은 적재하지 않음
+        if (rooms.get(requester.roomId) != requester) {
+            return null;
+        }
+
+        Iterator<RoomTail> it = rooms.values().iterator();
+        while (true) {
+            ArrayDeque<ByteBuffer> sameSize = freeSlabs.get(size);
+            if (sameSize != null && !sameSize.isEmpty()) {
+                return sameSize.pop();
+            }
+            if (allocatedBytes + size <= budgetBytes) {
+                allocatedSlabs++;
+                allocatedBytes += size;
+                return ByteBuffer.allocateDirect(size);
+            }
+            if (dropFreeSlab()) {
+                continue;
+            }
+
+            RoomTail victim = null;
+            while (victim == null && it.hasNext()) {
+                RoomTail candidate = it.next();
+                if (candidate != requester) {
+                    victim = candidate;
+                }
+            }
+            if (victim == null) {
+                return null;
+            }
+            ByteBuffer slab;
+            synchronized (victim) {
+                victim.generation++;
+                slab = victim.release();
+            }
+            it.remove();
+            if (slab != null) {
+                freeSlabs.computeIfAbsent(slab.capacity(), capacity -> new ArrayDeque<>()).push(slab);
+            }
+        }
+    }
+
+    // 빈 슬랩 하나를 풀에서 버림 (메모리는 GC 가 회수)
+    private boolean dropFreeSlab() {
+        for (ArrayDeque<ByteBuffer> free : freeSlabs.values()) {
+            ByteBuffer slab = free.poll();
+            if (slab != null) {
+                allocatedSlabs--;
+                allocatedBytes -= slab.capacity();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void releaseSlab(ByteBuffer slab) {
+        if (slab != null) {
+            freeSlabs.computeIfAbsent(slab.capacity(), capacity -> new ArrayDeque<>()).push(slab);
+        }
+    }
+
+    // 레코드: id, senderId, seq, epochSecond(UTC), nano, type, readCount, fileUrl, content
+    private static byte[] encode(GroupMessageEntity message) {
+        byte[] content = message.getContent() != null
+            ? message.getContent().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] fileUrl = message.getFileUrl() != null
+            ? message.getFileUrl().getBytes(StandardCharsets.UTF_8) : null;
+        LocalDateTime timestamp = message.getTimestamp() != null ? message.getTimestamp() : LocalDateTime.now();
+
+        ByteBuffer buf = ByteBuffer.allocate(49 + content.length + (fileUrl != null ? fileUrl.length : 0));
+        buf.putLong(message.getId() != null ? message.getId() : -1L);
+        buf.putLong(message.getSenderId() != null ? message.getSenderId() : -1L);
+        buf.putLong(message.getSeq() != null ? message.getSeq() : -1L);
+        buf.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        buf.putInt(timestamp.getNano());
+        buf.put((byte) (message.getMessageType() != null ? message.getMessageType().ordinal() : 0));
+        buf.putInt(message.getReadCount() != null ? message.getReadCount() : 0);
+        buf.putInt(fileUrl != null ? fileUrl.length : -1);
+        if (fileUrl != null) {
+            buf.put(fileUrl);
+        }
+        buf.putInt(content.length);
+        buf.put(content);
+        return buf.array();
+    }
+
+    private static GroupMessageEntity decode(ByteBuffer slab, int offset, Long roomId) {
+        ByteBuffer buf = slab.duplicate();
+        buf.position(offset);
+
+        long id = buf.getLong();
+        long senderId = buf.getLong();
+        long seq = buf.getLong();
+        long epochSecond = buf.getLong();
+        int nano = buf.getInt();
+        int type = buf.get();
+        int readCount = buf.getInt();
+
+        String fileUrl = null;
+        int fileUrlLength = buf.getInt();
+        if (fileUrlLength >= 0) {
+            byte[] bytes = new byte[fileUrlLength];
+            buf.get(bytes);
+            fileUrl = new String(bytes, StandardCharsets.UTF_8);
+        }
+        byte[] content = new byte[buf.getInt()];
+        buf.get(content);
+
+        return GroupMessageEntity.builder()
+            .id(id >= 0 ? id : null)
+            .roomId(roomId)
+            .senderId(senderId >= 0 ? senderId : null)
+            .seq(seq >= 0 ? seq : null)
+            .content(new String(content, StandardCharsets.UTF_8))
+            .messageType(MESSAGE_TYPES[type])
+            .fileUrl(fileUrl)
+            .timestamp(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC))
+            .readCount(readCount)
+            .isDeleted(false)
+            .build();
+    }
+
+    /**
+     * 방 하나의 꼬리 - 슬랩 안에 레코드를 순서대로 기록하고 오래된 것부터 버린다
+     * 모든 필드는 해당 RoomTail 잠금 안에서만 접근
+     */
+    static final class RoomTail {
+
+        private final Long roomId;
+        private ByteBuffer slab;
+        private final int[] offsets = new int[TAIL_SIZE];
+        private int head;
+        private int count;
+        private int writePos;
+        private long lastSeq;
+        private long generation;
+
+        // 방의 모든 메시지를 담고 있음 (TAIL_SIZE 미만인 방)
+        private boolean complete;
+
+        RoomTail(Long roomId) {
+            this.roomId = roomId;
+        }
+
+        boolean isServable() {
+            return slab != null && (complete || count >= TAIL_SIZE);
+        }
+
+        /**
+         * records 는 newestFirst 를 오래된 것부터 직렬화한 것 - 슬랩에 모두 들어가는 크기
+         */
+        void load(ByteBuffer slab, List<GroupMessageEntity> newestFirst, List<byte[]> records) {
+            this.slab = slab;
+            this.head = 0;
+            this.count = 0;
+            this.writePos = 0;
+            this.lastSeq = 0;
+            this.complete = newestFirst.size() < TAIL_SIZE;
+
+            for (int i = 0; i < records.size(); i++) {
+                GroupMessageEntity message = newestFirst.get(newestFirst.size() - 1 - i);
+                append(records.get(i), message.getSeq() != null ? message.getSeq() : lastSeq);
+            }
+        }
+
+        void append(byte[] record, long seq) {
+            int capacity = slab.capacity();
+            // 개수 또는 공간이 부족하면 가장 오래된 레코드부터 버림
+            while (count > 0 && (count >= TAIL_SIZE || (writePos - offsets[head]) + record.length > capacity)) {
+                dropOldest();
+            }
+            if (writePos + record.length > capacity) {
+                compact();
+            }
+
+            ByteBuffer buf = slab.duplicate();
+            buf.position(writePos);
+            buf.put(record);
+
+            offsets[(head + count) % TAIL_SIZE] = writePos;
+            count++;
+            writePos += record.length;
+            lastSeq = seq;
+        }
+
+        List<GroupMessageEntity> readNewestFirst() {
+            List<GroupMessageEntity> messages = new ArrayList<>(count);
+            for (int i = count - 1; i >= 0; i--) {
+                messages.add(decode(slab, offsets[(head + i) % TAIL_SIZE], roomId));
+            }
+            return messages;
+        }
+
+        ByteBuffer release() {
+            ByteBuffer released = slab;
+            slab = null;
+            head = 0;
+            count = 0;
+            writePos = 0;
+            lastSeq = 0;
+            complete = false;
+            return released;
+        }
+
+        private void dropOldest() {
+            head = (head + 1) % TAIL_SIZE;
+            count--;
+            complete = false;
+            if (count == 0) {
+                head = 0;
+                writePos = 0;
+            }
+        }
+
+        // 남은 레코드를 슬랩 앞쪽으로 이동
+        private void compact() {
+            if (count == 0) {
+                writePos = 0;
+                return;
+            }
+
+            int start = offsets[head];
+            byte[] live = new byte[writePos - start];
+            ByteBuffer src = slab.duplicate();
+            src.position(start);
+            src.get(live);
+            ByteBuffer dst = slab.duplicate();
+            dst.position(0);
+            dst.put(live);
+
+            for (int i = 0; i < count; i++) {
+                int idx = (head + i) % TAIL_SIZE;
+                offsets[idx] -= start;
+            }
+            writePos = live.length;
+        }
+    }
+}
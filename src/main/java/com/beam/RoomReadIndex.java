@@ -0,0 +1,322 @@
+package com.beam;
+
+import com.beam.datasource.PrimaryReads;
+import com.beam.util.FenwickTree;
+import com.beam.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Room Read Index
+ *
+ * <p>Answers "how many members have read message X" and "how many messages
+ * has member Y not read" for group rooms without touching the database.
+ * Each cached room keeps its members' read watermarks
+ * ({@code room_members.last_read_seq}) and a {@link FenwickTree} counting
+ * members per distinct watermark, so both questions cost O(log m) in the
+ * number of members, and the index stays as small as the member list
+ * however far apart the watermarks are.
+ *
+ * <p>Rooms are loaded from {@code room_members} on the primary (never a
+ * lagging replica, whose roster would outlive the invalidation) on first
+ * use and, at startup, for the {@code room.read-index.warm-rooms} most
+ * recently active rooms.
+ * Watermarks advanced through {@link #advance} are written back lazily: every
+ * {@code room.read-index.flush-ms} the latest watermark per member is applied
+ * with one forward-only UPDATE, however many messages were read in between.
+ * Unflushed watermarks are overlaid when a room is loaded again and are lost
+ * only if the process dies before a flush.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class RoomReadIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomReadIndex.class);
+
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${room.read-index.max-rooms:10000}")
+    private long maxRooms = 10000;
+
+    @Value("${room.read-index.idle-minutes:30}")
+    private long idleMinutes = 30;
+
+    @Value("${room.read-index.warm-rooms:1000}")
+    private int warmRooms = 1000;
+
+    private Cache<Long, RoomReads> rooms;
+
+    // 아직 DB 에 쓰지 않은 워터마크 (roomId -> userId -> seq)
+    private final Map<Long, Map<Long, Long>> dirty = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        rooms = Caffeine.newBuilder()
+            .maximumSize(maxRooms)
+            .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+            .build();
+    }
+
+    /**
+     * 최근 활성 방의 인덱스를 워터마크로부터 미리 구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmRooms <= 0) {
+            return;
+        }
+        List<Long> roomIds = roomRepository.findRecentlyActiveRoomIds(PageRequest.of(0, warmRooms));
+        if (roomIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<RoomMemberEntity>> membersByRoom = roomMemberRepository.findByRoomIdInAndIsActiveTrue(roomIds)
+            .stream().collect(Collectors.groupingBy(RoomMemberEntity::getRoomId));
+        membersByRoom.forEach((roomId, members) -> rooms.put(roomId, build(roomId, members)));
+        logger.info("Room read index warmed with {} rooms", membersByRoom.size());
+    }
+
+    /**
+     * 멤버의 읽음 워터마크를 seq 까지 전진 (DB 반영은 다음 flush 에서)
+     *
+     * @return 워터마크가 실제로 움직였으면 true (멤버가 아니거나 이미 읽은 경우 false)
+     */
+    public boolean advance(Long roomId, Long userId, long seq) {
+        RoomReads reads = load(roomId);
+        if (!reads.isMember(userId)) {
+            return false;
+        }
+        // 인덱스보다 먼저 기록 - 그 사이 방이 다시 적재되어도 이 값이 덮어씌워짐
+        dirty.compute(roomId, (id, users) -> {
+            Map<Long, Long> pending = users != null ? users : new ConcurrentHashMap<>();
+            pending.merge(userId, seq, Math::max);
+            return pending;
+        });
+        return reads.advance(userId, seq);
+    }
+
+    /**
+     * 이미 DB 에 반영된 워터마크 전진을 인덱스에만 반영 (커밋 후 적용)
+     */
+    public void onWatermarkPersisted(Long roomId, Long userId, long seq) {
+        TransactionHooks.afterCommit(() -> {
+            RoomReads reads = rooms.getIfPresent(roomId);
+            if (reads != null) {
+                reads.advance(userId, seq);
+            }
+        });
+    }
+
+    /**
+     * seq 메시지를 읽은 멤버 수 (보낸 사람 제외)
+     */
+    public int readCount(Long roomId, long seq, Long senderId) {
+        return load(roomId).readCount(seq, senderId);
+    }
+
+    /**
+     * 메시지 목록의 읽은 멤버 수 (messageId -> count), 방 잠금은 한 번만
+     */
+    public Map<Long, Integer> readCounts(Long roomId, List<GroupMessageEntity> messages) {
+        return load(roomId).readCounts(messages);
+    }
+
+    /**
+     * seq 메시지를 읽은 멤버 id 목록 (보낸 사람 제외)
+     */
+    public List<Long> readers(Long roomId, long seq, Long senderId) {
+        return load(roomId).readers(seq, senderId);
+    }
+
+    /**
+     * 멤버의 안 읽은 메시지 수 (멤버가 아니면 0)
+     */
+    public long unreadCount(Long roomId, Long userId, long headSeq) {
+        return load(roomId).unreadCount(userId, headSeq);
+    }
+
+    /**
+     * 멤버 변경 시 호출 - 트랜잭션 중 다른 스레드가 옛 명단을 다시 적재할 수 있으므로 커밋 후 한 번 더 삭제
+     */
+    public void invalidate(Long roomId) {
+        rooms.invalidate(roomId);
+        TransactionHooks.afterCommit(() -> rooms.invalidate(roomId));
+    }
+
+    /**
+     * 쌓인 워터마크를 멤버당 UPDATE 한 번으로 반영
+     */
+    @Scheduled(fixedDelayString = "${room.read-index.flush-ms:2000}")
+    public synchronized void flush() {
+        Map<Long, Map<Long, Long>> batch = new HashMap<>();
+        dirty.forEach((roomId, users) -> {
+            if (!users.isEmpty()) {
+                batch.put(roomId, new HashMap<>(users));
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                batch.forEach((roomId, users) -> users.forEach((userId, seq) ->
+                    roomMemberRepository.advanceReadWatermark(roomId, userId, seq, now))));
+        } catch (RuntimeException e) {
+            // 남겨두고 다음 주기에 다시 시도 (전진 전용 UPDATE 라 중복 적용해도 무방)
+            logger.warn("Room read watermark flush failed, retrying {} rooms: {}", batch.size(), e.getMessage());
+            return;
+        }
+
+        // 반영하는 동안 더 전진한 값은 남김
+        batch.forEach((roomId, users) -> dirty.computeIfPresent(roomId, (id, pending) -> {
+            users.forEach(pending::remove);
+            return pending.isEmpty() ? null : pending;
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private RoomReads load(Long roomId) {
+        return rooms.get(roomId, id -> build(id,
+            PrimaryReads.call(transactionManager, () -> roomMemberRepository.findByRoomIdAndIsActiveTrue(id))));
+    }
+
+    private RoomReads build(Long roomId, List<RoomMemberEntity> members) {
+        Map<Long, Long> watermarks = new HashMap<>(members.size() * 2);
+        for (RoomMemberEntity member : members) {
+            watermarks.put(member.getUserId(), member.getLastReadSeq() != null ? member.getLastReadSeq() : 0L);
+        }
+        Map<Long, Long> pending = dirty.get(roomId);
+        if (pending != null) {
+            pending.forEach((userId, seq) -> watermarks.computeIfPresent(userId, (id, persisted) -> Math.max(persisted, seq)));
+        }
+        return new RoomReads(watermarks);
+    }
+
+    /**
+     * 한 방의 멤버별 워터마크와 워터마크 값별 멤버 수
+     * 트리의 위치는 서로 다른 워터마크 값을 정렬한 순번 (좌표 압축) - 크기는 seq 범위가 아니라 멤버 수를 넘지 않음
+     * 아직 없는 값으로 전진하면 다시 구성 (보통 새 메시지당 첫 번째로 읽은 멤버 한 번)
+     */
+    static final class RoomReads {
+        private final Map<Long, Long> watermarks;
+        private long[] coordinates;
+        private FenwickTree counts;
+
+        RoomReads(Map<Long, Long> watermarks) {
+            this.watermarks = watermarks;
+            rebuild();
+        }
+
+        synchronized boolean isMember(Long userId) {
+            return watermarks.containsKey(userId);
+        }
+
+        synchronized boolean advance(Long userId, long seq) {
+            Long current = watermarks.get(userId);
+            if (current == null || seq <= current) {
+                return false;
+            }
+            watermarks.put(userId, seq);
+            int to = Arrays.binarySearch(coordinates, seq);
+            if (to < 0) {
+                rebuild();
+            } else {
+                counts.add(Arrays.binarySearch(coordinates, current), -1);
+                counts.add(to, 1);
+            }
+            return true;
+        }
+
+        synchronized int readCount(long seq, Long senderId) {
+            return countAtLeast(seq) - (readsOwnMessage(senderId, seq) ? 1 : 0);
+        }
+
+        synchronized Map<Long, Integer> readCounts(List<GroupMessageEntity> messages) {
+            Map<Long, Integer> result = new HashMap<>(messages.size() * 2);
+            for (GroupMessageEntity message : messages) {
+                if (message.getSeq() != null) {
+                    result.put(message.getId(), readCount(message.getSeq(), message.getSenderId()));
+                }
+            }
+            return result;
+        }
+
+        synchronized List<Long> readers(long seq, Long senderId) {
+            List<Long> readers = new ArrayList<>();
+            watermarks.forEach((userId, watermark) -> {
+                if (watermark >= seq && !userId.equals(senderId)) {
+                    readers.add(userId);
+                }
+            });
+            return readers;
+        }
+
+        synchronized long unreadCount(Long userId, long headSeq) {
+            Long watermark = watermarks.get(userId);
+            return watermark != null ? Math.max(0, headSeq - watermark) : 0;
+        }
+
+        // 트리 크기 - 서로 다른 워터마크 수
+        synchronized int positions() {
+            return counts.size();
+        }
+
+        private int countAtLeast(long seq) {
+            // 워터마크 >= seq 인 멤버 = 전체 - 워터마크 < seq 인 멤버 (seq 보다 작은 좌표까지의 합)
+            int found = Arrays.binarySearch(coordinates, seq);
+            int below = found >= 0 ? found : -found - 1;
+            return watermarks.size() - (below == 0 ? 0 : counts.prefixSum(below - 1));
+        }
+
+        private boolean readsOwnMessage(Long senderId, long seq) {
+            Long watermark = senderId != null ? watermarks.get(senderId) : null;
+            return watermark != null && watermark >= seq;
+        }
+
+        private void rebuild() {
+            coordinates = watermarks.values().stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+            int[] positions = new int[Math.max(1, coordinates.length)];
+            for (long watermark : watermarks.values()) {
+                positions[Arrays.binarySearch(coordinates, watermark)]++;
+            }
+            counts = FenwickTree.of(positions);
+        }
+    }
+}
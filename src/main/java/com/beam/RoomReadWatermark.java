@@ -0,0 +1,101 @@
+package com.beam;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Room Read Watermark
+ *
+ * <p>Read state of one user in a legacy chat room ({@code messages} table):
+ * every message with an id up to {@code lastReadMessageId} counts as read.
+ * Replaces one {@link MessageReadReceipt} row per message per reader.
+ *
+ * @since 1.3.0
+ */
+@Entity
+@Table(name = "room_read_watermarks", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"room_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_room_read_watermarks_room_last_read", columnList = "room_id, last_read_message_id")
+})
+public class RoomReadWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 50)
+    private String roomId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public RoomReadWatermark() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public RoomReadWatermark(String roomId, Long userId, String username, Long lastReadMessageId) {
+        this.roomId = roomId;
+        this.userId = userId;
+        this.username = username;
+        this.lastReadMessageId = lastReadMessageId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Long getLastReadMessageId() {
+        return lastReadMessageId;
+    }
+
+    public void setLastReadMessageId(Long lastReadMessageId) {
+        this.lastReadMessageId = lastReadMessageId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.beam;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RoomReadWatermarkRepository extends JpaRepository<RoomReadWatermark, Long> {
+
+    Optional<RoomReadWatermark> findByRoomIdAndUserId(String roomId, Long userId);
+
+    // 읽음 수 계산용 (워터마크 오름차순)
+    List<RoomReadWatermark> findByRoomIdOrderByLastReadMessageIdAsc(String roomId);
+}
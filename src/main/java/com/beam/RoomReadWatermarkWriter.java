@@ -0,0 +1,93 @@
+package com.beam;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Room Read Watermark Writer
+ *
+ * <p>Moves a {@link RoomReadWatermark} forward without a read-modify-write.
+ * On PostgreSQL one {@code INSERT ... ON CONFLICT DO UPDATE} creates the row
+ * on a first read or advances it, and only ever forward, so two first reads
+ * of the same (room, user) - e.g. a live read racing the
+ * {@link ReadReceiptWatermarkMigrator} - cannot hit the unique constraint.
+ *
+ * <p>Other databases (H2 in dev/test) run a conditional UPDATE, INSERT when
+ * no row exists, and on a duplicate key the UPDATE once more. Plain JDBC is
+ * used on purpose: a failed JPA save would mark the surrounding transaction
+ * rollback-only.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class RoomReadWatermarkWriter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:}")
+    private String schema = "";
+
+    private volatile Boolean postgres;
+
+    /**
+     * 워터마크를 messageId 로 이동 (없으면 생성, 이미 더 앞이면 그대로)
+     *
+     * @return 워터마크가 생성되었거나 움직였으면 true
+     */
+    public boolean advance(String roomId, Long userId, String username, Long messageId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (isPostgres()) {
+            return jdbcTemplate.update("""
+                INSERT INTO %1$sroom_read_watermarks AS w (room_id, user_id, username, last_read_message_id, updated_at)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (room_id, user_id) DO UPDATE SET
+                    last_read_message_id = EXCLUDED.last_read_message_id,
+                    updated_at = EXCLUDED.updated_at
+                WHERE w.last_read_message_id < EXCLUDED.last_read_message_id
+                """.formatted(tablePrefix()), roomId, userId, username, messageId, now) > 0;
+        }
+
+        if (update(roomId, userId, messageId, now)) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update("""
+                INSERT INTO %1$sroom_read_watermarks (room_id, user_id, username, last_read_message_id, updated_at)
+                SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS (
+                    SELECT 1 FROM %1$sroom_read_watermarks WHERE room_id = ? AND user_id = ?)
+                """.formatted(tablePrefix()), roomId, userId, username, messageId, now, roomId, userId) > 0;
+        } catch (DuplicateKeyException e) {
+            // 동시에 다른 트랜잭션이 먼저 생성 - 그 행을 앞으로 이동
+            return update(roomId, userId, messageId, now);
+        }
+    }
+
+    private boolean update(String roomId, Long userId, Long messageId, Timestamp now) {
+        return jdbcTemplate.update("""
+            UPDATE %1$sroom_read_watermarks SET last_read_message_id = ?, updated_at = ?
+            WHERE room_id = ? AND user_id = ? AND last_read_message_id < ?
+            """.formatted(tablePrefix()), messageId, now, roomId, userId, messageId) > 0;
+    }
+
+    private boolean isPostgres() {
+        Boolean isPostgres = postgres;
+        if (isPostgres == null) {
+            isPostgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgres = isPostgres;
+        }
+        return Boolean.TRUE.equals(isPostgres);
+    }
+
+    private String tablePrefix() {
+        return schema == null || schema.isBlank() ? "" : schema + ".";
+    }
+}
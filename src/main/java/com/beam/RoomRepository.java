@@ -1,10 +1,13 @@
 package com.beam;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,15 +18,38 @@ public interface RoomRepository extends JpaRepository<RoomEntity, Long> {
 
     List<RoomEntity> findByCreatedByAndIsActiveTrue(Long createdBy);
 
+    @Query("SELECT r FROM RoomEntity r, RoomMemberEntity rm WHERE " +
+           "rm.roomId = r.id AND rm.userId = :userId AND rm.isActive = true AND r.isActive = true")
+    List<RoomEntity> findActiveRoomsByMember(@Param("userId") Long userId);
+
     List<RoomEntity> findByRoomTypeAndIsActiveTrue(RoomEntity.RoomType roomType);
 
-    Optional<RoomEntity> findByRoomNameAndRoomType(String roomName, RoomEntity.RoomType roomType);
+    List<RoomEntity> findByIsActiveTrue();
 
-    @Query("SELECT r FROM RoomEntity r WHERE " +
-           "r.isActive = true AND " +
-           "(r.roomName LIKE %:keyword% OR r.description LIKE %:keyword%)")
-    List<RoomEntity> searchRooms(@Param("keyword") String keyword);
+    // 검색 색인 갱신용 - since 이후 생성/수정된 방 (비활성 포함, 색인에서 빼야 하므로)
+    @Query("SELECT r FROM RoomEntity r WHERE r.createdAt > :since OR r.updatedAt > :since")
+    List<RoomEntity> findChangedSince(@Param("since") LocalDateTime since);
+
+    Optional<RoomEntity> findByRoomNameAndRoomType(String roomName, RoomEntity.RoomType roomType);
 
     @Query("SELECT COUNT(r) FROM RoomEntity r WHERE r.createdBy = :userId AND r.isActive = true")
     Integer countRoomsByUser(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // 메시지 전송 시 방 head 시퀀스를 원자적으로 증가 (멤버 행은 건드리지 않음)
+    @Modifying
+    @Query("UPDATE RoomEntity r SET r.lastMessageSeq = r.lastMessageSeq + 1, " +
+           "r.lastMessage = :content, r.lastMessageTime = :messageTime, r.lastMessageSenderId = :senderId " +
+           "WHERE r.id = :roomId")
+    int advanceHead(@Param("roomId") Long roomId,
+                    @Param("content") String content,
+                    @Param("messageTime") LocalDateTime messageTime,
+                    @Param("senderId") Long senderId);
+
+    @Query("SELECT r.lastMessageSeq FROM RoomEntity r WHERE r.id = :roomId")
+    Long findHeadSeq(@Param("roomId") Long roomId);
+
+    // 기동 시 읽음 인덱스를 미리 채울 최근 활성 방
+    @Query("SELECT r.id FROM RoomEntity r WHERE r.isActive = true AND r.lastMessageTime IS NOT NULL " +
+           "ORDER BY r.lastMessageTime DESC")
+    List<Long> findRecentlyActiveRoomIds(Pageable pageable);
+}
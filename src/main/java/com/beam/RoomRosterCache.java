@@ -0,0 +1,79 @@
+package com.beam;
+
+import com.beam.datasource.PrimaryReads;
+import com.beam.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room Roster Cache
+ *
+ * <p>Caches the active member ids of each room so membership checks on hot
+ * paths (reading and sending messages) do not hit {@code room_members}.
+ * Rosters are dropped after commit whenever {@link RoomService} changes
+ * membership, and loaded again on the next check. Rosters are always
+ * loaded from the primary: a roster read from a lagging replica right after
+ * an invalidation would keep a removed member authorized for as long as the
+ * entry stays cached.
+ *
+ * <p>Invalidation only reaches the local node. Other nodes drop a roster at
+ * the latest {@code room.roster.max-age-seconds} after loading it, however
+ * busy the room, so a removed member stays authorized there for at most
+ * that long.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class RoomRosterCache {
+
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${room.roster.max-rooms:10000}")
+    private long maxRooms = 10000;
+
+    @Value("${room.roster.idle-minutes:30}")
+    private long idleMinutes = 30;
+
+    @Value("${room.roster.max-age-seconds:60}")
+    private long maxAgeSeconds = 60;
+
+    private Cache<Long, Set<Long>> rosters;
+
+    @PostConstruct
+    public void init() {
+        rosters = Caffeine.newBuilder()
+            .maximumSize(maxRooms)
+            .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+            .expireAfterWrite(maxAgeSeconds, TimeUnit.SECONDS)
+            .build();
+    }
+
+    public Set<Long> getMembers(Long roomId) {
+        return rosters.get(roomId, id -> PrimaryReads.call(transactionManager,
+            () -> Set.copyOf(roomMemberRepository.findActiveUserIds(id))));
+    }
+
+    public boolean isMember(Long roomId, Long userId) {
+        return getMembers(roomId).contains(userId);
+    }
+
+    /**
+     * 멤버 변경 시 호출 - 트랜잭션 중 다른 스레드가 옛 명단을 다시 적재할 수 있으므로 커밋 후 한 번 더 삭제
+     */
+    public void invalidate(Long roomId) {
+        rosters.invalidate(roomId);
+        TransactionHooks.afterCommit(() -> rosters.invalidate(roomId));
+    }
+}
@@ -0,0 +1,288 @@
+package com.beam;
+
+import com.beam.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Room Search Index
+ *
+ * <p>Serves room discovery ({@code /api/rooms/search}) from memory instead
+ * of a {@code LIKE %keyword%} scan of {@code rooms} on every keystroke.
+ * Names and descriptions of active, discoverable rooms (everything but
+ * {@code SECRET}) are indexed by character bigram, plus single characters
+ * for one-letter queries. A query intersects the postings of its bigrams and
+ * confirms the substring on the few remaining candidates.
+ *
+ * <p>Results are ranked by member count, then by most recent activity. The
+ * index is loaded at startup and kept current by {@code RoomService}: room
+ * create/update/delete and membership changes re-index the room, and new
+ * messages only bump its activity time. Those events only reach the node
+ * that handled the request, so every {@code room.search.refresh-ms} the
+ * rooms created or updated since the previous refresh are re-read and
+ * re-indexed; other nodes' changes show up within one interval. Each
+ * refresh also re-reads the previous interval, so a transaction that
+ * committed late is not missed. Activity bumps from other nodes are not
+ * replicated and only affect ranking.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class RoomSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomSearchIndex.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Value("${room.search.max-results:50}")
+    private int maxResults = 50;
+
+    @Value("${room.search.refresh-ms:60000}")
+    private long refreshMs = 60000;
+
+    // 마지막 적재/갱신 시작 시각 (적재 전이면 null)
+    private volatile LocalDateTime lastSync;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 아래 필드는 lock 으로 보호
+    private final Map<Long, Listing> listings = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime started = LocalDateTime.now();
+        List<RoomEntity> rooms = roomRepository.findByIsActiveTrue();
+        rooms.forEach(room -> index(snapshot(room)));
+        lastSync = started;
+        logger.info("Room search index loaded with {} rooms", size());
+    }
+
+    /**
+     * 다른 노드에서 생성/수정/삭제된 방 반영 - 직전 구간까지 겹쳐 읽어 늦게 커밋된 변경도 포함
+     */
+    @Scheduled(fixedDelayString = "${room.search.refresh-ms:60000}", initialDelayString = "${room.search.refresh-ms:60000}")
+    public void refresh() {
+        LocalDateTime since = lastSync;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        List<RoomEntity> changed = roomRepository.findChangedSince(since.minusNanos(refreshMs * 1_000_000L));
+        changed.forEach(room -> index(snapshot(room)));
+        lastSync = started;
+        logger.debug("Room search index refreshed {} rooms", changed.size());
+    }
+
+    /**
+     * 방 생성/수정/멤버 변경 후 다시 색인 (커밋 후 반영)
+     */
+    public void onRoomChanged(RoomEntity room) {
+        RoomEntity snapshot = snapshot(room);
+        TransactionHooks.afterCommit(() -> index(snapshot));
+    }
+
+    /**
+     * 방 삭제 (커밋 후 반영)
+     */
+    public void onRoomDeleted(Long roomId) {
+        TransactionHooks.afterCommit(() -> remove(roomId));
+    }
+
+    /**
+     * 새 메시지 - 순위용 활동 시각만 갱신 (커밋 후 반영)
+     */
+    public void onRoomActivity(Long roomId, LocalDateTime time) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Listing listing = listings.get(roomId);
+                if (listing != null && time.isAfter(listing.lastActivity)) {
+                    listing.lastActivity = time;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 이름이나 설명에 keyword 를 포함하는 방 (멤버 수, 최근 활동 순)
+     */
+    public List<RoomEntity> search(String keyword) {
+        String query = normalize(keyword);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        List<Listing> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long roomId : candidates(query)) {
+                Listing listing = listings.get(roomId);
+                if (listing != null && listing.text.contains(query)) {
+                    matches.add(listing);
+                }
+            }
+            matches.sort(Listing.RANKING);
+            return matches.stream()
+                .limit(maxResults)
+                .map(listing -> listing.room)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return listings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void index(RoomEntity room) {
+        if (!Boolean.TRUE.equals(room.getIsActive()) || room.getRoomType() == RoomEntity.RoomType.SECRET) {
+            remove(room.getId());
+            return;
+        }
+
+        String text = normalize(room.getRoomName()) + "\n" + normalize(room.getDescription());
+        LocalDateTime lastActivity = room.getLastMessageTime() != null ? room.getLastMessageTime()
+            : room.getCreatedAt() != null ? room.getCreatedAt() : LocalDateTime.MIN;
+
+        lock.writeLock().lock();
+        try {
+            Listing previous = listings.get(room.getId());
+            if (previous != null) {
+                unpost(previous);
+                lastActivity = previous.lastActivity.isAfter(lastActivity) ? previous.lastActivity : lastActivity;
+            }
+            Listing listing = new Listing(room, text, lastActivity);
+            listings.put(room.getId(), listing);
+            for (String gram : grams(text)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(room.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long roomId) {
+        lock.writeLock().lock();
+        try {
+            Listing removed = listings.remove(roomId);
+            if (removed != null) {
+                unpost(removed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 질의의 모든 바이그램을 포함하는 방 (가장 짧은 포스팅부터 교집합), 한 글자 질의는 그 글자의 포스팅
+    private Set<Long> candidates(String query) {
+        if (query.length() == 1) {
+            return postings.getOrDefault(query, Set.of());
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (int i = 0; i + 2 <= query.length(); i++) {
+            Set<Long> posting = postings.get(query.substring(i, i + 2));
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void unpost(Listing listing) {
+        for (String gram : grams(listing.text)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(listing.room.getId());
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 검색 결과로 내보내는 방 정보만 복사 (영속성 컨텍스트와 분리)
+    private static RoomEntity snapshot(RoomEntity room) {
+        return RoomEntity.builder()
+            .id(room.getId())
+            .roomName(room.getRoomName())
+            .description(room.getDescription())
+            .roomType(room.getRoomType())
+            .createdBy(room.getCreatedBy())
+            .maxMembers(room.getMaxMembers())
+            .currentMembers(room.getCurrentMembers())
+            .roomImageUrl(room.getRoomImageUrl())
+            .isActive(room.getIsActive())
+            .lastMessageTime(room.getLastMessageTime())
+            .createdAt(room.getCreatedAt())
+            .build();
+    }
+
+    private static final class Listing {
+        static final Comparator<Listing> RANKING = Comparator
+            .comparing((Listing listing) -> listing.room.getCurrentMembers() != null ? listing.room.getCurrentMembers() : 0,
+                Comparator.reverseOrder())
+            .thenComparing(listing -> listing.lastActivity, Comparator.reverseOrder())
+            .thenComparing(listing -> listing.room.getId(), Comparator.reverseOrder());
+
+        final RoomEntity room;
+        final String text;
+        LocalDateTime lastActivity;
+
+        Listing(RoomEntity room, String text, LocalDateTime lastActivity) {
+            this.room = room;
+            this.text = text;
+            this.lastActivity = lastActivity;
+        }
+    }
+}
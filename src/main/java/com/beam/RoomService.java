@@ -1,22 +1,39 @@
 package com.beam;
 
+import com.beam.datasource.PrimaryReads;
+import com.beam.dto.RoomSummary;
+import com.beam.search.MessageSearchIndexer;
+import com.beam.search.SearchResultCache;
+import com.beam.store.MessageStore;
+import com.beam.util.TransactionHooks;
+import com.beam.websocket.ReadUpdateBroadcaster;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Room Service
  *
  * <p>Manages group chat rooms with caching for improved performance.
- * Cache eviction occurs automatically on create/update/delete operations.
+ * Cache entries are evicted after commit on create/update/delete and
+ * membership changes, so a concurrent read cannot re-cache pre-commit data.
+ *
+ * <p>Unread state is modeled as watermarks: each room keeps a head sequence
+ * ({@code lastMessageSeq}) and each member keeps the last sequence it has read
+ * ({@code lastReadSeq}). Sending a message only advances the room head, and
+ * unread counts are computed as {@code head - lastReadSeq} on read.
  *
  * @since 1.0.0
  */
@@ -30,16 +47,42 @@ public class RoomService {
     private RoomMemberRepository roomMemberRepository;
 
     @Autowired
-    private GroupMessageRepository groupMessageRepository;
+    private MessageStore<GroupMessageEntity> groupMessageStore;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private RoomRosterCache roomRosterCache;
+
+    @Autowired
+    private RoomMessageTailCache messageTailCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RoomReadIndex roomReadIndex;
+
+    @Autowired
+    private MessageSearchIndexer messageSearchIndexer;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private RoomSearchIndex roomSearchIndex;
+
+    @Autowired
+    private ReadUpdateBroadcaster readUpdateBroadcaster;
+
     @Autowired(required = false)
     private CacheManager cacheManager;
 
     @Transactional
-    @CacheEvict(value = "chatRooms", key = "'userRooms:' + #creatorId")
     public RoomEntity createRoom(Long creatorId, String roomName, String description,
                                   RoomEntity.RoomType roomType, Integer maxMembers) {
 
@@ -68,14 +111,16 @@ public class RoomService {
 
         roomMemberRepository.save(creator);
 
+        roomRosterCache.invalidate(room.getId());
+        roomReadIndex.invalidate(room.getId());
+        roomSearchIndex.onRoomChanged(room);
+        evictAfterCommit(List.of("userRooms:" + creatorId, "summaries:" + creatorId));
+        inboxService.invalidate(List.of(creatorId));
+
         return room;
     }
 
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "chatRooms", key = "'members:' + #roomId"),
-        @CacheEvict(value = "chatRooms", key = "'userRooms:' + #userId")
-    })
     public RoomEntity updateRoom(Long roomId, Long userId, String roomName,
                                   String description, Integer maxMembers) {
         RoomEntity room = roomRepository.findByIdAndIsActiveTrue(roomId)
@@ -93,7 +138,16 @@ public class RoomService {
         if (description != null) room.setDescription(description);
         if (maxMembers != null) room.setMaxMembers(maxMembers);
 
-        return roomRepository.save(room);
+        RoomEntity saved = roomRepository.save(room);
+        roomSearchIndex.onRoomChanged(saved);
+
+        // 방 이름/설명은 모든 멤버의 inbox 요약에 포함됨
+        Set<Long> memberIds = roomRosterCache.getMembers(roomId);
+        evictAfterCommit(List.of("members:" + roomId, "userRooms:" + userId));
+        evictRoomSummaries(memberIds);
+        inboxService.invalidate(memberIds);
+
+        return saved;
     }
 
     @Transactional
@@ -125,6 +179,12 @@ public class RoomService {
 
         // 영향받는 사용자의 캐시만 선택적으로 삭제 (thundering herd 방지)
         evictRoomCaches(roomId, affectedUserIds);
+        roomRosterCache.invalidate(roomId);
+        roomReadIndex.invalidate(roomId);
+        roomSearchIndex.onRoomDeleted(roomId);
+        messageTailCache.invalidate(roomId);
+        inboxService.invalidate(affectedUserIds);
+        searchResultCache.onMembershipChanged(affectedUserIds);
     }
 
     /**
@@ -132,27 +192,52 @@ public class RoomService {
      * Cache stampede (thundering herd) 방지를 위해 영향받는 키만 삭제
      */
     private void evictRoomCaches(Long roomId, List<Long> userIds) {
-        if (cacheManager == null) {
-            return;
+        List<String> keys = new ArrayList<>();
+        // 방 멤버 캐시와 영향받는 사용자의 방 목록 캐시만 삭제
+        keys.add("members:" + roomId);
+        for (Long userId : userIds) {
+            keys.add("userRooms:" + userId);
+            keys.add("summaries:" + userId);
         }
+        evictAfterCommit(keys);
+    }
 
-        // chatRooms 캐시에서 관련 키만 삭제
-        Cache chatRoomsCache = cacheManager.getCache("chatRooms");
-        if (chatRoomsCache != null) {
-            // 방 멤버 캐시 삭제
-            chatRoomsCache.evict("members:" + roomId);
-
-            // 영향받는 사용자의 방 목록 캐시만 삭제
-            for (Long userId : userIds) {
-                chatRoomsCache.evict("userRooms:" + userId);
-            }
+    /**
+     * 사용자들의 방 요약(inbox) 캐시 삭제
+     * 새 메시지나 방 정보 변경은 해당 방 멤버의 요약에만 영향을 준다
+     */
+    private void evictRoomSummaries(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
         }
+        evictAfterCommit(userIds.stream().map(userId -> "summaries:" + userId).toList());
+    }
 
-        // messages 캐시에서 해당 방 메시지 캐시 삭제
-        Cache messagesCache = cacheManager.getCache("messages");
-        if (messagesCache != null) {
-            messagesCache.evict(roomId);
+    /**
+     * chatRooms 캐시 키를 커밋 후 삭제
+     * 커밋 전에 지우면 동시에 조회한 요청이 커밋 전 데이터를 다시 캐시할 수 있음
+     */
+    private void evictAfterCommit(Collection<String> keys) {
+        if (cacheManager == null) {
+            return;
         }
+        List<String> evicted = List.copyOf(keys);
+        TransactionHooks.afterCommit(() -> {
+            Cache chatRoomsCache = cacheManager.getCache("chatRooms");
+            if (chatRoomsCache != null) {
+                evicted.forEach(chatRoomsCache::evict);
+            }
+        });
+    }
+
+    /**
+     * 멤버 변경 시 캐시 삭제 - currentMembers 는 모든 멤버의 요약에 들어가므로 모든 멤버의 요약을 삭제
+     */
+    private void evictMembershipCaches(Long roomId, Long userId) {
+        Set<Long> memberIds = new HashSet<>(roomRosterCache.getMembers(roomId));
+        memberIds.add(userId);
+        evictAfterCommit(List.of("members:" + roomId, "userRooms:" + userId));
+        evictRoomSummaries(memberIds);
     }
 
     @Transactional
@@ -174,10 +259,12 @@ public class RoomService {
             throw new RuntimeException("Room is full");
         }
 
+        // 새 멤버는 입장 시점까지의 메시지를 읽은 것으로 간주
         RoomMemberEntity newMember = RoomMemberEntity.builder()
             .roomId(roomId)
             .userId(userId)
             .role(RoomMemberEntity.MemberRole.MEMBER)
+            .lastReadSeq(room.getLastMessageSeq())
             .isActive(true)
             .build();
 
@@ -185,6 +272,13 @@ public class RoomService {
 
         room.incrementMemberCount();
         roomRepository.save(room);
+        roomSearchIndex.onRoomChanged(room);
+
+        evictMembershipCaches(roomId, userId);
+        roomRosterCache.invalidate(roomId);
+        roomReadIndex.invalidate(roomId);
+        inboxService.invalidate(List.of(userId));
+        searchResultCache.onMembershipChanged(List.of(userId));
     }
 
     @Transactional
@@ -213,6 +307,13 @@ public class RoomService {
 
         room.decrementMemberCount();
         roomRepository.save(room);
+        roomSearchIndex.onRoomChanged(room);
+
+        evictMembershipCaches(roomId, userId);
+        roomRosterCache.invalidate(roomId);
+        roomReadIndex.invalidate(roomId);
+        inboxService.invalidate(List.of(userId));
+        searchResultCache.onMembershipChanged(List.of(userId));
     }
 
     @Transactional
@@ -238,10 +339,16 @@ public class RoomService {
 
         room.decrementMemberCount();
         roomRepository.save(room);
+        roomSearchIndex.onRoomChanged(room);
+
+        evictMembershipCaches(roomId, userId);
+        roomRosterCache.invalidate(roomId);
+        roomReadIndex.invalidate(roomId);
+        inboxService.invalidate(List.of(userId));
+        searchResultCache.onMembershipChanged(List.of(userId));
     }
 
     @Transactional
-    @CacheEvict(value = "messages", key = "#roomId")
     public GroupMessageEntity sendMessage(Long roomId, Long senderId, String content,
                                           GroupMessageEntity.MessageType messageType) {
         RoomEntity room = roomRepository.findByIdAndIsActiveTrue(roomId)
@@ -260,62 +367,99 @@ public class RoomService {
             }
         }
 
+        LocalDateTime now = LocalDateTime.now();
+
+        // 멤버 수와 무관하게 방 head 한 행만 갱신 (O(1))
+        roomRepository.advanceHead(roomId, content, now, senderId);
+        Long seq = roomRepository.findHeadSeq(roomId);
+
         GroupMessageEntity message = GroupMessageEntity.builder()
             .roomId(roomId)
             .senderId(senderId)
+            .seq(seq)
             .content(content)
             .messageType(messageType != null ? messageType : GroupMessageEntity.MessageType.TEXT)
-            .timestamp(LocalDateTime.now())
+            .timestamp(now)
             .readCount(0)
             .build();
 
-        message = groupMessageRepository.save(message);
-
-        room.setLastMessage(content);
-        room.setLastMessageTime(message.getTimestamp());
-        room.setLastMessageSenderId(senderId);
-        roomRepository.save(room);
+        message = groupMessageStore.append(message);
 
-        List<RoomMemberEntity> members = roomMemberRepository.findByRoomIdAndIsActiveTrue(roomId);
-        for (RoomMemberEntity member : members) {
-            if (!member.getUserId().equals(senderId)) {
-                member.incrementUnreadCount();
-            }
+        // 보낸 사람은 자신의 메시지까지 읽은 것으로 처리
+        if (seq != null) {
+            roomMemberRepository.advanceReadWatermark(roomId, senderId, seq, now);
+            roomReadIndex.onWatermarkPersisted(roomId, senderId, seq);
         }
-        roomMemberRepository.saveAll(members);
+
+        // 새 메시지는 커밋 후 방 꼬리 캐시에 추가 (캐시를 비우지 않음)
+        GroupMessageEntity committed = message;
+        TransactionHooks.afterCommit(() -> messageTailCache.append(committed));
+        messageSearchIndexer.onGroupMessage(message);
+        roomSearchIndex.onRoomActivity(roomId, now);
+
+        Set<Long> memberIds = roomRosterCache.getMembers(roomId);
+        evictRoomSummaries(memberIds);
+        inboxService.onRoomMessage(roomId, memberIds, senderId, content, now);
+        searchResultCache.onRoomMessage(memberIds, content);
 
         return message;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "messages", key = "#roomId")
     public List<GroupMessageEntity> getRoomMessages(Long roomId, Long userId) {
-        roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(roomId, userId)
-            .orElseThrow(() -> new RuntimeException("Not a member of this room"));
+        // 꼬리 캐시 적중 여부와 무관하게 항상 멤버십 확인
+        if (!roomRosterCache.isMember(roomId, userId)) {
+            throw new RuntimeException("Not a member of this room");
+        }
 
-        return groupMessageRepository.findTop100ByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId);
+        // 꼬리 캐시에 설치되는 값은 primary 에서 (이후 커밋은 append 로 이어 붙으므로 지연된 꼬리는 빈틈이 됨)
+        return messageTailCache.getLatest(roomId, () -> PrimaryReads.call(transactionManager,
+            () -> groupMessageStore.findLatest(String.valueOf(roomId), RoomMessageTailCache.TAIL_SIZE)));
     }
 
     @Transactional
     public void markAsRead(Long roomId, Long userId) {
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(roomId, userId)
+        roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(roomId, userId)
             .orElseThrow(() -> new RuntimeException("Not a member of this room"));
 
-        member.resetUnreadCount();
-        roomMemberRepository.save(member);
+        Long headSeq = roomRepository.findHeadSeq(roomId);
+        if (headSeq != null) {
+            roomMemberRepository.advanceReadWatermark(roomId, userId, headSeq, LocalDateTime.now());
+            roomReadIndex.onWatermarkPersisted(roomId, userId, headSeq);
+            readUpdateBroadcaster.recordGroupRead(roomId, userId, headSeq);
+        }
+
+        evictRoomSummaries(List.of(userId));
+        inboxService.onRoomRead(roomId, userId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 메시지별 읽은 멤버 수 (messageId -> count) - 메시지 행의 readCount 대신 읽음 인덱스에서 계산
+     */
+    public Map<Long, Integer> getReadCounts(Long roomId, List<GroupMessageEntity> messages) {
+        return roomReadIndex.readCounts(roomId, messages);
+    }
+
+    // 캐시에 넣는 값은 primary 에서 읽음 (복제 지연된 목록이 무효화 뒤에도 캐시에 남지 않도록)
+    @Transactional
     @Cacheable(value = "chatRooms", key = "'userRooms:' + #userId")
     public List<RoomEntity> getUserRooms(Long userId) {
-        List<RoomMemberEntity> memberships = roomMemberRepository.findByUserIdAndIsActiveTrue(userId);
-        return memberships.stream()
-            .map(m -> roomRepository.findByIdAndIsActiveTrue(m.getRoomId()).orElse(null))
-            .filter(r -> r != null)
-            .toList();
+        return roomRepository.findActiveRoomsByMember(userId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 사용자의 방 목록(inbox) 요약 - room_members/rooms 단일 조인 쿼리
+     * 멤버십 변경, 새 메시지, 읽음 처리 시 해당 사용자 키만 무효화된다
+     * 캐시에 들어가므로 복제본이 아닌 primary 에서 읽는다
+     */
+    @Transactional
+    @Cacheable(value = "chatRooms", key = "'summaries:' + #userId")
+    public List<RoomSummary> getRoomSummaries(Long userId) {
+        return roomMemberRepository.findRoomSummaries(userId);
+    }
+
+    // 멤버십 확인과 캐시에 넣는 명단 모두 primary 에서
+    @Transactional
     @Cacheable(value = "chatRooms", key = "'members:' + #roomId")
     public List<RoomMemberEntity> getRoomMembers(Long roomId, Long userId) {
         roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(roomId, userId)
@@ -324,8 +468,8 @@ public class RoomService {
         return roomMemberRepository.findByRoomIdAndIsActiveTrue(roomId);
     }
 
-    @Transactional(readOnly = true)
     public List<RoomEntity> searchRooms(String keyword) {
-        return roomRepository.searchRooms(keyword);
+        // DB 를 거치지 않고 메모리 색인에서 조회
+        return roomSearchIndex.search(keyword);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.beam;
 
+import com.beam.search.SearchPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,7 +21,9 @@ public class SearchController {
     public ResponseEntity<?> searchMessages(
             @RequestHeader("Authorization") String token,
             @RequestParam String keyword,
-            @RequestParam(required = false) String type) {
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "" + MessageSearchService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String cursor) {
         try {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
@@ -29,20 +32,16 @@ public class SearchController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Keyword is required"));
             }
 
-            List<Map<String, Object>> results;
-
-            if ("DM".equalsIgnoreCase(type)) {
-                results = messageSearchService.searchDirectMessages(userId, keyword);
-            } else if ("ROOM".equalsIgnoreCase(type)) {
-                results = messageSearchService.searchRoomMessages(userId, keyword);
-            } else {
-                results = messageSearchService.searchAllMessages(userId, keyword);
-            }
+            // 최신순 limit 개씩, 다음 페이지는 nextCursor 로 이어서 조회
+            SearchPage page = messageSearchService.search(userId, keyword, type, limit, cursor);
 
             Map<String, Object> response = new HashMap<>();
             response.put("keyword", keyword);
-            response.put("count", results.size());
-            response.put("results", results);
+            response.put("count", page.results().size());
+            response.put("results", page.results());
+            response.put("nextCursor", page.nextCursor());
+            response.put("hasMore", page.nextCursor() != null);
+            response.put("partial", page.partial());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -1,5 +1,6 @@
 package com.beam;
 
+import com.beam.ratelimit.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -32,7 +33,7 @@ public class SecurityConfig {
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Autowired
-    private RateLimitingFilter rateLimitingFilter;
+    private RateLimitFilter rateLimitFilter;
 
     @Value("${cors.allowed-origins:http://localhost:8080,http://localhost:3000}")
     private String allowedOrigins;
@@ -88,10 +89,10 @@ public class SecurityConfig {
         }
 
         http
-            // Rate Limiting 필터 추가 (가장 먼저)
-            .addFilterBefore(rateLimitingFilter, UsernamePasswordAuthenticationFilter.class)
             // JWT 필터 추가
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Rate Limiting 필터 추가 (인증 전 - 거부된 요청은 사용자 조회 없이 차단, key 는 토큰 클레임 기준)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
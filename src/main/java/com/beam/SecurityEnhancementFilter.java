@@ -1,27 +1,18 @@
 package com.beam;
 
 import jakarta.servlet.*;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class SecurityEnhancementFilter implements Filter {
 
-    private final Map<String, RateLimitInfo> rateLimitMap = new ConcurrentHashMap<>();
-    private static final int MAX_REQUESTS_PER_MINUTE = 100;
-    private static final long RATE_LIMIT_WINDOW = 60000;
-
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
         httpResponse.setHeader("X-Content-Type-Options", "nosniff");
@@ -30,60 +21,15 @@ public class SecurityEnhancementFilter implements Filter {
         httpResponse.setHeader("Strict-Transport-Security", "max-age=31536000; includeSubDomains");
         httpResponse.setHeader("Content-Security-Policy", "default-src 'self'; script-src 'self' 'unsafe-inline'; style-src 'self' 'unsafe-inline'; img-src 'self' data: blob:; font-src 'self' data:");
 
-        String clientIp = getClientIP(httpRequest);
-
-        if (!checkRateLimit(clientIp)) {
-            httpResponse.setStatus(429);
-            httpResponse.getWriter().write("{\"error\":\"Too many requests. Please try again later.\"}");
-            return;
-        }
-
+        // 요청 제한은 RateLimitFilter 에서 한 번만 처리
         chain.doFilter(request, response);
     }
 
-    private String getClientIP(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIP = request.getHeader("X-Real-IP");
-        if (xRealIP != null && !xRealIP.isEmpty()) {
-            return xRealIP;
-        }
-
-        return request.getRemoteAddr();
-    }
-
-    private boolean checkRateLimit(String clientIp) {
-        long now = System.currentTimeMillis();
-
-        RateLimitInfo info = rateLimitMap.computeIfAbsent(clientIp, k -> new RateLimitInfo());
-
-        if (now - info.windowStart > RATE_LIMIT_WINDOW) {
-            info.windowStart = now;
-            info.requestCount.set(1);
-            return true;
-        }
-
-        if (info.requestCount.incrementAndGet() > MAX_REQUESTS_PER_MINUTE) {
-            return false;
-        }
-
-        return true;
-    }
-
-    private static class RateLimitInfo {
-        volatile long windowStart = System.currentTimeMillis();
-        AtomicInteger requestCount = new AtomicInteger(0);
-    }
-
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
     }
 
     @Override
     public void destroy() {
-        rateLimitMap.clear();
     }
 }
\ No newline at end of file
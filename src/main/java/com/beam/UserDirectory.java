@@ -0,0 +1,83 @@
+package com.beam;
+
+import com.beam.dto.UserSummary;
+import com.beam.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User Directory
+ *
+ * <p>Cached id to {@link UserSummary} lookups for hot paths that only need
+ * to know that a user exists and how to display them (sending a DM, inbox
+ * updates, friend and conversation lists, search results). Lists resolve
+ * all their users with {@link #findAll(Collection)}, which loads every
+ * cache miss with a single {@code IN} query. Entries are dropped when a
+ * profile or presence changes and expire after
+ * {@code user.directory.ttl-minutes} as a safety net. Missing users are
+ * not cached, so a newly registered id is visible immediately.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class UserDirectory {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${user.directory.max-users:100000}")
+    private long maxUsers = 100000;
+
+    @Value("${user.directory.ttl-minutes:10}")
+    private long ttlMinutes = 10;
+
+    private Cache<Long, UserSummary> users;
+
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+            .maximumSize(maxUsers)
+            .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+            .build();
+    }
+
+    public Optional<UserSummary> find(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(users.get(userId,
+            id -> userRepository.findById(id).map(UserSummary::from).orElse(null)));
+    }
+
+    /**
+     * 여러 사용자를 한 번에 조회 - 캐시에 없는 사용자만 IN 쿼리 한 번으로 적재 (없는 id 는 결과에서 빠짐)
+     */
+    public Map<Long, UserSummary> findAll(Collection<Long> userIds) {
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return users.getAll(ids, missing -> userRepository.findAllById(List.copyOf(missing)).stream()
+            .collect(Collectors.toMap(UserEntity::getId, UserSummary::from)));
+    }
+
+    /**
+     * 프로필(이름, 사진, 활성 상태, 접속 상태) 변경 시 호출 - 커밋 전 다른 스레드가 옛 값을 다시 적재할 수 있으므로 커밋 후 한 번 더 삭제
+     */
+    public void invalidate(Long userId) {
+        users.invalidate(userId);
+        TransactionHooks.afterCommit(() -> users.invalidate(userId));
+    }
+}
@@ -21,6 +21,12 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     boolean existsByEmail(String email);
 
+    // 검색 색인 적재용 (탈퇴/비활성 사용자 제외)
+    java.util.List<UserEntity> findByIsActiveTrue();
+
+    // 검색 색인 갱신용 - since 이후 가입/수정된 사용자 (비활성 포함)
+    java.util.List<UserEntity> findByUpdatedAtAfter(java.time.LocalDateTime since);
+
     // 사용자 이름으로 검색 (친구 추가용)
     java.util.List<UserEntity> findByUsernameContaining(String keyword);
 
@@ -0,0 +1,499 @@
+package com.beam;
+
+import com.beam.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * User Search Index
+ *
+ * <p>Autocomplete for the friend search box ({@code /api/friends/search}),
+ * served from memory instead of exact lookups or a {@code LIKE} scan of
+ * {@code users}. Usernames and display names are kept in sorted maps so a
+ * query is a prefix range scan:
+ * <ul>
+ *   <li>Plain queries match a prefix of the username, the display name, any
+ *       word of the display name, or a Korean given name ("민수" finds
+ *       "김민수")</li>
+ *   <li>Queries containing Hangul initial consonants match by 초성
+ *       ("ㄱㅁㅅ" or "김ㅁ" finds "김민수")</li>
+ * </ul>
+ *
+ * <p>Results are ranked by closeness to the searcher: friends first, then
+ * friends of friends by number of mutual friends, then everyone else. The
+ * accepted friendship graph is held alongside the names for that purpose.
+ * Only active users are indexed, and users blocked by or blocking the
+ * searcher are never returned. Names, friendships and blocks are loaded at
+ * startup and kept current by {@code AuthService}, {@code ChatController}
+ * (registration and profile changes) and {@code FriendService} (accept,
+ * unfriend, block). Those events only reach the node that handled the
+ * request, so every {@code user.search.refresh-ms} users and relations
+ * created or updated since the previous refresh (overlapping it by one
+ * interval for late commits) are re-read. An unfriend deletes its row and
+ * is only seen by the node that handled it; elsewhere the former friend
+ * keeps ranking as a friend until restart, which affects ordering only.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final char HANGUL_FIRST = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+
+    private static final int TIER_FRIEND = 0;
+    private static final int TIER_FRIEND_OF_FRIEND = 1;
+    private static final int TIER_OTHER = 2;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FriendRepository friendRepository;
+
+    @Value("${user.search.max-results:20}")
+    private int maxResults = 20;
+
+    // 친구 관계와 무관하게 접두사 범위에서 확인하는 최대 후보 수
+    @Value("${user.search.max-candidates:500}")
+    private int maxCandidates = 500;
+
+    @Value("${user.search.refresh-ms:60000}")
+    private long refreshMs = 60000;
+
+    // 마지막 적재/갱신 시작 시각 (적재 전이면 null)
+    private volatile LocalDateTime lastSync;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 아래 필드는 lock 으로 보호
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> names = new TreeMap<>();
+    private final NavigableMap<String, Set<Long>> initials = new TreeMap<>();
+    private final Map<Long, Set<Long>> friends = new HashMap<>();
+    // 차단 관계는 양방향으로 보관 (차단한 쪽, 차단당한 쪽 모두 서로 검색되지 않음)
+    private final Map<Long, Set<Long>> blocks = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime started = LocalDateTime.now();
+        userRepository.findByIsActiveTrue().forEach(this::index);
+        friendRepository.findByStatus(FriendEntity.FriendStatus.ACCEPTED)
+            .forEach(friendship -> link(friendship.getUserId(), friendship.getFriendId()));
+        friendRepository.findByStatus(FriendEntity.FriendStatus.BLOCKED)
+            .forEach(relation -> block(relation.getUserId(), relation.getFriendId()));
+        lastSync = started;
+        logger.info("User search index loaded with {} users", size());
+    }
+
+    /**
+     * 다른 노드에서 가입/수정된 사용자와 수락/차단된 관계 반영 - 직전 구간까지 겹쳐 읽어 늦게 커밋된 변경도 포함
+     */
+    @Scheduled(fixedDelayString = "${user.search.refresh-ms:60000}", initialDelayString = "${user.search.refresh-ms:60000}")
+    public void refresh() {
+        LocalDateTime since = lastSync;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime from = since.minusNanos(refreshMs * 1_000_000L);
+        List<UserEntity> users = userRepository.findByUpdatedAtAfter(from);
+        for (UserEntity user : users) {
+            if (Boolean.TRUE.equals(user.getIsActive())) {
+                index(user);
+            } else {
+                remove(user.getId());
+            }
+        }
+        for (FriendEntity relation : friendRepository.findChangedSince(from)) {
+            if (relation.getStatus() == FriendEntity.FriendStatus.ACCEPTED) {
+                link(relation.getUserId(), relation.getFriendId());
+            } else if (relation.getStatus() == FriendEntity.FriendStatus.BLOCKED) {
+                unlink(relation.getUserId(), relation.getFriendId());
+                block(relation.getUserId(), relation.getFriendId());
+            }
+        }
+        lastSync = started;
+        logger.debug("User search index refreshed {} users", users.size());
+    }
+
+    /**
+     * 가입/프로필 변경 후 다시 색인, 비활성 사용자는 색인에서 제거 (커밋 후 반영)
+     */
+    public void onUserChanged(UserEntity user) {
+        Long userId = user.getId();
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            TransactionHooks.afterCommit(() -> remove(userId));
+            return;
+        }
+        String username = user.getUsername();
+        String displayName = user.getDisplayName();
+        TransactionHooks.afterCommit(() -> index(userId, username, displayName));
+    }
+
+    /**
+     * 친구 수락 (커밋 후 반영)
+     */
+    public void onFriendshipAccepted(Long userId, Long friendId) {
+        TransactionHooks.afterCommit(() -> link(userId, friendId));
+    }
+
+    /**
+     * 친구 삭제 (커밋 후 반영)
+     */
+    public void onFriendshipRemoved(Long userId, Long friendId) {
+        TransactionHooks.afterCommit(() -> unlink(userId, friendId));
+    }
+
+    /**
+     * 차단 - 친구 관계를 끊고 서로 검색되지 않게 함 (커밋 후 반영)
+     */
+    public void onUserBlocked(Long userId, Long blockedUserId) {
+        TransactionHooks.afterCommit(() -> {
+            unlink(userId, blockedUserId);
+            block(userId, blockedUserId);
+        });
+    }
+
+    /**
+     * 두 사용자 사이에 어느 쪽으로든 차단 관계가 있는지
+     */
+    public boolean isBlocked(Long userId, Long otherUserId) {
+        lock.readLock().lock();
+        try {
+            return blocks.getOrDefault(userId, Set.of()).contains(otherUserId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * query 로 시작하는 이름의 사용자 id (친구, 친구의 친구, 그 외 순), 검색한 본인과 차단 관계인 사용자는 제외
+     */
+    public List<Long> search(Long userId, String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Matcher matcher = new Matcher(normalized);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Candidate> found = new HashMap<>();
+
+            // 친구와 친구의 친구는 접두사 범위의 후보 수 제한과 무관하게 확인
+            Set<Long> direct = friends.getOrDefault(userId, Set.of());
+            Map<Long, Integer> mutualCounts = new HashMap<>();
+            for (Long friendId : direct) {
+                consider(found, friendId, TIER_FRIEND, 0, matcher);
+                for (Long candidateId : friends.getOrDefault(friendId, Set.of())) {
+                    if (!candidateId.equals(userId) && !direct.contains(candidateId)) {
+                        mutualCounts.merge(candidateId, 1, Integer::sum);
+                    }
+                }
+            }
+            mutualCounts.forEach((candidateId, mutual) ->
+                consider(found, candidateId, TIER_FRIEND_OF_FRIEND, mutual, matcher));
+
+            NavigableMap<String, Set<Long>> keys = matcher.byInitials ? initials : names;
+            int scanned = 0;
+            scan:
+            for (Set<Long> ids : keys.subMap(matcher.probe, true, matcher.probe + Character.MAX_VALUE, false).values()) {
+                for (Long candidateId : ids) {
+                    if (scanned++ >= maxCandidates) {
+                        break scan;
+                    }
+                    if (!found.containsKey(candidateId)) {
+                        consider(found, candidateId, TIER_OTHER, 0, matcher);
+                    }
+                }
+            }
+
+            found.remove(userId);
+            found.keySet().removeAll(blocks.getOrDefault(userId, Set.of()));
+            return found.values().stream()
+                .sorted(Candidate.RANKING)
+                .limit(maxResults)
+                .map(candidate -> candidate.entry.userId)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void index(UserEntity user) {
+        index(user.getId(), user.getUsername(), user.getDisplayName());
+    }
+
+    void index(Long userId, String username, String displayName) {
+        Entry entry = new Entry(userId, normalize(username), normalize(displayName), keys(username, displayName));
+
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(userId, entry);
+            if (previous != null) {
+                unpost(previous);
+            }
+            for (String key : entry.keys) {
+                names.computeIfAbsent(key, k -> new HashSet<>()).add(userId);
+                if (hasHangul(key)) {
+                    initials.computeIfAbsent(toInitials(key), k -> new HashSet<>()).add(userId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Entry removed = entries.remove(userId);
+            if (removed != null) {
+                unpost(removed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void link(Long userId, Long friendId) {
+        lock.writeLock().lock();
+        try {
+            friends.computeIfAbsent(userId, id -> new HashSet<>()).add(friendId);
+            friends.computeIfAbsent(friendId, id -> new HashSet<>()).add(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void unlink(Long userId, Long friendId) {
+        lock.writeLock().lock();
+        try {
+            detach(userId, friendId);
+            detach(friendId, userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void block(Long userId, Long blockedUserId) {
+        lock.writeLock().lock();
+        try {
+            blocks.computeIfAbsent(userId, id -> new HashSet<>()).add(blockedUserId);
+            blocks.computeIfAbsent(blockedUserId, id -> new HashSet<>()).add(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void detach(Long userId, Long friendId) {
+        Set<Long> adjacent = friends.get(userId);
+        if (adjacent != null) {
+            adjacent.remove(friendId);
+            if (adjacent.isEmpty()) {
+                friends.remove(userId);
+            }
+        }
+    }
+
+    private void consider(Map<Long, Candidate> found, Long userId, int tier, int mutual, Matcher matcher) {
+        Entry entry = entries.get(userId);
+        if (entry != null && matcher.matches(entry)) {
+            found.put(userId, new Candidate(entry, tier, mutual, matcher.isExact(entry)));
+        }
+    }
+
+    private void unpost(Entry entry) {
+        for (String key : entry.keys) {
+            unpost(names, key, entry.userId);
+            if (hasHangul(key)) {
+                unpost(initials, toInitials(key), entry.userId);
+            }
+        }
+    }
+
+    private static void unpost(Map<String, Set<Long>> map, String key, Long userId) {
+        Set<Long> ids = map.get(key);
+        if (ids != null) {
+            ids.remove(userId);
+            if (ids.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    // 아이디, 표시 이름, 표시 이름의 단어, 세 글자 이상 한글 이름의 성을 뺀 이름
+    static List<String> keys(String username, String displayName) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKey(keys, normalize(username));
+        String name = normalize(displayName);
+        addKey(keys, name);
+        for (String word : name.split("\\s+")) {
+            addKey(keys, word);
+            if (word.length() >= 3 && isHangulWord(word)) {
+                addKey(keys, word.substring(1));
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static void addKey(Set<String> keys, String key) {
+        if (!key.isEmpty()) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * 한글 음절을 초성으로 바꾼 문자열 (나머지 문자는 그대로)
+     */
+    static String toInitials(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            sb.append(initialOf(text.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    private static char initialOf(char c) {
+        if (c >= HANGUL_FIRST && c <= HANGUL_LAST) {
+            return CHOSEONG.charAt((c - HANGUL_FIRST) / SYLLABLES_PER_CHOSEONG);
+        }
+        return c;
+    }
+
+    private static boolean isChoseong(char c) {
+        return CHOSEONG.indexOf(c) >= 0;
+    }
+
+    private static boolean hasHangul(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= HANGUL_FIRST && c <= HANGUL_LAST) || isChoseong(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHangulWord(String word) {
+        return word.chars().allMatch(c -> c >= HANGUL_FIRST && c <= HANGUL_LAST);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 검색어 하나 - 초성이 섞여 있으면 초성 색인으로 찾고 글자별로 다시 확인
+     */
+    private static final class Matcher {
+        final String query;
+        final boolean byInitials;
+        final String probe;
+
+        Matcher(String query) {
+            this.query = query;
+            this.byInitials = query.chars().anyMatch(c -> isChoseong((char) c));
+            this.probe = byInitials ? toInitials(query) : query;
+        }
+
+        boolean matches(Entry entry) {
+            for (String key : entry.keys) {
+                if (byInitials ? matchesInitials(key) : key.startsWith(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isExact(Entry entry) {
+            return entry.username.equals(query) || entry.displayName.equals(query);
+        }
+
+        // 초성 자리는 초성만, 완성된 글자 자리는 글자 그대로 비교 ("김ㅁ" 는 "김민수" 와 일치, "검민수" 와는 불일치)
+        private boolean matchesInitials(String key) {
+            if (key.length() < query.length()) {
+                return false;
+            }
+            for (int i = 0; i < query.length(); i++) {
+                char q = query.charAt(i);
+                char k = key.charAt(i);
+                if (isChoseong(q) ? initialOf(k) != q : k != q) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Entry {
+        final Long userId;
+        final String username;
+        final String displayName;
+        final List<String> keys;
+
+        Entry(Long userId, String username, String displayName, List<String> keys) {
+            this.userId = userId;
+            this.username = username;
+            this.displayName = displayName;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Candidate {
+        // 친구 > 친구의 친구(함께 아는 친구 많은 순) > 그 외, 같은 등급이면 정확히 일치하는 이름 먼저
+        static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt((Candidate candidate) -> candidate.tier)
+            .thenComparing(candidate -> candidate.mutual, Comparator.reverseOrder())
+            .thenComparing(candidate -> !candidate.exact)
+            .thenComparing(candidate -> candidate.entry.username)
+            .thenComparing(candidate -> candidate.entry.userId);
+
+        final Entry entry;
+        final int tier;
+        final int mutual;
+        final boolean exact;
+
+        Candidate(Entry entry, int tier, int mutual, boolean exact) {
+            this.entry = entry;
+            this.tier = tier;
+            this.mutual = mutual;
+            this.exact = exact;
+        }
+    }
+}
@@ -21,6 +21,12 @@ public class WebSocketEventListener {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private InboxService inboxService;
+
     private final Map<String, Long> sessionUserMap = new ConcurrentHashMap<>();
 
     @EventListener
@@ -36,6 +42,9 @@ public class WebSocketEventListener {
                 user.setIsOnline(true);
                 user.setLastSeen(LocalDateTime.now());
                 userRepository.save(user);
+                // 친구 목록의 접속 상태/마지막 접속 시각이 캐시에 남지 않도록
+                userDirectory.invalidate(userId);
+                inboxService.updatePresence(userId, true);
 
                 if (messagingTemplate != null) {
                     Map<String, Object> statusUpdate = Map.of(
@@ -60,6 +69,9 @@ public class WebSocketEventListener {
                 user.setIsOnline(false);
                 user.setLastSeen(LocalDateTime.now());
                 userRepository.save(user);
+                // 친구 목록의 접속 상태/마지막 접속 시각이 캐시에 남지 않도록
+                userDirectory.invalidate(userId);
+                inboxService.updatePresence(userId, false);
 
                 if (messagingTemplate != null) {
                     Map<String, Object> statusUpdate = Map.of(
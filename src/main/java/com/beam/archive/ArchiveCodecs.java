@@ -0,0 +1,194 @@
+package com.beam.archive;
+
+import com.beam.DirectMessageEntity;
+import com.beam.GroupMessageEntity;
+import com.beam.MessageEntity;
+import com.beam.MessageSecurityType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static com.beam.archive.ArchiveCodec.*;
+
+/**
+ * Archive Codecs for the archived message tables
+ *
+ * @since 1.3.0
+ */
+public final class ArchiveCodecs {
+
+    private ArchiveCodecs() {
+        // 유틸리티 클래스
+    }
+
+    /**
+     * messages 테이블 (채팅방 메시지, 스트림 키 = roomId)
+     */
+    public static final ArchiveCodec<MessageEntity> ROOM_MESSAGES = new ArchiveCodec<>() {
+        @Override
+        public String directory() {
+            return "room";
+        }
+
+        @Override
+        public Long id(MessageEntity record) {
+            return record.getId();
+        }
+
+        @Override
+        public LocalDateTime timestamp(MessageEntity record) {
+            return record.getTimestamp();
+        }
+
+        @Override
+        public void write(DataOutput out, MessageEntity m) throws IOException {
+            out.writeLong(m.getId());
+            writeTime(out, m.getTimestamp());
+            writeLong(out, m.getUserId());
+            writeString(out, m.getSender());
+            writeString(out, m.getContent());
+            writeString(out, m.getRoomId());
+            writeString(out, m.getMessageType());
+            writeString(out, m.getSecurityType() != null ? m.getSecurityType().name() : null);
+            writeString(out, m.getFileUrl());
+            writeString(out, m.getFileName());
+            writeLong(out, m.getFileSize());
+            writeTime(out, m.getEditedAt());
+            out.writeBoolean(Boolean.TRUE.equals(m.getIsDeleted()));
+        }
+
+        @Override
+        public MessageEntity read(DataInput in) throws IOException {
+            MessageEntity m = new MessageEntity();
+            m.setId(in.readLong());
+            m.setTimestamp(readTime(in));
+            m.setUserId(readLong(in));
+            m.setSender(readString(in));
+            m.setContent(readString(in));
+            m.setRoomId(readString(in));
+            m.setMessageType(readString(in));
+            String securityType = readString(in);
+            m.setSecurityType(securityType != null ? MessageSecurityType.valueOf(securityType) : null);
+            m.setFileUrl(readString(in));
+            m.setFileName(readString(in));
+            m.setFileSize(readLong(in));
+            m.setEditedAt(readTime(in));
+            m.setIsDeleted(in.readBoolean());
+            return m;
+        }
+    };
+
+    /**
+     * direct_messages 테이블 (1:1 메시지, 스트림 키 = conversationId)
+     */
+    public static final ArchiveCodec<DirectMessageEntity> DIRECT_MESSAGES = new ArchiveCodec<>() {
+        @Override
+        public String directory() {
+            return "dm";
+        }
+
+        @Override
+        public Long id(DirectMessageEntity record) {
+            return record.getId();
+        }
+
+        @Override
+        public LocalDateTime timestamp(DirectMessageEntity record) {
+            return record.getTimestamp();
+        }
+
+        @Override
+        public void write(DataOutput out, DirectMessageEntity m) throws IOException {
+            out.writeLong(m.getId());
+            writeTime(out, m.getTimestamp());
+            writeString(out, m.getConversationId());
+            writeLong(out, m.getSenderId());
+            writeLong(out, m.getReceiverId());
+            writeString(out, m.getContent());
+            out.writeBoolean(Boolean.TRUE.equals(m.getIsRead()));
+            writeTime(out, m.getReadAt());
+            out.writeBoolean(Boolean.TRUE.equals(m.getIsDeleted()));
+            writeTime(out, m.getDeletedAt());
+            writeString(out, m.getMessageType() != null ? m.getMessageType().name() : null);
+            writeString(out, m.getFileUrl());
+            writeString(out, m.getFileName());
+            writeLong(out, m.getFileSize());
+        }
+
+        @Override
+        public DirectMessageEntity read(DataInput in) throws IOException {
+            DirectMessageEntity m = new DirectMessageEntity();
+            m.setId(in.readLong());
+            m.setTimestamp(readTime(in));
+            m.setConversationId(readString(in));
+            m.setSenderId(readLong(in));
+            m.setReceiverId(readLong(in));
+            m.setContent(readString(in));
+            m.setIsRead(in.readBoolean());
+            m.setReadAt(readTime(in));
+            m.setIsDeleted(in.readBoolean());
+            m.setDeletedAt(readTime(in));
+            String messageType = readString(in);
+            m.setMessageType(messageType != null ? DirectMessageEntity.MessageType.valueOf(messageType) : null);
+            m.setFileUrl(readString(in));
+            m.setFileName(readString(in));
+            m.setFileSize(readLong(in));
+            return m;
+        }
+    };
+
+    /**
+     * group_messages 테이블 (방 메시지, 스트림 키 = roomId) - 세그먼트 로그 저장소에서 사용
+     */
+    public static final ArchiveCodec<GroupMessageEntity> GROUP_MESSAGES = new ArchiveCodec<>() {
+        @Override
+        public String directory() {
+            return "group";
+        }
+
+        @Override
+        public Long id(GroupMessageEntity record) {
+            return record.getId();
+        }
+
+        @Override
+        public LocalDateTime timestamp(GroupMessageEntity record) {
+            return record.getTimestamp();
+        }
+
+        @Override
+        public void write(DataOutput out, GroupMessageEntity m) throws IOException {
+            out.writeLong(m.getId());
+            writeTime(out, m.getTimestamp());
+            writeLong(out, m.getRoomId());
+            writeLong(out, m.getSenderId());
+            writeLong(out, m.getSeq());
+            writeString(out, m.getContent());
+            writeString(out, m.getMessageType() != null ? m.getMessageType().name() : null);
+            writeString(out, m.getFileUrl());
+            out.writeInt(m.getReadCount() != null ? m.getReadCount() : 0);
+            out.writeBoolean(Boolean.TRUE.equals(m.getIsDeleted()));
+            writeTime(out, m.getDeletedAt());
+        }
+
+        @Override
+        public GroupMessageEntity read(DataInput in) throws IOException {
+            GroupMessageEntity m = new GroupMessageEntity();
+            m.setId(in.readLong());
+            m.setTimestamp(readTime(in));
+            m.setRoomId(readLong(in));
+            m.setSenderId(readLong(in));
+            m.setSeq(readLong(in));
+            m.setContent(readString(in));
+            String messageType = readString(in);
+            m.setMessageType(messageType != null ? GroupMessageEntity.MessageType.valueOf(messageType) : null);
+            m.setFileUrl(readString(in));
+            m.setReadCount(in.readInt());
+            m.setIsDeleted(in.readBoolean());
+            m.setDeletedAt(readTime(in));
+            return m;
+        }
+    };
+}
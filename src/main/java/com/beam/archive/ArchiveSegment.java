@@ -0,0 +1,354 @@
+package com.beam.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Archive Segment
+ *
+ * <p>Immutable compressed file holding a contiguous, key-ordered run of one
+ * message stream. Layout:
+ * <pre>
+ *   header   MAGIC, VERSION
+ *   blocks   deflate-compressed groups of {@value #RECORDS_PER_BLOCK} records
+ *   index    one entry per block: first key, first ordinal, count, offset, length
+ *   footer   index offset, block count, record count, last key, MAGIC
+ * </pre>
+ * The sparse index is loaded once when the segment is opened, so a read
+ * inflates only the blocks that cover the requested range.
+ *
+ * @param <T> archived entity type
+ * @since 1.3.0
+ */
+public final class ArchiveSegment<T> {
+
+    static final int MAGIC = 0x4245414D; // "BEAM"
+    static final int VERSION = 1;
+    static final int RECORDS_PER_BLOCK = 128;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int FOOTER_SIZE = 8 + 4 + 8 + 8 + 4 + 8 + 4;
+
+    private final Path path;
+    private final ArchiveCodec<T> codec;
+    private final List<BlockEntry> blocks;
+    private final long count;
+    private final LocalDateTime lastTimestamp;
+    private final long lastId;
+
+    private ArchiveSegment(Path path, ArchiveCodec<T> codec, List<BlockEntry> blocks,
+                           long count, LocalDateTime lastTimestamp, long lastId) {
+        this.path = path;
+        this.codec = codec;
+        this.blocks = blocks;
+        this.count = count;
+        this.lastTimestamp = lastTimestamp;
+        this.lastId = lastId;
+    }
+
+    /**
+     * 레코드를 (timestamp, id) 순으로 받아 세그먼트 파일 생성
+     * 임시 파일에 쓰고 fsync 후 원자적으로 이름을 바꾸므로 반쯤 쓰인 세그먼트는 보이지 않음
+     */
+    public static <T> ArchiveSegment<T> write(Path path, List<T> records, ArchiveCodec<T> codec) throws IOException {
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("Segment must contain at least one record");
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        List<BlockEntry> blocks = new ArrayList<>();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            for (int start = 0; start < records.size(); start += RECORDS_PER_BLOCK) {
+                List<T> block = records.subList(start, Math.min(start + RECORDS_PER_BLOCK, records.size()));
+                byte[] compressed = compress(deflater, encode(block, codec));
+
+                T first = block.get(0);
+                blocks.add(new BlockEntry(codec.timestamp(first), codec.id(first), start,
+                    block.size(), out.size(), compressed.length));
+                out.write(compressed);
+            }
+
+            long indexOffset = out.size();
+            for (BlockEntry entry : blocks) {
+                entry.writeTo(out);
+            }
+
+            T last = records.get(records.size() - 1);
+            out.writeLong(indexOffset);
+            out.writeInt(blocks.size());
+            out.writeLong(records.size());
+            out.writeLong(codec.timestamp(last).toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(codec.timestamp(last).getNano());
+            out.writeLong(codec.id(last));
+            out.writeInt(MAGIC);
+
+            out.flush();
+            file.getFD().sync();
+        } finally {
+            deflater.end();
+        }
+
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        T last = records.get(records.size() - 1);
+        return new ArchiveSegment<>(path, codec, blocks, records.size(), codec.timestamp(last), codec.id(last));
+    }
+
+    /**
+     * 푸터와 희소 인덱스만 읽어 세그먼트 열기 (블록은 읽을 때 해제)
+     */
+    public static <T> ArchiveSegment<T> open(Path path, ArchiveCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE) {
+                throw new IOException("Truncated archive segment: " + path);
+            }
+
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Unsupported archive segment: " + path);
+            }
+
+            ByteBuffer footer = readFully(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            int blockCount = footer.getInt();
+            long count = footer.getLong();
+            LocalDateTime lastTimestamp = LocalDateTime.ofEpochSecond(footer.getLong(), footer.getInt(), ZoneOffset.UTC);
+            long lastId = footer.getLong();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Corrupt archive segment footer: " + path);
+            }
+
+            ByteBuffer index = readFully(channel, indexOffset, (int) (size - FOOTER_SIZE - indexOffset));
+            List<BlockEntry> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(BlockEntry.readFrom(index));
+            }
+            return new ArchiveSegment<>(path, codec, blocks, count, lastTimestamp, lastId);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public LocalDateTime getFirstTimestamp() {
+        return blocks.get(0).firstTimestamp;
+    }
+
+    public LocalDateTime getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * 세그먼트 내 순번 fromOrdinal 부터 최대 limit 건 (오래된 순)
+     */
+    public List<T> read(long fromOrdinal, int limit) throws IOException {
+        List<T> result = new ArrayList<>(Math.min(limit, RECORDS_PER_BLOCK));
+        if (fromOrdinal >= count || limit <= 0) {
+            return result;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int b = blockContaining(fromOrdinal); b < blocks.size() && result.size() < limit; b++) {
+                BlockEntry entry = blocks.get(b);
+                List<T> records = readBlock(channel, entry);
+                int skip = (int) Math.max(0, fromOrdinal - entry.firstOrdinal);
+                for (int i = skip; i < records.size() && result.size() < limit; i++) {
+                    result.add(records.get(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * timestamp 가 before 보다 이전인 레코드 중 최신순으로 최대 limit 건
+     */
+    public List<T> readBefore(LocalDateTime before, int limit) throws IOException {
+        List<T> result = new ArrayList<>(Math.min(limit, RECORDS_PER_BLOCK));
+        if (limit <= 0 || !getFirstTimestamp().isBefore(before)) {
+            return result;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int b = lastBlockStartingBefore(before); b >= 0 && result.size() < limit; b--) {
+                List<T> records = readBlock(channel, blocks.get(b));
+                for (int i = records.size() - 1; i >= 0 && result.size() < limit; i--) {
+                    if (codec.timestamp(records.get(i)).isBefore(before)) {
+                        result.add(records.get(i));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private int blockContaining(long ordinal) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blocks.get(mid).firstOrdinal <= ordinal) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int lastBlockStartingBefore(LocalDateTime before) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blocks.get(mid).firstTimestamp.isBefore(before)) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private List<T> readBlock(FileChannel channel, BlockEntry entry) throws IOException {
+        ByteBuffer compressed = readFully(channel, entry.offset, entry.length);
+        byte[] raw = decompress(compressed.array());
+
+        List<T> records = new ArrayList<>(entry.count);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        for (int i = 0; i < entry.count; i++) {
+            records.add(codec.read(in));
+        }
+        return Collections.unmodifiableList(records);
+    }
+
+    private static <T> byte[] encode(List<T> records, ArchiveCodec<T> codec) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(records.size() * 128);
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (T record : records) {
+            codec.write(out, record);
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private static byte[] compress(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            out.write(chunk, 0, n);
+        }
+        // 원본 길이를 앞에 붙여 해제 시 버퍼를 한 번에 할당
+        ByteBuffer framed = ByteBuffer.allocate(4 + out.size());
+        framed.putInt(raw.length).put(out.toByteArray());
+        return framed.array();
+    }
+
+    private static byte[] decompress(byte[] framed) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(framed);
+        byte[] raw = new byte[buffer.getInt()];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(framed, 4, framed.length - 4);
+            int n = 0;
+            while (n < raw.length && !inflater.finished()) {
+                n += inflater.inflate(raw, n, raw.length - n);
+            }
+            if (n != raw.length) {
+                throw new IOException("Archive block is shorter than expected");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 희소 인덱스 항목 (블록당 하나)
+     */
+    private static final class BlockEntry {
+        final LocalDateTime firstTimestamp;
+        final long firstId;
+        final long firstOrdinal;
+        final int count;
+        final long offset;
+        final int length;
+
+        BlockEntry(LocalDateTime firstTimestamp, long firstId, long firstOrdinal, int count, long offset, int length) {
+            this.firstTimestamp = firstTimestamp;
+            this.firstId = firstId;
+            this.firstOrdinal = firstOrdinal;
+            this.count = count;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(firstTimestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(firstTimestamp.getNano());
+            out.writeLong(firstId);
+            out.writeLong(firstOrdinal);
+            out.writeInt(count);
+            out.writeLong(offset);
+            out.writeInt(length);
+        }
+
+        static BlockEntry readFrom(ByteBuffer in) {
+            LocalDateTime firstTimestamp = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+            return new BlockEntry(firstTimestamp, in.getLong(), in.getLong(), in.getInt(), in.getLong(), in.getInt());
+        }
+    }
+}
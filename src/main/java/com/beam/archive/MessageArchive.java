@@ -0,0 +1,273 @@
+package com.beam.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Message Archive
+ *
+ * <p>Cold storage for chat history moved out of the database by
+ * {@link MessageArchiver}. Every stream (one room or one DM conversation)
+ * is a directory of immutable {@link ArchiveSegment} files under
+ * {@code archive.dir}:
+ * <pre>
+ *   {archive.dir}/room/{roomId}/seg-000001.seg
+ *   {archive.dir}/dm/{conversationId}/seg-000001.seg
+ * </pre>
+ * Segments of a stream are ordered by key and never overlap, so the archive
+ * of a stream is always an older prefix of the hot table - except for a
+ * batch the {@link MessageArchiver} has written but not yet deleted, whose
+ * rows are in both until the delete commits; readers merging the two drop
+ * those with {@link #appendUnseen}.
+ *
+ * <p>Segment lists of the most recently used {@code archive.max-cached-streams}
+ * streams are kept in memory. Enabled with {@code archive.enabled=true};
+ * without it no history is read from disk, so keep it on once messages
+ * have been archived.
+ *
+ * @since 1.3.0
+ */
+@Component
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true")
+public class MessageArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchive.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("^seg-(\\d{6})\\.seg$");
+
+    @Value("${archive.dir:archive}")
+    private String archiveDir = "archive";
+
+    @Value("${archive.max-cached-streams:10000}")
+    private long maxCachedStreams = 10000;
+
+    private Path root;
+
+    // 스트림별 세그먼트 목록 (최초 조회 시 디렉토리에서 적재, 오래 안 쓴 스트림부터 제거)
+    private Cache<String, List<ArchiveSegment<?>>> catalog;
+
+    @PostConstruct
+    public void init() {
+        root = Paths.get(archiveDir).toAbsolutePath().normalize();
+        catalog = Caffeine.newBuilder()
+            .maximumSize(maxCachedStreams)
+            .build();
+    }
+
+    /**
+     * more 중 into 에 같은 id 가 없는 레코드만 into 뒤에 추가 (아카이브와 핫 테이블 병합용)
+     */
+    public static <T> void appendUnseen(ArchiveCodec<T> codec, List<T> into, List<T> more) {
+        if (into.isEmpty()) {
+            into.addAll(more);
+            return;
+        }
+
+        Set<Long> seen = new HashSet<>();
+        for (T record : into) {
+            seen.add(codec.id(record));
+        }
+        for (T record : more) {
+            if (seen.add(codec.id(record))) {
+                into.add(record);
+            }
+        }
+    }
+
+    /**
+     * 새 세그먼트 추가 - 레코드는 (timestamp, id) 순이고 기존 마지막 키보다 커야 함
+     */
+    public <T> void append(ArchiveCodec<T> codec, String streamId, List<T> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        // 캐시 항목 잠금 안에서 기록 - 도중에 제거되어 디렉토리에서 다시 적재한 목록이 새 세그먼트를 놓치지 않도록
+        catalog.asMap().compute(key(codec, streamId), (key, cached) -> {
+            List<ArchiveSegment<?>> segments = cached != null ? cached : load(codec, streamId);
+            try {
+                Path dir = streamDir(codec, streamId);
+                Files.createDirectories(dir);
+                Path file = dir.resolve(String.format("seg-%06d.seg", segments.size() + 1));
+                segments.add(ArchiveSegment.write(file, records, codec));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write archive segment for " + streamId + ": " + e.getMessage(), e);
+            }
+            return segments;
+        });
+    }
+
+    public <T> long count(ArchiveCodec<T> codec, String streamId) {
+        long total = 0;
+        for (ArchiveSegment<T> segment : segments(codec, streamId)) {
+            total += segment.count();
+        }
+        return total;
+    }
+
+    /**
+     * 스트림 전체 기준 offset 부터 최대 limit 건 (오래된 순)
+     */
+    public <T> List<T> read(ArchiveCodec<T> codec, String streamId, long offset, int limit) {
+        List<T> result = new ArrayList<>();
+        long skipped = 0;
+
+        try {
+            for (ArchiveSegment<T> segment : segments(codec, streamId)) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (skipped + segment.count() <= offset) {
+                    skipped += segment.count();
+                    continue;
+                }
+                long from = Math.max(0, offset - skipped);
+                result.addAll(segment.read(from, limit - result.size()));
+                skipped += segment.count();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read archive for " + streamId + ": " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    public <T> List<T> readAll(ArchiveCodec<T> codec, String streamId) {
+        long total = count(codec, streamId);
+        return total == 0 ? Collections.emptyList() : read(codec, streamId, 0, (int) Math.min(total, Integer.MAX_VALUE));
+    }
+
+    /**
+     * before 이전 메시지를 최신순으로 최대 limit 건 (커서 기반 과거 내역 조회)
+     */
+    public <T> List<T> readBefore(ArchiveCodec<T> codec, String streamId, LocalDateTime before, int limit) {
+        List<ArchiveSegment<T>> segments = segments(codec, streamId);
+        List<T> result = new ArrayList<>();
+
+        try {
+            for (int i = segments.size() - 1; i >= 0 && result.size() < limit; i--) {
+                result.addAll(segments.get(i).readBefore(before, limit - result.size()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read archive for " + streamId + ": " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    /**
+     * records 중 이미 아카이브된 레코드의 id - 세그먼트 기록 후 원본 삭제 전에 중단된 배치 복구용
+     * 마지막 키 이하인데 마지막 세그먼트에 없는 레코드는 포함되지 않음
+     */
+    public <T> Set<Long> findArchivedIds(ArchiveCodec<T> codec, String streamId, List<T> records) {
+        List<ArchiveSegment<T>> segments = segments(codec, streamId);
+        if (segments.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        ArchiveSegment<T> last = segments.get(segments.size() - 1);
+        if (records.stream().noneMatch(record -> isBehindArchive(codec, streamId, record))) {
+            return Collections.emptySet();
+        }
+
+        try {
+            Set<Long> archived = new HashSet<>();
+            for (T record : last.read(0, (int) last.count())) {
+                archived.add(codec.id(record));
+            }
+            Set<Long> result = new HashSet<>();
+            for (T record : records) {
+                if (archived.contains(codec.id(record))) {
+                    result.add(codec.id(record));
+                }
+            }
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read archive for " + streamId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 스트림의 마지막 아카이브 키 이하인지 - 이보다 오래된 레코드는 순서를 깨므로 새 세그먼트에 넣을 수 없음
+     */
+    public <T> boolean isBehindArchive(ArchiveCodec<T> codec, String streamId, T record) {
+        List<ArchiveSegment<T>> segments = segments(codec, streamId);
+        if (segments.isEmpty()) {
+            return false;
+        }
+
+        ArchiveSegment<T> last = segments.get(segments.size() - 1);
+        int cmp = codec.timestamp(record).compareTo(last.getLastTimestamp());
+        return cmp < 0 || (cmp == 0 && codec.id(record) <= last.getLastId());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> List<ArchiveSegment<T>> segments(ArchiveCodec<T> codec, String streamId) {
+        return (List) catalog.get(key(codec, streamId), key -> load(codec, streamId));
+    }
+
+    private static String key(ArchiveCodec<?> codec, String streamId) {
+        return codec.directory() + "/" + streamId;
+    }
+
+    private List<ArchiveSegment<?>> load(ArchiveCodec<?> codec, String streamId) {
+        Path dir = streamDir(codec, streamId);
+        List<Path> files = new ArrayList<>();
+
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    String name = entry.getFileName().toString();
+                    if (SEGMENT_NAME.matcher(name).matches()) {
+                        files.add(entry);
+                    } else if (name.endsWith(".tmp")) {
+                        // 쓰는 도중 중단된 세그먼트 - 원본 행은 DB 에 남아 있음
+                        Files.deleteIfExists(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to list archive " + dir + ": " + e.getMessage(), e);
+            }
+        }
+
+        files.sort(null);
+        List<ArchiveSegment<?>> segments = new CopyOnWriteArrayList<>();
+        for (Path file : files) {
+            try {
+                segments.add(ArchiveSegment.open(file, codec));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open archive segment " + file + ": " + e.getMessage(), e);
+            }
+        }
+        if (!segments.isEmpty()) {
+            logger.debug("Loaded {} archive segments for {}/{}", segments.size(), codec.directory(), streamId);
+        }
+        return segments;
+    }
+
+    private Path streamDir(ArchiveCodec<?> codec, String streamId) {
+        // "." 까지 인코딩해 스트림 키가 경로를 벗어나지 않도록
+        String safe = URLEncoder.encode(streamId, StandardCharsets.UTF_8).replace(".", "%2E");
+        return root.resolve(codec.directory()).resolve(safe);
+    }
+}
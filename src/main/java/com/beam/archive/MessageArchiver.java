@@ -0,0 +1,178 @@
+package com.beam.archive;
+
+import com.beam.DirectMessageEntity;
+import com.beam.DirectMessageRepository;
+import com.beam.MessageEntity;
+import com.beam.MessageRepository;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Message Archiver
+ *
+ * <p>Moves chat history older than {@code archive.min-age-days} out of the
+ * {@code messages} and {@code direct_messages} tables into
+ * {@link MessageArchive} segments, one room or conversation at a time:
+ * <ol>
+ *   <li>read the oldest batch of the stream below the cutoff</li>
+ *   <li>write it as a new immutable segment (fsync + atomic rename)</li>
+ *   <li>delete the archived rows</li>
+ * </ol>
+ * A crash between steps 2 and 3 is repaired on the next run: rows already
+ * present in the last segment are deleted without being written twice.
+ * Throughput is capped by {@code archive.max-messages-per-second} so a
+ * backlog never saturates the database.
+ *
+ * <p>Enabled with {@code archive.enabled=true}.
+ *
+ * @since 1.3.0
+ */
+@Component
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true")
+public class MessageArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchiver.class);
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private DirectMessageRepository directMessageRepository;
+
+    @Autowired
+    private MessageArchive archive;
+
+    @Value("${archive.min-age-days:180}")
+    private int minAgeDays = 180;
+
+    @Value("${archive.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${archive.max-messages-per-second:2000}")
+    private long maxMessagesPerSecond = 2000;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private Bucket throttle;
+
+    @PostConstruct
+    public void init() {
+        throttle = Bucket.builder()
+            .addLimit(Bandwidth.builder()
+                .capacity(maxMessagesPerSecond)
+                .refillGreedy(maxMessagesPerSecond, Duration.ofSeconds(1))
+                .build())
+            .build();
+    }
+
+    /**
+     * 매일 새벽 아카이빙 (기본: 04:00, 파티션 유지보수 이후)
+     */
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void archiveColdMessages() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Previous archive run is still in progress, skipping");
+            return;
+        }
+
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+            long rooms = archiveRooms(cutoff);
+            long dms = archiveDirectMessages(cutoff);
+            logger.info("Archived {} room messages and {} direct messages older than {}", rooms, dms, cutoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Archive run interrupted");
+        } finally {
+            running.set(false);
+        }
+    }
+
+    long archiveRooms(LocalDateTime cutoff) throws InterruptedException {
+        long total = 0;
+        for (String roomId : messageRepository.findRoomIdsWithMessagesBefore(cutoff)) {
+            total += archiveStream(ArchiveCodecs.ROOM_MESSAGES, roomId,
+                size -> messageRepository.findByRoomIdAndTimestampBeforeOrderByTimestampAscIdAsc(
+                    roomId, cutoff, PageRequest.of(0, size)),
+                messageRepository::deleteAllByIdInBatch);
+        }
+        return total;
+    }
+
+    long archiveDirectMessages(LocalDateTime cutoff) throws InterruptedException {
+        long total = 0;
+        for (String conversationId : directMessageRepository.findConversationIdsWithMessagesBefore(cutoff)) {
+            total += archiveStream(ArchiveCodecs.DIRECT_MESSAGES, conversationId,
+                size -> directMessageRepository.findByConversationIdAndTimestampBeforeOrderByTimestampAscIdAsc(
+                    conversationId, cutoff, PageRequest.of(0, size)),
+                directMessageRepository::deleteAllByIdInBatch);
+        }
+        return total;
+    }
+
+    private <T> long archiveStream(ArchiveCodec<T> codec, String streamId,
+                                   Function<Integer, List<T>> oldestBatch,
+                                   Consumer<List<Long>> deleteByIds) throws InterruptedException {
+        // 한 배치가 초당 허용량을 넘으면 토큰을 영영 얻을 수 없으므로 배치를 줄임
+        int size = (int) Math.max(1, Math.min(batchSize, maxMessagesPerSecond));
+        long archived = 0;
+
+        while (true) {
+            List<T> batch = oldestBatch.apply(size);
+            if (batch.isEmpty()) {
+                break;
+            }
+            throttle.asBlocking().consume(batch.size());
+
+            Set<Long> alreadyArchived = archive.findArchivedIds(codec, streamId, batch);
+            List<T> fresh = new ArrayList<>(batch.size());
+            for (T record : batch) {
+                if (alreadyArchived.contains(codec.id(record))) {
+                    continue;
+                }
+                if (archive.isBehindArchive(codec, streamId, record)) {
+                    // 마지막 아카이브 키보다 오래된 행이 새로 생김 - 순서가 깨지므로 DB 에 그대로 둠
+                    logger.warn("Stopping archive of {}/{}: message {} is older than the archived history",
+                        codec.directory(), streamId, codec.id(record));
+                    if (!alreadyArchived.isEmpty()) {
+                        deleteByIds.accept(new ArrayList<>(alreadyArchived));
+                    }
+                    return archived;
+                }
+                fresh.add(record);
+            }
+
+            archive.append(codec, streamId, fresh);
+
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (T record : batch) {
+                ids.add(codec.id(record));
+            }
+            deleteByIds.accept(ids);
+            archived += fresh.size();
+
+            if (batch.size() < size) {
+                break;
+            }
+        }
+        return archived;
+    }
+}
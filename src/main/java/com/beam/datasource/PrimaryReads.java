@@ -0,0 +1,36 @@
+package com.beam.datasource;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Primary Reads
+ *
+ * <p>Runs a read that must see committed state on the primary even when
+ * called from a {@code readOnly} transaction that
+ * {@link ReadWriteRoutingDataSource} sends to the replica: cache loaders
+ * (whatever they load is served long after replication caught up) and
+ * authorization checks such as room membership. Inside a read-only
+ * transaction the read gets its own read-write transaction
+ * ({@code REQUIRES_NEW}), since the outer one may already hold a replica
+ * connection; otherwise it joins or starts a read-write transaction.
+ *
+ * @since 1.3.0
+ */
+public final class PrimaryReads {
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(PlatformTransactionManager transactionManager, Supplier<T> read) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            ? TransactionDefinition.PROPAGATION_REQUIRES_NEW
+            : TransactionDefinition.PROPAGATION_REQUIRED);
+        return template.execute(status -> read.get());
+    }
+}
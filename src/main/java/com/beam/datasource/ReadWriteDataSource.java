@@ -0,0 +1,97 @@
+package com.beam.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read/Write DataSource
+ *
+ * <p>Primary/replica pair exposed as a single {@link DataSource}.
+ * {@code @Transactional(readOnly = true)} work is routed to the replica
+ * by {@link ReadWriteRoutingDataSource}; the lazy proxy defers choosing a
+ * pool until the first statement, when the transaction attributes are known.
+ * Replication lag is polled with {@code lagQuery} (seconds of lag) every
+ * {@code lagCheckMillis}.
+ *
+ * @since 1.3.0
+ */
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteDataSource.class);
+
+    /**
+     * PostgreSQL 스탠바이 지연(초) - 재생할 WAL 이 없으면 0
+     */
+    public static final String POSTGRES_LAG_QUERY =
+        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaRoutingPolicy policy;
+    private final String lagQuery;
+    private final ScheduledExecutorService lagChecker;
+
+    public ReadWriteDataSource(DataSource primary, DataSource replica, ReplicaRoutingPolicy policy,
+                               String lagQuery, long lagCheckMillis) {
+        super(new ReadWriteRoutingDataSource(primary, replica, policy));
+        this.primary = primary;
+        this.replica = replica;
+        this.policy = policy;
+        this.lagQuery = lagQuery;
+
+        checkReplica();
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(this::checkReplica, lagCheckMillis, lagCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public ReplicaRoutingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * 복제 지연 측정 - 실패하면 복제본을 제외하고 primary 로 읽기
+     */
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+            policy.updateLag(Math.round(lagSeconds * 1000));
+        } catch (SQLException | RuntimeException e) {
+            policy.markReplicaDown(e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        closePool(replica);
+        closePool(primary);
+    }
+
+    private void closePool(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close connection pool: {}", e.getMessage());
+            }
+        }
+    }
+}
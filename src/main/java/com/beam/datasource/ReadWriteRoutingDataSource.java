@@ -0,0 +1,52 @@
+package com.beam.datasource;
+
+import com.beam.util.TransactionHooks;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes each physical connection to the primary or the replica pool using
+ * {@link ReplicaRoutingPolicy}. Must sit behind a lazy connection proxy
+ * ({@link ReadWriteDataSource}) so the lookup happens after the transaction
+ * has published its read-only flag.
+ *
+ * @since 1.3.0
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRoutingPolicy policy;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaRoutingPolicy policy) {
+        this.policy = policy;
+        setTargetDataSources(Map.of(
+            ReplicaRoutingPolicy.Target.PRIMARY, primary,
+            ReplicaRoutingPolicy.Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Long userId = currentUserId();
+
+        if (!readOnly && userId != null) {
+            // 쓰기 트랜잭션이 커밋되면 read-your-writes 윈도우 시작
+            TransactionHooks.afterCommit(() -> policy.recordWrite(userId));
+        }
+        return policy.route(readOnly, userId);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long userId) {
+            return userId;
+        }
+        return null;
+    }
+}
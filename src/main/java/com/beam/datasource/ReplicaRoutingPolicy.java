@@ -0,0 +1,105 @@
+package com.beam.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replica Routing Policy
+ *
+ * <p>Decides whether a connection request may be served by the read replica:
+ * <ul>
+ *   <li>only read-only transactions of an authenticated user go to the replica
+ *       (login, token checks and background jobs always read the primary)</li>
+ *   <li>a user who committed a write within the read-your-writes window keeps
+ *       reading the primary until the replica has caught up</li>
+ *   <li>when the measured replication lag exceeds {@code maxLag}, or the lag
+ *       check fails, every read falls back to the primary</li>
+ * </ul>
+ *
+ * @since 1.3.0
+ */
+public class ReplicaRoutingPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingPolicy.class);
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final long maxLagMillis;
+    private final Cache<Long, Boolean> recentWriters;
+
+    private volatile boolean replicaAvailable = false;
+    private volatile long lastLagMillis = -1;
+
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+
+    public ReplicaRoutingPolicy(Duration maxLag, Duration readYourWritesWindow) {
+        this.maxLagMillis = maxLag.toMillis();
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(readYourWritesWindow)
+            .build();
+    }
+
+    public Target route(boolean readOnly, Long userId) {
+        if (!readOnly) {
+            return Target.PRIMARY;
+        }
+        if (userId == null || !replicaAvailable || recentWriters.getIfPresent(userId) != null) {
+            primaryReads.incrementAndGet();
+            return Target.PRIMARY;
+        }
+        replicaReads.incrementAndGet();
+        return Target.REPLICA;
+    }
+
+    /**
+     * 쓰기 커밋 이후 호출 - 윈도우 동안 해당 사용자의 읽기는 primary 로
+     */
+    public void recordWrite(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public void updateLag(long lagMillis) {
+        lastLagMillis = lagMillis;
+        boolean available = lagMillis <= maxLagMillis;
+        if (available != replicaAvailable) {
+            logger.warn("Read replica {} (lag {} ms, limit {} ms)",
+                available ? "back in rotation" : "lagging, reading from primary", lagMillis, maxLagMillis);
+        }
+        replicaAvailable = available;
+    }
+
+    public void markReplicaDown(String reason) {
+        if (replicaAvailable) {
+            logger.warn("Read replica unavailable, reading from primary: {}", reason);
+        }
+        replicaAvailable = false;
+        lastLagMillis = -1;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.get();
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.get();
+    }
+}
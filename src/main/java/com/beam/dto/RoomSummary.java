@@ -0,0 +1,115 @@
+package com.beam.dto;
+
+import com.beam.RoomEntity;
+import com.beam.RoomMemberEntity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Room Summary Projection
+ *
+ * <p>One row of a user's room inbox, produced by a single join of
+ * {@code room_members} and {@code rooms}. Carries exactly the fields the
+ * inbox renders, so no per-room lookups are needed afterwards.
+ *
+ * @since 1.3.0
+ */
+public class RoomSummary {
+
+    private final Long roomId;
+    private final String roomName;
+    private final String description;
+    private final RoomEntity.RoomType roomType;
+    private final Integer currentMembers;
+    private final Integer maxMembers;
+    private final String lastMessage;
+    private final LocalDateTime lastMessageTime;
+    private final Long lastMessageSeq;
+    private final Long lastReadSeq;
+    private final RoomMemberEntity.MemberRole myRole;
+
+    public RoomSummary(Long roomId, String roomName, String description, RoomEntity.RoomType roomType,
+                       Integer currentMembers, Integer maxMembers, String lastMessage,
+                       LocalDateTime lastMessageTime, Long lastMessageSeq, Long lastReadSeq,
+                       RoomMemberEntity.MemberRole myRole) {
+        this.roomId = roomId;
+        this.roomName = roomName;
+        this.description = description;
+        this.roomType = roomType;
+        this.currentMembers = currentMembers;
+        this.maxMembers = maxMembers;
+        this.lastMessage = lastMessage;
+        this.lastMessageTime = lastMessageTime;
+        this.lastMessageSeq = lastMessageSeq;
+        this.lastReadSeq = lastReadSeq;
+        this.myRole = myRole;
+    }
+
+    public int getUnreadCount() {
+        long head = lastMessageSeq != null ? lastMessageSeq : 0L;
+        long read = lastReadSeq != null ? lastReadSeq : 0L;
+        return (int) Math.max(0L, head - read);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> roomMap = new HashMap<>();
+        roomMap.put("roomId", roomId);
+        roomMap.put("roomName", roomName);
+        roomMap.put("description", description);
+        roomMap.put("roomType", roomType != null ? roomType.toString() : null);
+        roomMap.put("currentMembers", currentMembers);
+        roomMap.put("maxMembers", maxMembers);
+        roomMap.put("lastMessage", lastMessage);
+        roomMap.put("lastMessageTime", lastMessageTime != null ? lastMessageTime.toString() : null);
+        roomMap.put("unreadCount", getUnreadCount());
+        roomMap.put("myRole", myRole != null ? myRole.toString() : "MEMBER");
+        return roomMap;
+    }
+
+    // Getters
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public RoomEntity.RoomType getRoomType() {
+        return roomType;
+    }
+
+    public Integer getCurrentMembers() {
+        return currentMembers;
+    }
+
+    public Integer getMaxMembers() {
+        return maxMembers;
+    }
+
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    public LocalDateTime getLastMessageTime() {
+        return lastMessageTime;
+    }
+
+    public Long getLastMessageSeq() {
+        return lastMessageSeq;
+    }
+
+    public Long getLastReadSeq() {
+        return lastReadSeq;
+    }
+
+    public RoomMemberEntity.MemberRole getMyRole() {
+        return myRole;
+    }
+}
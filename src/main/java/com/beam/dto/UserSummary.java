@@ -0,0 +1,77 @@
+package com.beam.dto;
+
+import com.beam.UserEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Summary
+ *
+ * <p>Immutable public profile and presence of a user as cached by
+ * {@link com.beam.UserDirectory}. Presence ({@code isOnline},
+ * {@code lastSeen}) is as of the last login or logout; the directory drops
+ * the entry on both.
+ *
+ * @since 1.3.0
+ */
+public class UserSummary {
+
+    private final Long id;
+    private final String username;
+    private final String displayName;
+    private final String profileImage;
+    private final String phoneNumber;
+    private final boolean active;
+    private final boolean online;
+    private final LocalDateTime lastSeen;
+
+    public UserSummary(Long id, String username, String displayName, String profileImage, String phoneNumber,
+                       Boolean active, Boolean online, LocalDateTime lastSeen) {
+        this.id = id;
+        this.username = username;
+        this.displayName = displayName;
+        this.profileImage = profileImage;
+        this.phoneNumber = phoneNumber;
+        this.active = !Boolean.FALSE.equals(active);
+        this.online = Boolean.TRUE.equals(online);
+        this.lastSeen = lastSeen;
+    }
+
+    public static UserSummary from(UserEntity user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getDisplayName(),
+            user.getProfileImage(), user.getPhoneNumber(), user.getIsActive(), user.getIsOnline(), user.getLastSeen());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getProfileImage() {
+        return profileImage;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    public LocalDateTime getLastSeen() {
+        return lastSeen;
+    }
+}
@@ -0,0 +1,73 @@
+package com.beam.ratelimit;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 고정 크기 Count-Min Sketch - 키별 요청 수의 근사치 (실제보다 작게 세지 않음), 스레드 안전
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int mask;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * @param width 행당 카운터 수 (2의 거듭제곱으로 올림)
+     */
+    public CountMinSketch(int width) {
+        int size = Integer.highestOneBit(Math.max(2, width) - 1) << 1;
+        this.mask = size - 1;
+        this.counters = new AtomicIntegerArray(DEPTH * size);
+    }
+
+    /**
+     * key 를 하나 세고 증가 후 추정치 반환
+     */
+    public int increment(Object key) {
+        return add(key, 1);
+    }
+
+    /**
+     * key 를 delta 만큼 세고 증가 후 추정치 반환
+     */
+    public int add(Object key, int delta) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, hash), delta));
+        }
+        return estimate;
+    }
+
+    public int estimate(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    public int width() {
+        return mask + 1;
+    }
+
+    private int index(int row, int hash) {
+        // murmur3 fmix32 - 행마다 다른 시드로 독립적인 해시
+        int h = hash ^ SEEDS[row];
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return row * (mask + 1) + (h & mask);
+    }
+}
@@ -0,0 +1,129 @@
+package com.beam.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiter State
+ *
+ * <p>Per-client state of one {@link RateLimitPolicy} in fixed memory, no
+ * matter how many distinct keys (spoofed {@code X-Forwarded-For} values
+ * included) arrive:
+ * <ul>
+ *   <li>A {@link CountMinSketch}, cleared every policy period, sums the cost
+ *       of every key. Keys below {@code promoteAt} in the current period are
+ *       allowed without any per-key allocation. {@code promoteAt} is at most
+ *       half the burst, so such a key cannot exceed the policy across one
+ *       period boundary either.</li>
+ *   <li>Keys that reach {@code promoteAt} get a full state, charged for the
+ *       requests already let through (a key returning in the same period
+ *       after its state expired starts fully recovered, as it would have
+ *       without expiry). These states live in a Caffeine cache bounded by
+ *       {@code maxKeys} that drops a state once it has fully recovered.</li>
+ * </ul>
+ * Because the sketch never undercounts, a key is promoted no later than its
+ * true count says. Under concurrent first requests a few extra requests may
+ * pass before promotion. A request costing more than the burst is charged
+ * the burst, so it drains the bucket instead of being rejected forever.
+ *
+ * <p>What a full state is depends on where the limit is enforced: a GCRA
+ * arrival time on this node ({@link LocalLimiterState}) or an allowance
+ * leased from a shared store ({@link SharedLimiterState}).
+ *
+ * @param <S> state of one tracked client
+ * @since 1.3.0
+ */
+abstract class LimiterState<S> {
+
+    protected final RateLimitPolicy policy;
+    protected final LongSupplier clock;
+    private final long promoteAt;
+    private final CountMinSketch sketch;
+    private final Cache<String, S> tracked;
+
+    private volatile long windowStart;
+
+    /**
+     * @param hotFraction burst 중 몇 비율부터 상태를 할당할지 (0 이면 모든 키를 바로 추적)
+     */
+    protected LimiterState(RateLimitPolicy policy, LongSupplier clock, long maxKeys, int sketchWidth, double hotFraction) {
+        this.policy = policy;
+        this.clock = clock;
+        this.promoteAt = Math.max(1, (long) (policy.getBurst() * Math.min(0.5, hotFraction)));
+        this.sketch = new CountMinSketch(sketchWidth);
+        this.tracked = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(Duration.ofNanos(policy.getToleranceNanos()))
+            .ticker(clock::getAsLong)
+            .build();
+        this.windowStart = clock.getAsLong();
+    }
+
+    RateLimitPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * cost 만큼 소비 - 허용되면 지금 더 보낼 수 있는 요청 수, 거부되면 {@link RateLimitPolicy#rejected}
+     */
+    long acquire(String key, long now, long cost) {
+        long charged = charged(cost);
+        S state = tracked.getIfPresent(key);
+        if (state == null) {
+            long count = sketch.add(key, (int) Math.min(charged, Integer.MAX_VALUE));
+            if (count < promoteAt) {
+                return policy.getBurst() - count;
+            }
+            // 처음 승격이면 이미 통과시킨 만큼 반영, 만료 후 다시 오면 회복된 상태로 시작
+            long before = count - charged;
+            long passed = before < promoteAt ? before : 0;
+            S created = track(key, now, passed);
+            S existing = tracked.asMap().putIfAbsent(key, created);
+            state = existing != null ? existing : created;
+        }
+        return consume(state, now, charged);
+    }
+
+    /**
+     * 뒤따르는 정책이 거부한 요청의 소비분 반환 (스케치 단계의 카운트는 그대로 둠)
+     */
+    void refund(String key, long cost) {
+        S state = tracked.getIfPresent(key);
+        if (state != null) {
+            refund(state, charged(cost));
+        }
+    }
+
+    /**
+     * 정책 주기가 지났으면 스케치를 비우고, 만료된 상태 정리
+     */
+    void maintain() {
+        long now = clock.getAsLong();
+        if (now - windowStart >= policy.getPeriodNanos()) {
+            sketch.clear();
+            windowStart = now;
+        }
+        tracked.cleanUp();
+    }
+
+    long trackedKeys() {
+        tracked.cleanUp();
+        return tracked.estimatedSize();
+    }
+
+    /**
+     * 승격된 key 의 상태 생성 - passed 는 스케치 단계에서 이미 통과시킨 요청 수
+     */
+    protected abstract S track(String key, long now, long passed);
+
+    protected abstract long consume(S state, long now, long cost);
+
+    protected abstract void refund(S state, long cost);
+
+    private long charged(long cost) {
+        return Math.max(1, Math.min(cost, policy.getBurst()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.beam.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 이 노드에서만 한도를 지키는 상태 - 클라이언트당 GCRA TAT 하나
+ */
+class LocalLimiterState extends LimiterState<AtomicLong> {
+
+    LocalLimiterState(RateLimitPolicy policy, LongSupplier clock, long maxKeys, int sketchWidth, double hotFraction) {
+        super(policy, clock, maxKeys, sketchWidth, hotFraction);
+    }
+
+    @Override
+    protected AtomicLong track(String key, long now, long passed) {
+        return new AtomicLong(now + policy.getEmissionIntervalNanos() * passed);
+    }
+
+    @Override
+    protected long consume(AtomicLong state, long now, long cost) {
+        long tat = policy.advance(state, now, cost);
+        return RateLimitPolicy.isRejected(tat) ? tat : policy.remaining(tat, now);
+    }
+
+    @Override
+    protected void refund(AtomicLong state, long cost) {
+        policy.refund(state, cost);
+    }
+}
@@ -0,0 +1,67 @@
+package com.beam.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 프로세스 안 {@link RateLimitStateStore} - 공유 저장소의 기준 구현이자, 저장소 장애 시 노드별 한도로 대신 사용
+ */
+public class LocalRateLimitStateStore implements RateLimitStateStore {
+
+    private final LongSupplier clock;
+    private final Cache<String, Bucket> buckets;
+
+    /**
+     * @param clock   나노초 시계
+     * @param maxKeys 보관할 bucket 수 상한
+     */
+    public LocalRateLimitStateStore(LongSupplier clock, long maxKeys) {
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfter(new Expiry<String, Bucket>() {
+                // 마지막 lease 후 tolerance 가 지나면 완전히 회복된 bucket
+                @Override
+                public long expireAfterCreate(String key, Bucket bucket, long currentTime) {
+                    return bucket.toleranceNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Bucket bucket, long currentTime, long currentDuration) {
+                    return bucket.toleranceNanos();
+                }
+
+                @Override
+                public long expireAfterRead(String key, Bucket bucket, long currentTime, long currentDuration) {
+                    return bucket.toleranceNanos();
+                }
+            })
+            .ticker(clock::getAsLong)
+            .build();
+    }
+
+    @Override
+    public Lease lease(String bucket, long emissionIntervalNanos, long toleranceNanos, long permits) {
+        long now = clock.getAsLong();
+        AtomicLong state = buckets.get(bucket, k -> new Bucket(new AtomicLong(now), toleranceNanos)).tat();
+        while (true) {
+            long tat = state.get();
+            long base = Math.max(tat, now);
+            long fits = Math.max(0, (toleranceNanos - (base - now)) / emissionIntervalNanos);
+            long granted = Math.min(permits, fits);
+            long next = base + emissionIntervalNanos * granted;
+            if (granted == 0 || state.compareAndSet(tat, next)) {
+                long remaining = fits - granted;
+                long wait = remaining > 0 ? 0 : next + emissionIntervalNanos - now - toleranceNanos;
+                return new Lease(granted, remaining, wait);
+            }
+        }
+    }
+
+    private record Bucket(AtomicLong tat, long toleranceNanos) {
+    }
+}
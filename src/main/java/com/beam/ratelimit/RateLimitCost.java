@@ -0,0 +1,53 @@
+package com.beam.ratelimit;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.List;
+
+/**
+ * Rate Limit Cost
+ *
+ * <p>How many requests one call to the matching paths counts as against
+ * every policy: a flat {@code cost}, plus one per {@code bytesPerUnit} of
+ * declared {@code Content-Length} when set (uploads). A request without a
+ * declared length is charged the flat cost only. Paths matching no cost
+ * count as one request.
+ *
+ * @since 1.3.0
+ */
+public final class RateLimitCost {
+
+    private final String name;
+    private final List<PathPattern> paths;
+    private final long cost;
+    private final long bytesPerUnit;
+
+    public RateLimitCost(String name, List<String> paths, long cost, long bytesPerUnit) {
+        if (cost <= 0 || bytesPerUnit < 0) {
+            throw new RuntimeException("Invalid rate limit cost: " + name);
+        }
+        this.name = name;
+        this.paths = RateLimitPolicy.parse(paths);
+        this.cost = cost;
+        this.bytesPerUnit = bytesPerUnit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean matches(PathContainer path) {
+        return RateLimitPolicy.matchesAny(paths, path);
+    }
+
+    /**
+     * contentLength 가 음수면 길이를 모르는 요청
+     */
+    long of(long contentLength) {
+        if (bytesPerUnit == 0 || contentLength <= 0) {
+            return cost;
+        }
+        return cost + (contentLength + bytesPerUnit - 1) / bytesPerUnit;
+    }
+}
@@ -0,0 +1,30 @@
+package com.beam.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 요청에 대한 판정 - policy 는 거부한 정책 또는 남은 요청 수가 가장 적은 정책 (해당 정책이 없으면 null),
+ * retryAfterNanos 는 거부된 요청을 다시 보낼 수 있을 때까지 남은 시간
+ */
+public record RateLimitDecision(boolean allowed, String policy, long limit, long remaining, long retryAfterNanos) {
+
+    /**
+     * 걸리는 정책이 없음
+     */
+    public static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, null, 0, 0, 0);
+
+    static RateLimitDecision allowed(RateLimitPolicy policy, long remaining) {
+        return new RateLimitDecision(true, policy.getName(), policy.getLimit(), remaining, 0);
+    }
+
+    static RateLimitDecision rejected(RateLimitPolicy policy, long retryAfterNanos) {
+        return new RateLimitDecision(false, policy.getName(), policy.getLimit(), 0, retryAfterNanos);
+    }
+
+    /**
+     * Retry-After 헤더 값 (초 단위 올림, 최소 1)
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,326 @@
+package com.beam.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate Limit Engine
+ *
+ * <p>Evaluates every configured {@link RateLimitPolicy} that matches a request
+ * path in a single pass, replacing the three limiters that used to run one
+ * after another (a fixed window filter, a synchronized per-IP filter and a
+ * token bucket interceptor). Policies are declared in properties:
+ * <pre>
+ * rate-limit.policies=per-second,per-minute
+ * rate-limit.policy.per-second.paths=/**
+ * rate-limit.policy.per-second.limit=10
+ * rate-limit.policy.per-second.period-ms=1000
+ * rate-limit.policy.per-second.burst=10
+ * </pre>
+ * A request is allowed only when all matching policies allow it; if a later
+ * policy rejects it, what the earlier ones consumed is handed back. A
+ * rejection carries the time until the request would fit again, read from
+ * the rejecting bucket.
+ *
+ * <p>Expensive endpoints count as several requests through a
+ * {@link RateLimitCost}; the first matching one applies:
+ * <pre>
+ * rate-limit.costs=search,upload
+ * rate-limit.cost.search.paths=/api/search/messages
+ * rate-limit.cost.search.cost=20
+ * rate-limit.cost.upload.paths=/api/files/upload/**
+ * rate-limit.cost.upload.cost=1
+ * rate-limit.cost.upload.bytes-per-unit=1048576
+ * </pre>
+ *
+ * <p>Client state is held per policy in a {@link LimiterState} of fixed size
+ * ({@code rate-limit.max-keys} tracked clients behind a count-min sketch of
+ * {@code rate-limit.sketch.width}), so a flood of distinct or spoofed client
+ * keys cannot grow memory. Sketch windows are rotated and expired states
+ * dropped by a scheduled task, never on a request thread.
+ *
+ * <p>By default every node enforces the limits on its own, so the effective
+ * limit grows with the node count. With {@code rate-limit.mode=distributed}
+ * the limits hold cluster-wide: buckets live in the {@link RateLimitStateStore}
+ * bean and each node spends permits leased from it in batches
+ * ({@code rate-limit.distributed.lease-fraction} of the burst), refilled in
+ * the background (see {@link SharedLimiterState}).
+ *
+ * <p>Metrics: {@code beam_rate_limit_rejected_total} (tagged with the
+ * rejecting policy), {@code beam_rate_limit_tracked_keys} and
+ * {@code beam_rate_limit_store_errors_total}.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class RateLimitEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitEngine.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${rate-limit.policies:per-second,per-minute}")
+    private String policyNames = "per-second,per-minute";
+
+    @Value("${rate-limit.costs:}")
+    private String costNames = "";
+
+    @Value("${rate-limit.exclude-paths:/actuator/**,/health}")
+    private String excludePaths = "/actuator/**,/health";
+
+    // 정책마다 추적하는 (카운트가 많은) 클라이언트 수 상한
+    @Value("${rate-limit.max-keys:100000}")
+    private long maxKeys = 100000;
+
+    @Value("${rate-limit.sketch.width:16384}")
+    private int sketchWidth = 16384;
+
+    // burst 중 이 비율만큼 요청한 키부터 상태 할당 (최대 0.5)
+    @Value("${rate-limit.sketch.hot-fraction:0.5}")
+    private double hotFraction = 0.5;
+
+    // local: 노드별 한도, distributed: 공유 저장소로 클러스터 전체 한도
+    @Value("${rate-limit.mode:local}")
+    private String mode = "local";
+
+    // 저장소에서 한 번에 가져오는 허용량 (burst 대비 비율)
+    @Value("${rate-limit.distributed.lease-fraction:0.1}")
+    private double leaseFraction = 0.1;
+
+    @Value("${rate-limit.distributed.sync-threads:2}")
+    private int syncThreads = 2;
+
+    @Autowired(required = false)
+    private RateLimitStateStore stateStore;
+
+    private Executor syncExecutor;
+    private final Counter storeErrors;
+
+    private final long origin = System.nanoTime();
+
+    // 엔진 시계 (0 부터 증가하는 나노초) - 테스트에서 교체
+    private LongSupplier clock = () -> System.nanoTime() - origin;
+
+    private volatile List<LimiterState<?>> limiters = List.of();
+    private volatile List<RateLimitCost> costs = List.of();
+    private volatile List<PathPattern> exclusions = List.of();
+
+    public RateLimitEngine(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("beam_rate_limit_tracked_keys", this, RateLimitEngine::trackedKeys)
+            .description("Clients with a full rate limit state, summed over policies")
+            .register(meterRegistry);
+        this.storeErrors = Counter.builder("beam_rate_limit_store_errors_total")
+            .description("Failed leases from the shared rate limit store")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        List<RateLimitPolicy> configured = new ArrayList<>();
+        for (String name : split(policyNames)) {
+            String prefix = "rate-limit.policy." + name + ".";
+            long limit = environment.getProperty(prefix + "limit", Long.class, 0L);
+            configured.add(new RateLimitPolicy(name,
+                split(environment.getProperty(prefix + "paths", "/**")),
+                limit,
+                environment.getProperty(prefix + "period-ms", Long.class, 60_000L),
+                environment.getProperty(prefix + "burst", Long.class, limit)));
+        }
+        List<RateLimitCost> configuredCosts = new ArrayList<>();
+        for (String name : split(costNames)) {
+            String prefix = "rate-limit.cost." + name + ".";
+            configuredCosts.add(new RateLimitCost(name,
+                split(environment.getProperty(prefix + "paths", "")),
+                environment.getProperty(prefix + "cost", Long.class, 1L),
+                environment.getProperty(prefix + "bytes-per-unit", Long.class, 0L)));
+        }
+        configure(configured, configuredCosts);
+        logger.info("Rate limit policies ({}): {}, costs: {}", mode, configured.stream()
+            .map(policy -> policy.getName() + "=" + policy.getLimit()).toList(),
+            configuredCosts.stream().map(RateLimitCost::getName).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (syncExecutor instanceof ThreadPoolExecutor pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    void configure(List<RateLimitPolicy> configured) {
+        configure(configured, List.of());
+    }
+
+    void configure(List<RateLimitPolicy> configured, List<RateLimitCost> configuredCosts) {
+        if (isDistributed()) {
+            if (stateStore == null) {
+                throw new RuntimeException("rate-limit.mode=distributed requires a RateLimitStateStore bean");
+            }
+            if (syncExecutor == null) {
+                syncExecutor = createSyncExecutor();
+            }
+        }
+        limiters = configured.stream()
+            .<LimiterState<?>>map(policy -> isDistributed()
+                ? new SharedLimiterState(policy, clock, maxKeys, sketchWidth, hotFraction,
+                    stateStore, syncExecutor, leaseFraction, storeErrors)
+                : new LocalLimiterState(policy, clock, maxKeys, sketchWidth, hotFraction))
+            .toList();
+        costs = List.copyOf(configuredCosts);
+        exclusions = RateLimitPolicy.parse(split(excludePaths));
+    }
+
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    void setStateStore(RateLimitStateStore stateStore) {
+        this.stateStore = stateStore;
+    }
+
+    void setSyncExecutor(Executor syncExecutor) {
+        this.syncExecutor = syncExecutor;
+    }
+
+    public RateLimitDecision evaluate(String requestPath, String clientKey) {
+        return evaluate(requestPath, clientKey, -1);
+    }
+
+    /**
+     * path 에 걸리는 모든 정책을 한 번에 평가하고, 모두 허용할 때만 요청 비용만큼 소비
+     *
+     * @param contentLength 요청 본문 길이 (모르면 -1)
+     */
+    public RateLimitDecision evaluate(String requestPath, String clientKey, long contentLength) {
+        if (!enabled) {
+            return RateLimitDecision.UNLIMITED;
+        }
+        // 경로는 한 번만 분해해서 모든 정책에 사용
+        PathContainer path = PathContainer.parsePath(requestPath);
+        if (RateLimitPolicy.matchesAny(exclusions, path)) {
+            return RateLimitDecision.UNLIMITED;
+        }
+
+        long cost = costOf(path, contentLength);
+        long now = clock.getAsLong();
+        List<LimiterState<?>> current = limiters;
+        RateLimitPolicy tightest = null;
+        long remaining = Long.MAX_VALUE;
+        for (int i = 0; i < current.size(); i++) {
+            LimiterState<?> limiter = current.get(i);
+            if (!limiter.policy().matches(path)) {
+                continue;
+            }
+            long left = limiter.acquire(clientKey, now, cost);
+            if (RateLimitPolicy.isRejected(left)) {
+                refund(current, i, path, clientKey, cost);
+                rejected(limiter.policy());
+                return RateLimitDecision.rejected(limiter.policy(), -left);
+            }
+            if (left < remaining) {
+                remaining = left;
+                tightest = limiter.policy();
+            }
+        }
+        return tightest == null ? RateLimitDecision.UNLIMITED : RateLimitDecision.allowed(tightest, remaining);
+    }
+
+    /**
+     * 정책 주기마다 스케치 초기화, 완전히 회복된 클라이언트 상태 정리
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.maintenance-ms:250}")
+    public void maintain() {
+        for (LimiterState<?> limiter : limiters) {
+            limiter.maintain();
+        }
+    }
+
+    long trackedKeys() {
+        return limiters.stream().mapToLong(LimiterState::trackedKeys).sum();
+    }
+
+    // 앞에서 허용한 정책의 소비분을 되돌림
+    private static void refund(List<LimiterState<?>> current, int rejectedIndex, PathContainer path,
+                               String clientKey, long cost) {
+        for (int i = 0; i < rejectedIndex; i++) {
+            LimiterState<?> limiter = current.get(i);
+            if (limiter.policy().matches(path)) {
+                limiter.refund(clientKey, cost);
+            }
+        }
+    }
+
+    // 처음 맞는 비용 규칙, 없으면 1
+    private long costOf(PathContainer path, long contentLength) {
+        for (RateLimitCost cost : costs) {
+            if (cost.matches(path)) {
+                return cost.of(contentLength);
+            }
+        }
+        return 1;
+    }
+
+    private boolean isDistributed() {
+        return "distributed".equalsIgnoreCase(mode);
+    }
+
+    // 저장소 lease 전용 스레드 - 큐가 차면 그 key 는 다음 요청 때 다시 시도
+    private Executor createSyncExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(syncThreads, syncThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1024), runnable -> {
+                Thread thread = new Thread(runnable, "beam-rate-limit-sync-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void rejected(RateLimitPolicy policy) {
+        Counter.builder("beam_rate_limit_rejected_total")
+            .description("Requests rejected by a rate limit policy")
+            .tag("policy", policy.getName())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(part -> !part.isEmpty())
+            .toList();
+    }
+}
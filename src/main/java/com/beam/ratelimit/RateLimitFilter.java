@@ -0,0 +1,127 @@
+package com.beam.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.beam.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rate Limit Filter
+ *
+ * <p>The only HTTP rate limiting step: resolves the client key once and asks
+ * {@link RateLimitEngine} for a decision covering all policies, passing the
+ * declared {@code Content-Length} for size-weighted costs. Runs before JWT
+ * authentication so a throttled request never reaches the user lookup; the
+ * key is the user id from a validly signed bearer token (users sharing a NAT
+ * do not throttle each other), otherwise the client IP. The token is only
+ * checked for signature and expiry here, so a deleted or deactivated user
+ * is still limited under their id until authentication rejects them.
+ * Rejected requests get 429 with a JSON error and a {@code Retry-After}
+ * taken from the rejecting bucket; allowed ones carry
+ * {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining} of the
+ * tightest matching policy. Static resources are never limited.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private RateLimitEngine rateLimitEngine;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        if (isStaticResource(uri)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientKey = getClientKey(request);
+        RateLimitDecision decision = rateLimitEngine.evaluate(uri, clientKey, request.getContentLengthLong());
+        if (decision.policy() != null) {
+            response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        }
+
+        if (!decision.allowed()) {
+            logger.warn("Rate limit exceeded: client={}, policy={}, uri={}", clientKey, decision.policy(), uri);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType("application/json");
+            response.getWriter().write(
+                "{\"error\": \"Too many requests\", \"message\": \"Rate limit exceeded. Please try again later.\"}"
+            );
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 한도를 적용할 key - 유효한 토큰이면 토큰의 사용자 ID, 아니면 클라이언트 IP
+     * 인증 필터보다 먼저 실행되므로 DB 조회 없이 토큰 클레임만 사용
+     */
+    String getClientKey(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            Long userId = jwtUtil.getUserIdIfValid(bearerToken.substring(7));
+            if (userId != null) {
+                return "user:" + userId;
+            }
+        }
+        return "ip:" + getClientIP(request);
+    }
+
+    /**
+     * 클라이언트 IP 주소 추출 (프록시 고려, 여러 IP 가 있으면 첫 번째)
+     */
+    static String getClientIP(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            int comma = xForwardedFor.indexOf(',');
+            return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
+        }
+
+        String xRealIP = request.getHeader("X-Real-IP");
+        if (xRealIP != null && !xRealIP.isEmpty()) {
+            return xRealIP;
+        }
+
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 정적 리소스 체크
+     */
+    private static boolean isStaticResource(String uri) {
+        return uri.endsWith(".css") ||
+               uri.endsWith(".js") ||
+               uri.endsWith(".png") ||
+               uri.endsWith(".jpg") ||
+               uri.endsWith(".jpeg") ||
+               uri.endsWith(".gif") ||
+               uri.endsWith(".svg") ||
+               uri.endsWith(".ico") ||
+               uri.endsWith(".woff") ||
+               uri.endsWith(".woff2") ||
+               uri.endsWith(".ttf") ||
+               uri.contains("/static/");
+    }
+}
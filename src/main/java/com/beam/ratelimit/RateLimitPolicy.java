@@ -0,0 +1,134 @@
+package com.beam.ratelimit;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate Limit Policy
+ *
+ * <p>One limit ({@code limit} requests per {@code period}, bursts of up to
+ * {@code burst}) applied per client key to the request paths it matches.
+ * Enforced with GCRA (generic cell rate algorithm): the whole state of a key
+ * is its theoretical arrival time (TAT), a single {@code long} advanced by
+ * compare-and-set, so concurrent requests of the same client never lock.
+ * A request is allowed when, after adding its emission interval, the TAT is
+ * at most {@code burst} intervals ahead of now. The policy itself is
+ * immutable; per-client state lives in {@link LimiterState}.
+ *
+ * @since 1.3.0
+ */
+public final class RateLimitPolicy {
+
+    private final String name;
+    private final List<PathPattern> paths;
+    private final long limit;
+    private final long burst;
+    private final long periodNanos;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+
+    public RateLimitPolicy(String name, List<String> paths, long limit, long periodMillis, long burst) {
+        if (limit <= 0 || periodMillis <= 0 || burst <= 0) {
+            throw new RuntimeException("Invalid rate limit policy: " + name);
+        }
+        this.name = name;
+        this.paths = parse(paths);
+        this.limit = limit;
+        this.burst = burst;
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        this.emissionIntervalNanos = Math.max(1, periodNanos / limit);
+        this.toleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public boolean matches(PathContainer path) {
+        return matchesAny(paths, path);
+    }
+
+    static List<PathPattern> parse(List<String> patterns) {
+        return patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 거부 결과 - 다시 시도할 수 있을 때까지 남은 시간(ns)을 음수로 담음
+     */
+    static long rejected(long waitNanos) {
+        return -Math.max(1, waitNanos);
+    }
+
+    static boolean isRejected(long result) {
+        return result < 0;
+    }
+
+    /**
+     * state(TAT)를 cost 만큼 전진 - 허용되면 새 TAT, 거부되면 {@link #rejected}
+     */
+    long advance(AtomicLong state, long now, long cost) {
+        long increment = emissionIntervalNanos * cost;
+        while (true) {
+            long tat = state.get();
+            long next = Math.max(tat, now) + increment;
+            if (next - now > toleranceNanos) {
+                // TAT 가 그만큼 뒤로 물러나야 이 cost 가 들어감
+                return rejected(next - now - toleranceNanos);
+            }
+            if (state.compareAndSet(tat, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 뒤따르는 정책이 거부한 요청의 소비분 반환
+     */
+    void refund(AtomicLong state, long cost) {
+        state.addAndGet(-emissionIntervalNanos * cost);
+    }
+
+    /**
+     * TAT 가 tat 일 때 now 기준 지금 바로 더 보낼 수 있는 요청 수
+     */
+    long remaining(long tat, long now) {
+        return Math.max(0, (toleranceNanos - (tat - now)) / emissionIntervalNanos);
+    }
+
+    long getBurst() {
+        return burst;
+    }
+
+    long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    long getEmissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    /**
+     * 마지막 요청 후 이 시간이 지나면 상태가 완전히 회복됨 (상태가 없는 것과 같음)
+     */
+    long getToleranceNanos() {
+        return toleranceNanos;
+    }
+}
@@ -0,0 +1,35 @@
+package com.beam.ratelimit;
+
+/**
+ * Rate Limit State Store
+ *
+ * <p>Shared home of rate limit buckets when several nodes enforce one global
+ * limit ({@code rate-limit.mode=distributed}). A bucket is a GCRA arrival
+ * time kept by the store and advanced with the store's own clock, so node
+ * clocks never need to agree. Nodes do not call the store per request: they
+ * lease a batch of permits and spend it locally (see
+ * {@link SharedLimiterState}).
+ *
+ * <p>Provide an implementation as a Spring bean (e.g. backed by Redis);
+ * {@link LocalRateLimitStateStore} is the in-process reference. Implementations
+ * must apply a lease atomically and may throw {@link RuntimeException} when
+ * the store cannot be reached.
+ *
+ * @since 1.3.0
+ */
+public interface RateLimitStateStore {
+
+    /**
+     * bucket 에서 최대 permits 개를 한 번에 가져옴 (한도 안에서 들어가는 만큼만)
+     *
+     * @param bucket                bucket 이름 (정책 이름과 클라이언트 key)
+     * @param emissionIntervalNanos 요청 하나가 차지하는 시간
+     * @param toleranceNanos        burst 만큼의 시간 (지금보다 이만큼 앞서면 거부)
+     * @param permits               요청 개수
+     * @return 받은 개수, 그 뒤 bucket 에 남은 개수, 다 떨어졌으면 다음 하나가 생길 때까지 남은 시간(ns)
+     */
+    Lease lease(String bucket, long emissionIntervalNanos, long toleranceNanos, long permits);
+
+    record Lease(long granted, long remaining, long waitNanos) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.beam.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared Limiter State
+ *
+ * <p>Enforces one {@link RateLimitPolicy} across all nodes through a
+ * {@link RateLimitStateStore}. A tracked client holds a local allowance of
+ * permits leased from the store in batches of {@code leaseSize}; requests
+ * spend it without leaving the node. When the allowance drops to half a
+ * batch, the next batch is leased in the background, so the store sees one
+ * call per batch instead of one per request. Only promoting a client to a
+ * tracked state waits for the store.
+ *
+ * <p>Permits are charged to the store when leased, so the global limit holds
+ * no matter how they are spread over nodes; a node may reject while another
+ * still holds unspent permits, by at most one batch per node. Requests let
+ * through by the sketch stage before promotion are counted per node.
+ *
+ * <p>If the store fails, permits are leased from an in-process store instead,
+ * i.e. each node falls back to enforcing the policy on its own.
+ *
+ * @since 1.3.0
+ */
+class SharedLimiterState extends LimiterState<SharedLimiterState.Allowance> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedLimiterState.class);
+
+    private final RateLimitStateStore store;
+    private final RateLimitStateStore fallback;
+    private final Executor executor;
+    private final long leaseSize;
+    private final Counter storeErrors;
+
+    private volatile boolean storeDown;
+
+    SharedLimiterState(RateLimitPolicy policy, LongSupplier clock, long maxKeys, int sketchWidth, double hotFraction,
+                       RateLimitStateStore store, Executor executor, double leaseFraction, Counter storeErrors) {
+        super(policy, clock, maxKeys, sketchWidth, hotFraction);
+        this.store = store;
+        this.fallback = new LocalRateLimitStateStore(clock, maxKeys);
+        this.executor = executor;
+        this.leaseSize = Math.max(1, (long) Math.ceil(policy.getBurst() * leaseFraction));
+        this.storeErrors = storeErrors;
+    }
+
+    @Override
+    protected Allowance track(String key, long now, long passed) {
+        Allowance allowance = new Allowance(policy.getName() + ":" + key);
+        // 스케치 단계에서 통과시킨 요청도 전체 한도에 반영 (모자라면 음수로 빚을 짐)
+        RateLimitStateStore.Lease lease = lease(allowance.bucket, passed + leaseSize);
+        allowance.tokens.set(lease.granted() - passed);
+        allowance.storeRemaining = lease.remaining();
+        return allowance;
+    }
+
+    @Override
+    protected long consume(Allowance allowance, long now, long cost) {
+        while (true) {
+            long tokens = allowance.tokens.get();
+            if (tokens < cost) {
+                refill(allowance, now, cost - tokens);
+                // 저장소가 알려준 대기 시간과 모자란 만큼 쌓이는 시간 중 긴 쪽
+                long shortfall = policy.getEmissionIntervalNanos() * (cost - tokens);
+                return RateLimitPolicy.rejected(Math.max(allowance.retryAt - now, shortfall));
+            }
+            if (allowance.tokens.compareAndSet(tokens, tokens - cost)) {
+                if (tokens - cost <= leaseSize / 2) {
+                    refill(allowance, now, leaseSize);
+                }
+                return tokens - cost + allowance.storeRemaining;
+            }
+        }
+    }
+
+    @Override
+    protected void refund(Allowance allowance, long cost) {
+        allowance.tokens.addAndGet(cost);
+    }
+
+    // 다음 묶음을 백그라운드에서 가져옴 (key 당 동시에 하나만)
+    private void refill(Allowance allowance, long now, long wanted) {
+        if (now < allowance.retryAt || !allowance.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    RateLimitStateStore.Lease lease = lease(allowance.bucket, Math.max(leaseSize, wanted));
+                    allowance.tokens.addAndGet(lease.granted());
+                    allowance.storeRemaining = lease.remaining();
+                    if (lease.granted() == 0) {
+                        // 한도 초과 - 저장소에 다음 허용량이 생길 때까지 호출 안 함
+                        allowance.retryAt = clock.getAsLong() + lease.waitNanos();
+                    }
+                } finally {
+                    allowance.refilling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            allowance.refilling.set(false);
+        }
+    }
+
+    private RateLimitStateStore.Lease lease(String bucket, long permits) {
+        try {
+            RateLimitStateStore.Lease lease = store.lease(bucket, policy.getEmissionIntervalNanos(),
+                policy.getToleranceNanos(), permits);
+            if (storeDown) {
+                storeDown = false;
+                logger.info("Rate limit store reachable again, enforcing {} cluster-wide", policy.getName());
+            }
+            return lease;
+        } catch (RuntimeException e) {
+            storeErrors.increment();
+            if (!storeDown) {
+                storeDown = true;
+                logger.warn("Rate limit store unavailable, enforcing {} per node: {}", policy.getName(), e.getMessage());
+            }
+            return fallback.lease(bucket, policy.getEmissionIntervalNanos(), policy.getToleranceNanos(), permits);
+        }
+    }
+
+    static final class Allowance {
+
+        private final String bucket;
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile long storeRemaining;
+        private volatile long retryAt;
+
+        private Allowance(String bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.beam.search;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 필요할 때마다 한 묶음씩 가져오는 지연 Iterator - 빈 묶음이 오면 끝
+ */
+public abstract class BatchedSource<T> implements Iterator<T> {
+
+    private Iterator<T> current = List.<T>of().iterator();
+    private boolean exhausted;
+
+    /**
+     * 다음 묶음 (더 없으면 빈 목록)
+     */
+    protected abstract List<T> fetchNext();
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !exhausted) {
+            List<T> batch = fetchNext();
+            if (batch.isEmpty()) {
+                exhausted = true;
+            } else {
+                current = batch.iterator();
+            }
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
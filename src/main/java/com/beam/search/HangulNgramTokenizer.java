@@ -0,0 +1,98 @@
+package com.beam.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Hangul N-gram Tokenizer
+ *
+ * <p>Splits message text into index terms without a morphological analyzer:
+ * <ul>
+ *   <li>Runs of Hangul syllables become overlapping bigrams plus the last
+ *       syllable on its own ({@code "밥먹자"} -> {@code 밥먹, 먹자, 자}), so any
+ *       substring of two or more syllables is an AND of bigrams and a single
+ *       syllable is a prefix of some term</li>
+ *   <li>Runs of other letters and digits become lower-cased words, capped at
+ *       {@value #MAX_WORD_LENGTH} characters</li>
+ *   <li>Everything else separates tokens</li>
+ * </ul>
+ * Query terms are produced the same way and matched as prefixes of index
+ * terms, so {@code "hel"} finds {@code "hello"} and {@code "밥"} finds
+ * {@code "밥먹"}.
+ *
+ * @since 1.3.0
+ */
+public final class HangulNgramTokenizer {
+
+    static final int MAX_WORD_LENGTH = 32;
+
+    private HangulNgramTokenizer() {
+        // 유틸리티 클래스
+    }
+
+    /**
+     * 색인할 용어 (중복 제거)
+     */
+    public static Set<String> indexTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, terms, true);
+        return terms;
+    }
+
+    /**
+     * 검색어 용어 - 각 용어는 색인 용어의 접두사로 매칭
+     */
+    public static List<String> queryTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, terms, false);
+        return new ArrayList<>(terms);
+    }
+
+    static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static void tokenize(String text, Set<String> terms, boolean forIndex) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            if (isHangulSyllable(c)) {
+                int start = i;
+                while (i < length && isHangulSyllable(lower.charAt(i))) {
+                    i++;
+                }
+                addHangulRun(lower, start, i, terms, forIndex);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && !isHangulSyllable(lower.charAt(i)) && Character.isLetterOrDigit(lower.charAt(i))) {
+                    i++;
+                }
+                terms.add(lower.substring(start, Math.min(i, start + MAX_WORD_LENGTH)));
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static void addHangulRun(String text, int start, int end, Set<String> terms, boolean forIndex) {
+        if (end - start == 1) {
+            terms.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            terms.add(text.substring(i, i + 2));
+        }
+        // 마지막 음절 단독 - 한 글자 검색어가 끝 음절과도 매칭되도록 (검색어는 바이그램만으로 충분)
+        if (forIndex) {
+            terms.add(text.substring(end - 1, end));
+        }
+    }
+}
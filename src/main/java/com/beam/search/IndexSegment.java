@@ -0,0 +1,367 @@
+package com.beam.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Index Segment
+ *
+ * <p>An immutable slice of the message search index: a table of documents
+ * (kind, message id, scope, timestamp) and a sorted term dictionary whose
+ * postings list document ordinals in ascending order. On disk a segment is
+ * one file:
+ * <pre>
+ *   [magic][version]
+ *   [scope count] scope names
+ *   [doc count]   (kind, messageId, scope ordinal, timestamp) per doc
+ *   [term count]  (term, posting count, delta-encoded ordinals) per term
+ *   [magic]
+ * </pre>
+ * Segments are written once and loaded whole; new documents go to a
+ * {@link Builder} and segments are combined with {@link #merge(List)}.
+ *
+ * @since 1.3.0
+ */
+public final class IndexSegment {
+
+    private static final int MAGIC = 0x42534958;
+    private static final int VERSION = 1;
+
+    private final String[] scopes;
+    private final byte[] kinds;
+    private final long[] messageIds;
+    private final int[] docScopes;
+    private final long[] timestamps;
+    private final String[] terms;
+    private final int[][] postings;
+
+    private IndexSegment(String[] scopes, byte[] kinds, long[] messageIds, int[] docScopes, long[] timestamps,
+                         String[] terms, int[][] postings) {
+        this.scopes = scopes;
+        this.kinds = kinds;
+        this.messageIds = messageIds;
+        this.docScopes = docScopes;
+        this.timestamps = timestamps;
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    public int docCount() {
+        return messageIds.length;
+    }
+
+    /**
+     * 세그먼트에 들어 있는 kind 문서의 최대 메시지 id (없으면 0)
+     */
+    public long maxMessageId(IndexedMessage.Kind kind) {
+        long max = 0;
+        for (int i = 0; i < messageIds.length; i++) {
+            if (kinds[i] == kind.ordinal()) {
+                max = Math.max(max, messageIds[i]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 모든 검색어 용어를 (접두사로) 포함하고 scopes 안에 있는 kind 문서
+     */
+    public void search(List<String> queryTerms, IndexedMessage.Kind kind, Set<String> allowedScopes,
+                       Consumer<SearchHit> hits) {
+        boolean[] allowed = new boolean[scopes.length];
+        boolean any = false;
+        for (int i = 0; i < scopes.length; i++) {
+            allowed[i] = allowedScopes.contains(scopes[i]);
+            any |= allowed[i];
+        }
+        if (!any || queryTerms.isEmpty()) {
+            return;
+        }
+
+        BitSet matched = null;
+        for (String query : queryTerms) {
+            BitSet docs = new BitSet(docCount());
+            int i = firstTermAtLeast(query);
+            while (i < terms.length && terms[i].startsWith(query)) {
+                for (int doc : postings[i]) {
+                    docs.set(doc);
+                }
+                i++;
+            }
+            if (matched == null) {
+                matched = docs;
+            } else {
+                matched.and(docs);
+            }
+            if (matched.isEmpty()) {
+                return;
+            }
+        }
+
+        for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+            if (kinds[doc] == kind.ordinal() && allowed[docScopes[doc]]) {
+                hits.accept(new SearchHit(kind, messageIds[doc], scopes[docScopes[doc]], timestamps[doc]));
+            }
+        }
+    }
+
+    private int firstTermAtLeast(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * 여러 세그먼트를 하나로 합침 - 같은 메시지가 여러 번 색인되어 있으면 먼저 나온 것만 유지
+     */
+    public static IndexSegment merge(List<IndexSegment> segments) {
+        Builder builder = new Builder();
+        Set<Long> seen = new HashSet<>();
+        for (IndexSegment segment : segments) {
+            segment.copyInto(builder, seen);
+        }
+        return builder.build();
+    }
+
+    /**
+     * seen 에 없는 문서만 builder 에 추가
+     */
+    void copyInto(Builder builder, Set<Long> seen) {
+        int[] remap = new int[docCount()];
+        for (int doc = 0; doc < docCount(); doc++) {
+            remap[doc] = seen.add(docKey(kinds[doc], messageIds[doc]))
+                ? builder.addDoc(kinds[doc], messageIds[doc], scopes[docScopes[doc]], timestamps[doc])
+                : -1;
+        }
+        for (int t = 0; t < terms.length; t++) {
+            for (int doc : postings[t]) {
+                if (remap[doc] >= 0) {
+                    builder.addPosting(terms[t], remap[doc]);
+                }
+            }
+        }
+    }
+
+    private static long docKey(byte kind, long messageId) {
+        return messageId * 2 + kind;
+    }
+
+    public void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(scopes.length);
+            for (String scope : scopes) {
+                out.writeUTF(scope);
+            }
+            out.writeInt(messageIds.length);
+            for (int i = 0; i < messageIds.length; i++) {
+                out.writeByte(kinds[i]);
+                out.writeLong(messageIds[i]);
+                out.writeInt(docScopes[i]);
+                out.writeLong(timestamps[i]);
+            }
+            out.writeInt(terms.length);
+            for (int t = 0; t < terms.length; t++) {
+                out.writeUTF(terms[t]);
+                writeVarInt(out, postings[t].length);
+                int previous = 0;
+                for (int doc : postings[t]) {
+                    writeVarInt(out, doc - previous);
+                    previous = doc;
+                }
+            }
+            out.writeInt(MAGIC);
+        }
+        // 완전히 기록된 파일만 세그먼트 이름으로 보이도록
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static IndexSegment read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a search index segment: " + file);
+            }
+            String[] scopes = new String[in.readInt()];
+            for (int i = 0; i < scopes.length; i++) {
+                scopes[i] = in.readUTF();
+            }
+            int docCount = in.readInt();
+            byte[] kinds = new byte[docCount];
+            long[] messageIds = new long[docCount];
+            int[] docScopes = new int[docCount];
+            long[] timestamps = new long[docCount];
+            for (int i = 0; i < docCount; i++) {
+                kinds[i] = in.readByte();
+                messageIds[i] = in.readLong();
+                docScopes[i] = in.readInt();
+                timestamps[i] = in.readLong();
+            }
+            String[] terms = new String[in.readInt()];
+            int[][] postings = new int[terms.length][];
+            for (int t = 0; t < terms.length; t++) {
+                terms[t] = in.readUTF();
+                int[] docs = new int[readVarInt(in)];
+                int previous = 0;
+                for (int i = 0; i < docs.length; i++) {
+                    previous += readVarInt(in);
+                    docs[i] = previous;
+                }
+                postings[t] = docs;
+            }
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Truncated search index segment: " + file);
+            }
+            return new IndexSegment(scopes, kinds, messageIds, docScopes, timestamps, terms, postings);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in search index segment");
+    }
+
+    /**
+     * 색인 중인 (변경 가능한) 세그먼트 - 스레드 안전하지 않음
+     */
+    public static final class Builder {
+        private final List<String> scopeNames = new ArrayList<>();
+        private final Map<String, Integer> scopeOrdinals = new HashMap<>();
+        private byte[] kinds = new byte[64];
+        private long[] messageIds = new long[64];
+        private int[] docScopes = new int[64];
+        private long[] timestamps = new long[64];
+        private int docCount;
+        private final TreeMap<String, IntList> terms = new TreeMap<>();
+
+        public int docCount() {
+            return docCount;
+        }
+
+        public void add(IndexedMessage message) {
+            int doc = addDoc((byte) message.kind().ordinal(), message.messageId(), message.scope(), message.timestamp());
+            for (String term : HangulNgramTokenizer.indexTerms(message.content())) {
+                addPosting(term, doc);
+            }
+        }
+
+        public long maxMessageId(IndexedMessage.Kind kind) {
+            long max = 0;
+            for (int i = 0; i < docCount; i++) {
+                if (kinds[i] == kind.ordinal()) {
+                    max = Math.max(max, messageIds[i]);
+                }
+            }
+            return max;
+        }
+
+        public void search(List<String> queryTerms, IndexedMessage.Kind kind, Set<String> allowedScopes,
+                           Consumer<SearchHit> hits) {
+            if (queryTerms.isEmpty() || docCount == 0) {
+                return;
+            }
+            BitSet matched = null;
+            for (String query : queryTerms) {
+                BitSet docs = new BitSet(docCount);
+                for (IntList list : terms.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+                    for (int i = 0; i < list.size; i++) {
+                        docs.set(list.values[i]);
+                    }
+                }
+                if (matched == null) {
+                    matched = docs;
+                } else {
+                    matched.and(docs);
+                }
+                if (matched.isEmpty()) {
+                    return;
+                }
+            }
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                String scope = scopeNames.get(docScopes[doc]);
+                if (kinds[doc] == kind.ordinal() && allowedScopes.contains(scope)) {
+                    hits.accept(new SearchHit(kind, messageIds[doc], scope, timestamps[doc]));
+                }
+            }
+        }
+
+        public IndexSegment build() {
+            String[] termArray = new String[terms.size()];
+            int[][] postingArray = new int[terms.size()][];
+            int t = 0;
+            for (Map.Entry<String, IntList> entry : terms.entrySet()) {
+                termArray[t] = entry.getKey();
+                postingArray[t] = Arrays.copyOf(entry.getValue().values, entry.getValue().size);
+                t++;
+            }
+            return new IndexSegment(scopeNames.toArray(new String[0]), Arrays.copyOf(kinds, docCount),
+                Arrays.copyOf(messageIds, docCount), Arrays.copyOf(docScopes, docCount),
+                Arrays.copyOf(timestamps, docCount), termArray, postingArray);
+        }
+
+        int addDoc(byte kind, long messageId, String scope, long timestamp) {
+            if (docCount == messageIds.length) {
+                int capacity = docCount * 2;
+                kinds = Arrays.copyOf(kinds, capacity);
+                messageIds = Arrays.copyOf(messageIds, capacity);
+                docScopes = Arrays.copyOf(docScopes, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+            }
+            kinds[docCount] = kind;
+            messageIds[docCount] = messageId;
+            docScopes[docCount] = scopeOrdinals.computeIfAbsent(scope, s -> {
+                scopeNames.add(s);
+                return scopeNames.size() - 1;
+            });
+            timestamps[docCount] = timestamp;
+            return docCount++;
+        }
+
+        void addPosting(String term, int doc) {
+            terms.computeIfAbsent(term, k -> new IntList()).add(doc);
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
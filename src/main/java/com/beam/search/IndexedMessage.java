@@ -0,0 +1,50 @@
+package com.beam.search;
+
+import com.beam.DirectMessageEntity;
+import com.beam.GroupMessageEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Indexed Message
+ *
+ * <p>What the search index needs to know about one message: its id, the
+ * scope a searcher must have access to (a DM conversation or a group room),
+ * its time for ordering, and the text to tokenize. The text itself is not
+ * stored in index segments.
+ *
+ * @since 1.3.0
+ */
+public record IndexedMessage(Kind kind, long messageId, String scope, long timestamp, String content) {
+
+    public enum Kind {
+        DM, ROOM;
+
+        static Kind of(int ordinal) {
+            return values()[ordinal];
+        }
+    }
+
+    public static IndexedMessage of(DirectMessageEntity message) {
+        return new IndexedMessage(Kind.DM, message.getId(), dmScope(message.getConversationId()),
+            epochMillis(message.getTimestamp()), message.getContent());
+    }
+
+    public static IndexedMessage of(GroupMessageEntity message) {
+        return new IndexedMessage(Kind.ROOM, message.getId(), roomScope(message.getRoomId()),
+            epochMillis(message.getTimestamp()), message.getContent());
+    }
+
+    public static String dmScope(String conversationId) {
+        return "dm:" + conversationId;
+    }
+
+    public static String roomScope(Long roomId) {
+        return "room:" + roomId;
+    }
+
+    public static long epochMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+}
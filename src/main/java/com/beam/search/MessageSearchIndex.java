@@ -0,0 +1,279 @@
+package com.beam.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Message Search Index
+ *
+ * <p>Incremental inverted index over DM and group message text, organized
+ * like a small log-structured merge tree:
+ * <ul>
+ *   <li>New messages go into an in-memory {@link IndexSegment.Builder} that
+ *       is searchable immediately</li>
+ *   <li>{@link #flush()} writes the buffer as an immutable segment file
+ *       ({@code seg-000001.idx}, ...) under the index directory</li>
+ *   <li>{@link #maybeMerge()} folds the smallest segments into one once
+ *       there are more than {@code mergeFactor}, so the number of segments a
+ *       query visits stays bounded</li>
+ * </ul>
+ * Queries AND the {@link HangulNgramTokenizer} terms of the keyword over
+ * every segment, keep only documents in the caller's scopes, and return
+ * hits newest first. Messages indexed twice are reported once.
+ *
+ * <p>The unflushed buffer is lost if the process dies; {@link #open()}
+ * reports the highest persisted message ids so the caller can re-index
+ * from there.
+ *
+ * @since 1.3.0
+ */
+public class MessageSearchIndex implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageSearchIndex.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("^seg-(\\d{6})\\.idx$");
+
+    private final Path dir;
+    private final int flushDocs;
+    private final int mergeFactor;
+
+    // 검색은 잠금 없이 스냅샷을 읽음 (교체는 this 잠금 안에서)
+    private volatile List<Segment> segments = List.of();
+
+    // this 로 보호
+    private IndexSegment.Builder buffer = new IndexSegment.Builder();
+    private IndexSegment.Builder flushing;
+
+    // flush/merge 직렬화
+    private final Object maintenanceLock = new Object();
+    private int lastSegmentNumber;
+
+    public MessageSearchIndex(Path dir, int flushDocs, int mergeFactor) {
+        this.dir = dir;
+        this.flushDocs = flushDocs;
+        this.mergeFactor = Math.max(2, mergeFactor);
+    }
+
+    /**
+     * 세그먼트 파일 적재 - 읽을 수 없는 세그먼트가 있으면 색인 전체를 비우고 처음부터 다시 색인하게 함
+     */
+    public void open() throws IOException {
+        Files.createDirectories(dir);
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (SEGMENT_NAME.matcher(name).matches()) {
+                    files.add(entry);
+                } else if (name.endsWith(".tmp")) {
+                    Files.delete(entry); // 기록 도중 중단된 세그먼트
+                }
+            }
+        }
+        files.sort(null);
+
+        List<Segment> loaded = new ArrayList<>();
+        try {
+            for (Path file : files) {
+                loaded.add(new Segment(file, IndexSegment.read(file)));
+                lastSegmentNumber = Math.max(lastSegmentNumber, number(file));
+            }
+        } catch (IOException e) {
+            logger.warn("Search index at {} is unreadable ({}), rebuilding from scratch", dir, e.getMessage());
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            loaded.clear();
+        }
+        segments = List.copyOf(loaded);
+
+        logger.info("Opened search index {} ({} segments, {} documents)",
+            dir, loaded.size(), loaded.stream().mapToInt(s -> s.data.docCount()).sum());
+    }
+
+    /**
+     * 디스크에 기록된 kind 문서의 최대 메시지 id - 재기동 후 이 이후부터 다시 색인
+     */
+    public long maxPersistedMessageId(IndexedMessage.Kind kind) {
+        long max = 0;
+        for (Segment segment : segments) {
+            max = Math.max(max, segment.data.maxMessageId(kind));
+        }
+        return max;
+    }
+
+    public void add(IndexedMessage message) {
+        boolean full;
+        synchronized (this) {
+            buffer.add(message);
+            full = buffer.docCount() >= flushDocs;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * keyword 의 모든 용어를 포함하는 scopes 안의 메시지 (최신순, 중복 제거)
+     */
+    public List<SearchHit> search(String keyword, IndexedMessage.Kind kind, Set<String> scopes) {
+        List<String> terms = HangulNgramTokenizer.queryTerms(keyword);
+        if (terms.isEmpty() || scopes.isEmpty()) {
+            return List.of();
+        }
+
+        List<SearchHit> hits = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Consumer<SearchHit> collector = hit -> {
+            if (seen.add(hit.messageId())) {
+                hits.add(hit);
+            }
+        };
+
+        List<Segment> snapshot;
+        synchronized (this) {
+            snapshot = segments;
+            buffer.search(terms, kind, scopes, collector);
+            if (flushing != null) {
+                flushing.search(terms, kind, scopes, collector);
+            }
+        }
+        for (Segment segment : snapshot) {
+            segment.data.search(terms, kind, scopes, collector);
+        }
+
+        hits.sort(Comparator.comparingLong(SearchHit::timestamp).thenComparingLong(SearchHit::messageId).reversed());
+        return hits;
+    }
+
+    /**
+     * 버퍼를 새 세그먼트 파일로 기록
+     */
+    public void flush() {
+        synchronized (maintenanceLock) {
+            IndexSegment.Builder toFlush;
+            synchronized (this) {
+                if (buffer.docCount() == 0) {
+                    return;
+                }
+                toFlush = buffer;
+                flushing = toFlush;
+                buffer = new IndexSegment.Builder();
+            }
+
+            try {
+                Segment segment = writeSegment(toFlush.build());
+                synchronized (this) {
+                    segments = append(segments, segment);
+                    flushing = null;
+                }
+            } catch (IOException e) {
+                // 버퍼로 되돌려 다음 flush 에서 다시 시도
+                logger.warn("Search index flush failed: {}", e.getMessage());
+                synchronized (this) {
+                    IndexSegment.Builder restored = new IndexSegment.Builder();
+                    Set<Long> seen = new HashSet<>();
+                    toFlush.build().copyInto(restored, seen);
+                    buffer.build().copyInto(restored, seen);
+                    buffer = restored;
+                    flushing = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 세그먼트가 mergeFactor 개를 넘으면 가장 작은 mergeFactor 개를 하나로 합침
+     *
+     * @return 합쳤으면 true
+     */
+    public boolean maybeMerge() {
+        synchronized (maintenanceLock) {
+            List<Segment> current = segments;
+            if (current.size() <= mergeFactor) {
+                return false;
+            }
+
+            List<Segment> victims = current.stream()
+                .sorted(Comparator.comparingInt(s -> s.data.docCount()))
+                .limit(mergeFactor)
+                .toList();
+
+            Segment merged;
+            try {
+                merged = writeSegment(IndexSegment.merge(victims.stream().map(s -> s.data).toList()));
+            } catch (IOException e) {
+                logger.warn("Search index merge failed: {}", e.getMessage());
+                return false;
+            }
+
+            synchronized (this) {
+                List<Segment> next = new ArrayList<>(segments);
+                next.removeAll(victims);
+                next.add(merged);
+                segments = List.copyOf(next);
+            }
+            for (Segment victim : victims) {
+                try {
+                    Files.deleteIfExists(victim.file);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete merged search segment {}: {}", victim.file, e.getMessage());
+                }
+            }
+            logger.debug("Merged {} search segments into {} ({} documents)",
+                victims.size(), merged.file.getFileName(), merged.data.docCount());
+            return true;
+        }
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private Segment writeSegment(IndexSegment data) throws IOException {
+        Path file = dir.resolve(String.format("seg-%06d.idx", ++lastSegmentNumber));
+        data.write(file);
+        return new Segment(file, data);
+    }
+
+    private static List<Segment> append(List<Segment> list, Segment segment) {
+        List<Segment> next = new ArrayList<>(list);
+        next.add(segment);
+        return List.copyOf(next);
+    }
+
+    private static int number(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private static final class Segment {
+        final Path file;
+        final IndexSegment data;
+
+        Segment(Path file, IndexSegment data) {
+            this.file = file;
+            this.data = data;
+        }
+    }
+}
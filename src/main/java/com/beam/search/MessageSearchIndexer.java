@@ -0,0 +1,202 @@
+package com.beam.search;
+
+import com.beam.DirectMessageEntity;
+import com.beam.DirectMessageRepository;
+import com.beam.GroupMessageEntity;
+import com.beam.GroupMessageRepository;
+import com.beam.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Message Search Indexer
+ *
+ * <p>Keeps a {@link MessageSearchIndex} in step with the message tables:
+ * <ul>
+ *   <li>Messages sent through {@code DirectMessageService} and
+ *       {@code RoomService} are indexed right after their transaction
+ *       commits</li>
+ *   <li>{@link #catchUp()} pages through messages newer than what the index
+ *       last persisted, in id order, so messages sent while the process was
+ *       down (or lost with an unflushed buffer) are indexed after a restart</li>
+ *   <li>{@link #maintain()} flushes the in-memory buffer and merges small
+ *       segments in the background</li>
+ * </ul>
+ * {@link #isReady()} turns true once catch-up has reached the end of both
+ * tables; until then callers should fall back to scanning.
+ *
+ * <p>Configuration:
+ * <pre>
+ *   search.index.enabled=true
+ *   search.index.dir=data/search-index
+ *   search.index.flush-docs=5000       # buffer size that forces a flush
+ *   search.index.merge-factor=8        # merge once there are more segments than this
+ *   search.index.catch-up-batch=1000
+ *   search.index.flush-ms=5000
+ * </pre>
+ * Group messages are only indexed with {@code message.store.backend=jpa};
+ * the log backend keeps them outside {@code group_messages}.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class MessageSearchIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageSearchIndexer.class);
+
+    // 마지막 flush 직전에 커밋 순서가 뒤바뀐 메시지를 다시 훑기 위한 여유 (중복은 색인이 걸러냄)
+    private static final long CATCH_UP_OVERLAP = 1000;
+
+    @Autowired
+    private DirectMessageRepository directMessageRepository;
+
+    @Autowired
+    private GroupMessageRepository groupMessageRepository;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${search.index.dir:data/search-index}")
+    private String dir = "data/search-index";
+
+    @Value("${search.index.flush-docs:5000}")
+    private int flushDocs = 5000;
+
+    @Value("${search.index.merge-factor:8}")
+    private int mergeFactor = 8;
+
+    @Value("${search.index.catch-up-batch:1000}")
+    private int catchUpBatch = 1000;
+
+    @Value("${message.store.backend:jpa}")
+    private String messageStoreBackend = "jpa";
+
+    private MessageSearchIndex index;
+
+    // 따라잡기 진행 위치 (이 id 까지 색인됨)
+    private volatile long dmCursor;
+    private volatile long roomCursor;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            MessageSearchIndex opened = new MessageSearchIndex(Paths.get(dir), flushDocs, mergeFactor);
+            opened.open();
+            dmCursor = Math.max(0, opened.maxPersistedMessageId(IndexedMessage.Kind.DM) - CATCH_UP_OVERLAP);
+            roomCursor = Math.max(0, opened.maxPersistedMessageId(IndexedMessage.Kind.ROOM) - CATCH_UP_OVERLAP);
+            index = opened;
+        } catch (IOException e) {
+            // 색인 없이도 검색은 (느린) 스캔으로 동작
+            logger.error("Failed to open search index at {}, falling back to scanning: {}", dir, e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return index != null && ready;
+    }
+
+    /**
+     * 그룹 메시지도 색인하는지 (로그 저장소를 쓰면 색인하지 않음)
+     */
+    public boolean indexesRoomMessages() {
+        return !"log".equalsIgnoreCase(messageStoreBackend);
+    }
+
+    public void onDirectMessage(DirectMessageEntity message) {
+        if (index != null && message.getId() != null) {
+            IndexedMessage document = IndexedMessage.of(message);
+            TransactionHooks.afterCommit(() -> index.add(document));
+        }
+    }
+
+    public void onGroupMessage(GroupMessageEntity message) {
+        if (index != null && indexesRoomMessages() && message.getId() != null) {
+            IndexedMessage document = IndexedMessage.of(message);
+            TransactionHooks.afterCommit(() -> index.add(document));
+        }
+    }
+
+    /**
+     * scopes 안에서 keyword 를 포함할 수 있는 메시지 (최신순)
+     */
+    public List<SearchHit> search(String keyword, IndexedMessage.Kind kind, Set<String> scopes) {
+        if (index == null) {
+            return List.of();
+        }
+        return index.search(keyword, kind, scopes);
+    }
+
+    /**
+     * 색인되지 않은 메시지를 id 순으로 한 묶음씩 색인
+     */
+    @Scheduled(fixedDelayString = "${search.index.catch-up-ms:1000}")
+    public synchronized void catchUp() {
+        if (index == null || ready) {
+            return;
+        }
+        try {
+            boolean dmDone = catchUpDirectMessages();
+            boolean roomDone = !indexesRoomMessages() || catchUpGroupMessages();
+            if (dmDone && roomDone) {
+                ready = true;
+                logger.info("Search index caught up (dm <= {}, room <= {})", dmCursor, roomCursor);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Search index catch-up failed, retrying: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.flush-ms:5000}")
+    public void maintain() {
+        if (index == null) {
+            return;
+        }
+        index.flush();
+        while (index.maybeMerge()) {
+            // 세그먼트 수가 mergeFactor 이하가 될 때까지
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    private boolean catchUpDirectMessages() {
+        List<DirectMessageEntity> batch = directMessageRepository
+            .findByIdGreaterThanOrderByIdAsc(dmCursor, PageRequest.of(0, catchUpBatch));
+        for (DirectMessageEntity message : batch) {
+            index.add(IndexedMessage.of(message));
+            dmCursor = message.getId();
+        }
+        return batch.size() < catchUpBatch;
+    }
+
+    private boolean catchUpGroupMessages() {
+        List<GroupMessageEntity> batch = groupMessageRepository
+            .findByIdGreaterThanOrderByIdAsc(roomCursor, PageRequest.of(0, catchUpBatch));
+        for (GroupMessageEntity message : batch) {
+            index.add(IndexedMessage.of(message));
+            roomCursor = message.getId();
+        }
+        return batch.size() < catchUpBatch;
+    }
+}
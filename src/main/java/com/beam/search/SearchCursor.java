@@ -0,0 +1,70 @@
+package com.beam.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Search Cursor
+ *
+ * <p>Position of the last result of a search page in the result order
+ * (newest first, then DM before room, then higher id first). The next page
+ * continues strictly after it. Clients receive it as an opaque URL-safe
+ * string.
+ *
+ * @since 1.3.0
+ */
+public record SearchCursor(LocalDateTime timestamp, IndexedMessage.Kind kind, long messageId) {
+
+    /**
+     * 결과 정렬 순서 - 최신순, 같은 시각이면 DM 먼저, 그다음 id 큰 순
+     */
+    public static final Comparator<SearchCursor> NEWEST_FIRST = Comparator
+        .comparing(SearchCursor::timestamp, Comparator.reverseOrder())
+        .thenComparing(SearchCursor::kind)
+        .thenComparing(SearchCursor::messageId, Comparator.reverseOrder());
+
+    /**
+     * 첫 페이지 - 어떤 메시지보다도 앞선 위치
+     */
+    public static final SearchCursor START =
+        new SearchCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), IndexedMessage.Kind.DM, Long.MAX_VALUE);
+
+    /**
+     * kind 메시지 중 이 위치와 같은 시각인 것은 id 가 이 값보다 작아야 다음 페이지에 속함
+     */
+    public long idBoundFor(IndexedMessage.Kind otherKind) {
+        int order = otherKind.compareTo(kind);
+        if (order == 0) {
+            return messageId;
+        }
+        return order > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + kind + "|" + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 클라이언트가 보낸 커서 해석 (없으면 START)
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new SearchCursor(LocalDateTime.parse(parts[0]), IndexedMessage.Kind.valueOf(parts[1]),
+                Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.beam.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Search Fan-Out
+ *
+ * <p>Runs the per-source queries of one search (a shard of the user's
+ * conversations or rooms each) in parallel on a bounded pool and waits for
+ * them until a shared deadline:
+ * <ul>
+ *   <li>Sources that finish in time contribute their results</li>
+ *   <li>Sources still running at the deadline, rejected because the pool
+ *       queue is full, or failing are dropped and the result is marked
+ *       partial</li>
+ * </ul>
+ * Search latency is therefore bounded by the slowest shard (or the
+ * deadline) rather than the sum over all of the user's rooms. A source
+ * dropped at the deadline is cancelled with an interrupt; since a blocked
+ * JDBC call ignores interrupts, the database queries behind the sources
+ * also carry a {@link #QUERY_TIMEOUT_MS} statement timeout so an abandoned
+ * shard does not keep a pool thread and a connection busy.
+ *
+ * <p>Metrics: {@code beam_search_source_seconds} (latency per source, tagged
+ * with the source kind and outcome), {@code beam_search_source_dropped_total}
+ * (tagged with the reason) and {@code beam_search_partial_total}.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class SearchFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchFanOut.class);
+
+    /**
+     * 검색 소스 DB 쿼리의 statement timeout (ms) - 마감(기본 1500ms) 뒤 버려진 쿼리를 DB 에서 끊음
+     */
+    public static final String QUERY_TIMEOUT_MS = "2000";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.fan-out.threads:8}")
+    private int threads = 8;
+
+    @Value("${search.fan-out.queue-capacity:256}")
+    private int queueCapacity = 256;
+
+    @Value("${search.fan-out.deadline-ms:1500}")
+    private long deadlineMs = 1500;
+
+    private ThreadPoolExecutor executor;
+    private Counter partialCounter;
+
+    public SearchFanOut(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "beam-search-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+
+        partialCounter = Counter.builder("beam_search_partial_total")
+            .description("Searches answered with partial results")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 모든 소스를 병렬로 실행하고 마감 시각까지 끝난 결과만 모음
+     */
+    public <T> Result<T> collect(List<Source<T>> sources) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        List<Future<List<T>>> futures = new ArrayList<>(sources.size());
+        boolean partial = false;
+        for (Source<T> source : sources) {
+            try {
+                // submit 의 Future 는 cancel(true) 로 실행 중인 스레드를 인터럽트 (CompletableFuture 는 하지 않음)
+                futures.add(executor.submit(() -> timed(source)));
+            } catch (RejectedExecutionException e) {
+                // 풀이 가득 차면 이 소스는 건너뜀
+                dropped(source.kind(), "rejected");
+                futures.add(null);
+                partial = true;
+            }
+        }
+
+        List<List<T>> results = new ArrayList<>(sources.size());
+        for (int i = 0; i < futures.size(); i++) {
+            Future<List<T>> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                results.add(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                dropped(sources.get(i).kind(), "timeout");
+                partial = true;
+            } catch (ExecutionException e) {
+                logger.warn("Search source {} failed: {}", sources.get(i).kind(), e.getCause().getMessage());
+                dropped(sources.get(i).kind(), "error");
+                partial = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.subList(i, futures.size()).forEach(pending -> {
+                    if (pending != null) {
+                        pending.cancel(true);
+                    }
+                });
+                partial = true;
+                break;
+            }
+        }
+
+        if (partial) {
+            partialCounter.increment();
+        }
+        return new Result<>(results, partial);
+    }
+
+    private <T> List<T> timed(Source<T> source) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            List<T> result = source.query().get();
+            outcome = "ok";
+            return result;
+        } finally {
+            record(source.kind(), outcome, System.nanoTime() - start);
+        }
+    }
+
+    private void record(String kind, String outcome, long nanos) {
+        Timer.builder("beam_search_source_seconds")
+            .description("Latency of one search source (a shard of conversations or rooms)")
+            .tag("source", kind)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void dropped(String kind, String reason) {
+        Counter.builder("beam_search_source_dropped_total")
+            .description("Search sources left out of a result")
+            .tag("source", kind)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * 검색 소스 하나 - kind 는 지표 태그 (dm, room)
+     */
+    public record Source<T>(String kind, Supplier<List<T>> query) {
+    }
+
+    /**
+     * 마감 전에 끝난 소스별 결과와 일부 소스가 빠졌는지 여부
+     */
+    public record Result<T>(List<List<T>> results, boolean partial) {
+    }
+}
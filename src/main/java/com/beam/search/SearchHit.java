@@ -0,0 +1,12 @@
+package com.beam.search;
+
+/**
+ * Search Hit
+ *
+ * <p>A message whose terms match the query. Hits are candidates: callers
+ * load the message and confirm the match against its current content.
+ *
+ * @since 1.3.0
+ */
+public record SearchHit(IndexedMessage.Kind kind, long messageId, String scope, long timestamp) {
+}
@@ -0,0 +1,11 @@
+package com.beam.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 결과 한 페이지 - nextCursor 가 null 이면 마지막 페이지, partial 이면 마감 시각까지 끝나지 않은 소스가 빠짐
+ * partial 페이지는 nextCursor 를 주지 않음 (빠진 소스의 결과를 커서가 건너뛰게 되므로 다시 검색해야 함)
+ */
+public record SearchPage(List<Map<String, Object>> results, String nextCursor, boolean partial) {
+}
@@ -0,0 +1,232 @@
+package com.beam.search;
+
+import com.beam.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Search Result Cache
+ *
+ * <p>Keeps the first page of recent message searches per
+ * {@code (userId, keyword, type, limit)} so that repeated searches (one's own
+ * name, a project keyword) skip the fan-out entirely. Later pages (requests
+ * with a cursor) and partial results are never cached.
+ *
+ * <p>Entries are invalidated precisely instead of by a short TTL:
+ * <ul>
+ *   <li>A new direct or room message drops, for the sender and every
+ *       recipient, only the cached searches whose keyword occurs in the
+ *       message and whose type covers it</li>
+ *   <li>A room membership change drops the user's searches that cover rooms</li>
+ * </ul>
+ * Invalidation runs after commit. A search that was running while one of its
+ * keys was invalidated still answers its caller but is not stored, so a
+ * result computed before the commit never outlives it. Edits and deletions
+ * are covered by {@code search.cache.ttl-seconds}.
+ *
+ * <p>Metrics: {@code beam_search_cache_requests_total} (tagged
+ * {@code result=hit|miss}), {@code beam_search_cache_invalidations_total}
+ * (tagged with the reason) and {@code beam_search_cache_entries}.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class SearchResultCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.cache.max-entries:10000}")
+    private long maxEntries = 10000;
+
+    @Value("${search.cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    private Cache<Key, SearchPage> pages;
+
+    // 사용자별 캐시(또는 검색 중인) 키 - 메시지/멤버십 변경 시 해당 사용자 키만 확인
+    private final Map<Long, Set<Key>> keysByUser = new ConcurrentHashMap<>();
+
+    // 검색 중인 키 -> 검색 시작 표식 (검색 도중 무효화되면 제거되어 결과를 저장하지 않음)
+    private final Map<Key, Object> inFlight = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    public SearchResultCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        pages = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .removalListener((Key key, SearchPage page, RemovalCause cause) -> {
+                if (key != null && cause != RemovalCause.REPLACED) {
+                    unregisterIfIdle(key);
+                }
+            })
+            .build();
+
+        hitCounter = requests("hit");
+        missCounter = requests("miss");
+        Gauge.builder("beam_search_cache_entries", pages, Cache::estimatedSize)
+            .description("Cached message search pages")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 첫 페이지가 있으면 반환, 없으면 search 를 실행하고 (검색 도중 무효화되지 않았으면) 저장
+     *
+     * @param type "DM", "ROOM", 그 외는 전체
+     */
+    public SearchPage get(Long userId, String keyword, String type, int limit, Supplier<SearchPage> search) {
+        Key key = new Key(userId, normalize(keyword), Scope.of(type), limit);
+        SearchPage cached = pages.getIfPresent(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+
+        Object ticket = new Object();
+        inFlight.put(key, ticket);
+        keysByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(key);
+        try {
+            SearchPage page = search.get();
+            if (!page.partial() && inFlight.remove(key, ticket)) {
+                pages.put(key, page);
+            }
+            return page;
+        } finally {
+            inFlight.remove(key, ticket);
+            unregisterIfIdle(key);
+        }
+    }
+
+    /**
+     * 새 1:1 메시지 - 두 사용자의 DM 포함 검색 중 내용에 검색어가 있는 것만 무효화 (커밋 후)
+     */
+    public void onDirectMessage(Long senderId, Long receiverId, String content) {
+        TransactionHooks.afterCommit(() ->
+            invalidateMatching(List.of(senderId, receiverId), IndexedMessage.Kind.DM, content));
+    }
+
+    /**
+     * 새 채팅방 메시지 - 멤버들의 채팅방 포함 검색 중 내용에 검색어가 있는 것만 무효화 (커밋 후)
+     */
+    public void onRoomMessage(Collection<Long> memberIds, String content) {
+        List<Long> userIds = List.copyOf(memberIds);
+        TransactionHooks.afterCommit(() -> invalidateMatching(userIds, IndexedMessage.Kind.ROOM, content));
+    }
+
+    /**
+     * 채팅방 입장/퇴장/삭제 - 해당 사용자의 채팅방 포함 검색 무효화 (커밋 후)
+     */
+    public void onMembershipChanged(Collection<Long> userIds) {
+        List<Long> affected = List.copyOf(userIds);
+        TransactionHooks.afterCommit(() -> {
+            for (Long userId : affected) {
+                for (Key key : keysOf(userId)) {
+                    if (key.scope().covers(IndexedMessage.Kind.ROOM)) {
+                        invalidate(key, "membership");
+                    }
+                }
+            }
+        });
+    }
+
+    public long size() {
+        pages.cleanUp();
+        return pages.estimatedSize();
+    }
+
+    void invalidateMatching(Collection<Long> userIds, IndexedMessage.Kind kind, String content) {
+        if (content == null || content.isEmpty()) {
+            return;
+        }
+        String text = content.toLowerCase(Locale.ROOT);
+        for (Long userId : userIds) {
+            for (Key key : keysOf(userId)) {
+                if (key.scope().covers(kind) && text.contains(key.keyword())) {
+                    invalidate(key, "message");
+                }
+            }
+        }
+    }
+
+    private void invalidate(Key key, String reason) {
+        inFlight.remove(key);
+        pages.invalidate(key);
+        unregister(key);
+        Counter.builder("beam_search_cache_invalidations_total")
+            .description("Cached message search pages dropped by new content or membership changes")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private Set<Key> keysOf(Long userId) {
+        Set<Key> keys = keysByUser.get(userId);
+        return keys == null ? Set.of() : Set.copyOf(keys);
+    }
+
+    // 캐시에 없고 같은 키를 검색 중인 요청도 없을 때만 등록 해제
+    private void unregisterIfIdle(Key key) {
+        if (!inFlight.containsKey(key) && pages.getIfPresent(key) == null) {
+            unregister(key);
+        }
+    }
+
+    private void unregister(Key key) {
+        keysByUser.computeIfPresent(key.userId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private Counter requests(String result) {
+        return Counter.builder("beam_search_cache_requests_total")
+            .description("Message search cache lookups")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static String normalize(String keyword) {
+        return keyword == null ? "" : keyword.toLowerCase(Locale.ROOT);
+    }
+
+    private enum Scope {
+        DM, ROOM, ALL;
+
+        static Scope of(String type) {
+            if ("DM".equalsIgnoreCase(type)) {
+                return DM;
+            }
+            return "ROOM".equalsIgnoreCase(type) ? ROOM : ALL;
+        }
+
+        boolean covers(IndexedMessage.Kind kind) {
+            return this == ALL || name().equals(kind.name());
+        }
+    }
+
+    private record Key(Long userId, String keyword, Scope scope, int limit) {
+    }
+}
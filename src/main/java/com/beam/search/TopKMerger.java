@@ -0,0 +1,41 @@
+package com.beam.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 이미 정렬된 여러 스트림을 힙으로 병합해 앞에서부터 k 개만 꺼냄
+ * 각 스트림은 결과로 나간 개수 + 1 개 이상 당겨지지 않음
+ */
+public final class TopKMerger {
+
+    private TopKMerger() {
+        // 유틸리티 클래스
+    }
+
+    public static <T> List<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order, int k) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+            (a, b) -> order.compare(a.value, b.value));
+        for (Iterator<? extends T> source : sources) {
+            if (k > 0 && source.hasNext()) {
+                heads.add(new Head<>(source.next(), source));
+            }
+        }
+
+        List<T> top = new ArrayList<>(Math.min(k, 1024));
+        while (top.size() < k && !heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            top.add(head.value);
+            if (top.size() < k && head.source.hasNext()) {
+                heads.add(new Head<>(head.source.next(), head.source));
+            }
+        }
+        return top;
+    }
+
+    private record Head<T>(T value, Iterator<? extends T> source) {
+    }
+}
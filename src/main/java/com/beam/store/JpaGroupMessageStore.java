@@ -0,0 +1,48 @@
+package com.beam.store;
+
+import com.beam.GroupMessageEntity;
+import com.beam.GroupMessageRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA backed store for {@code group_messages} (stream id = roomId)
+ *
+ * <p>Deleted messages are excluded from reads, as before.
+ *
+ * @since 1.3.0
+ */
+public class JpaGroupMessageStore implements MessageStore<GroupMessageEntity> {
+
+    private final GroupMessageRepository groupMessageRepository;
+
+    public JpaGroupMessageStore(GroupMessageRepository groupMessageRepository) {
+        this.groupMessageRepository = groupMessageRepository;
+    }
+
+    @Override
+    public GroupMessageEntity append(GroupMessageEntity message) {
+        return groupMessageRepository.save(message);
+    }
+
+    @Override
+    public Optional<GroupMessageEntity> findById(Long id) {
+        return groupMessageRepository.findById(id);
+    }
+
+    @Override
+    public List<GroupMessageEntity> findLatest(String roomId, int limit) {
+        return groupMessageRepository.findLatestByRoomId(Long.valueOf(roomId), limit);
+    }
+
+    @Override
+    public List<GroupMessageEntity> findRange(String roomId, long offset, int limit) {
+        return groupMessageRepository.findRoomMessagesSlice(Long.valueOf(roomId), (int) offset, limit);
+    }
+
+    @Override
+    public long count(String roomId) {
+        return groupMessageRepository.countByRoomIdAndIsDeletedFalse(Long.valueOf(roomId));
+    }
+}
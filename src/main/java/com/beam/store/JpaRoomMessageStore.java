@@ -0,0 +1,46 @@
+package com.beam.store;
+
+import com.beam.MessageEntity;
+import com.beam.MessageRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA backed store for {@code messages} (stream id = roomId)
+ *
+ * @since 1.3.0
+ */
+public class JpaRoomMessageStore implements MessageStore<MessageEntity> {
+
+    private final MessageRepository messageRepository;
+
+    public JpaRoomMessageStore(MessageRepository messageRepository) {
+        this.messageRepository = messageRepository;
+    }
+
+    @Override
+    public MessageEntity append(MessageEntity message) {
+        return messageRepository.save(message);
+    }
+
+    @Override
+    public Optional<MessageEntity> findById(Long id) {
+        return messageRepository.findById(id);
+    }
+
+    @Override
+    public List<MessageEntity> findLatest(String roomId, int limit) {
+        return messageRepository.findLatestByRoomId(roomId, limit);
+    }
+
+    @Override
+    public List<MessageEntity> findRange(String roomId, long offset, int limit) {
+        return messageRepository.findRoomMessagesSlice(roomId, (int) offset, limit);
+    }
+
+    @Override
+    public long count(String roomId) {
+        return messageRepository.countByRoomId(roomId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.beam.store;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Message Store
+ *
+ * <p>Write path and timeline reads for one message table. Messages are
+ * grouped into streams (one per room) and ordered by append time inside a
+ * stream. The backend is selected with {@code message.store.backend}:
+ * <ul>
+ *   <li>{@code jpa} (default) - one row per message through Spring Data JPA</li>
+ *   <li>{@code log} - {@link SegmentLogMessageStore}, an append-only
+ *       memory-mapped log on local disk</li>
+ * </ul>
+ *
+ * @param <T> message entity type
+ * @since 1.3.0
+ */
+public interface MessageStore<T> {
+
+    /**
+     * 메시지 저장 - id 가 할당된 메시지를 반환
+     */
+    T append(T message);
+
+    /**
+     * id 로 메시지 조회 (읽음 처리 등 메시지 하나를 가리키는 경로용)
+     */
+    Optional<T> findById(Long id);
+
+    /**
+     * 스트림의 최신 메시지 최대 limit 건 (최신순)
+     */
+    List<T> findLatest(String streamId, int limit);
+
+    /**
+     * 스트림 내 offset 부터 최대 limit 건 (오래된 순)
+     */
+    List<T> findRange(String streamId, long offset, int limit);
+
+    long count(String streamId);
+}
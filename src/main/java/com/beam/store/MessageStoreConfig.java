@@ -0,0 +1,91 @@
+package com.beam.store;
+
+import com.beam.GroupMessageEntity;
+import com.beam.GroupMessageRepository;
+import com.beam.MessageEntity;
+import com.beam.MessageRepository;
+import com.beam.archive.ArchiveCodec;
+import com.beam.archive.ArchiveCodecs;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Message Store Configuration
+ *
+ * <p>Selects the {@link MessageStore} backend for room messages
+ * ({@code messages}) and group room messages ({@code group_messages}):
+ * <pre>
+ *   message.store.backend=jpa   # default, one row per message
+ *   message.store.backend=log   # memory-mapped segment log under message.store.log.dir
+ * </pre>
+ * The log backend keeps messages on the local disk of one instance. Its ids
+ * start after the highest id already in the table, so a log message and a
+ * row never share an id. Lookups of one message (read receipts, read
+ * counts) go through {@link MessageStore#findById}. Queries over message
+ * rows (search, archiving, whole-room unread counts) see only the messages
+ * stored through JPA; search skips room messages when the log is used.
+ *
+ * @since 1.3.0
+ */
+@Configuration
+public class MessageStoreConfig {
+
+    @Value("${message.store.backend:jpa}")
+    private String backend;
+
+    @Value("${message.store.log.dir:data/message-log}")
+    private String logDir;
+
+    @Value("${message.store.log.segment-mb:64}")
+    private int segmentMb;
+
+    @Value("${message.store.log.fsync:true}")
+    private boolean fsync;
+
+    @Bean
+    public MessageStore<MessageEntity> roomMessageStore(MessageRepository messageRepository) throws IOException {
+        if (!useLog()) {
+            return new JpaRoomMessageStore(messageRepository);
+        }
+        return openLog(ArchiveCodecs.ROOM_MESSAGES, MessageEntity::getRoomId, MessageEntity::setId,
+            messageRepository.findMaxId());
+    }
+
+    @Bean
+    public MessageStore<GroupMessageEntity> groupMessageStore(GroupMessageRepository groupMessageRepository) throws IOException {
+        if (!useLog()) {
+            return new JpaGroupMessageStore(groupMessageRepository);
+        }
+        return openLog(ArchiveCodecs.GROUP_MESSAGES, m -> String.valueOf(m.getRoomId()), GroupMessageEntity::setId,
+            groupMessageRepository.findMaxId());
+    }
+
+    private boolean useLog() {
+        if ("log".equalsIgnoreCase(backend)) {
+            return true;
+        }
+        if (!"jpa".equalsIgnoreCase(backend)) {
+            throw new IllegalStateException("Unknown message.store.backend: " + backend);
+        }
+        return false;
+    }
+
+    private <T> SegmentLogMessageStore<T> openLog(ArchiveCodec<T> codec, Function<T, String> streamOf,
+                                                  BiConsumer<T, Long> idAssigner, Long maxRowId) throws IOException {
+        Path dir = Paths.get(logDir).resolve(codec.directory());
+        SegmentLogMessageStore<T> store = new SegmentLogMessageStore<>(dir, codec, streamOf, idAssigner,
+            segmentMb * 1024 * 1024, fsync);
+        store.open();
+        if (maxRowId != null) {
+            store.reserveIds(maxRowId);
+        }
+        return store; // close() 는 컨텍스트 종료 시 자동 호출 (destroy method 추론)
+    }
+}
@@ -0,0 +1,503 @@
+package com.beam.store;
+
+import com.beam.archive.ArchiveCodec;
+import com.beam.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Segment Log Message Store
+ *
+ * <p>Append-only message log on local disk. All streams share one sequence
+ * of fixed-size, memory-mapped segment files ({@code 00000001.log}, ...);
+ * each record is {@code [length][crc32][payload]} with the payload encoded
+ * by an {@link ArchiveCodec}.
+ * <ul>
+ *   <li><b>Offset index</b> - every stream keeps the log positions of its
+ *       records in memory, so timeline reads go straight to the mapped
+ *       pages without scanning</li>
+ *   <li><b>Group commit</b> - a writer waiting for durability forces
+ *       everything appended so far; writers queued behind it find their
+ *       records already durable, so one {@code msync} covers a whole burst</li>
+ *   <li><b>Recovery</b> - on open the log is scanned, the index rebuilt and
+ *       a torn tail (bad length or checksum) is zeroed</li>
+ * </ul>
+ * The record is written and forced in {@link #append}, inside the caller's
+ * transaction, so a failed write rolls the send back. It becomes readable
+ * only after commit; a rollback appends a tombstone that hides it again on
+ * recovery. A crash between the write and the commit leaves the message in
+ * the log. After a restart the timeline follows write order rather than
+ * commit order.
+ *
+ * <p>Ids continue after the highest id in the log and, via
+ * {@link #reserveIds}, after the rows already in the database table, so an
+ * id never names two different messages; {@link #findById} answers from
+ * the log.
+ *
+ * @param <T> message entity type
+ * @since 1.3.0
+ */
+public class SegmentLogMessageStore<T> implements MessageStore<T>, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentLogMessageStore.class);
+
+    private static final int RECORD_HEADER = 8;
+    // 길이 필드의 최상위 비트 - 롤백된 레코드를 가리키는 tombstone
+    private static final int TOMBSTONE = 0x80000000;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("^\\d{8}\\.log$");
+
+    private final Path dir;
+    private final ArchiveCodec<T> codec;
+    private final Function<T, String> streamOf;
+    private final BiConsumer<T, Long> idAssigner;
+    private final int segmentBytes;
+    private final boolean fsync;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<String, OffsetIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> positionsById = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object syncLock = new Object();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    // write lock 으로 보호
+    private Segment active;
+    private int writePosition;
+    private long appendedRecords;
+
+    // syncLock 으로 보호
+    private volatile long durableRecords;
+    private int firstDirtySegment;
+
+    public SegmentLogMessageStore(Path dir, ArchiveCodec<T> codec, Function<T, String> streamOf,
+                                  BiConsumer<T, Long> idAssigner, int segmentBytes, boolean fsync) {
+        this.dir = dir;
+        this.codec = codec;
+        this.streamOf = streamOf;
+        this.idAssigner = idAssigner;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+    }
+
+    /**
+     * 로그 열기 - 기존 세그먼트를 스캔해 인덱스를 재구성하고 잘린 꼬리를 정리
+     */
+    public void open() throws IOException {
+        Files.createDirectories(dir);
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                if (SEGMENT_NAME.matcher(entry.getFileName().toString()).matches()) {
+                    files.add(entry);
+                }
+            }
+        }
+        files.sort(null);
+
+        long recovered = 0;
+        for (Path file : files) {
+            Segment segment = Segment.map(segments.size(), file, (int) Files.size(file));
+            segments.add(segment);
+            recovered += recover(segment);
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(Segment.map(0, segmentPath(1), segmentBytes));
+        }
+        active = segments.get(segments.size() - 1);
+        writePosition = active.end;
+        firstDirtySegment = segments.size() - 1;
+
+        logger.info("Opened message log {} ({} segments, {} records, {} streams)",
+            dir, segments.size(), recovered, indexes.size());
+    }
+
+    /**
+     * 이 id 이하를 쓰지 않도록 다음 id 를 올림 (같은 테이블에 이미 있는 행과 id 가 겹치지 않도록)
+     */
+    public void reserveIds(long lastUsedId) {
+        nextId.accumulateAndGet(lastUsedId + 1, Math::max);
+    }
+
+    @Override
+    public T append(T message) {
+        idAssigner.accept(message, nextId.getAndIncrement());
+        // 커밋 전에 기록하고 내구화 - 실패하면 예외로 트랜잭션이 롤백됨
+        long position = write(encode(message), false);
+        TransactionHooks.afterCommit(() -> publish(message, position));
+        TransactionHooks.afterRollback(() -> discard(position));
+        return message;
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        Long position = positionsById.get(id);
+        return position != null ? Optional.of(read(position)) : Optional.empty();
+    }
+
+    @Override
+    public List<T> findLatest(String streamId, int limit) {
+        long[] positions;
+        lock.readLock().lock();
+        try {
+            OffsetIndex index = indexes.get(streamId);
+            if (index == null) {
+                return Collections.emptyList();
+            }
+            positions = index.copy(Math.max(0, index.size - limit), index.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<T> result = new ArrayList<>(positions.length);
+        for (int i = positions.length - 1; i >= 0; i--) {
+            result.add(read(positions[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> findRange(String streamId, long offset, int limit) {
+        long[] positions;
+        lock.readLock().lock();
+        try {
+            OffsetIndex index = indexes.get(streamId);
+            if (index == null || offset >= index.size) {
+                return Collections.emptyList();
+            }
+            int from = (int) offset;
+            positions = index.copy(from, (int) Math.min(index.size, (long) from + limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<T> result = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            result.add(read(position));
+        }
+        return result;
+    }
+
+    @Override
+    public long count(String streamId) {
+        lock.readLock().lock();
+        try {
+            OffsetIndex index = indexes.get(streamId);
+            return index != null ? index.size : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * 레코드를 기록하고 (fsync 설정 시) 내구화될 때까지 대기
+     *
+     * @return 레코드의 로그 위치 (segment << 32 | offset)
+     */
+    private long write(byte[] payload, boolean tombstone) {
+        if (payload.length + RECORD_HEADER > segmentBytes) {
+            throw new RuntimeException("Message too large for log segment: " + payload.length + " bytes");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long packed;
+        long sequence;
+        lock.writeLock().lock();
+        try {
+            if (writePosition + RECORD_HEADER + payload.length > active.capacity) {
+                roll();
+            }
+
+            int position = writePosition;
+            MappedByteBuffer buffer = active.buffer;
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.put(position + RECORD_HEADER, payload);
+            // 길이를 마지막에 기록 - 길이가 0 이면 로그의 끝
+            buffer.putInt(position, tombstone ? payload.length | TOMBSTONE : payload.length);
+            writePosition += RECORD_HEADER + payload.length;
+
+            packed = pack(active.ordinal, position);
+            sequence = ++appendedRecords;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (fsync) {
+            awaitDurable(sequence);
+        }
+        return packed;
+    }
+
+    // 커밋된 레코드를 스트림 인덱스에 추가
+    private void publish(T message, long position) {
+        lock.writeLock().lock();
+        try {
+            indexes.computeIfAbsent(streamOf.apply(message), k -> new OffsetIndex()).add(position);
+            positionsById.put(codec.id(message), position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 롤백된 레코드 - 재시작 시 다시 보이지 않도록 tombstone 기록
+    private void discard(long position) {
+        try {
+            write(ByteBuffer.allocate(Long.BYTES).putLong(0, position).array(), true);
+        } catch (RuntimeException e) {
+            logger.error("Failed to record rollback of log record {}, it reappears after restart: {}",
+                position, e.getMessage());
+        }
+    }
+
+    /**
+     * 그룹 커밋 - 먼저 들어온 writer 가 그 시점까지 기록된 전부를 force
+     */
+    private void awaitDurable(long sequence) {
+        if (durableRecords >= sequence) {
+            return;
+        }
+
+        synchronized (syncLock) {
+            if (durableRecords >= sequence) {
+                return;
+            }
+
+            long target;
+            int lastSegment;
+            lock.readLock().lock();
+            try {
+                target = appendedRecords;
+                lastSegment = segments.size() - 1;
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            for (int i = firstDirtySegment; i <= lastSegment; i++) {
+                segments.get(i).buffer.force();
+            }
+            firstDirtySegment = lastSegment;
+            durableRecords = target;
+        }
+    }
+
+    private void roll() {
+        // 남은 공간은 매핑 시 0 으로 채워져 있으므로 별도 종료 표시 불필요
+        try {
+            Segment next = Segment.map(segments.size(), segmentPath(segments.size() + 1), segmentBytes);
+            segments.add(next);
+            active = next;
+            writePosition = 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create log segment: " + e.getMessage(), e);
+        }
+    }
+
+    private long recover(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        long records = 0;
+        boolean torn = false;
+
+        while (position + RECORD_HEADER <= segment.capacity) {
+            int header = buffer.getInt(position);
+            if (header == 0) {
+                break;
+            }
+            boolean tombstone = (header & TOMBSTONE) != 0;
+            int length = header & ~TOMBSTONE;
+            if ((tombstone && length != Long.BYTES) || position + RECORD_HEADER + length > segment.capacity) {
+                torn = true;
+                break;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(position + RECORD_HEADER, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                torn = true;
+                break;
+            }
+
+            if (tombstone) {
+                // 앞서 기록된 롤백 레코드를 인덱스에서 제거
+                long voided = buffer.getLong(position + RECORD_HEADER);
+                T message = read(voided);
+                OffsetIndex index = indexes.get(streamOf.apply(message));
+                if (index != null) {
+                    index.remove(voided);
+                }
+                positionsById.remove(codec.id(message));
+            } else {
+                T message = decode(buffer, position, length);
+                long packed = pack(segment.ordinal, position);
+                indexes.computeIfAbsent(streamOf.apply(message), k -> new OffsetIndex()).add(packed);
+                positionsById.put(codec.id(message), packed);
+                nextId.accumulateAndGet(codec.id(message) + 1, Math::max);
+            }
+            appendedRecords++;
+            durableRecords++;
+            records++;
+            position += RECORD_HEADER + length;
+        }
+
+        if (torn) {
+            // 기록 도중 중단된 꼬리 - 이후 바이트를 0 으로 지워 다음 기록이 이어지도록
+            logger.warn("Truncating torn tail of {} at offset {}", segment.path, position);
+            for (int i = position; i < segment.capacity; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+        segment.end = position;
+        return records;
+    }
+
+    private T read(long packed) {
+        Segment segment = segments.get((int) (packed >>> 32));
+        int position = (int) packed;
+        return decode(segment.buffer, position, segment.buffer.getInt(position) & ~TOMBSTONE);
+    }
+
+    private T decode(MappedByteBuffer buffer, int position, int length) {
+        try {
+            return codec.read(new DataInputStream(new BufferInputStream(buffer.slice(position + RECORD_HEADER, length))));
+        } catch (IOException e) {
+            throw new RuntimeException("Corrupt message log record at " + position + ": " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] encode(T message) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            codec.write(out, message);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode message: " + e.getMessage(), e);
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return dir.resolve(String.format("%08d.log", number));
+    }
+
+    private static long pack(int segment, int position) {
+        return ((long) segment << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    private static final class Segment {
+        final int ordinal;
+        final Path path;
+        final int capacity;
+        final MappedByteBuffer buffer;
+        int end;
+
+        private Segment(int ordinal, Path path, int capacity, MappedByteBuffer buffer) {
+            this.ordinal = ordinal;
+            this.path = path;
+            this.capacity = capacity;
+            this.buffer = buffer;
+        }
+
+        static Segment map(int ordinal, Path path, int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // 매핑은 채널을 닫아도 유효
+                return new Segment(ordinal, path, capacity, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            }
+        }
+    }
+
+    /**
+     * 스트림별 로그 위치 목록 (segment << 32 | offset)
+     */
+    private static final class OffsetIndex {
+        long[] positions = new long[16];
+        int size;
+
+        void add(long position) {
+            if (size == positions.length) {
+                long[] grown = new long[size * 2];
+                System.arraycopy(positions, 0, grown, 0, size);
+                positions = grown;
+            }
+            positions[size++] = position;
+        }
+
+        void remove(long position) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (positions[i] == position) {
+                    System.arraycopy(positions, i + 1, positions, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        long[] copy(int from, int to) {
+            long[] slice = new long[to - from];
+            System.arraycopy(positions, from, slice, 0, slice.length);
+            return slice;
+        }
+    }
+
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.beam.util;
+
+/**
+ * 펜윅 트리 (Binary Indexed Tree)
+ * 위치별 카운트의 점 갱신과 누적 합을 O(log n) 에 처리 (위치는 0부터)
+ * 스레드 안전하지 않음 - 호출 측에서 동기화
+ */
+public final class FenwickTree {
+
+    private final int[] tree;
+
+    public FenwickTree(int size) {
+        this.tree = new int[Math.max(1, size) + 1];
+    }
+
+    /**
+     * 위치별 카운트로 O(n) 에 구성
+     */
+    public static FenwickTree of(int[] counts) {
+        FenwickTree fenwick = new FenwickTree(counts.length);
+        int[] tree = fenwick.tree;
+        System.arraycopy(counts, 0, tree, 1, counts.length);
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+        return fenwick;
+    }
+
+    public int size() {
+        return tree.length - 1;
+    }
+
+    public void add(int position, int delta) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of range " + size());
+        }
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * [0, position] 구간 합 (범위를 벗어나면 가장자리까지로 자름)
+     */
+    public int prefixSum(int position) {
+        int sum = 0;
+        for (int i = Math.min(position + 1, size()); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,48 @@
+package com.beam.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 훅 유틸리티
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+        // 유틸리티 클래스
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 이후에 실행 (롤백 시 실행되지 않음)
+     * 트랜잭션 밖에서는 즉시 실행
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 롤백 이후에 실행
+     * 트랜잭션 밖에서는 실행되지 않음 (롤백할 것이 없음)
+     */
+    public static void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+}
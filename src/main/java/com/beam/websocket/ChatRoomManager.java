@@ -23,12 +23,15 @@ public class ChatRoomManager {
 
     private final Map<String, ChatRoom> chatRooms = new ConcurrentHashMap<>();
 
+    // 방 이름 -> 그 이름을 쓰는 방 수 (이름 중복 검사를 전체 순회 없이)
+    private final Map<String, Integer> roomNameCounts = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         // 기본 그룹 채팅방들
-        chatRooms.put("general", new ChatRoom("general", "일반 채팅방", RoomType.GROUP));
-        chatRooms.put("tech", new ChatRoom("tech", "개발 이야기", RoomType.GROUP));
-        chatRooms.put("casual", new ChatRoom("casual", "자유 토론", RoomType.GROUP));
+        register(new ChatRoom("general", "일반 채팅방", RoomType.GROUP));
+        register(new ChatRoom("tech", "개발 이야기", RoomType.GROUP));
+        register(new ChatRoom("casual", "자유 토론", RoomType.GROUP));
         logger.info("Default chat rooms initialized");
     }
 
@@ -45,8 +48,7 @@ public class ChatRoomManager {
     }
 
     public boolean isRoomNameDuplicate(String roomName) {
-        return chatRooms.values().stream()
-            .anyMatch(room -> room.getRoomName().equals(roomName));
+        return roomName != null && roomNameCounts.containsKey(roomName);
     }
 
     public boolean isDefaultRoom(String roomId) {
@@ -56,14 +58,14 @@ public class ChatRoomManager {
     public ChatRoom createRoom(String roomId, String roomName, RoomType roomType,
                                String creator, String description) {
         ChatRoom newRoom = new ChatRoom(roomId, roomName, roomType, creator, description);
-        chatRooms.put(roomId, newRoom);
+        register(newRoom);
         logger.info("Room created: {} ({}) by {}", roomName, roomType, creator);
         return newRoom;
     }
 
     public ChatRoom createRoom(String roomId, String roomName, RoomType roomType) {
         ChatRoom newRoom = new ChatRoom(roomId, roomName, roomType);
-        chatRooms.put(roomId, newRoom);
+        register(newRoom);
         logger.info("Room created: {} ({})", roomName, roomType);
         return newRoom;
     }
@@ -71,10 +73,27 @@ public class ChatRoomManager {
     public void deleteRoom(String roomId) {
         ChatRoom removed = chatRooms.remove(roomId);
         if (removed != null) {
+            unregisterName(removed.getRoomName());
             logger.info("Room deleted: {}", removed.getRoomName());
         }
     }
 
+    private void register(ChatRoom room) {
+        ChatRoom replaced = chatRooms.put(room.getRoomId(), room);
+        if (replaced != null) {
+            unregisterName(replaced.getRoomName());
+        }
+        if (room.getRoomName() != null) {
+            roomNameCounts.merge(room.getRoomName(), 1, Integer::sum);
+        }
+    }
+
+    private void unregisterName(String roomName) {
+        if (roomName != null) {
+            roomNameCounts.computeIfPresent(roomName, (name, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
     public void addUserToRoom(String roomId, User user) {
         ChatRoom room = chatRooms.get(roomId);
         if (room != null) {
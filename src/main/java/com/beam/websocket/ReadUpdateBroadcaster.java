@@ -0,0 +1,122 @@
+package com.beam.websocket;
+
+import com.beam.ChatMessage;
+import com.beam.util.TransactionHooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read Update Broadcaster
+ *
+ * <p>Coalesces read notifications per room. Instead of one frame per reader
+ * per message, reads are gathered for {@code read-update.window-ms} and each
+ * room with activity receives a single frame mapping every reader to their
+ * newest read watermark:
+ * <ul>
+ *   <li>Group rooms (STOMP): {@code /topic/room.{id}.read-receipts} with
+ *       {@code {"type": "READ_UPDATE", "roomId": .., "watermarks": {userId: seq}}}</li>
+ *   <li>Legacy rooms (raw WebSocket): a {@code readUpdate} message whose
+ *       content is the JSON {@code {userId: lastReadMessageId}} map</li>
+ * </ul>
+ * Read traffic is therefore bounded by rooms × windows rather than
+ * readers × messages.
+ *
+ * @since 1.3.0
+ */
+@Component
+public class ReadUpdateBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadUpdateBroadcaster.class);
+
+    static final String GROUP_UPDATE_TYPE = "READ_UPDATE";
+    static final String ROOM_UPDATE_TYPE = "readUpdate";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private WebSocketMessageSender messageSender;
+
+    @Autowired(required = false)
+    private SimpMessageSendingOperations messagingTemplate;
+
+    // roomId -> (userId -> 가장 앞선 워터마크), 다음 주기에 한 프레임으로 전송
+    private final Map<Long, Map<Long, Long>> pendingGroupReads = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Long>> pendingRoomReads = new ConcurrentHashMap<>();
+
+    /**
+     * 그룹 채팅방(STOMP) 읽음 워터마크 전진 기록 (커밋 후 반영)
+     */
+    public void recordGroupRead(Long roomId, Long userId, long seq) {
+        TransactionHooks.afterCommit(() -> merge(pendingGroupReads, roomId, userId, seq));
+    }
+
+    /**
+     * 레거시 채팅방(WebSocket) 읽음 워터마크 전진 기록 (커밋 후 반영)
+     */
+    public void recordRoomRead(String roomId, Long userId, long messageId) {
+        TransactionHooks.afterCommit(() -> merge(pendingRoomReads, roomId, userId, messageId));
+    }
+
+    /**
+     * 모인 읽음 변경을 방마다 한 프레임으로 전송
+     */
+    @Scheduled(fixedDelayString = "${read-update.window-ms:500}")
+    public void flush() {
+        for (Long roomId : new ArrayList<>(pendingGroupReads.keySet())) {
+            Map<Long, Long> watermarks = pendingGroupReads.remove(roomId);
+            if (watermarks != null && messagingTemplate != null) {
+                sendGroupUpdate(roomId, watermarks);
+            }
+        }
+        for (String roomId : new ArrayList<>(pendingRoomReads.keySet())) {
+            Map<Long, Long> watermarks = pendingRoomReads.remove(roomId);
+            if (watermarks != null) {
+                sendRoomUpdate(roomId, watermarks);
+            }
+        }
+    }
+
+    private <K> void merge(Map<K, Map<Long, Long>> pending, K roomId, Long userId, long watermark) {
+        pending.compute(roomId, (id, readers) -> {
+            Map<Long, Long> merged = readers != null ? readers : new HashMap<>();
+            merged.merge(userId, watermark, Math::max);
+            return merged;
+        });
+    }
+
+    private void sendGroupUpdate(Long roomId, Map<Long, Long> watermarks) {
+        try {
+            Map<String, Object> frame = Map.of(
+                "type", GROUP_UPDATE_TYPE,
+                "roomId", roomId,
+                "watermarks", watermarks
+            );
+            messagingTemplate.convertAndSend("/topic/room." + roomId + ".read-receipts", frame);
+        } catch (Exception e) {
+            logger.warn("Failed to send read update for room {}: {}", roomId, e.getMessage());
+        }
+    }
+
+    private void sendRoomUpdate(String roomId, Map<Long, Long> watermarks) {
+        try {
+            ChatMessage update = new ChatMessage("시스템",
+                objectMapper.writeValueAsString(watermarks),
+                messageSender.getCurrentTimestamp(),
+                ROOM_UPDATE_TYPE);
+            update.setRoomId(roomId);
+            messageSender.broadcastToRoom(roomId, update);
+        } catch (Exception e) {
+            logger.warn("Failed to send read update for room {}: {}", roomId, e.getMessage());
+        }
+    }
+}
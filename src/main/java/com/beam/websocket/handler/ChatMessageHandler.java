@@ -6,6 +6,7 @@ import com.beam.MessageEntity;
 import com.beam.MessageSecurityType;
 import com.beam.MessageService;
 import com.beam.websocket.ChatRoomManager;
+import com.beam.websocket.ReadUpdateBroadcaster;
 import com.beam.websocket.WebSocketMessageSender;
 import com.beam.websocket.WebSocketSessionManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -46,6 +47,9 @@ public class ChatMessageHandler {
     @Autowired
     private WebSocketMessageSender messageSender;
 
+    @Autowired
+    private ReadUpdateBroadcaster readUpdateBroadcaster;
+
     public void handleTextMessage(WebSocketSession session, ChatMessage chatMessage) throws Exception {
         String roomId = sessionManager.getSessionRoom(session.getId());
         if (roomId != null) {
@@ -76,7 +80,7 @@ public class ChatMessageHandler {
             sendMessageHistory(session, roomId);
 
             if (chatMessage.getUserId() != null) {
-                messageService.markRoomMessagesAsRead(roomId, chatMessage.getUserId(), chatMessage.getSender());
+                markRoomAsRead(roomId, chatMessage.getUserId(), chatMessage.getSender());
             }
         }
     }
@@ -87,14 +91,15 @@ public class ChatMessageHandler {
         String username = chatMessage.getSender();
 
         if (roomId != null && userId != null) {
-            messageService.markRoomMessagesAsRead(roomId, userId, username);
-
-            ChatMessage readUpdate = new ChatMessage("시스템",
-                username + "님이 메시지를 읽었습니다.",
-                messageSender.getCurrentTimestamp(),
-                "readUpdate");
-            readUpdate.setRoomId(roomId);
-            messageSender.broadcastToRoom(roomId, readUpdate);
+            markRoomAsRead(roomId, userId, username);
+        }
+    }
+
+    // 워터마크가 움직였을 때만 방 단위 읽음 알림에 합류 (읽을 때마다 시스템 메시지를 보내지 않음)
+    private void markRoomAsRead(String roomId, Long userId, String username) {
+        Long watermark = messageService.markRoomMessagesAsRead(roomId, userId, username);
+        if (watermark != null) {
+            readUpdateBroadcaster.recordRoomRead(roomId, userId, watermark);
         }
     }
 
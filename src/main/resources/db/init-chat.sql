@@ -110,6 +110,7 @@ CREATE TABLE rooms (
     last_message TEXT,
     last_message_time TIMESTAMP,
     last_message_sender_id BIGINT,
+    last_message_seq BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP,
     CONSTRAINT chk_room_type CHECK (room_type IN ('PUBLIC', 'PRIVATE', 'SECRET'))
@@ -126,7 +127,7 @@ CREATE TABLE room_members (
     role VARCHAR(20) NOT NULL DEFAULT 'MEMBER',
     is_muted BOOLEAN NOT NULL DEFAULT false,
     muted_until TIMESTAMP,
-    unread_count INTEGER NOT NULL DEFAULT 0,
+    last_read_seq BIGINT NOT NULL DEFAULT 0,
     last_read_time TIMESTAMP,
     joined_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     left_at TIMESTAMP,
@@ -142,6 +143,7 @@ CREATE TABLE group_messages (
     id BIGSERIAL PRIMARY KEY,
     room_id BIGINT NOT NULL REFERENCES rooms(id) ON DELETE CASCADE,
     sender_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    seq BIGINT,
     content TEXT NOT NULL,
     message_type VARCHAR(20) NOT NULL DEFAULT 'TEXT',
     file_url VARCHAR(1000),
@@ -153,6 +155,7 @@ CREATE TABLE group_messages (
 );
 
 CREATE INDEX idx_gm_room_timestamp ON group_messages(room_id, timestamp);
+CREATE INDEX idx_gm_room_seq ON group_messages(room_id, seq);
 CREATE INDEX idx_gm_sender ON group_messages(sender_id);
 
 -- 8. File Metadata 테이블
@@ -0,0 +1,39 @@
+-- V3: Watermark-based unread counts for group rooms
+-- rooms.last_message_seq (head) - room_members.last_read_seq = unread count
+
+ALTER TABLE rooms ADD COLUMN IF NOT EXISTS last_message_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE room_members ADD COLUMN IF NOT EXISTS last_read_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE group_messages ADD COLUMN IF NOT EXISTS seq BIGINT;
+
+-- Backfill per-room message sequence numbers in send order
+UPDATE group_messages gm
+SET seq = numbered.rn
+FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY room_id ORDER BY timestamp, id) AS rn
+    FROM group_messages
+) numbered
+WHERE gm.id = numbered.id;
+
+UPDATE rooms r
+SET last_message_seq = COALESCE((SELECT MAX(gm.seq) FROM group_messages gm WHERE gm.room_id = r.id), 0);
+
+-- Derive watermarks from the legacy per-member counters before dropping them
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'room_members' AND column_name = 'unread_count') THEN
+        UPDATE room_members rm
+        SET last_read_seq = GREATEST(r.last_message_seq - rm.unread_count, 0)
+        FROM rooms r
+        WHERE rm.room_id = r.id;
+
+        ALTER TABLE room_members DROP COLUMN unread_count;
+    ELSE
+        UPDATE room_members rm
+        SET last_read_seq = r.last_message_seq
+        FROM rooms r
+        WHERE rm.room_id = r.id;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_group_messages_room_seq ON group_messages(room_id, seq);
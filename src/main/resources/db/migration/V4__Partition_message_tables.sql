@@ -0,0 +1,122 @@
+-- V4: Monthly range partitioning for message tables
+-- messages, direct_messages, group_messages -> PARTITION BY RANGE ("timestamp")
+-- Retention drops whole monthly partitions (see MessagePartitionScheduler)
+
+-- Create one monthly partition (idempotent), e.g. group_messages_202401
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    end_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := parent || '_' || to_char(start_date, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent, start_date, end_date);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Convert an existing message table into a partitioned table with the same
+-- columns, defaults, checks, indexes and outgoing foreign keys.
+-- The primary key becomes (id, "timestamp") because it must include the partition key.
+CREATE OR REPLACE FUNCTION partition_message_table(tbl TEXT)
+RETURNS VOID AS $$
+DECLARE
+    legacy TEXT := tbl || '_unpartitioned';
+    old_seq TEXT;
+    id_is_identity BOOLEAN;
+    last_id BIGINT;
+    first_month DATE;
+    m DATE;
+    rec RECORD;
+    stmt TEXT;
+    fk_defs TEXT[] := '{}';
+    index_defs TEXT[] := '{}';
+BEGIN
+    IF to_regclass(tbl) IS NULL THEN
+        RETURN;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(tbl)) THEN
+        RETURN;
+    END IF;
+
+    -- Foreign keys pointing at this table cannot reference a partitioned table
+    -- without the partition key; integrity is kept by the application instead
+    FOR rec IN SELECT conname, conrelid::regclass AS src
+               FROM pg_constraint
+               WHERE contype = 'f' AND confrelid = to_regclass(tbl) LOOP
+        RAISE NOTICE 'Dropping foreign key % on % (references %)', rec.conname, rec.src, tbl;
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', rec.src, rec.conname);
+    END LOOP;
+
+    -- Remember outgoing foreign keys and secondary indexes to recreate on the new parent
+    FOR rec IN SELECT conname, pg_get_constraintdef(oid) AS def
+               FROM pg_constraint
+               WHERE contype = 'f' AND conrelid = to_regclass(tbl) LOOP
+        fk_defs := fk_defs || format('ALTER TABLE %I ADD CONSTRAINT %I %s', tbl, rec.conname, rec.def);
+    END LOOP;
+
+    FOR rec IN SELECT i.relname AS name, pg_get_indexdef(ix.indexrelid) AS def, ix.indisunique
+               FROM pg_index ix
+               JOIN pg_class i ON i.oid = ix.indexrelid
+               WHERE ix.indrelid = to_regclass(tbl) AND NOT ix.indisprimary LOOP
+        IF rec.indisunique THEN
+            RAISE NOTICE 'Skipping unique index % on % (cannot exclude the partition key)', rec.name, tbl;
+        ELSE
+            index_defs := index_defs || rec.def;
+        END IF;
+    END LOOP;
+
+    old_seq := pg_get_serial_sequence(tbl, 'id');
+    SELECT is_identity = 'YES' INTO id_is_identity
+    FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = tbl AND column_name = 'id';
+
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', tbl, legacy);
+    -- Free the primary key index name (e.g. group_messages_pkey) for the new parent
+    FOR rec IN SELECT conname FROM pg_constraint
+               WHERE contype = 'p' AND conrelid = to_regclass(legacy) LOOP
+        EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', legacy, rec.conname, legacy || '_pkey');
+    END LOOP;
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING IDENTITY, '
+                   'PRIMARY KEY (id, "timestamp")) PARTITION BY RANGE ("timestamp")', tbl, legacy);
+
+    -- Monthly partitions from the oldest row up to three months ahead, plus a default
+    -- partition so an unexpected timestamp never rejects an insert
+    EXECUTE format('SELECT date_trunc(''month'', MIN("timestamp"))::date FROM %I', legacy) INTO first_month;
+    m := COALESCE(first_month, date_trunc('month', CURRENT_DATE)::date);
+    WHILE m <= (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date LOOP
+        PERFORM create_monthly_partition(tbl, m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', tbl || '_default', tbl);
+
+    EXECUTE format('INSERT INTO %I SELECT * FROM %I', tbl, legacy);
+
+    IF id_is_identity THEN
+        -- Identity columns get a fresh sequence; continue after the highest id ever issued
+        EXECUTE format('SELECT last_value FROM %s', old_seq) INTO last_id;
+        last_id := COALESCE(last_id, 1);
+        EXECUTE format('SELECT setval(pg_get_serial_sequence(%L, ''id''), GREATEST(%s, (SELECT COALESCE(MAX(id), 1) FROM %I)))',
+                       tbl, last_id, tbl);
+    ELSIF old_seq IS NOT NULL THEN
+        -- BIGSERIAL: keep using the same sequence
+        EXECUTE format('ALTER SEQUENCE %s OWNED BY %I.id', old_seq, tbl);
+    END IF;
+
+    EXECUTE format('DROP TABLE %I', legacy);
+
+    FOREACH stmt IN ARRAY index_defs LOOP
+        EXECUTE stmt;
+    END LOOP;
+    FOREACH stmt IN ARRAY fk_defs LOOP
+        EXECUTE stmt;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT partition_message_table('messages');
+SELECT partition_message_table('direct_messages');
+SELECT partition_message_table('group_messages');
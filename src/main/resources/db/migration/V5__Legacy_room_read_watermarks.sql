@@ -0,0 +1,20 @@
+-- V5: One read watermark per (room, user) for legacy chat rooms (messages table)
+-- Replaces message_read_receipts rows; existing receipts are folded in online
+-- by ReadReceiptWatermarkMigrator and deleted batch by batch
+
+CREATE TABLE IF NOT EXISTS room_read_watermarks (
+    id BIGSERIAL PRIMARY KEY,
+    room_id VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(50),
+    last_read_message_id BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_room_read_watermarks_room_user UNIQUE (room_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_room_read_watermarks_room_last_read
+    ON room_read_watermarks(room_id, last_read_message_id);
+
+-- Unread counts scan a room's messages after the watermark
+CREATE INDEX IF NOT EXISTS idx_messages_room_id_id ON messages(room_id, id);
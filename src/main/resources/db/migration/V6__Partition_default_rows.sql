@@ -0,0 +1,41 @@
+-- V6: Monthly partitions can be created after rows for that month landed in the default partition
+-- PostgreSQL rejects CREATE TABLE ... PARTITION OF while the default partition holds rows in the
+-- new range, so those rows are moved: detach the default, create the month, move its rows, re-attach.
+-- MessagePartitionScheduler also calls this for every month found in the default partition,
+-- so retention can drop those rows with their month.
+
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    end_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := parent || '_' || to_char(start_date, 'YYYYMM');
+    default_name TEXT := parent || '_default';
+    has_default_rows BOOLEAN := FALSE;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    IF to_regclass(default_name) IS NOT NULL THEN
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE "timestamp" >= %L AND "timestamp" < %L)',
+                       default_name, start_date, end_date) INTO has_default_rows;
+    END IF;
+
+    IF NOT has_default_rows THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent, start_date, end_date);
+        RETURN partition_name;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, default_name);
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent, start_date, end_date);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE "timestamp" >= %L AND "timestamp" < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved',
+                   default_name, start_date, end_date, partition_name);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I DEFAULT', parent, default_name);
+    RAISE NOTICE 'Moved rows of % from % into %', start_date, default_name, partition_name;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
@@ -41,9 +41,6 @@ class AuthControllerTest {
     @MockBean
     private SmsService smsService;
 
-    @MockBean
-    private RateLimitService rateLimitService;
-
     private AuthRequest validRequest;
 
     @BeforeEach
@@ -55,10 +52,6 @@ class AuthControllerTest {
 
         // Mock email service
         doNothing().when(emailService).sendVerificationEmail(anyString(), anyString());
-
-        // Mock rate limit service to always allow
-        when(rateLimitService.isApiRequestAllowed(anyString())).thenReturn(true);
-        when(rateLimitService.getApiRemainingTokens(anyString())).thenReturn(100L);
     }
 
     @Nested
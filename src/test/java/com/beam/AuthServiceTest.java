@@ -33,6 +33,15 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private InboxService inboxService;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
     @InjectMocks
     private AuthService authService;
 
@@ -284,6 +293,7 @@ class AuthServiceTest {
             verify(userRepository).save(argThat(user ->
                 user.getIsActive() && user.getVerificationCode() == null
             ));
+            verify(userSearchIndex).onUserChanged(argThat(UserEntity::getIsActive));
         }
 
         @Test
@@ -0,0 +1,211 @@
+package com.beam;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConversationDeltaBuffer Unit Tests")
+class ConversationDeltaBufferTest {
+
+    @Mock
+    private ConversationRepository conversationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ConversationDeltaBuffer buffer;
+
+    private LocalDateTime base;
+    private ConversationEntity conversation;
+
+    @BeforeEach
+    void setUp() {
+        buffer.init();
+        base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        conversation = ConversationEntity.builder()
+                .id(1L)
+                .conversationId("dm_1_2")
+                .user1Id(1L)
+                .user2Id(2L)
+                .lastMessage("old")
+                .lastMessageTime(base)
+                .unreadCountUser1(1)
+                .unreadCountUser2(4)
+                .build();
+    }
+
+    private DirectMessageEntity message(Long senderId, Long receiverId, String content, LocalDateTime time) {
+        return DirectMessageEntity.builder()
+                .conversationId("dm_1_2")
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .content(content)
+                .timestamp(time)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Merged Read Tests")
+    class MergeTests {
+
+        @Test
+        @DisplayName("Should overlay pending deltas on a copy of the row")
+        void shouldOverlayPendingDeltas() {
+            // Given
+            buffer.recordMessage(message(1L, 2L, "a", base.plusMinutes(1)));
+            buffer.recordMessage(message(1L, 2L, "b", base.plusMinutes(2)));
+
+            // When
+            ConversationEntity merged = buffer.merge(List.of(conversation)).get(0);
+
+            // Then
+            assertThat(merged.getUnreadCountUser2()).isEqualTo(6);
+            assertThat(merged.getUnreadCountUser1()).isEqualTo(1);
+            assertThat(merged.getLastMessage()).isEqualTo("b");
+            assertThat(merged.getLastMessageSenderId()).isEqualTo(1L);
+            assertThat(conversation.getUnreadCountUser2()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should count only messages after a pending read")
+        void shouldResetOnRead() {
+            // Given
+            buffer.recordMessage(message(1L, 2L, "a", base.plusMinutes(1)));
+            buffer.recordRead("dm_1_2", 2L, 1L);
+            buffer.recordMessage(message(1L, 2L, "b", base.plusMinutes(2)));
+
+            // When
+            ConversationEntity merged = buffer.merge(List.of(conversation)).get(0);
+
+            // Then
+            assertThat(merged.getUnreadCountUser2()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should return rows untouched when nothing is pending")
+        void shouldReturnRowsUntouched() {
+            // When
+            List<ConversationEntity> merged = buffer.merge(List.of(conversation));
+
+            // Then
+            assertThat(merged.get(0)).isSameAs(conversation);
+        }
+    }
+
+    @Nested
+    @DisplayName("Flush Tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should fold all pending deltas of a conversation into one update")
+        void shouldFoldIntoOneUpdate() {
+            // Given
+            buffer.recordMessage(message(1L, 2L, "a", base.plusMinutes(1)));
+            buffer.recordMessage(message(2L, 1L, "b", base.plusMinutes(2)));
+            buffer.recordMessage(message(1L, 2L, "c", base.plusMinutes(3)));
+            when(conversationRepository.applyDelta(anyString(), anyInt(), anyBoolean(), anyInt(), anyBoolean(),
+                    anyString(), any(), any(), any())).thenReturn(1);
+
+            // When
+            buffer.flush();
+            buffer.flush();
+
+            // Then
+            verify(conversationRepository, times(1)).applyDelta(eq("dm_1_2"), eq(1), eq(false), eq(2), eq(false),
+                    eq("c"), eq(base.plusMinutes(3)), eq(1L), any());
+            assertThat(buffer.merge(List.of(conversation)).get(0)).isSameAs(conversation);
+        }
+
+        @Test
+        @DisplayName("Should apply a read without a message as an unread-only reset")
+        void shouldApplyReadOnly() {
+            // Given
+            buffer.recordRead("dm_1_2", 2L, 1L);
+            when(conversationRepository.applyUnreadDelta(anyString(), anyInt(), anyBoolean(), anyInt(), anyBoolean(), any()))
+                    .thenReturn(1);
+
+            // When
+            buffer.flush();
+
+            // Then
+            verify(conversationRepository).applyUnreadDelta(eq("dm_1_2"), eq(0), eq(false), eq(0), eq(true), any());
+        }
+
+        @Test
+        @DisplayName("Should keep deltas for the next flush when the update fails")
+        void shouldRequeueOnFailure() {
+            // Given
+            buffer.recordMessage(message(1L, 2L, "a", base.plusMinutes(1)));
+            when(conversationRepository.applyDelta(anyString(), anyInt(), anyBoolean(), anyInt(), anyBoolean(),
+                    anyString(), any(), any(), any()))
+                    .thenThrow(new QueryTimeoutException("timeout"))
+                    .thenReturn(1);
+
+            // When
+            buffer.flush();
+            buffer.recordMessage(message(1L, 2L, "b", base.plusMinutes(2)));
+            buffer.flush();
+
+            // Then
+            verify(conversationRepository).applyDelta(eq("dm_1_2"), eq(0), eq(false), eq(2), eq(false),
+                    eq("b"), eq(base.plusMinutes(2)), eq(1L), any());
+        }
+
+        @Test
+        @DisplayName("Should not lose increments under concurrent sends")
+        void shouldNotLoseConcurrentIncrements() throws Exception {
+            // Given
+            int threads = 8;
+            int perThread = 1_000;
+            when(conversationRepository.applyDelta(anyString(), anyInt(), anyBoolean(), anyInt(), anyBoolean(),
+                    anyString(), any(), any(), any())).thenReturn(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            // When
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        buffer.recordMessage(message(1L, 2L, "m", base.plusSeconds(i)));
+                        if (i % 100 == 0) {
+                            buffer.flush();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            buffer.flush();
+
+            // Then
+            ArgumentCaptor<Integer> unread2 = ArgumentCaptor.forClass(Integer.class);
+            verify(conversationRepository, atLeastOnce()).applyDelta(eq("dm_1_2"), anyInt(), anyBoolean(),
+                    unread2.capture(), anyBoolean(), anyString(), any(), any(), any());
+            assertThat(unread2.getAllValues().stream().mapToInt(Integer::intValue).sum())
+                    .isEqualTo(threads * perThread);
+        }
+    }
+}
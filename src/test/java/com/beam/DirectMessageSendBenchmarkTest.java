@@ -0,0 +1,121 @@
+package com.beam;
+
+import com.beam.archive.MessageArchive;
+import com.beam.search.MessageSearchIndexer;
+import com.beam.search.SearchResultCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * DM send latency before and after the single-round-trip send path.
+ *
+ * <p>Run explicitly: {@code mvn test -Dtest=DirectMessageSendBenchmarkTest -Dbeam.benchmark=true}.
+ * "before" resolves both users from the database on every send and writes
+ * through JPA; "after" uses the warm {@link UserDirectory} and, on PostgreSQL,
+ * the single INSERT + UPSERT statement of {@link DirectMessageWriter}. Point
+ * the test datasource at PostgreSQL for numbers comparable to production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DirectMessageService.class, UserDirectory.class, DirectMessageWriter.class, ConversationDeltaBuffer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "beam.benchmark", matches = "true")
+@DisplayName("DM Send Benchmark")
+class DirectMessageSendBenchmarkTest {
+
+    private static final int WARMUP = 500;
+    private static final int SENDS = 5_000;
+
+    @Autowired
+    private DirectMessageService directMessageService;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private DirectMessageWriter directMessageWriter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private InboxService inboxService;
+
+    @MockBean
+    private MessageArchive messageArchive;
+
+    @MockBean
+    private MessageSearchIndexer messageSearchIndexer;
+
+    @MockBean
+    private SearchResultCache searchResultCache;
+
+    @Test
+    @DisplayName("Compare DM send latency")
+    void compareSendLatency() {
+        // Given
+        UserEntity alice = userRepository.save(user("bench_alice", "010-0000-0001"));
+        UserEntity bob = userRepository.save(user("bench_bob", "010-0000-0002"));
+
+        // When - 이전: 매 전송마다 사용자 조회 + JPA 저장
+        ReflectionTestUtils.setField(directMessageWriter, "enabled", false);
+        long[] before = measure(alice.getId(), bob.getId(), true);
+
+        // 이후: 캐시된 사용자 디렉터리 + (PostgreSQL) 단일 구문 전송
+        ReflectionTestUtils.setField(directMessageWriter, "enabled", true);
+        boolean singleStatement = directMessageWriter.isSupported();
+        long[] after = measure(alice.getId(), bob.getId(), false);
+
+        // Then
+        System.out.printf("DM send latency us (single statement: %s): before p50=%d p99=%d, after p50=%d p99=%d%n",
+                singleStatement, percentile(before, 50), percentile(before, 99),
+                percentile(after, 50), percentile(after, 99));
+        assertThat(before).hasSize(SENDS);
+        assertThat(after).hasSize(SENDS);
+    }
+
+    private long[] measure(Long senderId, Long receiverId, boolean coldDirectory) {
+        long[] latencies = new long[SENDS];
+        for (int i = 0; i < WARMUP + SENDS; i++) {
+            if (coldDirectory) {
+                userDirectory.invalidate(senderId);
+                userDirectory.invalidate(receiverId);
+            }
+            long start = System.nanoTime();
+            directMessageService.sendMessage(senderId, receiverId, "bench " + i);
+            if (i >= WARMUP) {
+                latencies[i - WARMUP] = (System.nanoTime() - start) / 1_000;
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, int p) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * p / 100)];
+    }
+
+    private static UserEntity user(String username, String phoneNumber) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setDisplayName(username);
+        user.setPassword("password");
+        user.setPhoneNumber(phoneNumber);
+        return user;
+    }
+}
@@ -1,5 +1,9 @@
 package com.beam;
 
+import com.beam.archive.MessageArchive;
+import com.beam.dto.UserSummary;
+import com.beam.search.MessageSearchIndexer;
+import com.beam.search.SearchResultCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -28,7 +32,25 @@ class DirectMessageServiceTest {
     private ConversationRepository conversationRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
+
+    @Mock
+    private DirectMessageWriter directMessageWriter;
+
+    @Mock
+    private ConversationDeltaBuffer conversationDeltaBuffer;
+
+    @Mock
+    private InboxService inboxService;
+
+    @Mock
+    private MessageArchive messageArchive;
+
+    @Mock
+    private MessageSearchIndexer messageSearchIndexer;
+
+    @Mock
+    private SearchResultCache searchResultCache;
 
     @InjectMocks
     private DirectMessageService directMessageService;
@@ -76,8 +98,8 @@ class DirectMessageServiceTest {
         @DisplayName("Should send message successfully with existing conversation")
         void shouldSendMessageWithExistingConversation() {
             // Given
-            when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
-            when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
+            when(userDirectory.find(1L)).thenReturn(Optional.of(UserSummary.from(sender)));
+            when(userDirectory.find(2L)).thenReturn(Optional.of(UserSummary.from(receiver)));
             when(conversationRepository.findByConversationId(anyString()))
                     .thenReturn(Optional.of(conversation));
             when(directMessageRepository.save(any(DirectMessageEntity.class))).thenReturn(message);
@@ -96,8 +118,8 @@ class DirectMessageServiceTest {
         @DisplayName("Should create new conversation when not exists")
         void shouldCreateNewConversation() {
             // Given
-            when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
-            when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
+            when(userDirectory.find(1L)).thenReturn(Optional.of(UserSummary.from(sender)));
+            when(userDirectory.find(2L)).thenReturn(Optional.of(UserSummary.from(receiver)));
             when(conversationRepository.findByConversationId(anyString())).thenReturn(Optional.empty());
             when(conversationRepository.save(any(ConversationEntity.class))).thenReturn(conversation);
             when(directMessageRepository.save(any(DirectMessageEntity.class))).thenReturn(message);
@@ -110,11 +132,51 @@ class DirectMessageServiceTest {
             verify(conversationRepository, times(2)).save(any(ConversationEntity.class));
         }
 
+        @Test
+        @DisplayName("Should send in a single statement when the writer is supported")
+        void shouldSendInSingleStatement() {
+            // Given
+            when(userDirectory.find(1L)).thenReturn(Optional.of(UserSummary.from(sender)));
+            when(userDirectory.find(2L)).thenReturn(Optional.of(UserSummary.from(receiver)));
+            when(directMessageWriter.isSupported()).thenReturn(true);
+            when(directMessageWriter.send(any(DirectMessageEntity.class))).thenReturn(42L);
+
+            // When
+            DirectMessageEntity result = directMessageService.sendMessage(1L, 2L, "Hello");
+
+            // Then
+            assertThat(result.getId()).isEqualTo(42L);
+            assertThat(result.getConversationId()).isEqualTo("dm_1_2");
+            verify(conversationRepository, never()).findByConversationId(anyString());
+            verify(conversationRepository, never()).save(any(ConversationEntity.class));
+            verify(directMessageRepository, never()).save(any(DirectMessageEntity.class));
+            verify(inboxService).onDirectMessage(eq(result), any(UserSummary.class), any(UserSummary.class));
+        }
+
+        @Test
+        @DisplayName("Should record unread delta instead of updating conversation row")
+        void shouldRecordDeltaWhenBufferEnabled() {
+            // Given
+            when(userDirectory.find(1L)).thenReturn(Optional.of(UserSummary.from(sender)));
+            when(userDirectory.find(2L)).thenReturn(Optional.of(UserSummary.from(receiver)));
+            when(conversationDeltaBuffer.isEnabled()).thenReturn(true);
+            when(conversationDeltaBuffer.isKnown("dm_1_2")).thenReturn(true);
+            when(directMessageRepository.save(any(DirectMessageEntity.class))).thenReturn(message);
+
+            // When
+            directMessageService.sendMessage(1L, 2L, "Hello");
+
+            // Then
+            verify(conversationDeltaBuffer).recordMessage(message);
+            verify(conversationRepository, never()).findByConversationId(anyString());
+            verify(conversationRepository, never()).save(any(ConversationEntity.class));
+        }
+
         @Test
         @DisplayName("Should fail when sender not found")
         void shouldFailWhenSenderNotFound() {
             // Given
-            when(userRepository.findById(1L)).thenReturn(Optional.empty());
+            when(userDirectory.find(1L)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> directMessageService.sendMessage(1L, 2L, "Hello"))
@@ -126,8 +188,8 @@ class DirectMessageServiceTest {
         @DisplayName("Should fail when receiver not found")
         void shouldFailWhenReceiverNotFound() {
             // Given
-            when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
-            when(userRepository.findById(2L)).thenReturn(Optional.empty());
+            when(userDirectory.find(1L)).thenReturn(Optional.of(UserSummary.from(sender)));
+            when(userDirectory.find(2L)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> directMessageService.sendMessage(1L, 2L, "Hello"))
@@ -147,17 +209,15 @@ class DirectMessageServiceTest {
             List<DirectMessageEntity> messages = List.of(message);
             when(directMessageRepository.findByConversationIdOrderByTimestampAsc("1_2"))
                     .thenReturn(messages);
-            when(directMessageRepository.findUnreadMessages("1_2", 2L))
-                    .thenReturn(List.of(message));
-            when(conversationRepository.findByConversationId("1_2"))
-                    .thenReturn(Optional.of(conversation));
+            when(directMessageRepository.markConversationRead(eq("1_2"), eq(2L), any(LocalDateTime.class)))
+                    .thenReturn(1);
 
             // When
             List<DirectMessageEntity> result = directMessageService.getConversationMessages("1_2", 2L);
 
             // Then
             assertThat(result).hasSize(1);
-            verify(directMessageRepository).saveAll(anyList());
+            verify(conversationRepository).resetUnreadCount(eq("1_2"), eq(2L), any(LocalDateTime.class));
         }
 
         @Test
@@ -168,15 +228,30 @@ class DirectMessageServiceTest {
             List<DirectMessageEntity> messages = List.of(message);
             when(directMessageRepository.findByConversationIdOrderByTimestampAsc("1_2"))
                     .thenReturn(messages);
-            when(directMessageRepository.findUnreadMessages("1_2", 2L))
-                    .thenReturn(List.of());
+            when(directMessageRepository.markConversationRead(eq("1_2"), eq(2L), any(LocalDateTime.class)))
+                    .thenReturn(0);
 
             // When
             List<DirectMessageEntity> result = directMessageService.getConversationMessages("1_2", 2L);
 
             // Then
             assertThat(result).hasSize(1);
-            verify(directMessageRepository, never()).saveAll(anyList());
+            verify(conversationRepository, never()).resetUnreadCount(anyString(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should not read the archive when opening a conversation")
+        void shouldNotReadArchive() {
+            // Given
+            when(directMessageRepository.findByConversationIdOrderByTimestampAsc("1_2"))
+                    .thenReturn(List.of(message));
+
+            // When
+            List<DirectMessageEntity> result = directMessageService.getConversationMessages("1_2", 2L);
+
+            // Then - 과거 내역은 커서 조회로만 아카이브에서 읽음
+            assertThat(result).containsExactly(message);
+            verifyNoInteractions(messageArchive);
         }
     }
 
@@ -185,39 +260,53 @@ class DirectMessageServiceTest {
     class MarkMessagesAsReadTests {
 
         @Test
-        @DisplayName("Should mark messages as read successfully")
+        @DisplayName("Should mark messages as read with one bulk update")
         void shouldMarkMessagesAsRead() {
             // Given
-            List<DirectMessageEntity> unreadMessages = List.of(message);
-            when(directMessageRepository.findUnreadMessages("1_2", 2L))
-                    .thenReturn(unreadMessages);
-            when(conversationRepository.findByConversationId("1_2"))
-                    .thenReturn(Optional.of(conversation));
+            when(directMessageRepository.markConversationRead(eq("dm_1_2"), eq(2L), any(LocalDateTime.class)))
+                    .thenReturn(2000);
 
             // When
-            directMessageService.markMessagesAsRead("1_2", 2L);
+            int count = directMessageService.markMessagesAsRead("dm_1_2", 2L);
 
             // Then
-            verify(directMessageRepository).saveAll(argThat(list -> {
-                List<DirectMessageEntity> msgs = (List<DirectMessageEntity>) list;
-                return msgs.get(0).getIsRead();
-            }));
-            verify(conversationRepository).save(any(ConversationEntity.class));
+            assertThat(count).isEqualTo(2000);
+            verify(conversationRepository).resetUnreadCount(eq("dm_1_2"), eq(2L), any(LocalDateTime.class));
+            verify(inboxService, times(1)).onDirectMessagesRead("dm_1_2", 2L);
+            verify(directMessageRepository, never()).saveAll(anyList());
+            verify(conversationRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should record read in delta buffer without touching conversation row")
+        void shouldRecordReadInDeltaBuffer() {
+            // Given
+            when(conversationDeltaBuffer.isEnabled()).thenReturn(true);
+            when(directMessageRepository.markConversationRead(eq("dm_1_2"), eq(2L), any(LocalDateTime.class)))
+                    .thenReturn(3);
+
+            // When
+            directMessageService.markMessagesAsRead("dm_1_2", 2L);
+
+            // Then
+            verify(conversationDeltaBuffer).recordRead("dm_1_2", 2L, 1L);
+            verify(conversationRepository, never()).resetUnreadCount(anyString(), anyLong(), any());
         }
 
         @Test
         @DisplayName("Should do nothing when no unread messages")
         void shouldDoNothingWhenNoUnread() {
             // Given
-            when(directMessageRepository.findUnreadMessages("1_2", 2L))
-                    .thenReturn(List.of());
+            when(directMessageRepository.markConversationRead(eq("dm_1_2"), eq(2L), any(LocalDateTime.class)))
+                    .thenReturn(0);
 
             // When
-            directMessageService.markMessagesAsRead("1_2", 2L);
+            int count = directMessageService.markMessagesAsRead("dm_1_2", 2L);
 
             // Then
-            verify(directMessageRepository, never()).saveAll(anyList());
-            verify(conversationRepository, never()).save(any());
+            assertThat(count).isZero();
+            verify(conversationRepository, never()).resetUnreadCount(anyString(), anyLong(), any());
+            verify(inboxService, never()).onDirectMessagesRead(anyString(), anyLong());
         }
     }
 
@@ -231,6 +320,7 @@ class DirectMessageServiceTest {
             // Given
             when(conversationRepository.findUserConversations(1L))
                     .thenReturn(List.of(conversation));
+            when(conversationDeltaBuffer.merge(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
             List<ConversationEntity> result = directMessageService.getUserConversations(1L);
@@ -293,4 +383,60 @@ class DirectMessageServiceTest {
             verify(conversationRepository).save(any(ConversationEntity.class));
         }
     }
+
+    @Nested
+    @DisplayName("Conversation History Tests")
+    class ConversationHistoryTests {
+
+        @Test
+        @DisplayName("Should fill from archive when hot table runs out")
+        void shouldFillFromArchive() {
+            // Given
+            LocalDateTime before = LocalDateTime.now();
+            DirectMessageEntity archived = DirectMessageEntity.builder()
+                    .id(0L)
+                    .conversationId("1_2")
+                    .timestamp(before.minusDays(200))
+                    .build();
+            when(conversationRepository.findByConversationId("1_2")).thenReturn(Optional.of(conversation));
+            when(directMessageRepository.findByConversationIdAndTimestampBeforeOrderByTimestampDescIdDesc(
+                    eq("1_2"), eq(before), any())).thenReturn(List.of(message));
+            when(messageArchive.readBefore(any(), eq("1_2"), eq(before), eq(9)))
+                    .thenReturn(List.of(archived));
+
+            // When
+            List<DirectMessageEntity> result = directMessageService.getConversationHistory("1_2", 2L, before, 10);
+
+            // Then
+            assertThat(result).containsExactly(message, archived);
+        }
+
+        @Test
+        @DisplayName("Should not read archive when hot page is full")
+        void shouldNotReadArchiveWhenPageFull() {
+            // Given
+            when(conversationRepository.findByConversationId("1_2")).thenReturn(Optional.of(conversation));
+            when(directMessageRepository.findByConversationIdAndTimestampBeforeOrderByTimestampDescIdDesc(
+                    eq("1_2"), any(), any())).thenReturn(List.of(message));
+
+            // When
+            List<DirectMessageEntity> result = directMessageService.getConversationHistory("1_2", 1L, null, 1);
+
+            // Then
+            assertThat(result).containsExactly(message);
+            verifyNoInteractions(messageArchive);
+        }
+
+        @Test
+        @DisplayName("Should reject non-participant")
+        void shouldRejectNonParticipant() {
+            // Given
+            when(conversationRepository.findByConversationId("1_2")).thenReturn(Optional.of(conversation));
+
+            // When & Then
+            assertThatThrownBy(() -> directMessageService.getConversationHistory("1_2", 3L, null, 10))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Not a participant of this conversation");
+        }
+    }
 }
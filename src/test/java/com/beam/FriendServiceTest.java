@@ -1,5 +1,6 @@
 package com.beam;
 
+import com.beam.dto.UserSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -27,6 +29,12 @@ class FriendServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
     @InjectMocks
     private FriendService friendService;
 
@@ -397,44 +405,49 @@ class FriendServiceTest {
     class SearchUsersTests {
 
         @Test
-        @DisplayName("Should find user by username")
-        void shouldFindUserByUsername() {
+        @DisplayName("Should return indexed matches in ranked order")
+        void shouldReturnIndexedMatchesInOrder() {
             // Given
-            when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
-            when(userRepository.findByPhoneNumber("user1")).thenReturn(Optional.empty());
+            when(userSearchIndex.search(1L, "us")).thenReturn(List.of(2L, 3L));
+            when(userDirectory.findAll(List.of(2L, 3L))).thenReturn(Map.of(
+                    2L, UserSummary.from(user2),
+                    3L, UserSummary.from(UserEntity.builder().id(3L).username("user3").build())));
 
             // When
-            List<UserEntity> result = friendService.searchUsers("user1");
+            List<UserSummary> result = friendService.searchUsers(1L, "us");
 
             // Then
-            assertThat(result).hasSize(1);
-            assertThat(result.get(0).getUsername()).isEqualTo("user1");
+            assertThat(result).extracting(UserSummary::getUsername).containsExactly("user2", "user3");
+            verify(userRepository, never()).findByPhoneNumber(any());
         }
 
         @Test
-        @DisplayName("Should find user by phone number")
+        @DisplayName("Should put exact phone number match first")
         void shouldFindUserByPhoneNumber() {
             // Given
-            user1.setPhoneNumber("010-1234-5678");
-            when(userRepository.findByUsername("010-1234-5678")).thenReturn(Optional.empty());
-            when(userRepository.findByPhoneNumber("010-1234-5678")).thenReturn(Optional.of(user1));
+            user2.setPhoneNumber("010-1234-5678");
+            when(userSearchIndex.search(1L, "010-1234-5678")).thenReturn(List.of());
+            when(userRepository.findByPhoneNumber("010-1234-5678")).thenReturn(Optional.of(user2));
+            when(userDirectory.findAll(List.of(2L))).thenReturn(Map.of(2L, UserSummary.from(user2)));
 
             // When
-            List<UserEntity> result = friendService.searchUsers("010-1234-5678");
+            List<UserSummary> result = friendService.searchUsers(1L, "010-1234-5678");
 
             // Then
             assertThat(result).hasSize(1);
+            assertThat(result.get(0).getPhoneNumber()).isEqualTo("010-1234-5678");
         }
 
         @Test
         @DisplayName("Should not duplicate when same user found by both")
         void shouldNotDuplicateResults() {
             // Given
-            when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
-            when(userRepository.findByPhoneNumber("user1")).thenReturn(Optional.of(user1));
+            when(userSearchIndex.search(1L, "01012345678")).thenReturn(List.of(2L));
+            when(userRepository.findByPhoneNumber("01012345678")).thenReturn(Optional.of(user2));
+            when(userDirectory.findAll(List.of(2L))).thenReturn(Map.of(2L, UserSummary.from(user2)));
 
             // When
-            List<UserEntity> result = friendService.searchUsers("user1");
+            List<UserSummary> result = friendService.searchUsers(1L, "01012345678");
 
             // Then
             assertThat(result).hasSize(1);
@@ -0,0 +1,211 @@
+package com.beam;
+
+import com.beam.dto.RoomSummary;
+import com.beam.dto.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InboxService Unit Tests")
+class InboxServiceTest {
+
+    @Mock
+    private ConversationRepository conversationRepository;
+
+    @Mock
+    private ConversationDeltaBuffer conversationDeltaBuffer;
+
+    @Mock
+    private RoomMemberRepository roomMemberRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private InboxService inboxService;
+
+    private LocalDateTime base;
+    private UserEntity me;
+    private UserEntity friend;
+    private ConversationEntity conversation;
+    private RoomSummary room;
+
+    @BeforeEach
+    void setUp() {
+        inboxService.init();
+        base = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        me = UserEntity.builder().id(1L).username("me").displayName("Me").build();
+        friend = UserEntity.builder().id(2L).username("friend").displayName("Friend").isOnline(true).build();
+
+        conversation = ConversationEntity.builder()
+                .conversationId("1_2")
+                .user1Id(1L)
+                .user2Id(2L)
+                .lastMessage("hi")
+                .lastMessageTime(base)
+                .unreadCountUser1(2)
+                .unreadCountUser2(0)
+                .build();
+
+        room = new RoomSummary(10L, "Team", null, RoomEntity.RoomType.PUBLIC, 3, 100,
+                "standup", base.plusMinutes(5), 4L, 3L, RoomMemberEntity.MemberRole.MEMBER);
+    }
+
+    private void givenStoredInbox() {
+        when(conversationRepository.findUserConversations(1L)).thenReturn(List.of(conversation));
+        when(conversationDeltaBuffer.merge(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(friend));
+        when(roomMemberRepository.findRoomSummaries(1L)).thenReturn(List.of(room));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> items(Map<String, Object> inbox) {
+        return (List<Map<String, Object>>) inbox.get("items");
+    }
+
+    @Nested
+    @DisplayName("Load Tests")
+    class LoadTests {
+
+        @Test
+        @DisplayName("Should merge DMs and rooms ordered by last activity")
+        void shouldMergeByLastActivity() {
+            // Given
+            givenStoredInbox();
+
+            // When
+            Map<String, Object> inbox = inboxService.getInbox(1L, 0, 20);
+
+            // Then
+            List<Map<String, Object>> items = items(inbox);
+            assertThat(items).hasSize(2);
+            assertThat(items.get(0)).containsEntry("roomId", 10L).containsEntry("unreadCount", 1);
+            assertThat(items.get(1))
+                    .containsEntry("conversationId", "1_2")
+                    .containsEntry("otherUserName", "Friend")
+                    .containsEntry("isOnline", true)
+                    .containsEntry("unreadCount", 2);
+            assertThat(inbox).containsEntry("totalUnread", 3).containsEntry("hasNext", false);
+        }
+
+        @Test
+        @DisplayName("Should page from memory without reloading")
+        void shouldPageFromMemory() {
+            // Given
+            givenStoredInbox();
+
+            // When
+            Map<String, Object> first = inboxService.getInbox(1L, 0, 1);
+            Map<String, Object> second = inboxService.getInbox(1L, 1, 1);
+
+            // Then
+            assertThat(first).containsEntry("hasNext", true);
+            assertThat(items(second)).hasSize(1);
+            assertThat(items(second).get(0)).containsEntry("type", "DM");
+            verify(conversationRepository, times(1)).findUserConversations(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("In-place Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move conversation to top and count unread for receiver")
+        void shouldUpdateOnDirectMessage() {
+            // Given
+            givenStoredInbox();
+            inboxService.getInbox(1L, 0, 20);
+            DirectMessageEntity message = DirectMessageEntity.builder()
+                    .conversationId("1_2")
+                    .senderId(2L)
+                    .receiverId(1L)
+                    .content("new")
+                    .timestamp(base.plusMinutes(10))
+                    .build();
+
+            // When
+            inboxService.onDirectMessage(message, UserSummary.from(friend), UserSummary.from(me));
+
+            // Then
+            Map<String, Object> top = items(inboxService.getInbox(1L, 0, 20)).get(0);
+            assertThat(top).containsEntry("lastMessage", "new").containsEntry("unreadCount", 3);
+        }
+
+        @Test
+        @DisplayName("Should reset room unread count on read")
+        void shouldResetRoomUnreadOnRead() {
+            // Given
+            givenStoredInbox();
+            inboxService.getInbox(1L, 0, 20);
+
+            // When
+            inboxService.onRoomRead(10L, 1L);
+
+            // Then
+            assertThat(items(inboxService.getInbox(1L, 0, 20)).get(0)).containsEntry("unreadCount", 0);
+        }
+
+        @Test
+        @DisplayName("Should reload inbox when a message arrives for an unknown room")
+        void shouldReloadForUnknownRoom() {
+            // Given
+            givenStoredInbox();
+            inboxService.getInbox(1L, 0, 20);
+
+            // When
+            inboxService.onRoomMessage(99L, List.of(1L, 2L), 2L, "hello", base.plusMinutes(20));
+            inboxService.getInbox(1L, 0, 20);
+
+            // Then
+            verify(conversationRepository, times(2)).findUserConversations(1L);
+        }
+
+        @Test
+        @DisplayName("Should reflect presence changes without reloading")
+        void shouldReflectPresence() {
+            // Given
+            givenStoredInbox();
+            inboxService.getInbox(1L, 0, 20);
+
+            // When
+            inboxService.updatePresence(2L, false);
+
+            // Then
+            assertThat(items(inboxService.getInbox(1L, 0, 20)).get(1)).containsEntry("isOnline", false);
+        }
+    
+        @Test
+        @DisplayName("Should not keep an inbox loaded while an update committed")
+        void shouldDropLoadOverlappingUpdate() {
+            // Given - 대화 목록을 읽는 도중 읽음 처리가 커밋됨
+            givenStoredInbox();
+            when(conversationRepository.findUserConversations(1L)).thenAnswer(invocation -> {
+                inboxService.onRoomRead(10L, 1L);
+                return List.of(conversation);
+            }).thenReturn(List.of(conversation));
+
+            // When
+            inboxService.getInbox(1L, 0, 20);
+            inboxService.getInbox(1L, 0, 20);
+
+            // Then - 갱신 전 상태일 수 있는 첫 적재는 보관하지 않고 다시 읽음
+            verify(conversationRepository, times(2)).findUserConversations(1L);
+        }
+}
+}
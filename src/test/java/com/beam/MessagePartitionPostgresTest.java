@@ -0,0 +1,118 @@
+package com.beam;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The V4/V6 partition migrations and {@link MessagePartitionScheduler}
+ * against a real PostgreSQL, in a throwaway schema.
+ *
+ * <p>Run explicitly: {@code mvn test -Dtest=MessagePartitionPostgresTest
+ * -Dbeam.postgres.url=jdbc:postgresql://localhost:5432/beam
+ * -Dbeam.postgres.username=... -Dbeam.postgres.password=...}.
+ */
+@EnabledIfSystemProperty(named = "beam.postgres.url", matches = ".+")
+@DisplayName("Message Partitioning PostgreSQL Tests")
+class MessagePartitionPostgresTest {
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private MessagePartitionScheduler scheduler;
+    private String schema;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource(System.getProperty("beam.postgres.url"),
+                System.getProperty("beam.postgres.username", "postgres"),
+                System.getProperty("beam.postgres.password", ""), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        schema = "beam_partition_" + System.nanoTime();
+        jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        jdbcTemplate.execute("SET search_path TO " + schema);
+
+        // Given - 파티션 전 group_messages 와 두 달 전 행
+        jdbcTemplate.execute("CREATE TABLE group_messages (id BIGSERIAL PRIMARY KEY, room_id BIGINT NOT NULL, " +
+                "content TEXT, \"timestamp\" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        insert(YearMonth.now().minusMonths(2));
+        migrate("V4__Partition_message_tables.sql");
+        migrate("V6__Partition_default_rows.sql");
+
+        scheduler = new MessagePartitionScheduler();
+        ReflectionTestUtils.setField(scheduler, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+        dataSource.destroy();
+    }
+
+    private void migrate(String script) throws Exception {
+        String sql = new ClassPathResource("db/migration/" + script).getContentAsString(StandardCharsets.UTF_8);
+        jdbcTemplate.execute(sql);
+    }
+
+    private void insert(YearMonth month) {
+        jdbcTemplate.update("INSERT INTO group_messages (room_id, content, \"timestamp\") VALUES (1, 'hi', ?)",
+                Timestamp.valueOf(month.atDay(15).atStartOfDay()));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"" + table + "\"", Long.class);
+    }
+
+    private String partition(YearMonth month) {
+        return "group_messages_" + month.format(SUFFIX_FORMAT);
+    }
+
+    @Test
+    @DisplayName("Should create partitions for months whose rows landed in the default partition")
+    void shouldPartitionDefaultRows() {
+        // Given - 미리 만든 범위(+3개월) 밖의 행은 default 파티션으로
+        YearMonth later = YearMonth.now().plusMonths(6);
+        YearMonth muchLater = YearMonth.now().plusMonths(12);
+        insert(later);
+        insert(muchLater);
+        assertThat(count("group_messages_default")).isEqualTo(2);
+
+        // When - later 는 미리 만들기, muchLater 는 default 행 정리로 파티션 생성
+        scheduler.maintainPartitions(later);
+
+        // Then
+        assertThat(count(partition(later))).isEqualTo(1);
+        assertThat(count(partition(muchLater))).isEqualTo(1);
+        assertThat(count("group_messages_default")).isZero();
+        assertThat(count("group_messages")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop partitions past retention")
+    void shouldDropExpiredPartitions() {
+        // Given
+        ReflectionTestUtils.setField(scheduler, "retentionMonths", 1);
+
+        // When
+        scheduler.maintainPartitions(YearMonth.now());
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class,
+                partition(YearMonth.now().minusMonths(2)))).isTrue();
+        assertThat(count("group_messages")).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package com.beam;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessagePartitionScheduler Unit Tests")
+class MessagePartitionSchedulerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private MessagePartitionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "postgres", true);
+        lenient().when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), anyString()))
+                .thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should pre-create the current and upcoming monthly partitions")
+    void shouldPreCreateUpcomingPartitions() {
+        // When
+        scheduler.maintainPartitions(YearMonth.of(2024, 11));
+
+        // Then - 현재 월 + 3개월, 테이블 3개
+        verify(jdbcTemplate, times(12)).queryForObject(eq("SELECT create_monthly_partition(?, ?)"),
+                eq(String.class), anyString(), any(Date.class));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class),
+                eq("group_messages"), eq(Date.valueOf(LocalDate.of(2025, 2, 1))));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should drop only monthly partitions past retention")
+    void shouldDropExpiredPartitions() {
+        // Given
+        ReflectionTestUtils.setField(scheduler, "retentionMonths", 6);
+        when(jdbcTemplate.queryForList(anyString(), eq(Date.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), anyString())).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("group_messages"))).thenReturn(List.of(
+                "group_messages_202312", "group_messages_202401", "group_messages_202407", "group_messages_default"));
+
+        // When
+        scheduler.maintainPartitions(YearMonth.of(2024, 7));
+
+        // Then
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS \"group_messages_202312\"");
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should continue with other tables when one fails")
+    void shouldContinueAfterFailure() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), anyString(), any(Date.class)))
+                .thenReturn("ok");
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), eq("messages"), any(Date.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        scheduler.maintainPartitions(YearMonth.of(2024, 7));
+
+        // Then
+        verify(jdbcTemplate, times(4)).queryForObject(anyString(), eq(String.class), eq("group_messages"), any(Date.class));
+    }
+
+    @Test
+    @DisplayName("Should move rows out of the default partition into monthly partitions")
+    void shouldPartitionDefaultRows() {
+        // Given - 스케줄러가 멈춘 동안 2025-03 행이 default 파티션에 쌓임
+        Date march = Date.valueOf(LocalDate.of(2025, 3, 1));
+        when(jdbcTemplate.queryForList(anyString(), eq(Date.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(contains("group_messages_default"), eq(Date.class))).thenReturn(List.of(march));
+
+        // When
+        scheduler.maintainPartitions(YearMonth.of(2024, 7));
+
+        // Then
+        verify(jdbcTemplate).queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                "group_messages", march);
+    }
+
+    @Test
+    @DisplayName("Should skip tables that are not partitioned")
+    void shouldSkipUnpartitionedTables() {
+        // Given - V4 미적용
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), anyString()))
+                .thenReturn(false);
+
+        // When
+        scheduler.maintainPartitions(YearMonth.of(2024, 7));
+
+        // Then
+        verify(jdbcTemplate, never()).queryForObject(eq("SELECT create_monthly_partition(?, ?)"),
+                eq(String.class), anyString(), any(Date.class));
+    }
+}
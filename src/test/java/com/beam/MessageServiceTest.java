@@ -0,0 +1,116 @@
+package com.beam;
+
+import com.beam.archive.MessageArchive;
+import com.beam.store.MessageStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageService Unit Tests")
+class MessageServiceTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private RoomReadWatermarkRepository readWatermarkRepository;
+
+    @Mock
+    private RoomReadWatermarkWriter readWatermarkWriter;
+
+    @Mock
+    private MessageArchive messageArchive;
+
+    @Mock
+    private MessageStore<MessageEntity> messageStore;
+
+    @InjectMocks
+    private MessageService messageService;
+
+    private MessageEntity message(Long id, String sender) {
+        MessageEntity message = new MessageEntity(sender, "content", "general", "message");
+        message.setId(id);
+        return message;
+    }
+
+    @Nested
+    @DisplayName("Read Watermark Tests")
+    class ReadWatermarkTests {
+
+        @Test
+        @DisplayName("Should advance the watermark to the latest message instead of inserting receipts")
+        void shouldAdvanceWatermark() {
+            // Given
+            when(messageRepository.findLatestMessageId("general")).thenReturn(42L);
+            when(readWatermarkWriter.advance("general", 1L, "alice", 42L)).thenReturn(true);
+
+            // When
+            Long watermark = messageService.markRoomMessagesAsRead("general", 1L, "alice");
+
+            // Then
+            assertThat(watermark).isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("Should report no change when the watermark is already ahead")
+        void shouldNotMoveBackwards() {
+            // Given
+            when(messageRepository.findLatestMessageId("general")).thenReturn(10L);
+            when(readWatermarkWriter.advance("general", 1L, "alice", 10L)).thenReturn(false);
+
+            // When
+            Long watermark = messageService.markRoomMessagesAsRead("general", 1L, "alice");
+
+            // Then
+            assertThat(watermark).isNull();
+        }
+
+        @Test
+        @DisplayName("Should count unread messages after the watermark")
+        void shouldCountUnreadAfterWatermark() {
+            // Given
+            when(readWatermarkRepository.findByRoomIdAndUserId("general", 1L))
+                    .thenReturn(Optional.of(new RoomReadWatermark("general", 1L, "alice", 30L)));
+            when(messageRepository.countRoomMessagesAfter("general", 30L, "alice")).thenReturn(5L);
+
+            // When
+            long unread = messageService.getUnreadMessageCount("general", 1L, "alice");
+
+            // Then
+            assertThat(unread).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("Should derive read counts from sorted watermarks excluding the sender")
+        void shouldDeriveReadCounts() {
+            // Given
+            when(readWatermarkRepository.findByRoomIdOrderByLastReadMessageIdAsc("general")).thenReturn(List.of(
+                    new RoomReadWatermark("general", 1L, "alice", 5L),
+                    new RoomReadWatermark("general", 2L, "bob", 10L),
+                    new RoomReadWatermark("general", 3L, "carol", 20L)));
+
+            // When
+            Map<Long, Long> counts = messageService.getReadCounts("general",
+                    List.of(message(5L, "alice"), message(10L, "bob"), message(15L, "carol"), message(25L, "dave")));
+
+            // Then
+            assertThat(counts).containsEntry(5L, 2L)
+                    .containsEntry(10L, 1L)
+                    .containsEntry(15L, 0L)
+                    .containsEntry(25L, 0L);
+        }
+    }
+}
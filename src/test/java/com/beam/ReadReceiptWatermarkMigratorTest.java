@@ -0,0 +1,95 @@
+package com.beam;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReceiptWatermarkMigrator Unit Tests")
+class ReadReceiptWatermarkMigratorTest {
+
+    @Mock
+    private MessageReadReceiptRepository readReceiptRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReadReceiptWatermarkMigrator migrator;
+
+    private MessageReadReceipt receipt(Long id, Long messageId, Long userId) {
+        MessageReadReceipt receipt = new MessageReadReceipt(messageId, userId);
+        receipt.setId(id);
+        return receipt;
+    }
+
+    private MessageEntity message(Long id, String roomId) {
+        MessageEntity message = new MessageEntity("bob", "content", roomId, "message");
+        message.setId(id);
+        return message;
+    }
+
+    @Test
+    @DisplayName("Should fold a batch into one watermark per room and user, then delete it")
+    void shouldFoldBatchIntoWatermarks() {
+        // Given
+        when(readReceiptRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(
+                receipt(1L, 3L, 1L), receipt(2L, 7L, 1L), receipt(3L, 9L, 1L), receipt(4L, 99L, 1L)));
+        when(messageRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(message(3L, "general"), message(7L, "general"), message(9L, "tech")));
+        when(userRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(UserEntity.builder().id(1L).username("alice").build()));
+
+        // When
+        int migrated = migrator.migrateBatch();
+
+        // Then
+        assertThat(migrated).isEqualTo(4);
+        verify(messageService).advanceReadWatermark("general", 1L, "alice", 7L);
+        verify(messageService).advanceReadWatermark("tech", 1L, "alice", 9L);
+        verifyNoMoreInteractions(messageService);
+        verify(readReceiptRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L, 4L));
+    }
+
+    @Test
+    @DisplayName("Should stop once no receipts are left")
+    void shouldStopWhenEmpty() {
+        // Given
+        ReflectionTestUtils.setField(migrator, "pauseMs", 0L);
+        when(readReceiptRepository.findAllByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(receipt(1L, 3L, 1L)))
+                .thenReturn(List.of());
+        when(messageRepository.findAllById(anyCollection())).thenReturn(List.of(message(3L, "general")));
+        when(userRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(UserEntity.builder().id(1L).username("alice").build()));
+
+        // When
+        migrator.migrate();
+        migrator.migrate();
+
+        // Then
+        verify(readReceiptRepository, times(2)).findAllByOrderByIdAsc(any(Pageable.class));
+        verify(messageService).advanceReadWatermark("general", 1L, "alice", 3L);
+    }
+}
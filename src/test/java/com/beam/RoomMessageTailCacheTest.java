@@ -0,0 +1,289 @@
+package com.beam;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RoomMessageTailCache Unit Tests")
+class RoomMessageTailCacheTest {
+
+    private RoomMessageTailCache tailCache;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        tailCache = new RoomMessageTailCache();
+        // 1MB / 512KB = 슬랩 2개
+        ReflectionTestUtils.setField(tailCache, "budgetMb", 1L);
+        ReflectionTestUtils.setField(tailCache, "slabKb", 512);
+        tailCache.init();
+        base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    }
+
+    private GroupMessageEntity message(Long roomId, long seq, String content) {
+        return GroupMessageEntity.builder()
+                .id(seq * 10)
+                .roomId(roomId)
+                .senderId(1L)
+                .seq(seq)
+                .content(content)
+                .messageType(GroupMessageEntity.MessageType.TEXT)
+                .timestamp(base.plusSeconds(seq))
+                .readCount(0)
+                .isDeleted(false)
+                .build();
+    }
+
+    // 최신순 목록
+    private List<GroupMessageEntity> history(Long roomId, int count) {
+        List<GroupMessageEntity> messages = new ArrayList<>();
+        for (int seq = count; seq >= 1; seq--) {
+            messages.add(message(roomId, seq, "msg-" + seq));
+        }
+        return messages;
+    }
+
+    // 최신순 목록 - 본문 길이 지정
+    private List<GroupMessageEntity> history(Long roomId, long newestSeq, int count, int contentLength) {
+        List<GroupMessageEntity> messages = new ArrayList<>();
+        for (long seq = newestSeq; seq > newestSeq - count; seq--) {
+            messages.add(message(roomId, seq, "x".repeat(contentLength)));
+        }
+        return messages;
+    }
+
+    private RoomMessageTailCache smallSlabCache(int slabKb, int maxSlabKb) {
+        RoomMessageTailCache cache = new RoomMessageTailCache();
+        ReflectionTestUtils.setField(cache, "budgetMb", 1L);
+        ReflectionTestUtils.setField(cache, "slabKb", slabKb);
+        ReflectionTestUtils.setField(cache, "maxSlabKb", maxSlabKb);
+        cache.init();
+        return cache;
+    }
+
+    private Supplier<List<GroupMessageEntity>> countingLoader(List<GroupMessageEntity> rows, AtomicInteger calls) {
+        return () -> {
+            calls.incrementAndGet();
+            return rows;
+        };
+    }
+
+    @Nested
+    @DisplayName("Read Tests")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should serve the second read from the tail")
+        void shouldServeFromTail() {
+            // Given
+            AtomicInteger loads = new AtomicInteger();
+            List<GroupMessageEntity> rows = history(1L, 3);
+            tailCache.getLatest(1L, countingLoader(rows, loads));
+
+            // When
+            List<GroupMessageEntity> result = tailCache.getLatest(1L, countingLoader(rows, loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(result).extracting(GroupMessageEntity::getSeq).containsExactly(3L, 2L, 1L);
+            assertThat(result.get(0).getContent()).isEqualTo("msg-3");
+            assertThat(result.get(0).getTimestamp()).isEqualTo(base.plusSeconds(3));
+            assertThat(result.get(0).getRoomId()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should keep Korean content intact")
+        void shouldRoundTripUtf8() {
+            // Given
+            AtomicInteger loads = new AtomicInteger();
+            List<GroupMessageEntity> rows = List.of(message(1L, 1L, "안녕하세요 👋"));
+            tailCache.getLatest(1L, countingLoader(rows, loads));
+
+            // When
+            List<GroupMessageEntity> result = tailCache.getLatest(1L, countingLoader(rows, loads));
+
+            // Then
+            assertThat(result.get(0).getContent()).isEqualTo("안녕하세요 👋");
+        }
+    }
+
+    @Nested
+    @DisplayName("Append Tests")
+    class AppendTests {
+
+        @Test
+        @DisplayName("Should append new messages without reloading")
+        void shouldAppendWithoutReload() {
+            // Given
+            AtomicInteger loads = new AtomicInteger();
+            tailCache.getLatest(1L, countingLoader(history(1L, 2), loads));
+
+            // When
+            tailCache.append(message(1L, 3L, "new"));
+            List<GroupMessageEntity> result = tailCache.getLatest(1L, countingLoader(List.of(), loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(result).extracting(GroupMessageEntity::getContent).containsExactly("new", "msg-2", "msg-1");
+        }
+
+        @Test
+        @DisplayName("Should keep only the latest TAIL_SIZE messages")
+        void shouldBoundTail() {
+            // Given
+            AtomicInteger loads = new AtomicInteger();
+            int size = RoomMessageTailCache.TAIL_SIZE;
+            tailCache.getLatest(1L, countingLoader(history(1L, size), loads));
+
+            // When
+            for (long seq = size + 1; seq <= size + 50; seq++) {
+                tailCache.append(message(1L, seq, "msg-" + seq));
+            }
+            List<GroupMessageEntity> result = tailCache.getLatest(1L, countingLoader(List.of(), loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(result).hasSize(size);
+            assertThat(result.get(0).getSeq()).isEqualTo(size + 50L);
+            assertThat(result.get(size - 1).getSeq()).isEqualTo(51L);
+        }
+
+        @Test
+        @DisplayName("Should reload after an out-of-order append")
+        void shouldReloadOnOutOfOrderAppend() {
+            // Given
+            AtomicInteger loads = new AtomicInteger();
+            List<GroupMessageEntity> rows = history(1L, 5);
+            tailCache.getLatest(1L, countingLoader(rows, loads));
+
+            // When
+            tailCache.append(message(1L, 4L, "late"));
+            tailCache.getLatest(1L, countingLoader(rows, loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should ignore appends for rooms that are not loaded")
+        void shouldIgnoreUnloadedRoom() {
+            // When
+            tailCache.append(message(9L, 1L, "hello"));
+
+            // Then
+            assertThat(tailCache.getStats()).containsEntry("rooms", 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Budget Tests")
+    class BudgetTests {
+
+        @Test
+        @DisplayName("Should evict the least recently used room when slabs run out")
+        void shouldEvictLeastRecentlyUsedRoom() {
+            // Given - 슬랩 2개
+            AtomicInteger loads = new AtomicInteger();
+            tailCache.getLatest(1L, countingLoader(history(1L, 2), loads));
+            tailCache.getLatest(2L, countingLoader(history(2L, 2), loads));
+            tailCache.getLatest(1L, countingLoader(history(1L, 2), loads));
+
+            // When - 세 번째 방이 가장 오래 안 쓴 2번 방의 슬랩을 가져감
+            tailCache.getLatest(3L, countingLoader(history(3L, 2), loads));
+            tailCache.getLatest(1L, countingLoader(history(1L, 2), loads));
+            tailCache.getLatest(2L, countingLoader(history(2L, 2), loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(4);
+            assertThat(tailCache.getStats()).containsEntry("slabsInUse", 2).containsEntry("bytesAllocated", 1024L * 1024);
+        }
+
+        @Test
+        @DisplayName("Should release the slab on invalidate")
+        void shouldReleaseSlabOnInvalidate() {
+            // Given
+            AtomicInteger loads = new AtomicInteger();
+            tailCache.getLatest(1L, countingLoader(history(1L, 2), loads));
+
+            // When
+            tailCache.invalidate(1L);
+            tailCache.getLatest(1L, countingLoader(history(1L, 2), loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(2);
+            assertThat(tailCache.getStats()).containsEntry("slabsInUse", 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Slab Sizing Tests")
+    class SlabSizingTests {
+
+        @Test
+        @DisplayName("Should size the slab to serve a tail of long messages")
+        void shouldServeLongMessages() {
+            // Given - 300자 메시지 100개는 최소 슬랩(16KB)에 들어가지 않음
+            RoomMessageTailCache cache = smallSlabCache(16, 256);
+            AtomicInteger loads = new AtomicInteger();
+            List<GroupMessageEntity> rows = history(1L, 100, RoomMessageTailCache.TAIL_SIZE, 300);
+            cache.getLatest(1L, countingLoader(rows, loads));
+
+            // When
+            List<GroupMessageEntity> result = cache.getLatest(1L, countingLoader(rows, loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(result).hasSize(RoomMessageTailCache.TAIL_SIZE);
+            assertThat(result.get(0).getContent()).hasSize(300);
+        }
+
+        @Test
+        @DisplayName("Should reload a tail that outgrew its slab into a larger one")
+        void shouldReplaceOutgrownTail() {
+            // Given - 짧은 메시지로 적재한 뒤 긴 메시지가 이어져 슬랩 공간이 모자람
+            RoomMessageTailCache cache = smallSlabCache(16, 256);
+            AtomicInteger loads = new AtomicInteger();
+            cache.getLatest(1L, countingLoader(history(1L, 100, RoomMessageTailCache.TAIL_SIZE, 100), loads));
+            for (long seq = 101; seq <= 200; seq++) {
+                cache.append(message(1L, seq, "y".repeat(1000)));
+            }
+            List<GroupMessageEntity> latest = history(1L, 200, RoomMessageTailCache.TAIL_SIZE, 1000);
+
+            // When
+            cache.getLatest(1L, countingLoader(latest, loads));
+            List<GroupMessageEntity> result = cache.getLatest(1L, countingLoader(latest, loads));
+
+            // Then - 한 번 다시 적재한 뒤로는 꼬리에서 서빙
+            assertThat(loads.get()).isEqualTo(2);
+            assertThat(result).extracting(GroupMessageEntity::getSeq).startsWith(200L, 199L).hasSize(100);
+            assertThat(cache.getStats()).containsEntry("slabsInUse", 1);
+        }
+
+        @Test
+        @DisplayName("Should not cache a tail larger than the largest slab")
+        void shouldSkipOversizedTail() {
+            // Given
+            RoomMessageTailCache cache = smallSlabCache(16, 16);
+            AtomicInteger loads = new AtomicInteger();
+            List<GroupMessageEntity> rows = history(1L, 100, RoomMessageTailCache.TAIL_SIZE, 300);
+
+            // When
+            cache.getLatest(1L, countingLoader(rows, loads));
+            cache.getLatest(1L, countingLoader(rows, loads));
+
+            // Then
+            assertThat(loads.get()).isEqualTo(2);
+            assertThat(cache.getStats()).containsEntry("bytesAllocated", 0L);
+        }
+    }
+}
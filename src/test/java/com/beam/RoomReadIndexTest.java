@@ -0,0 +1,220 @@
+package com.beam;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomReadIndex Unit Tests")
+class RoomReadIndexTest {
+
+    @Mock
+    private RoomMemberRepository roomMemberRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RoomReadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index.init();
+    }
+
+    private RoomMemberEntity member(Long userId, long lastReadSeq) {
+        return RoomMemberEntity.builder()
+                .roomId(1L)
+                .userId(userId)
+                .lastReadSeq(lastReadSeq)
+                .build();
+    }
+
+    private void givenMembers(RoomMemberEntity... members) {
+        when(roomMemberRepository.findByRoomIdAndIsActiveTrue(1L)).thenReturn(List.of(members));
+    }
+
+    @Nested
+    @DisplayName("Read Count Tests")
+    class ReadCountTests {
+
+        @Test
+        @DisplayName("Should count members whose watermark reached the message, excluding the sender")
+        void shouldCountReaders() {
+            // Given
+            givenMembers(member(1L, 10), member(2L, 7), member(3L, 3), member(4L, 0));
+
+            // Then
+            assertThat(index.readCount(1L, 7, 1L)).isEqualTo(1);
+            assertThat(index.readCount(1L, 3, 1L)).isEqualTo(2);
+            assertThat(index.readCount(1L, 1, 2L)).isEqualTo(2);
+            assertThat(index.readCount(1L, 11, 1L)).isZero();
+            assertThat(index.readers(1L, 3, 1L)).containsExactlyInAnyOrder(2L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should move counts when a watermark advances past the tree")
+        void shouldAdvanceWatermarks() {
+            // Given
+            givenMembers(member(1L, 10), member(2L, 0));
+
+            // When
+            boolean moved = index.advance(1L, 2L, 500);
+            boolean backwards = index.advance(1L, 2L, 100);
+            boolean stranger = index.advance(1L, 9L, 100);
+
+            // Then
+            assertThat(moved).isTrue();
+            assertThat(backwards).isFalse();
+            assertThat(stranger).isFalse();
+            assertThat(index.readCount(1L, 10, 1L)).isEqualTo(1);
+            assertThat(index.readCount(1L, 400, 9L)).isEqualTo(1);
+            assertThat(index.unreadCount(1L, 1L, 600)).isEqualTo(590);
+            assertThat(index.unreadCount(1L, 2L, 600)).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should size the tree by members, not by the spread of watermarks")
+        void shouldCompressWatermarks() {
+            // Given - 한 번도 안 읽은 멤버와 수십억 번째 메시지까지 읽은 멤버
+            Map<Long, Long> watermarks = new HashMap<>(Map.of(1L, 0L, 2L, 3_000_000_000L, 3L, 3_000_000_000L));
+            RoomReadIndex.RoomReads reads = new RoomReadIndex.RoomReads(watermarks);
+
+            // When
+            reads.advance(1L, 5_000_000_000L);
+
+            // Then
+            assertThat(reads.positions()).isEqualTo(2);
+            assertThat(reads.readCount(3_000_000_000L, 2L)).isEqualTo(2);
+            assertThat(reads.readCount(4_000_000_000L, 2L)).isEqualTo(1);
+            assertThat(reads.readCount(1L, null)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should match a naive count after random advances")
+        void shouldMatchNaiveCount() {
+            // Given
+            int memberCount = 50;
+            long[] watermarks = new long[memberCount + 1];
+            List<RoomMemberEntity> members = new ArrayList<>();
+            for (long userId = 1; userId <= memberCount; userId++) {
+                members.add(member(userId, 0));
+            }
+            when(roomMemberRepository.findByRoomIdAndIsActiveTrue(1L)).thenReturn(members);
+            Random random = new Random(7);
+
+            // When
+            for (int i = 0; i < 5_000; i++) {
+                int userId = 1 + random.nextInt(memberCount);
+                long seq = watermarks[userId] + random.nextInt(20);
+                index.advance(1L, (long) userId, seq);
+                watermarks[userId] = Math.max(watermarks[userId], seq);
+            }
+
+            // Then
+            for (long seq = 1; seq < 2_000; seq += 37) {
+                long expected = 0;
+                for (int userId = 2; userId <= memberCount; userId++) {
+                    if (watermarks[userId] >= seq) {
+                        expected++;
+                    }
+                }
+                assertThat(index.readCount(1L, seq, 1L)).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Should return read counts keyed by message id")
+        void shouldReturnReadCountsByMessage() {
+            // Given
+            givenMembers(member(1L, 2), member(2L, 2), member(3L, 1));
+            GroupMessageEntity first = GroupMessageEntity.builder().id(100L).roomId(1L).senderId(1L).seq(1L).build();
+            GroupMessageEntity second = GroupMessageEntity.builder().id(101L).roomId(1L).senderId(2L).seq(2L).build();
+
+            // When
+            Map<Long, Integer> counts = index.readCounts(1L, List.of(first, second));
+
+            // Then
+            assertThat(counts).containsEntry(100L, 2).containsEntry(101L, 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Persistence Tests")
+    class PersistenceTests {
+
+        @Test
+        @DisplayName("Should write only the latest watermark per member on flush")
+        void shouldFlushLatestWatermark() {
+            // Given
+            givenMembers(member(1L, 0), member(2L, 0));
+            index.advance(1L, 2L, 3);
+            index.advance(1L, 2L, 8);
+            index.advance(1L, 2L, 5);
+
+            // When
+            index.flush();
+            index.flush();
+
+            // Then
+            verify(roomMemberRepository, times(1)).advanceReadWatermark(eq(1L), eq(2L), eq(8L), any());
+            verifyNoMoreInteractions(ignoreStubs(roomMemberRepository));
+        }
+
+        @Test
+        @DisplayName("Should keep unflushed watermarks across reloads and failed flushes")
+        void shouldKeepDirtyWatermarks() {
+            // Given
+            givenMembers(member(1L, 0), member(2L, 0));
+            when(roomMemberRepository.advanceReadWatermark(anyLong(), anyLong(), anyLong(), any()))
+                    .thenThrow(new QueryTimeoutException("timeout"))
+                    .thenReturn(1);
+            index.advance(1L, 2L, 6);
+
+            // When
+            index.flush();
+            index.invalidate(1L);
+
+            // Then
+            assertThat(index.readCount(1L, 6, 1L)).isEqualTo(1);
+            index.flush();
+            verify(roomMemberRepository, times(2)).advanceReadWatermark(eq(1L), eq(2L), eq(6L), any());
+        }
+
+        @Test
+        @DisplayName("Should warm recently active rooms with one member query")
+        void shouldWarmRecentRooms() {
+            // Given
+            when(roomRepository.findRecentlyActiveRoomIds(any())).thenReturn(List.of(1L));
+            when(roomMemberRepository.findByRoomIdInAndIsActiveTrue(List.of(1L)))
+                    .thenReturn(List.of(member(1L, 4), member(2L, 4)));
+
+            // When
+            index.warmUp();
+
+            // Then
+            assertThat(index.readCount(1L, 4, 1L)).isEqualTo(1);
+            verify(roomMemberRepository, never()).findByRoomIdAndIsActiveTrue(anyLong());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.beam;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RoomReadWatermarkWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("RoomReadWatermarkWriter Tests")
+class RoomReadWatermarkWriterTest {
+
+    @Autowired
+    private RoomReadWatermarkWriter writer;
+
+    @Autowired
+    private RoomReadWatermarkRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    private long lastRead(String roomId, Long userId) {
+        return repository.findByRoomIdAndUserId(roomId, userId).orElseThrow().getLastReadMessageId();
+    }
+
+    @Test
+    @DisplayName("Should create the watermark on first read")
+    void shouldCreateOnFirstRead() {
+        // When
+        boolean moved = writer.advance("general", 1L, "alice", 42L);
+
+        // Then
+        assertThat(moved).isTrue();
+        assertThat(lastRead("general", 1L)).isEqualTo(42L);
+        assertThat(repository.findByRoomIdAndUserId("general", 1L).orElseThrow().getUsername()).isEqualTo("alice");
+    }
+
+    @Test
+    @DisplayName("Should only move the watermark forward")
+    void shouldOnlyMoveForward() {
+        // Given
+        writer.advance("general", 1L, "alice", 42L);
+
+        // When
+        boolean backwards = writer.advance("general", 1L, "alice", 10L);
+        boolean same = writer.advance("general", 1L, "alice", 42L);
+        boolean forward = writer.advance("general", 1L, "alice", 50L);
+
+        // Then
+        assertThat(backwards).isFalse();
+        assertThat(same).isFalse();
+        assertThat(forward).isTrue();
+        assertThat(lastRead("general", 1L)).isEqualTo(50L);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not fail when first reads of the same user race")
+    void shouldSurviveConcurrentFirstReads() throws Exception {
+        // Given - 실시간 읽음과 마이그레이터가 같은 (방, 사용자) 의 첫 워터마크를 동시에 생성
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 1; i <= threads; i++) {
+                long messageId = i * 10L;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return writer.advance("race", 7L, "bob", messageId);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then - 예외 없이 한 행, 가장 앞선 값
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(lastRead("race", 7L)).isEqualTo(threads * 10L);
+    }
+}
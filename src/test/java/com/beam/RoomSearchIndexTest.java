@@ -0,0 +1,147 @@
+package com.beam;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomSearchIndex Unit Tests")
+class RoomSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @InjectMocks
+    private RoomSearchIndex index;
+
+    private RoomEntity room(long id, String name, String description, int members, RoomEntity.RoomType type) {
+        return RoomEntity.builder()
+                .id(id)
+                .roomName(name)
+                .description(description)
+                .roomType(type)
+                .currentMembers(members)
+                .maxMembers(100)
+                .isActive(true)
+                .createdAt(NOW.minusDays(id))
+                .build();
+    }
+
+    private List<Long> ids(List<RoomEntity> rooms) {
+        return rooms.stream().map(RoomEntity::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should match substrings of names and descriptions, ranked by members")
+        void shouldMatchSubstrings() {
+            // Given
+            when(roomRepository.findByIsActiveTrue()).thenReturn(List.of(
+                    room(1, "Spring 스터디", "매주 토요일", 5, RoomEntity.RoomType.PUBLIC),
+                    room(2, "자바 개발자 모임", "Spring Boot 질문", 30, RoomEntity.RoomType.PUBLIC),
+                    room(3, "등산 동호회", "주말 산행", 12, RoomEntity.RoomType.PRIVATE)));
+            index.load();
+
+            // When & Then
+            assertThat(ids(index.search("spring"))).containsExactly(2L, 1L);
+            assertThat(ids(index.search("터디"))).containsExactly(1L);
+            assertThat(ids(index.search("주"))).containsExactly(3L, 1L);
+            assertThat(index.search("스프링")).isEmpty();
+            assertThat(index.search("  ")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not expose secret rooms")
+        void shouldSkipSecretRooms() {
+            // Given
+            when(roomRepository.findByIsActiveTrue()).thenReturn(List.of(
+                    room(1, "비밀 기지", null, 3, RoomEntity.RoomType.SECRET)));
+            index.load();
+
+            // When & Then
+            assertThat(index.search("비밀")).isEmpty();
+            assertThat(index.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should break member count ties by recent activity")
+        void shouldRankByActivity() {
+            // Given
+            when(roomRepository.findByIsActiveTrue()).thenReturn(List.of(
+                    room(1, "맛집 탐방", null, 10, RoomEntity.RoomType.PUBLIC),
+                    room(2, "맛집 지도", null, 10, RoomEntity.RoomType.PUBLIC)));
+            index.load();
+
+            // When - 트랜잭션 밖에서는 바로 반영
+            index.onRoomActivity(2L, NOW);
+
+            // Then
+            assertThat(ids(index.search("맛집"))).containsExactly(2L, 1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should re-index renamed rooms and drop deleted ones")
+        void shouldFollowRoomChanges() {
+            // Given
+            when(roomRepository.findByIsActiveTrue()).thenReturn(List.of(
+                    room(1, "독서 모임", "한 달에 한 권", 8, RoomEntity.RoomType.PUBLIC)));
+            index.load();
+
+            // When
+            index.onRoomChanged(room(1, "영화 모임", "한 달에 한 편", 9, RoomEntity.RoomType.PUBLIC));
+            index.onRoomChanged(room(2, "영화 감상", null, 2, RoomEntity.RoomType.PUBLIC));
+
+            // Then
+            assertThat(index.search("독서")).isEmpty();
+            assertThat(ids(index.search("영화"))).containsExactly(1L, 2L);
+            assertThat(index.search("영화").get(0).getCurrentMembers()).isEqualTo(9);
+
+            // When
+            index.onRoomDeleted(1L);
+
+            // Then
+            assertThat(ids(index.search("영화"))).containsExactly(2L);
+            assertThat(ids(index.search("모임"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should pick up rooms created or deleted on other nodes")
+        void shouldRefreshFromDatabase() {
+            // Given
+            when(roomRepository.findByIsActiveTrue()).thenReturn(List.of(
+                    room(1, "영화 모임", null, 8, RoomEntity.RoomType.PUBLIC)));
+            index.load();
+            RoomEntity deleted = room(1, "영화 모임", null, 8, RoomEntity.RoomType.PUBLIC);
+            deleted.setIsActive(false);
+            when(roomRepository.findChangedSince(any(LocalDateTime.class))).thenReturn(List.of(
+                    deleted, room(2, "영화 감상", null, 2, RoomEntity.RoomType.PUBLIC)));
+
+            // When - 다른 노드에서 1 삭제, 2 생성
+            index.refresh();
+
+            // Then
+            assertThat(ids(index.search("영화"))).containsExactly(2L);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.beam;
 
+import com.beam.dto.RoomSummary;
+import com.beam.search.MessageSearchIndexer;
+import com.beam.search.SearchResultCache;
+import com.beam.store.MessageStore;
+import com.beam.websocket.ReadUpdateBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -8,11 +13,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,7 +40,7 @@ class RoomServiceTest {
     private RoomMemberRepository roomMemberRepository;
 
     @Mock
-    private GroupMessageRepository groupMessageRepository;
+    private MessageStore<GroupMessageEntity> groupMessageStore;
 
     @Mock
     private UserRepository userRepository;
@@ -37,6 +48,33 @@ class RoomServiceTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private InboxService inboxService;
+
+    @Mock
+    private RoomRosterCache roomRosterCache;
+
+    @Mock
+    private RoomMessageTailCache messageTailCache;
+
+    @Mock
+    private RoomReadIndex roomReadIndex;
+
+    @Mock
+    private ReadUpdateBroadcaster readUpdateBroadcaster;
+
+    @Mock
+    private MessageSearchIndexer messageSearchIndexer;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private RoomSearchIndex roomSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -279,13 +317,53 @@ class RoomServiceTest {
             when(roomRepository.save(any(RoomEntity.class))).thenReturn(testRoom);
 
             // When & Then
+            testRoom.setLastMessageSeq(42L);
+
             assertThatCode(() -> roomService.addMember(1L, 3L, 1L)).doesNotThrowAnyException();
 
             verify(roomMemberRepository).save(argThat(member ->
-                member.getRole() == RoomMemberEntity.MemberRole.MEMBER
+                member.getRole() == RoomMemberEntity.MemberRole.MEMBER &&
+                member.getLastReadSeq() == 42L
             ));
         }
 
+        @Test
+        @DisplayName("Should evict every member's summary only after commit")
+        void shouldEvictAllSummariesAfterCommit() {
+            // Given
+            UserEntity newUser = UserEntity.builder().id(3L).username("newuser").build();
+            Cache chatRooms = mock(Cache.class);
+
+            when(roomRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testRoom));
+            when(userRepository.findById(3L)).thenReturn(Optional.of(newUser));
+            when(roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(1L, 1L))
+                    .thenReturn(Optional.of(ownerMember));
+            when(roomMemberRepository.existsByRoomIdAndUserIdAndIsActiveTrue(1L, 3L)).thenReturn(false);
+            when(roomRosterCache.getMembers(1L)).thenReturn(Set.of(1L, 2L));
+            when(cacheManager.getCache("chatRooms")).thenReturn(chatRooms);
+
+            // When - 트랜잭션 동기화 안에서 실행
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                roomService.addMember(1L, 3L, 1L);
+
+                // Then - 커밋 전에는 삭제하지 않음
+                verifyNoInteractions(chatRooms);
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Then - currentMembers 가 바뀌므로 기존 멤버 요약도 삭제
+            verify(chatRooms).evict("summaries:1");
+            verify(chatRooms).evict("summaries:2");
+            verify(chatRooms).evict("summaries:3");
+            verify(chatRooms).evict("members:1");
+            verify(chatRooms).evict("userRooms:3");
+        }
+
         @Test
         @DisplayName("Should fail when room is full")
         void shouldFailWhenRoomIsFull() {
@@ -450,10 +528,8 @@ class RoomServiceTest {
             when(roomRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testRoom));
             when(roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(1L, 1L))
                     .thenReturn(Optional.of(ownerMember));
-            when(groupMessageRepository.save(any(GroupMessageEntity.class))).thenReturn(message);
-            when(roomRepository.save(any(RoomEntity.class))).thenReturn(testRoom);
-            when(roomMemberRepository.findByRoomIdAndIsActiveTrue(1L))
-                    .thenReturn(List.of(ownerMember, regularMember));
+            when(roomRepository.findHeadSeq(1L)).thenReturn(7L);
+            when(groupMessageStore.append(any(GroupMessageEntity.class))).thenReturn(message);
 
             // When
             GroupMessageEntity result = roomService.sendMessage(1L, 1L, "Hello", null);
@@ -461,7 +537,32 @@ class RoomServiceTest {
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).isEqualTo("Hello");
-            verify(roomMemberRepository).saveAll(anyList());
+            verify(roomRepository).advanceHead(eq(1L), eq("Hello"), any(LocalDateTime.class), eq(1L));
+            verify(groupMessageStore).append(argThat(saved -> saved.getSeq() == 7L));
+            verify(roomMemberRepository).advanceReadWatermark(eq(1L), eq(1L), eq(7L), any(LocalDateTime.class));
+            verify(messageTailCache).append(message);
+        }
+
+        @Test
+        @DisplayName("Should not touch other members' rows on send")
+        void shouldNotUpdateOtherMembersOnSend() {
+            // Given
+            GroupMessageEntity message = GroupMessageEntity.builder()
+                    .id(1L).roomId(1L).senderId(1L).content("Hello").build();
+
+            when(roomRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testRoom));
+            when(roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(1L, 1L))
+                    .thenReturn(Optional.of(ownerMember));
+            when(roomRepository.findHeadSeq(1L)).thenReturn(1L);
+            when(groupMessageStore.append(any(GroupMessageEntity.class))).thenReturn(message);
+
+            // When
+            roomService.sendMessage(1L, 1L, "Hello", null);
+
+            // Then
+            verify(roomMemberRepository, never()).findByRoomIdAndIsActiveTrue(anyLong());
+            verify(roomMemberRepository, never()).saveAll(anyList());
+            verify(roomRepository, never()).save(any(RoomEntity.class));
         }
 
         @Test
@@ -495,10 +596,8 @@ class RoomServiceTest {
             when(roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(1L, 1L))
                     .thenReturn(Optional.of(ownerMember));
             when(roomMemberRepository.save(any(RoomMemberEntity.class))).thenReturn(ownerMember);
-            when(groupMessageRepository.save(any(GroupMessageEntity.class))).thenReturn(message);
-            when(roomRepository.save(any(RoomEntity.class))).thenReturn(testRoom);
-            when(roomMemberRepository.findByRoomIdAndIsActiveTrue(1L))
-                    .thenReturn(List.of(ownerMember));
+            when(roomRepository.findHeadSeq(1L)).thenReturn(1L);
+            when(groupMessageStore.append(any(GroupMessageEntity.class))).thenReturn(message);
 
             // When
             GroupMessageEntity result = roomService.sendMessage(1L, 1L, "Hello", null);
@@ -511,6 +610,7 @@ class RoomServiceTest {
 
     @Nested
     @DisplayName("Get Room Messages Tests")
+    @SuppressWarnings("unchecked")
     class GetRoomMessagesTests {
 
         @Test
@@ -522,29 +622,30 @@ class RoomServiceTest {
                     GroupMessageEntity.builder().id(2L).content("Hello").build()
             );
 
-            when(roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(1L, 1L))
-                    .thenReturn(Optional.of(ownerMember));
-            when(groupMessageRepository.findTop100ByRoomIdAndIsDeletedFalseOrderByTimestampDesc(1L))
-                    .thenReturn(messages);
+            when(roomRosterCache.isMember(1L, 1L)).thenReturn(true);
+            when(messageTailCache.getLatest(eq(1L), any())).thenAnswer(inv ->
+                    ((Supplier<List<GroupMessageEntity>>) inv.getArgument(1)).get());
+            when(groupMessageStore.findLatest("1", RoomMessageTailCache.TAIL_SIZE)).thenReturn(messages);
 
             // When
             List<GroupMessageEntity> result = roomService.getRoomMessages(1L, 1L);
 
             // Then
             assertThat(result).hasSize(2);
+            verify(roomMemberRepository, never()).findByRoomIdAndUserIdAndIsActiveTrue(any(), any());
         }
 
         @Test
         @DisplayName("Should fail when not a member")
         void shouldFailWhenNotMember() {
             // Given
-            when(roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(1L, 999L))
-                    .thenReturn(Optional.empty());
+            when(roomRosterCache.isMember(1L, 999L)).thenReturn(false);
 
             // When & Then
             assertThatThrownBy(() -> roomService.getRoomMessages(1L, 999L))
                     .isInstanceOf(RuntimeException.class)
                     .hasMessage("Not a member of this room");
+            verifyNoInteractions(messageTailCache);
         }
     }
 
@@ -553,21 +654,31 @@ class RoomServiceTest {
     class MarkAsReadTests {
 
         @Test
-        @DisplayName("Should mark as read successfully")
+        @DisplayName("Should mark as read by moving the watermark to the room head")
         void shouldMarkAsReadSuccessfully() {
             // Given
-            regularMember.setUnreadCount(5);
             when(roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(1L, 2L))
                     .thenReturn(Optional.of(regularMember));
-            when(roomMemberRepository.save(any(RoomMemberEntity.class))).thenReturn(regularMember);
+            when(roomRepository.findHeadSeq(1L)).thenReturn(5L);
 
             // When
             roomService.markAsRead(1L, 2L);
 
             // Then
-            verify(roomMemberRepository).save(argThat(member ->
-                member.getUnreadCount() == 0
-            ));
+            verify(roomMemberRepository).advanceReadWatermark(eq(1L), eq(2L), eq(5L), any(LocalDateTime.class));
+            verify(roomMemberRepository, never()).save(any(RoomMemberEntity.class));
+            verify(roomReadIndex).onWatermarkPersisted(1L, 2L, 5L);
+            verify(readUpdateBroadcaster).recordGroupRead(1L, 2L, 5L);
+        }
+
+        @Test
+        @DisplayName("Should compute unread count from head and watermark")
+        void shouldComputeUnreadCountFromWatermark() {
+            regularMember.setLastReadSeq(3L);
+
+            assertThat(regularMember.getUnreadCount(10L)).isEqualTo(7);
+            assertThat(regularMember.getUnreadCount(3L)).isZero();
+            assertThat(regularMember.getUnreadCount(null)).isZero();
         }
     }
 
@@ -579,10 +690,7 @@ class RoomServiceTest {
         @DisplayName("Should get user rooms successfully")
         void shouldGetUserRoomsSuccessfully() {
             // Given
-            when(roomMemberRepository.findByUserIdAndIsActiveTrue(1L))
-                    .thenReturn(List.of(ownerMember));
-            when(roomRepository.findByIdAndIsActiveTrue(1L))
-                    .thenReturn(Optional.of(testRoom));
+            when(roomRepository.findActiveRoomsByMember(1L)).thenReturn(List.of(testRoom));
 
             // When
             List<RoomEntity> result = roomService.getUserRooms(1L);
@@ -590,6 +698,25 @@ class RoomServiceTest {
             // Then
             assertThat(result).hasSize(1);
             assertThat(result.get(0).getRoomName()).isEqualTo("Test Room");
+            verify(roomRepository, never()).findByIdAndIsActiveTrue(any());
+        }
+
+        @Test
+        @DisplayName("Should build room summaries from a single join query")
+        void shouldGetRoomSummariesFromSingleQuery() {
+            // Given
+            RoomSummary summary = new RoomSummary(1L, "Test Room", "desc", RoomEntity.RoomType.PUBLIC,
+                    3, 100, "hello", LocalDateTime.now(), 7L, 4L, RoomMemberEntity.MemberRole.MEMBER);
+            when(roomMemberRepository.findRoomSummaries(2L)).thenReturn(List.of(summary));
+
+            // When
+            List<RoomSummary> result = roomService.getRoomSummaries(2L);
+
+            // Then
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getUnreadCount()).isEqualTo(3);
+            assertThat(result.get(0).toMap()).containsEntry("myRole", "MEMBER");
+            verifyNoInteractions(roomRepository);
         }
     }
 
@@ -598,16 +725,17 @@ class RoomServiceTest {
     class SearchRoomsTests {
 
         @Test
-        @DisplayName("Should search rooms successfully")
+        @DisplayName("Should search rooms from the in-memory index")
         void shouldSearchRoomsSuccessfully() {
             // Given
-            when(roomRepository.searchRooms("test")).thenReturn(List.of(testRoom));
+            when(roomSearchIndex.search("test")).thenReturn(List.of(testRoom));
 
             // When
             List<RoomEntity> result = roomService.searchRooms("test");
 
             // Then
             assertThat(result).hasSize(1);
+            verifyNoInteractions(roomRepository);
         }
     }
 }
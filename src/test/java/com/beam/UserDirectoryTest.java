@@ -0,0 +1,99 @@
+package com.beam;
+
+import com.beam.dto.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDirectory Unit Tests")
+class UserDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory.init();
+    }
+
+    private UserEntity user(Long id, boolean online) {
+        return UserEntity.builder()
+                .id(id)
+                .username("user" + id)
+                .displayName("User " + id)
+                .isOnline(online)
+                .lastSeen(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Bulk Lookup Tests")
+    class BulkLookupTests {
+
+        @Test
+        @DisplayName("Should load all cache misses with one query and serve repeats from cache")
+        void shouldLoadMissesInOneQuery() {
+            // Given
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, false)));
+            when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user(2L, true), user(3L, false)));
+            userDirectory.find(1L);
+
+            // When
+            Map<Long, UserSummary> first = userDirectory.findAll(Arrays.asList(1L, 2L, 3L, 2L, 99L, null));
+            Map<Long, UserSummary> second = userDirectory.findAll(List.of(1L, 2L, 3L));
+
+            // Then
+            verify(userRepository, times(1)).findAllById(argThat(ids ->
+                    List.copyOf((Collection<?>) ids).containsAll(List.of(2L, 3L, 99L))));
+            assertThat(first).containsOnlyKeys(1L, 2L, 3L);
+            assertThat(first.get(2L).isOnline()).isTrue();
+            assertThat(first.get(2L).getLastSeen()).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 0));
+            assertThat(second).containsOnlyKeys(1L, 2L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should reload a user after invalidation")
+        void shouldReloadAfterInvalidate() {
+            // Given
+            when(userRepository.findAllById(anyIterable()))
+                    .thenReturn(List.of(user(2L, false)))
+                    .thenReturn(List.of(user(2L, true)));
+            userDirectory.findAll(List.of(2L));
+
+            // When
+            userDirectory.invalidate(2L);
+            Map<Long, UserSummary> reloaded = userDirectory.findAll(List.of(2L));
+
+            // Then
+            assertThat(reloaded.get(2L).isOnline()).isTrue();
+            verify(userRepository, times(2)).findAllById(anyIterable());
+        }
+
+        @Test
+        @DisplayName("Should not query for an empty id list")
+        void shouldSkipEmptyList() {
+            assertThat(userDirectory.findAll(List.of())).isEmpty();
+            verifyNoInteractions(userRepository);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.beam;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSearchIndex Unit Tests")
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FriendRepository friendRepository;
+
+    @InjectMocks
+    private UserSearchIndex index;
+
+    private UserEntity user(long id, String username, String displayName) {
+        return UserEntity.builder()
+                .id(id)
+                .username(username)
+                .displayName(displayName)
+                .build();
+    }
+
+    private FriendEntity friendship(long userId, long friendId) {
+        return FriendEntity.builder()
+                .userId(userId)
+                .friendId(friendId)
+                .status(FriendEntity.FriendStatus.ACCEPTED)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Prefix Tests")
+    class PrefixTests {
+
+        @Test
+        @DisplayName("Should match prefixes of username, display name words and given names")
+        void shouldMatchPrefixes() {
+            // Given
+            index.index(user(1, "minsu", "김민수"));
+            index.index(user(2, "jdoe", "John Doe"));
+            index.index(user(3, "mina", "이민아"));
+
+            // When & Then
+            assertThat(index.search(99L, "MIN")).containsExactly(3L, 1L);
+            assertThat(index.search(99L, "김민")).containsExactly(1L);
+            assertThat(index.search(99L, "민수")).containsExactly(1L);
+            assertThat(index.search(99L, "doe")).containsExactly(2L);
+            assertThat(index.search(99L, "수")).isEmpty();
+            assertThat(index.search(99L, " ")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should match Hangul initial consonants, mixed with full syllables")
+        void shouldMatchInitials() {
+            // Given
+            index.index(user(1, "a", "김민수"));
+            index.index(user(2, "b", "강명숙"));
+            index.index(user(3, "c", "김미영"));
+
+            // When & Then
+            assertThat(index.search(99L, "ㄱㅁㅅ")).containsExactlyInAnyOrder(1L, 2L);
+            assertThat(index.search(99L, "김ㅁ")).containsExactlyInAnyOrder(1L, 3L);
+            assertThat(index.search(99L, "ㅁㅇ")).containsExactly(3L);
+            assertThat(UserSearchIndex.toInitials("김민수 a")).isEqualTo("ㄱㅁㅅ a");
+        }
+
+        @Test
+        @DisplayName("Should drop old names when a user is re-indexed")
+        void shouldReindexOnProfileChange() {
+            // Given
+            index.index(user(1, "user_1234", "사용자"));
+
+            // When
+            index.index(user(1, "haneul", "하늘"));
+
+            // Then
+            assertThat(index.search(99L, "user")).isEmpty();
+            assertThat(index.search(99L, "ㅎㄴ")).containsExactly(1L);
+            assertThat(index.size()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ranking Tests")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Should rank friends, then friends of friends by mutual friends, then others")
+        void shouldRankByFriendGraph() {
+            // Given - 1 이 검색, 친구 2, 3 / 친구의 친구 4 (함께 아는 친구 2명), 5 (1명) / 모르는 사람 6
+            when(userRepository.findByIsActiveTrue()).thenReturn(List.of(
+                    user(1, "me", "나"),
+                    user(2, "kim2", "김철수"),
+                    user(3, "lee", "이영희"),
+                    user(4, "kim4", "김영수"),
+                    user(5, "kim5", "김지수"),
+                    user(6, "kim6", "김현수")));
+            when(friendRepository.findByStatus(FriendEntity.FriendStatus.ACCEPTED)).thenReturn(List.of(
+                    friendship(1, 2), friendship(3, 1),
+                    friendship(2, 4), friendship(3, 4),
+                    friendship(2, 5)));
+            index.load();
+
+            // When
+            List<Long> result = index.search(1L, "김");
+
+            // Then
+            assertThat(result).containsExactly(2L, 4L, 5L, 6L);
+        }
+
+        @Test
+        @DisplayName("Should stop boosting after unfriend and exclude the searcher")
+        void shouldUpdateFriendGraph() {
+            // Given
+            index.index(user(1, "kim1", "김하나"));
+            index.index(user(2, "kim2", "김두리"));
+            index.index(user(3, "kim3", "김세찌"));
+            index.link(1L, 3L);
+
+            // When
+            List<Long> before = index.search(1L, "kim");
+            index.unlink(1L, 3L);
+            List<Long> after = index.search(1L, "kim");
+
+            // Then
+            assertThat(before).containsExactly(3L, 2L);
+            assertThat(after).containsExactly(2L, 3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Visibility Tests")
+    class VisibilityTests {
+
+        @Test
+        @DisplayName("Should index only active users")
+        void shouldSkipInactiveUsers() {
+            // Given
+            UserEntity inactive = user(2, "kim2", "김두리");
+            inactive.setIsActive(false);
+            when(userRepository.findByIsActiveTrue()).thenReturn(List.of(user(1, "kim1", "김하나")));
+            index.load();
+
+            // When - 비활성화된 사용자의 프로필 변경 이벤트도 색인하지 않음
+            index.onUserChanged(inactive);
+
+            // Then
+            assertThat(index.search(9L, "kim")).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Should hide blocked users in both directions")
+        void shouldHideBlockedUsers() {
+            // Given - 1 이 2 를 차단 (기존 친구 관계)
+            when(userRepository.findByIsActiveTrue()).thenReturn(List.of(
+                    user(1, "kim1", "김하나"),
+                    user(2, "kim2", "김두리"),
+                    user(3, "kim3", "김세찌")));
+            when(friendRepository.findByStatus(FriendEntity.FriendStatus.ACCEPTED)).thenReturn(List.of(friendship(1, 2)));
+            when(friendRepository.findByStatus(FriendEntity.FriendStatus.BLOCKED)).thenReturn(List.of());
+            index.load();
+
+            // When
+            index.onUserBlocked(1L, 2L);
+
+            // Then
+            assertThat(index.search(1L, "kim")).containsExactly(3L);
+            assertThat(index.search(2L, "kim")).containsExactly(3L);
+            assertThat(index.isBlocked(2L, 1L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should pick up users and blocks from other nodes on refresh")
+        void shouldRefreshFromDatabase() {
+            // Given
+            when(userRepository.findByIsActiveTrue()).thenReturn(List.of(user(1, "kim1", "김하나")));
+            index.load();
+            FriendEntity block = FriendEntity.builder()
+                    .userId(2L)
+                    .friendId(1L)
+                    .status(FriendEntity.FriendStatus.BLOCKED)
+                    .build();
+            when(userRepository.findByUpdatedAtAfter(any(LocalDateTime.class))).thenReturn(List.of(
+                    user(2, "kim2", "김두리"), user(3, "kim3", "김세찌")));
+            when(friendRepository.findChangedSince(any(LocalDateTime.class))).thenReturn(List.of(block));
+
+            // When - 다른 노드에서 2, 3 가입, 2 가 1 을 차단
+            index.refresh();
+
+            // Then
+            assertThat(index.search(1L, "kim")).containsExactly(3L);
+            assertThat(index.search(9L, "kim")).containsExactly(1L, 2L, 3L);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.beam.archive;
+
+import com.beam.DirectMessageEntity;
+import com.beam.MessageEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MessageArchive Unit Tests")
+class MessageArchiveTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private MessageArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = newArchive();
+    }
+
+    private MessageArchive newArchive() {
+        MessageArchive created = new MessageArchive();
+        ReflectionTestUtils.setField(created, "archiveDir", tempDir.toString());
+        created.init();
+        return created;
+    }
+
+    private static List<MessageEntity> roomMessages(String roomId, long firstId, int count) {
+        List<MessageEntity> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            MessageEntity message = new MessageEntity("user" + id, "메시지 " + id, roomId, "message");
+            message.setId(id);
+            message.setUserId(id % 7);
+            message.setTimestamp(BASE.plusSeconds(id));
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    @Nested
+    @DisplayName("Segment Tests")
+    class SegmentTests {
+
+        @Test
+        @DisplayName("Should round-trip every field across blocks")
+        void shouldRoundTripAcrossBlocks() throws Exception {
+            // Given - 블록 3개 (128 + 128 + 44)
+            List<MessageEntity> messages = roomMessages("room.1", 1, 300);
+            messages.get(5).setFileUrl("/files/a.png");
+            messages.get(5).setFileSize(1024L);
+            messages.get(5).setEditedAt(BASE.plusDays(1).withNano(123_000_000));
+            Path file = tempDir.resolve("seg-000001.seg");
+
+            // When
+            ArchiveSegment.write(file, messages, ArchiveCodecs.ROOM_MESSAGES);
+            ArchiveSegment<MessageEntity> segment = ArchiveSegment.open(file, ArchiveCodecs.ROOM_MESSAGES);
+            List<MessageEntity> slice = segment.read(125, 10);
+
+            // Then
+            assertThat(segment.count()).isEqualTo(300);
+            assertThat(segment.getLastId()).isEqualTo(300L);
+            assertThat(slice).extracting(MessageEntity::getId).containsExactly(126L, 127L, 128L, 129L, 130L,
+                    131L, 132L, 133L, 134L, 135L);
+            MessageEntity restored = segment.read(5, 1).get(0);
+            assertThat(restored.getContent()).isEqualTo("메시지 6");
+            assertThat(restored.getFileUrl()).isEqualTo("/files/a.png");
+            assertThat(restored.getFileSize()).isEqualTo(1024L);
+            assertThat(restored.getEditedAt()).isEqualTo(BASE.plusDays(1).withNano(123_000_000));
+            assertThat(restored.getFileName()).isNull();
+            assertThat(Files.exists(tempDir.resolve("seg-000001.seg.tmp"))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should read records before a timestamp newest first")
+        void shouldReadBeforeNewestFirst() throws Exception {
+            // Given
+            Path file = tempDir.resolve("seg-000001.seg");
+            ArchiveSegment<MessageEntity> segment =
+                    ArchiveSegment.write(file, roomMessages("r", 1, 300), ArchiveCodecs.ROOM_MESSAGES);
+
+            // When
+            List<MessageEntity> result = segment.readBefore(BASE.plusSeconds(130), 4);
+
+            // Then
+            assertThat(result).extracting(MessageEntity::getId).containsExactly(129L, 128L, 127L, 126L);
+            assertThat(segment.readBefore(BASE, 4)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Tests")
+    class StreamTests {
+
+        @Test
+        @DisplayName("Should page across segments and survive reopen")
+        void shouldPageAcrossSegments() {
+            // Given
+            archive.append(ArchiveCodecs.ROOM_MESSAGES, "lobby", roomMessages("lobby", 1, 50));
+            archive.append(ArchiveCodecs.ROOM_MESSAGES, "lobby", roomMessages("lobby", 51, 50));
+
+            // When
+            MessageArchive reopened = newArchive();
+
+            // Then
+            assertThat(reopened.count(ArchiveCodecs.ROOM_MESSAGES, "lobby")).isEqualTo(100);
+            assertThat(reopened.read(ArchiveCodecs.ROOM_MESSAGES, "lobby", 48, 4))
+                    .extracting(MessageEntity::getId).containsExactly(49L, 50L, 51L, 52L);
+            assertThat(reopened.readBefore(ArchiveCodecs.ROOM_MESSAGES, "lobby", BASE.plusSeconds(52), 3))
+                    .extracting(MessageEntity::getId).containsExactly(51L, 50L, 49L);
+            assertThat(reopened.readAll(ArchiveCodecs.ROOM_MESSAGES, "lobby")).hasSize(100);
+            assertThat(reopened.count(ArchiveCodecs.ROOM_MESSAGES, "other")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should report ids already in the last segment")
+        void shouldFindArchivedIds() {
+            // Given
+            archive.append(ArchiveCodecs.ROOM_MESSAGES, "r", roomMessages("r", 1, 10));
+            List<MessageEntity> batch = roomMessages("r", 8, 6);
+
+            // When & Then
+            assertThat(archive.findArchivedIds(ArchiveCodecs.ROOM_MESSAGES, "r", batch))
+                    .containsExactlyInAnyOrder(8L, 9L, 10L);
+            assertThat(archive.isBehindArchive(ArchiveCodecs.ROOM_MESSAGES, "r", batch.get(3))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep stream ids inside the archive directory")
+        void shouldEncodeStreamIds() {
+            // Given
+            DirectMessageEntity dm = DirectMessageEntity.builder()
+                    .id(1L)
+                    .conversationId("../1_2")
+                    .senderId(1L)
+                    .receiverId(2L)
+                    .content("안녕")
+                    .messageType(DirectMessageEntity.MessageType.TEXT)
+                    .timestamp(BASE)
+                    .build();
+
+            // When
+            archive.append(ArchiveCodecs.DIRECT_MESSAGES, "../1_2", List.of(dm));
+
+            // Then
+            assertThat(tempDir.resolve("dm").toFile().list()).containsExactly("%2E%2E%2F1_2");
+            DirectMessageEntity restored = archive.readAll(ArchiveCodecs.DIRECT_MESSAGES, "../1_2").get(0);
+            assertThat(restored.getMessageType()).isEqualTo(DirectMessageEntity.MessageType.TEXT);
+            assertThat(restored.getContent()).isEqualTo("안녕");
+        }
+
+        @Test
+        @DisplayName("Should keep only the most recently used streams in memory")
+        void shouldBoundCatalog() {
+            // Given - 스트림 하나만 캐시
+            MessageArchive bounded = new MessageArchive();
+            ReflectionTestUtils.setField(bounded, "archiveDir", tempDir.toString());
+            ReflectionTestUtils.setField(bounded, "maxCachedStreams", 1L);
+            bounded.init();
+            bounded.append(ArchiveCodecs.ROOM_MESSAGES, "a", roomMessages("a", 1, 10));
+
+            // When - 다른 스트림을 거친 뒤 다시 추가 (디렉토리에서 다시 적재)
+            bounded.append(ArchiveCodecs.ROOM_MESSAGES, "b", roomMessages("b", 1, 10));
+            bounded.append(ArchiveCodecs.ROOM_MESSAGES, "a", roomMessages("a", 11, 10));
+            Cache<?, ?> catalog = (Cache<?, ?>) ReflectionTestUtils.getField(bounded, "catalog");
+            catalog.cleanUp();
+
+            // Then
+            assertThat(catalog.estimatedSize()).isEqualTo(1);
+            assertThat(bounded.count(ArchiveCodecs.ROOM_MESSAGES, "a")).isEqualTo(20);
+            assertThat(bounded.count(ArchiveCodecs.ROOM_MESSAGES, "b")).isEqualTo(10);
+        }
+    }
+}
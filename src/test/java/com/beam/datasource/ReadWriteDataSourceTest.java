@@ -0,0 +1,193 @@
+package com.beam.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ReadWriteDataSource Tests (two H2 instances)")
+class ReadWriteDataSourceTest {
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReadWriteDataSource dataSource;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:rw_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DriverManagerDataSource replica = new DriverManagerDataSource("jdbc:h2:mem:rw_replica;DB_CLOSE_DELAY=-1", "sa", "");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+
+        for (JdbcTemplate jdbc : List.of(primaryJdbc, replicaJdbc)) {
+            jdbc.execute("DROP ALL OBJECTS");
+            jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        }
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+        ReplicaRoutingPolicy policy = new ReplicaRoutingPolicy(Duration.ofMillis(500), Duration.ofSeconds(30));
+        dataSource = new ReadWriteDataSource(primary, replica, policy, "SELECT seconds FROM replica_lag", 60_000);
+
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    private void loginAs(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    private String whoServes(TransactionTemplate template) {
+        return template.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should send read-only transactions to the replica")
+        void shouldRouteReadOnlyToReplica() {
+            // Given
+            loginAs(1L);
+
+            // When & Then
+            assertThat(whoServes(readOnly)).isEqualTo("replica");
+            assertThat(whoServes(readWrite)).isEqualTo("primary");
+            assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class))
+                    .isEqualTo("primary");
+        }
+
+        @Test
+        @DisplayName("Should keep anonymous reads on the primary")
+        void shouldKeepAnonymousReadsOnPrimary() {
+            // When & Then
+            assertThat(whoServes(readOnly)).isEqualTo("primary");
+        }
+    }
+
+    @Nested
+    @DisplayName("Lag Fallback Tests")
+    class LagFallbackTests {
+
+        @Test
+        @DisplayName("Should fall back to the primary while the replica lags")
+        void shouldFallBackWhileLagging() {
+            // Given
+            loginAs(1L);
+            replicaJdbc.update("UPDATE replica_lag SET seconds = 3");
+
+            // When
+            dataSource.checkReplica();
+
+            // Then
+            assertThat(whoServes(readOnly)).isEqualTo("primary");
+            assertThat(dataSource.getPolicy().getLastLagMillis()).isEqualTo(3000);
+
+            // When - 따라잡으면 다시 복제본으로
+            replicaJdbc.update("UPDATE replica_lag SET seconds = 0.1");
+            dataSource.checkReplica();
+
+            // Then
+            assertThat(whoServes(readOnly)).isEqualTo("replica");
+        }
+
+        @Test
+        @DisplayName("Should fall back to the primary when the lag check fails")
+        void shouldFallBackWhenCheckFails() {
+            // Given
+            loginAs(1L);
+            replicaJdbc.execute("DROP TABLE replica_lag");
+
+            // When
+            dataSource.checkReplica();
+
+            // Then
+            assertThat(dataSource.getPolicy().isReplicaAvailable()).isFalse();
+            assertThat(whoServes(readOnly)).isEqualTo("primary");
+        }
+    }
+
+    @Nested
+    @DisplayName("Read Your Writes Tests")
+    class ReadYourWritesTests {
+
+        @Test
+        @DisplayName("Should keep a writer on the primary within the window")
+        void shouldStickWriterToPrimary() {
+            // Given
+            loginAs(1L);
+            readWrite.executeWithoutResult(status ->
+                    new JdbcTemplate(dataSource).update("UPDATE node SET name = name"));
+
+            // When & Then
+            assertThat(whoServes(readOnly)).isEqualTo("primary");
+            loginAs(2L);
+            assertThat(whoServes(readOnly)).isEqualTo("replica");
+        }
+
+        @Test
+        @DisplayName("Should not stick after a rolled back write")
+        void shouldNotStickAfterRollback() {
+            // Given
+            loginAs(1L);
+            readWrite.executeWithoutResult(status -> {
+                new JdbcTemplate(dataSource).update("UPDATE node SET name = name");
+                status.setRollbackOnly();
+            });
+
+            // When & Then
+            assertThat(whoServes(readOnly)).isEqualTo("replica");
+        }
+    }
+
+    @Nested
+    @DisplayName("Primary Read Tests")
+    class PrimaryReadTests {
+
+        @Test
+        @DisplayName("Should read the primary from inside a replica transaction")
+        void shouldReadPrimaryInsideReadOnlyTransaction() {
+            // Given
+            loginAs(1L);
+
+            // When - 복제본 연결을 이미 쓴 읽기 전용 트랜잭션 안에서 캐시 적재
+            List<String> served = readOnly.execute(status -> {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                String outer = jdbc.queryForObject("SELECT name FROM node", String.class);
+                String loaded = PrimaryReads.call(transactionManager,
+                        () -> jdbc.queryForObject("SELECT name FROM node", String.class));
+                return List.of(outer, loaded);
+            });
+
+            // Then
+            assertThat(served).containsExactly("replica", "primary");
+        }
+    }
+}
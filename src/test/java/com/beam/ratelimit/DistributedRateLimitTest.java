@@ -0,0 +1,147 @@
+package com.beam.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Distributed Rate Limit Tests")
+class DistributedRateLimitTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<SocketRateLimitStateStore> clients = new ArrayList<>();
+    private SocketRateLimitStateStore.Server server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new SocketRateLimitStateStore.Server(new LocalRateLimitStateStore(now::get, 10_000));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        clients.forEach(SocketRateLimitStateStore::close);
+        server.close();
+    }
+
+    // 저장소를 공유하는 노드 하나 - lease 를 요청 스레드에서 바로 실행해 결과를 결정적으로 만듦
+    private RateLimitEngine node(SimpleMeterRegistry meterRegistry, RateLimitPolicy policy) {
+        SocketRateLimitStateStore client = new SocketRateLimitStateStore(server.port());
+        clients.add(client);
+        RateLimitEngine engine = new RateLimitEngine(meterRegistry);
+        engine.setClock(now::get);
+        ReflectionTestUtils.setField(engine, "mode", "distributed");
+        ReflectionTestUtils.setField(engine, "hotFraction", 0.0);
+        ReflectionTestUtils.setField(engine, "leaseFraction", 0.1);
+        engine.setStateStore(client);
+        engine.setSyncExecutor(Runnable::run);
+        engine.configure(List.of(policy));
+        return engine;
+    }
+
+    private static int allowedOf(RateLimitEngine engine, int requests) {
+        int allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (engine.evaluate("/api/rooms", "1.1.1.1").allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    @Nested
+    @DisplayName("Shared Limit Tests")
+    class SharedLimitTests {
+
+        @Test
+        @DisplayName("Should enforce one limit across nodes")
+        void shouldEnforceLimitAcrossNodes() {
+            // Given - 분당 100, 노드 둘
+            RateLimitPolicy policy = new RateLimitPolicy("api", List.of("/**"), 100, 60_000, 100);
+            RateLimitEngine first = node(new SimpleMeterRegistry(), policy);
+            RateLimitEngine second = node(new SimpleMeterRegistry(), policy);
+
+            // When - 두 노드에 번갈아 요청
+            int allowed = 0;
+            for (int i = 0; i < 100; i++) {
+                allowed += allowedOf(first, 1) + allowedOf(second, 1);
+            }
+
+            // Then - 노드별 한도였다면 200, 각 노드가 쥐고 있는 lease 묶음(10) 이하로만 모자람
+            assertThat(allowed).isBetween(80, 100);
+        }
+
+        @Test
+        @DisplayName("Should lease permits in batches instead of per request")
+        void shouldLeaseInBatches() {
+            // Given
+            RateLimitEngine engine = node(new SimpleMeterRegistry(),
+                    new RateLimitPolicy("api", List.of("/**"), 1000, 60_000, 1000));
+
+            // When
+            int allowed = allowedOf(engine, 500);
+
+            // Then - 묶음 100 개씩 가져오므로 저장소 호출은 요청 수의 일부
+            assertThat(allowed).isEqualTo(500);
+            assertThat(server.leases()).isLessThanOrEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Should pick up permits recovered in the store")
+        void shouldRefillAfterRecovery() {
+            // Given
+            RateLimitEngine engine = node(new SimpleMeterRegistry(),
+                    new RateLimitPolicy("api", List.of("/**"), 10, 1000, 10));
+            assertThat(allowedOf(engine, 20)).isEqualTo(10);
+
+            // When - 0.1초마다 하나씩 회복
+            now.addAndGet(500_000_000L);
+            int allowed = allowedOf(engine, 20);
+
+            // Then - 거부된 뒤 다시 가져온 만큼만 허용
+            assertThat(allowed).isBetween(4, 5);
+        }
+    }
+
+    @Nested
+    @DisplayName("Store Failure Tests")
+    class StoreFailureTests {
+
+        @Test
+        @DisplayName("Should fall back to a per-node limit when the store is down")
+        void shouldFallBackToLocalLimit() throws Exception {
+            // Given
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            RateLimitEngine engine = node(meterRegistry, new RateLimitPolicy("api", List.of("/**"), 10, 60_000, 10));
+            server.close();
+
+            // When
+            int allowed = allowedOf(engine, 30);
+
+            // Then
+            assertThat(allowed).isEqualTo(10);
+            assertThat(meterRegistry.get("beam_rate_limit_store_errors_total").counter().count()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should require a store bean in distributed mode")
+        void shouldRequireStore() {
+            // Given
+            RateLimitEngine engine = new RateLimitEngine(new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(engine, "mode", "distributed");
+
+            // When & Then
+            assertThatThrownBy(() -> engine.configure(List.of()))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("RateLimitStateStore");
+        }
+    }
+}
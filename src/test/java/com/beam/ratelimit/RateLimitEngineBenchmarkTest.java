@@ -0,0 +1,85 @@
+package com.beam.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Per-request overhead of the rate limit engine.
+ *
+ * <p>Run explicitly: {@code mvn test -Dtest=RateLimitEngineBenchmarkTest -Dbeam.benchmark=true}.
+ * Evaluates the default two policies (per second and per minute) with limits
+ * high enough that nothing is rejected, first from one thread, then from
+ * several threads hammering a single client key (worst case CAS contention)
+ * and finally spread over many keys.
+ */
+@EnabledIfSystemProperty(named = "beam.benchmark", matches = "true")
+@DisplayName("Rate Limit Engine Benchmark")
+class RateLimitEngineBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int REQUESTS = 2_000_000;
+    private static final int THREADS = 8;
+    private static final int KEYS = 10_000;
+
+    @Test
+    @DisplayName("Measure evaluate() cost per request")
+    void measureEvaluateOverhead() throws Exception {
+        // Given
+        RateLimitEngine engine = new RateLimitEngine(new SimpleMeterRegistry());
+        engine.configure(List.of(
+                new RateLimitPolicy("per-second", List.of("/**"), 1_000_000_000L, 1000, 1_000_000_000L),
+                new RateLimitPolicy("per-minute", List.of("/**"), 1_000_000_000L, 60_000, 1_000_000_000L)));
+        run(engine, WARMUP, 1, 1);
+
+        // When
+        double singleThread = run(engine, REQUESTS, 1, 1);
+        double hotKey = run(engine, REQUESTS, THREADS, 1);
+        double manyKeys = run(engine, REQUESTS, THREADS, KEYS);
+
+        // Then
+        System.out.printf("Rate limit evaluate ns/request: 1 thread=%.0f, %d threads one key=%.0f, %d threads %d keys=%.0f%n",
+                singleThread, THREADS, hotKey, THREADS, KEYS, manyKeys);
+        assertThat(singleThread).isPositive();
+    }
+
+    // 스레드당 requests / threads 번 평가하고 요청당 평균 경과 시간(ns) 반환
+    private static double run(RateLimitEngine engine, int requests, int threads, int keys) throws Exception {
+        String[] clientKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            clientKeys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int perThread = requests / threads;
+        long start = System.nanoTime();
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                int allowed = 0;
+                for (int i = 0; i < perThread; i++) {
+                    if (engine.evaluate("/api/rooms", clientKeys[(i + offset) % keys]).allowed()) {
+                        allowed++;
+                    }
+                }
+                return allowed;
+            }));
+        }
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return (double) elapsed * threads / ((long) perThread * threads);
+    }
+}
@@ -0,0 +1,302 @@
+package com.beam.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RateLimitEngine Unit Tests")
+class RateLimitEngineTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitEngine engine;
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new RateLimitEngine(meterRegistry);
+        engine.setClock(now::get);
+    }
+
+    private int allowedOf(int requests, String path, String key) {
+        int allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (engine.evaluate(path, key).allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    @Nested
+    @DisplayName("GCRA Tests")
+    class GcraTests {
+
+        @Test
+        @DisplayName("Should allow a burst, then one request per emission interval")
+        void shouldAllowBurstThenSteadyRate() {
+            // Given - 초당 10개, 버스트 5
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/api/**"), 10, 1000, 5)));
+
+            // When & Then
+            assertThat(allowedOf(8, "/api/rooms", "1.1.1.1")).isEqualTo(5);
+
+            now.addAndGet(SECOND / 10);
+            assertThat(allowedOf(3, "/api/rooms", "1.1.1.1")).isEqualTo(1);
+
+            now.addAndGet(SECOND);
+            assertThat(allowedOf(8, "/api/rooms", "1.1.1.1")).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should keep clients independent and report remaining requests")
+        void shouldTrackClientsSeparately() {
+            // Given
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/**"), 3, 1000, 3)));
+
+            // When
+            RateLimitDecision first = engine.evaluate("/api/rooms", "1.1.1.1");
+            allowedOf(5, "/api/rooms", "1.1.1.1");
+            RateLimitDecision other = engine.evaluate("/api/rooms", "2.2.2.2");
+
+            // Then
+            assertThat(first.allowed()).isTrue();
+            assertThat(first.remaining()).isEqualTo(2);
+            assertThat(first.limit()).isEqualTo(3);
+            assertThat(other.allowed()).isTrue();
+            assertThat(engine.evaluate("/api/rooms", "1.1.1.1").allowed()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should never over-admit under concurrent requests of one client")
+        void shouldBeExactUnderContention() throws Exception {
+            // Given - 시계를 멈춰 두고 8 스레드가 동시에 요청 (스케치 단계 없이 모든 키 추적)
+            ReflectionTestUtils.setField(engine, "hotFraction", 0.0);
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/**"), 1000, 60_000, 1000)));
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+
+            // When
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> allowedOf(500, "/api/rooms", "1.1.1.1")));
+            }
+            int allowed = 0;
+            for (Future<Integer> future : futures) {
+                allowed += future.get(10, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            // Then
+            assertThat(allowed).isEqualTo(1000);
+        }
+    }
+
+    @Nested
+    @DisplayName("Policy Tests")
+    class PolicyTests {
+
+        @Test
+        @DisplayName("Should require every matching policy and refund earlier ones on rejection")
+        void shouldEvaluateAllPoliciesInOnePass() {
+            // Given - 전체 분당 100, 로그인 분당 2
+            ReflectionTestUtils.setField(engine, "hotFraction", 0.0);
+            engine.configure(List.of(
+                    new RateLimitPolicy("global", List.of("/**"), 100, 60_000, 100),
+                    new RateLimitPolicy("login", List.of("/api/auth/login"), 2, 60_000, 2)));
+
+            // When
+            int logins = allowedOf(5, "/api/auth/login", "1.1.1.1");
+            RateLimitDecision other = engine.evaluate("/api/rooms", "1.1.1.1");
+
+            // Then - 거부된 로그인 3회는 전체 한도에서 빠지지 않음
+            assertThat(logins).isEqualTo(2);
+            assertThat(other.policy()).isEqualTo("global");
+            assertThat(other.remaining()).isEqualTo(97);
+            assertThat(meterRegistry.get("beam_rate_limit_rejected_total").tag("policy", "login")
+                    .counter().count()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should skip excluded and unmatched paths")
+        void shouldSkipExcludedPaths() {
+            // Given
+            ReflectionTestUtils.setField(engine, "excludePaths", "/api/health");
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/api/**"), 1, 60_000, 1)));
+
+            // When & Then
+            assertThat(allowedOf(5, "/api/health", "1.1.1.1")).isEqualTo(5);
+            assertThat(engine.evaluate("/index.html", "1.1.1.1")).isEqualTo(RateLimitDecision.UNLIMITED);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Cost Tests")
+    class CostTests {
+
+        @Test
+        @DisplayName("Should charge expensive endpoints their weight")
+        void shouldChargeEndpointCost() {
+            // Given - 분당 100, 검색은 20
+            engine.configure(
+                    List.of(new RateLimitPolicy("api", List.of("/**"), 100, 60_000, 100)),
+                    List.of(new RateLimitCost("search", List.of("/api/search/messages"), 20, 0)));
+
+            // When
+            int searches = allowedOf(10, "/api/search/messages", "user:1");
+            RateLimitDecision read = engine.evaluate("/api/rooms", "user:1");
+
+            // Then
+            assertThat(searches).isEqualTo(5);
+            assertThat(read.allowed()).isFalse();
+            assertThat(engine.evaluate("/api/rooms", "user:2").allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should charge uploads by declared size")
+        void shouldChargeUploadBySize() {
+            // Given - 1 + MiB 당 1
+            ReflectionTestUtils.setField(engine, "hotFraction", 0.0);
+            engine.configure(
+                    List.of(new RateLimitPolicy("api", List.of("/**"), 20, 60_000, 20)),
+                    List.of(new RateLimitCost("upload", List.of("/api/files/upload/**"), 1, 1024 * 1024)));
+
+            // When
+            RateLimitDecision small = engine.evaluate("/api/files/upload/room", "user:1", 1000);
+            RateLimitDecision large = engine.evaluate("/api/files/upload/room", "user:1", 5 * 1024 * 1024);
+            RateLimitDecision unknown = engine.evaluate("/api/files/upload/room", "user:1", -1);
+
+            // Then - 2 + 6 + 1
+            assertThat(small.remaining()).isEqualTo(18);
+            assertThat(large.remaining()).isEqualTo(12);
+            assertThat(unknown.remaining()).isEqualTo(11);
+        }
+
+        @Test
+        @DisplayName("Should let a request costing more than the burst drain the bucket")
+        void shouldCapCostAtBurst() {
+            // Given
+            engine.configure(
+                    List.of(new RateLimitPolicy("api", List.of("/**"), 10, 1000, 10)),
+                    List.of(new RateLimitCost("search", List.of("/api/search/**"), 20, 0)));
+
+            // When & Then
+            assertThat(engine.evaluate("/api/search/messages", "user:1").allowed()).isTrue();
+            assertThat(engine.evaluate("/api/rooms", "user:1").allowed()).isFalse();
+
+            now.addAndGet(SECOND);
+            assertThat(engine.evaluate("/api/search/messages", "user:1").allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should report when a rejected request fits again")
+        void shouldComputeRetryAfter() {
+            // Given - 0.1초마다 하나, 버스트 5
+            engine.configure(
+                    List.of(new RateLimitPolicy("api", List.of("/**"), 10, 1000, 5)),
+                    List.of(new RateLimitCost("search", List.of("/api/search/**"), 3, 0)));
+            allowedOf(5, "/api/rooms", "user:1");
+
+            // When
+            RateLimitDecision rejected = engine.evaluate("/api/rooms", "user:1");
+            RateLimitDecision search = engine.evaluate("/api/search/messages", "user:1");
+
+            // Then
+            assertThat(rejected.retryAfterNanos()).isEqualTo(SECOND / 10);
+            assertThat(rejected.retryAfterSeconds()).isEqualTo(1);
+            assertThat(search.retryAfterNanos()).isEqualTo(3 * SECOND / 10);
+
+            now.addAndGet(SECOND / 10);
+            assertThat(engine.evaluate("/api/rooms", "user:1").allowed()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("State Bound Tests")
+    class StateBoundTests {
+
+        @Test
+        @DisplayName("Should allocate state only for heavy hitters")
+        void shouldTrackOnlyHeavyHitters() {
+            // Given - 버스트 10 이면 5번째 요청부터 추적
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/**"), 10, 1000, 10)));
+
+            // When
+            for (int i = 0; i < 1000; i++) {
+                engine.evaluate("/api/rooms", "10.0." + (i / 256) + "." + (i % 256));
+            }
+            int heavy = allowedOf(20, "/api/rooms", "1.1.1.1");
+
+            // Then
+            assertThat(heavy).isEqualTo(10);
+            assertThat(engine.trackedKeys()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should restart counting of light clients every period")
+        void shouldRotateSketchEveryPeriod() {
+            // Given
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/**"), 10, 1000, 10)));
+
+            // When - 주기마다 4번씩만 요청
+            for (int period = 0; period < 5; period++) {
+                assertThat(allowedOf(4, "/api/rooms", "1.1.1.1")).isEqualTo(4);
+                now.addAndGet(SECOND);
+                engine.maintain();
+            }
+
+            // Then
+            assertThat(engine.trackedKeys()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep tracked keys under the configured bound")
+        void shouldBoundTrackedKeys() {
+            // Given
+            ReflectionTestUtils.setField(engine, "hotFraction", 0.0);
+            ReflectionTestUtils.setField(engine, "maxKeys", 100L);
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/**"), 10, 1000, 10)));
+
+            // When
+            for (int i = 0; i < 5000; i++) {
+                engine.evaluate("/api/rooms", "10.0." + (i / 256) + "." + (i % 256));
+            }
+            engine.maintain();
+
+            // Then
+            assertThat(engine.trackedKeys()).isLessThanOrEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should drop state once a client has fully recovered")
+        void shouldExpireRecoveredKeys() {
+            // Given
+            engine.configure(List.of(new RateLimitPolicy("api", List.of("/**"), 10, 1000, 10)));
+            allowedOf(10, "/api/rooms", "2.2.2.2");
+
+            // When & Then - 버스트를 다 쓴 키는 1초 뒤 회복
+            now.addAndGet(SECOND / 2);
+            engine.maintain();
+            assertThat(engine.trackedKeys()).isEqualTo(1);
+
+            now.addAndGet(SECOND);
+            engine.maintain();
+            assertThat(engine.trackedKeys()).isZero();
+        }
+    }
+}
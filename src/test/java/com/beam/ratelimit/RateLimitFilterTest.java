@@ -0,0 +1,107 @@
+package com.beam.ratelimit;
+
+import com.beam.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-for-rate-limit-filter-tests-at-least-256-bits");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        RateLimitEngine engine = new RateLimitEngine(new SimpleMeterRegistry());
+        engine.setClock(now::get);
+        // 분당 2, 버스트 2 - 30초마다 하나씩 회복
+        engine.configure(List.of(new RateLimitPolicy("api", List.of("/api/**"), 2, 60_000, 2)));
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "rateLimitEngine", engine);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+    }
+
+    private MockHttpServletResponse call(Long userId, String ip) throws Exception {
+        return call(userId == null ? null : jwtUtil.generateToken("user" + userId, userId), ip);
+    }
+
+    private MockHttpServletResponse call(String token, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms");
+        request.setRequestURI("/api/rooms");
+        request.setRemoteAddr(ip);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should limit authenticated users separately behind one IP")
+    void shouldKeyByUserId() throws Exception {
+        // Given - 같은 NAT 뒤의 두 사용자
+        call(1L, "10.0.0.1");
+        call(1L, "10.0.0.1");
+
+        // When
+        MockHttpServletResponse first = call(1L, "10.0.0.1");
+        MockHttpServletResponse second = call(2L, "10.0.0.1");
+        MockHttpServletResponse anonymous = call((Long) null, "10.0.0.1");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(429);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(anonymous.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should send Retry-After derived from the bucket")
+    void shouldSendRetryAfter() throws Exception {
+        // Given
+        call((Long) null, "10.0.0.1");
+        call((Long) null, "10.0.0.1");
+
+        // When
+        now.addAndGet(10_000_000_000L);
+        MockHttpServletResponse rejected = call((Long) null, "10.0.0.1");
+
+        // Then - 다음 하나는 30초 뒤, 10초 지났으므로 20초
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("20");
+        assertThat(rejected.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("Should key forged tokens by IP")
+    void shouldIgnoreInvalidToken() throws Exception {
+        // Given - 서명이 맞지 않는 토큰으로 다른 사용자 행세
+        call(1L, "10.0.0.1");
+        call(1L, "10.0.0.1");
+        JwtUtil otherKey = new JwtUtil();
+        ReflectionTestUtils.setField(otherKey, "secret", "another-secret-key-that-this-server-does-not-trust-at-all");
+        ReflectionTestUtils.setField(otherKey, "expiration", 3_600_000L);
+        String forged = otherKey.generateToken("user1", 1L);
+
+        // When
+        MockHttpServletResponse response = call(forged, "10.0.0.2");
+
+        // Then - 사용자 1 의 한도가 아니라 IP 한도 적용
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(call(1L, "10.0.0.2").getStatus()).isEqualTo(429);
+    }
+}
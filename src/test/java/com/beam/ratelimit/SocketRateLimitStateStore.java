@@ -0,0 +1,133 @@
+package com.beam.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Socket-based stand-in for a shared rate limit store (e.g. Redis) in tests.
+ *
+ * <p>{@link Server} serves a {@link LocalRateLimitStateStore} on a loopback
+ * port; each node under test talks to it through its own client, one line
+ * per lease: {@code LEASE <bucket> <interval> <tolerance> <permits>} answered
+ * by {@code <granted> <remaining> <wait>}.
+ */
+class SocketRateLimitStateStore implements RateLimitStateStore {
+
+    private final int port;
+    private Socket socket;
+    private BufferedReader in;
+    private PrintWriter out;
+
+    SocketRateLimitStateStore(int port) {
+        this.port = port;
+    }
+
+    @Override
+    public synchronized Lease lease(String bucket, long emissionIntervalNanos, long toleranceNanos, long permits) {
+        try {
+            if (socket == null) {
+                socket = new Socket();
+                socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 500);
+                socket.setSoTimeout(500);
+                in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            }
+            out.println("LEASE " + bucket + " " + emissionIntervalNanos + " " + toleranceNanos + " " + permits);
+            String reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("connection closed");
+            }
+            String[] parts = reply.split(" ");
+            return new Lease(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IOException e) {
+            close();
+            throw new RuntimeException("Rate limit store unreachable: " + e.getMessage());
+        }
+    }
+
+    synchronized void close() {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException ignored) {
+            // 이미 끊긴 연결
+        }
+        socket = null;
+    }
+
+    static class Server implements AutoCloseable {
+
+        private final RateLimitStateStore store;
+        private final ServerSocket serverSocket;
+        private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger leases = new AtomicInteger();
+
+        Server(RateLimitStateStore store) throws IOException {
+            this.store = store;
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "rate-limit-store-server");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        int leases() {
+            return leases.get();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket client = serverSocket.accept();
+                    clients.add(client);
+                    Thread handler = new Thread(() -> serve(client), "rate-limit-store-client");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(client.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                String line;
+                while (!serverSocket.isClosed() && (line = in.readLine()) != null) {
+                    String[] parts = line.split(" ");
+                    Lease lease = store.lease(parts[1], Long.parseLong(parts[2]), Long.parseLong(parts[3]),
+                        Long.parseLong(parts[4]));
+                    leases.incrementAndGet();
+                    out.println(lease.granted() + " " + lease.remaining() + " " + lease.waitNanos());
+                }
+            } catch (IOException ignored) {
+                // 클라이언트 연결 종료
+            } finally {
+                clients.remove(client);
+            }
+        }
+    }
+}
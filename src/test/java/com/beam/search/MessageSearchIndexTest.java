@@ -0,0 +1,154 @@
+package com.beam.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MessageSearchIndex Unit Tests")
+class MessageSearchIndexTest {
+
+    private static final Set<String> ROOM_1 = Set.of(IndexedMessage.roomScope(1L));
+
+    @TempDir
+    Path tempDir;
+
+    private MessageSearchIndex openIndex(int flushDocs, int mergeFactor) throws IOException {
+        MessageSearchIndex index = new MessageSearchIndex(tempDir, flushDocs, mergeFactor);
+        index.open();
+        return index;
+    }
+
+    private static IndexedMessage roomMessage(long id, long roomId, String content) {
+        return new IndexedMessage(IndexedMessage.Kind.ROOM, id, IndexedMessage.roomScope(roomId), id * 1000, content);
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::messageId).toList();
+    }
+
+    @Nested
+    @DisplayName("Tokenizer Tests")
+    class TokenizerTests {
+
+        @Test
+        @DisplayName("Should split Hangul into bigrams and other text into lower-cased words")
+        void shouldTokenizeMixedText() {
+            // When
+            Set<String> terms = HangulNgramTokenizer.indexTerms("점심 밥먹자 Hello, API2");
+
+            // Then
+            assertThat(terms).containsExactlyInAnyOrder("점심", "심", "밥먹", "먹자", "자", "hello", "api2");
+            assertThat(HangulNgramTokenizer.queryTerms("밥먹자")).containsExactly("밥먹", "먹자");
+            assertThat(HangulNgramTokenizer.queryTerms("?!")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should find Hangul substrings and word prefixes newest first")
+        void shouldFindSubstringsAndPrefixes() throws Exception {
+            // Given
+            MessageSearchIndex index = openIndex(100, 4);
+            index.add(roomMessage(1, 1L, "오늘 점심 밥먹자"));
+            index.add(roomMessage(2, 1L, "내일 저녁 먹자"));
+            index.add(roomMessage(3, 1L, "hello world"));
+
+            // When & Then
+            assertThat(ids(index.search("먹자", IndexedMessage.Kind.ROOM, ROOM_1))).containsExactly(2L, 1L);
+            assertThat(ids(index.search("밥먹자", IndexedMessage.Kind.ROOM, ROOM_1))).containsExactly(1L);
+            assertThat(ids(index.search("밥", IndexedMessage.Kind.ROOM, ROOM_1))).containsExactly(1L);
+            assertThat(ids(index.search("HEL", IndexedMessage.Kind.ROOM, ROOM_1))).containsExactly(3L);
+            assertThat(index.search("저녁밥", IndexedMessage.Kind.ROOM, ROOM_1)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should only return messages in the caller's scopes and kind")
+        void shouldFilterByScopeAndKind() throws Exception {
+            // Given
+            MessageSearchIndex index = openIndex(100, 4);
+            index.add(roomMessage(1, 1L, "회의 자료"));
+            index.add(roomMessage(2, 2L, "회의 자료"));
+            index.add(new IndexedMessage(IndexedMessage.Kind.DM, 1, IndexedMessage.dmScope("1_2"), 1000, "회의 자료"));
+
+            // When & Then
+            assertThat(index.search("회의", IndexedMessage.Kind.ROOM, ROOM_1))
+                    .extracting(SearchHit::scope).containsExactly("room:1");
+            assertThat(index.search("회의", IndexedMessage.Kind.DM, Set.of("dm:1_2")))
+                    .extracting(SearchHit::kind).containsExactly(IndexedMessage.Kind.DM);
+            assertThat(index.search("회의", IndexedMessage.Kind.ROOM, Set.of())).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Segment Tests")
+    class SegmentTests {
+
+        @Test
+        @DisplayName("Should persist flushed segments and reload them")
+        void shouldReloadSegments() throws Exception {
+            // Given
+            MessageSearchIndex index = openIndex(2, 8);
+            for (int i = 1; i <= 5; i++) {
+                index.add(roomMessage(i, 1L, "메시지 " + i));
+            }
+            index.close();
+
+            // When
+            MessageSearchIndex reopened = openIndex(2, 8);
+
+            // Then
+            assertThat(reopened.segmentCount()).isEqualTo(3);
+            assertThat(reopened.maxPersistedMessageId(IndexedMessage.Kind.ROOM)).isEqualTo(5L);
+            assertThat(ids(reopened.search("메시", IndexedMessage.Kind.ROOM, ROOM_1))).containsExactly(5L, 4L, 3L, 2L, 1L);
+        }
+
+        @Test
+        @DisplayName("Should merge small segments and report re-indexed messages once")
+        void shouldMergeSegments() throws Exception {
+            // Given - 같은 메시지를 두 번 색인 (재기동 후 따라잡기 겹침)
+            MessageSearchIndex index = openIndex(1, 2);
+            index.add(roomMessage(1, 1L, "배포 완료"));
+            index.add(roomMessage(2, 1L, "배포 시작"));
+            index.add(roomMessage(1, 1L, "배포 완료"));
+
+            // When
+            boolean merged = index.maybeMerge();
+
+            // Then
+            assertThat(merged).isTrue();
+            assertThat(index.segmentCount()).isEqualTo(2);
+            assertThat(ids(index.search("배포", IndexedMessage.Kind.ROOM, ROOM_1))).containsExactly(2L, 1L);
+            try (var files = Files.list(tempDir)) {
+                assertThat(files.count()).isEqualTo(2);
+            }
+        }
+
+        @Test
+        @DisplayName("Should start empty when a segment is corrupt")
+        void shouldRebuildWhenCorrupt() throws Exception {
+            // Given
+            MessageSearchIndex index = openIndex(1, 8);
+            index.add(roomMessage(1, 1L, "안녕하세요"));
+            Files.write(tempDir.resolve("seg-000009.idx"), new byte[] {1, 2, 3});
+
+            // When
+            MessageSearchIndex reopened = openIndex(1, 8);
+
+            // Then
+            assertThat(reopened.segmentCount()).isZero();
+            assertThat(reopened.maxPersistedMessageId(IndexedMessage.Kind.ROOM)).isZero();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.beam.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SearchFanOut Unit Tests")
+class SearchFanOutTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchFanOut searchFanOut;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchFanOut = new SearchFanOut(meterRegistry);
+        ReflectionTestUtils.setField(searchFanOut, "threads", 4);
+        ReflectionTestUtils.setField(searchFanOut, "deadlineMs", 200L);
+        searchFanOut.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        searchFanOut.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run sources in parallel and return all results before the deadline")
+    void shouldCollectAllSources() {
+        // Given - 네 소스가 서로를 기다려야 끝나므로 순차 실행이면 마감을 넘김
+        CountDownLatch started = new CountDownLatch(4);
+        List<SearchFanOut.Source<Integer>> sources = List.of(1, 2, 3, 4).stream()
+                .map(n -> new SearchFanOut.Source<>("room", () -> {
+                    started.countDown();
+                    await(started);
+                    return List.of(n);
+                }))
+                .toList();
+
+        // When
+        SearchFanOut.Result<Integer> result = searchFanOut.collect(sources);
+
+        // Then
+        assertThat(result.partial()).isFalse();
+        assertThat(result.results()).containsExactly(List.of(1), List.of(2), List.of(3), List.of(4));
+        assertThat(meterRegistry.get("beam_search_source_seconds").tag("outcome", "ok").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop sources that miss the deadline and mark the result partial")
+    void shouldReturnPartialResultsAtDeadline() {
+        // Given
+        List<SearchFanOut.Source<Integer>> sources = List.of(
+                new SearchFanOut.Source<>("dm", () -> List.of(1)),
+                new SearchFanOut.Source<>("room", () -> {
+                    await(release);
+                    return List.of(2);
+                }));
+
+        // When
+        SearchFanOut.Result<Integer> result = searchFanOut.collect(sources);
+
+        // Then
+        assertThat(result.partial()).isTrue();
+        assertThat(result.results()).containsExactly(List.of(1));
+        assertThat(meterRegistry.get("beam_search_source_dropped_total").tag("reason", "timeout").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("beam_search_partial_total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should interrupt sources dropped at the deadline")
+    void shouldInterruptTimedOutSources() throws InterruptedException {
+        // Given - 마감 뒤에도 계속 실행되면 풀 스레드를 붙잡음
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<SearchFanOut.Source<Integer>> sources = List.of(
+                new SearchFanOut.Source<>("room", () -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return List.of(1);
+                }));
+
+        // When
+        SearchFanOut.Result<Integer> result = searchFanOut.collect(sources);
+
+        // Then
+        assertThat(result.partial()).isTrue();
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop failing sources and keep the rest")
+    void shouldSkipFailingSources() {
+        // Given
+        List<SearchFanOut.Source<Integer>> sources = List.of(
+                new SearchFanOut.Source<>("dm", () -> {
+                    throw new RuntimeException("database unavailable");
+                }),
+                new SearchFanOut.Source<>("room", () -> List.of(2)));
+
+        // When
+        SearchFanOut.Result<Integer> result = searchFanOut.collect(sources);
+
+        // Then
+        assertThat(result.partial()).isTrue();
+        assertThat(result.results()).containsExactly(List.of(2));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.beam.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SearchResultCache Unit Tests")
+class SearchResultCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchResultCache cache;
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SearchResultCache(meterRegistry);
+        cache.init();
+    }
+
+    private Supplier<SearchPage> search(boolean partial) {
+        return () -> {
+            searches.incrementAndGet();
+            return new SearchPage(List.of(Map.of("messageId", 1L)), null, partial);
+        };
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("beam_search_cache_requests_total").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated searches from the cache and count hits and misses")
+    void shouldCacheRepeatedSearches() {
+        // When
+        cache.get(1L, "회의", "ALL", 20, search(false));
+        cache.get(1L, "회의", "ALL", 20, search(false));
+        cache.get(2L, "회의", "ALL", 20, search(false));
+
+        // Then
+        assertThat(searches.get()).isEqualTo(2);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache partial results")
+    void shouldNotCachePartialResults() {
+        // When
+        cache.get(1L, "회의", "ALL", 20, search(true));
+        cache.get(1L, "회의", "ALL", 20, search(true));
+
+        // Then
+        assertThat(searches.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should invalidate only matching keywords of affected users and covered types")
+    void shouldInvalidateMatchingEntries() {
+        // Given
+        cache.get(1L, "회의", "ALL", 20, search(false));
+        cache.get(1L, "배포", "ALL", 20, search(false));
+        cache.get(1L, "회의", "DM", 20, search(false));
+        cache.get(2L, "회의", "ALL", 20, search(false));
+        searches.set(0);
+
+        // When - 사용자 1 의 채팅방에 "내일 회의" 도착
+        cache.onRoomMessage(List.of(1L), "내일 회의 10시");
+
+        // Then - 사용자 1 의 전체 "회의" 검색만 다시 실행
+        cache.get(1L, "회의", "ALL", 20, search(false));
+        cache.get(1L, "배포", "ALL", 20, search(false));
+        cache.get(1L, "회의", "DM", 20, search(false));
+        cache.get(2L, "회의", "ALL", 20, search(false));
+        assertThat(searches.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("beam_search_cache_invalidations_total").tag("reason", "message")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop room searches of a user whose membership changed")
+    void shouldInvalidateOnMembershipChange() {
+        // Given
+        cache.get(1L, "회의", "ROOM", 20, search(false));
+        cache.get(1L, "회의", "DM", 20, search(false));
+        searches.set(0);
+
+        // When
+        cache.onMembershipChanged(List.of(1L));
+        cache.get(1L, "회의", "ROOM", 20, search(false));
+        cache.get(1L, "회의", "DM", 20, search(false));
+
+        // Then
+        assertThat(searches.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not store a result invalidated while the search was running")
+    void shouldNotStoreResultInvalidatedDuringSearch() {
+        // When - 검색 도중 일치하는 메시지 도착
+        cache.get(1L, "회의", "ALL", 20, () -> {
+            cache.onDirectMessage(1L, 2L, "회의 자료 공유");
+            return search(false).get();
+        });
+        searches.set(0);
+        cache.get(1L, "회의", "ALL", 20, search(false));
+
+        // Then
+        assertThat(searches.get()).isEqualTo(1);
+    }
+}
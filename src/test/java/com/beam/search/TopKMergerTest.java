@@ -0,0 +1,78 @@
+package com.beam.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TopKMerger / SearchCursor 단위 테스트
+ */
+class TopKMergerTest {
+
+    @Test
+    @DisplayName("병합 - 정렬된 스트림들을 전체 순서대로 k 개만")
+    void merge_returnsFirstKInOrder() {
+        List<Iterator<Integer>> sources = List.of(
+            List.of(9, 6, 3).iterator(),
+            List.of(8, 5, 2).iterator(),
+            List.of(7, 4, 1).iterator());
+
+        List<Integer> top = TopKMerger.merge(sources, Comparator.reverseOrder(), 5);
+
+        assertEquals(List.of(9, 8, 7, 6, 5), top);
+    }
+
+    @Test
+    @DisplayName("조기 종료 - 결과로 나가지 않을 원소는 거의 당기지 않음")
+    void merge_stopsPullingAfterK() {
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Integer> endless = new Iterator<>() {
+            private int next = 1_000_000;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                pulled.incrementAndGet();
+                return next--;
+            }
+        };
+
+        List<Integer> top = TopKMerger.merge(List.of(endless, List.of(999_999).iterator()), Comparator.reverseOrder(), 3);
+
+        assertEquals(List.of(1_000_000, 999_999, 999_999), top);
+        assertTrue(pulled.get() <= 3);
+    }
+
+    @Test
+    @DisplayName("커서 - 인코딩 후 같은 위치로 복원")
+    void cursor_roundTrips() {
+        SearchCursor cursor = new SearchCursor(LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_456_000),
+            IndexedMessage.Kind.ROOM, 42L);
+
+        assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+        assertEquals(SearchCursor.START, SearchCursor.decode(null));
+        assertThrows(RuntimeException.class, () -> SearchCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("커서 - 같은 시각이면 DM 다음 채팅방, 같은 종류는 id 작은 것이 다음 페이지")
+    void cursor_idBoundFollowsResultOrder() {
+        SearchCursor dm = new SearchCursor(LocalDateTime.of(2024, 5, 1, 9, 0), IndexedMessage.Kind.DM, 10L);
+        SearchCursor room = new SearchCursor(LocalDateTime.of(2024, 5, 1, 9, 0), IndexedMessage.Kind.ROOM, 10L);
+
+        assertEquals(10L, dm.idBoundFor(IndexedMessage.Kind.DM));
+        assertEquals(Long.MAX_VALUE, dm.idBoundFor(IndexedMessage.Kind.ROOM));
+        assertEquals(Long.MIN_VALUE, room.idBoundFor(IndexedMessage.Kind.DM));
+    }
+}
@@ -0,0 +1,109 @@
+package com.beam.store;
+
+import com.beam.GroupMessageEntity;
+import com.beam.GroupMessageRepository;
+import com.beam.archive.ArchiveCodecs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sustained insert throughput of the two {@link MessageStore} backends.
+ *
+ * <p>Run explicitly: {@code mvn test -Dtest=MessageStoreBenchmarkTest -Dbeam.benchmark=true}.
+ * The JPA numbers come from the embedded test database; point the test
+ * datasource at PostgreSQL for numbers comparable to production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "beam.benchmark", matches = "true")
+@DisplayName("MessageStore Benchmark")
+class MessageStoreBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int MESSAGES_PER_THREAD = 2_000;
+    private static final int ROOMS = 16;
+
+    @Autowired
+    private GroupMessageRepository groupMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Compare sustained inserts per second")
+    void compareInsertThroughput() throws Exception {
+        // Given
+        MessageStore<GroupMessageEntity> jpa = new JpaGroupMessageStore(groupMessageRepository);
+        SegmentLogMessageStore<GroupMessageEntity> log = new SegmentLogMessageStore<>(tempDir,
+                ArchiveCodecs.GROUP_MESSAGES, m -> String.valueOf(m.getRoomId()), GroupMessageEntity::setId,
+                64 * 1024 * 1024, true);
+        log.open();
+        TransactionTemplate perMessage = new TransactionTemplate(transactionManager);
+
+        // When - 워밍업 후 측정 (메시지마다 커밋 / fsync)
+        run(message -> perMessage.executeWithoutResult(status -> jpa.append(message)), 200);
+        run(log::append, 200);
+        double jpaRate = run(message -> perMessage.executeWithoutResult(status -> jpa.append(message)),
+                MESSAGES_PER_THREAD);
+        double logRate = run(log::append, MESSAGES_PER_THREAD);
+        log.close();
+
+        // Then
+        System.out.printf("MessageStore inserts/s (%d threads): jpa=%.0f log=%.0f (x%.1f)%n",
+                THREADS, jpaRate, logRate, logRate / jpaRate);
+        assertThat(log.count("0")).isEqualTo((long) (200 + MESSAGES_PER_THREAD) * THREADS / ROOMS);
+    }
+
+    private double run(Consumer<GroupMessageEntity> append, int perThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        append.accept(GroupMessageEntity.builder()
+                                .roomId((long) ((thread * perThread + i) % ROOMS))
+                                .senderId((long) thread)
+                                .seq((long) i)
+                                .content("benchmark message " + i + " from " + thread)
+                                .messageType(GroupMessageEntity.MessageType.TEXT)
+                                .timestamp(LocalDateTime.now())
+                                .build());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return (double) THREADS * perThread / ((System.nanoTime() - start) / 1_000_000_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.beam.store;
+
+import com.beam.GroupMessageEntity;
+import com.beam.archive.ArchiveCodecs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SegmentLogMessageStore Unit Tests")
+class SegmentLogMessageStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<SegmentLogMessageStore<GroupMessageEntity>> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(SegmentLogMessageStore::close);
+    }
+
+    private SegmentLogMessageStore<GroupMessageEntity> openStore(int segmentBytes) throws IOException {
+        SegmentLogMessageStore<GroupMessageEntity> store = new SegmentLogMessageStore<>(tempDir,
+                ArchiveCodecs.GROUP_MESSAGES, m -> String.valueOf(m.getRoomId()), GroupMessageEntity::setId,
+                segmentBytes, true);
+        store.open();
+        opened.add(store);
+        return store;
+    }
+
+    private static GroupMessageEntity message(long roomId, String content) {
+        return GroupMessageEntity.builder()
+                .roomId(roomId)
+                .senderId(1L)
+                .content(content)
+                .messageType(GroupMessageEntity.MessageType.TEXT)
+                .timestamp(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Append And Read Tests")
+    class AppendAndReadTests {
+
+        @Test
+        @DisplayName("Should assign ids and serve per-room timelines")
+        void shouldServePerRoomTimelines() throws Exception {
+            // Given
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(1024 * 1024);
+
+            // When
+            for (int i = 1; i <= 5; i++) {
+                store.append(message(1L, "room1-" + i));
+                store.append(message(2L, "room2-" + i));
+            }
+
+            // Then
+            assertThat(store.count("1")).isEqualTo(5);
+            assertThat(store.count("3")).isZero();
+            assertThat(store.findLatest("1", 2)).extracting(GroupMessageEntity::getContent)
+                    .containsExactly("room1-5", "room1-4");
+            assertThat(store.findRange("2", 3, 10)).extracting(GroupMessageEntity::getContent)
+                    .containsExactly("room2-4", "room2-5");
+            assertThat(store.findLatest("2", 1).get(0).getId()).isEqualTo(10L);
+        }
+
+        @Test
+        @DisplayName("Should roll over to new segments")
+        void shouldRollSegments() throws Exception {
+            // Given - 세그먼트 하나에 몇 건만 들어가는 크기
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(512);
+
+            // When
+            for (int i = 0; i < 40; i++) {
+                store.append(message(1L, "message-" + i));
+            }
+
+            // Then
+            try (var files = Files.list(tempDir)) {
+                assertThat(files.count()).isGreaterThan(1);
+            }
+            assertThat(store.findRange("1", 0, 100)).extracting(GroupMessageEntity::getContent)
+                    .startsWith("message-0", "message-1").endsWith("message-39");
+        }
+
+        @Test
+        @DisplayName("Should reject a message larger than a segment")
+        void shouldRejectOversizedMessage() throws Exception {
+            // Given
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(256);
+
+            // When & Then
+            assertThatThrownBy(() -> store.append(message(1L, "x".repeat(1000))))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageStartingWith("Message too large for log segment");
+        }
+    }
+
+    @Nested
+    @DisplayName("Transaction Tests")
+    class TransactionTests {
+
+        // 트랜잭션 동기화 안에서 append 후 커밋 또는 롤백 콜백 실행
+        private GroupMessageEntity appendInTransaction(SegmentLogMessageStore<GroupMessageEntity> store,
+                                                       GroupMessageEntity message, boolean commit) {
+            String roomId = String.valueOf(message.getRoomId());
+            long before = store.count(roomId);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                GroupMessageEntity appended = store.append(message);
+                // 커밋 전에는 보이지 않음
+                assertThat(store.count(roomId)).isEqualTo(before);
+
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                if (commit) {
+                    synchronizations.forEach(TransactionSynchronization::afterCommit);
+                }
+                int status = commit ? TransactionSynchronization.STATUS_COMMITTED
+                        : TransactionSynchronization.STATUS_ROLLED_BACK;
+                synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+                return appended;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Should write before commit and publish after it")
+        void shouldPublishAfterCommit() throws Exception {
+            // Given
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(64 * 1024);
+
+            // When
+            GroupMessageEntity committed = appendInTransaction(store, message(1L, "committed"), true);
+
+            // Then
+            assertThat(store.count("1")).isEqualTo(1);
+            assertThat(store.findById(committed.getId())).get()
+                    .extracting(GroupMessageEntity::getContent).isEqualTo("committed");
+        }
+
+        @Test
+        @DisplayName("Should keep rolled back messages hidden after restart")
+        void shouldHideRolledBackMessages() throws Exception {
+            // Given
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(64 * 1024);
+            appendInTransaction(store, message(1L, "kept"), true);
+            GroupMessageEntity rolledBack = appendInTransaction(store, message(1L, "rolled back"), false);
+            appendInTransaction(store, message(1L, "after"), true);
+            store.close();
+
+            // When
+            SegmentLogMessageStore<GroupMessageEntity> reopened = openStore(64 * 1024);
+
+            // Then
+            assertThat(reopened.findRange("1", 0, 10)).extracting(GroupMessageEntity::getContent)
+                    .containsExactly("kept", "after");
+            assertThat(reopened.findById(rolledBack.getId())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should continue ids after the rows already in the table")
+        void shouldReserveIds() throws Exception {
+            // Given
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(64 * 1024);
+
+            // When
+            store.reserveIds(500L);
+            GroupMessageEntity appended = store.append(message(1L, "first"));
+
+            // Then
+            assertThat(appended.getId()).isEqualTo(501L);
+            assertThat(store.findById(501L)).isPresent();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery Tests")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Should rebuild index and id sequence on reopen")
+        void shouldRebuildOnReopen() throws Exception {
+            // Given
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(512);
+            for (int i = 0; i < 20; i++) {
+                store.append(message(i % 2 == 0 ? 1L : 2L, "m" + i));
+            }
+            store.close();
+
+            // When
+            SegmentLogMessageStore<GroupMessageEntity> reopened = openStore(512);
+            GroupMessageEntity next = reopened.append(message(1L, "after"));
+
+            // Then
+            assertThat(reopened.count("1")).isEqualTo(11);
+            assertThat(reopened.count("2")).isEqualTo(10);
+            assertThat(next.getId()).isEqualTo(21L);
+            assertThat(reopened.findLatest("1", 2)).extracting(GroupMessageEntity::getContent)
+                    .containsExactly("after", "m18");
+        }
+
+        @Test
+        @DisplayName("Should truncate a torn tail and keep appending after it")
+        void shouldTruncateTornTail() throws Exception {
+            // Given
+            SegmentLogMessageStore<GroupMessageEntity> store = openStore(64 * 1024);
+            store.append(message(1L, "first"));
+            store.append(message(1L, "second"));
+            store.close();
+            corruptLastRecordChecksum(tempDir.resolve("00000001.log"));
+
+            // When
+            SegmentLogMessageStore<GroupMessageEntity> recovered = openStore(64 * 1024);
+            recovered.append(message(1L, "third"));
+            recovered.close();
+            SegmentLogMessageStore<GroupMessageEntity> reopened = openStore(64 * 1024);
+
+            // Then
+            assertThat(reopened.findRange("1", 0, 10)).extracting(GroupMessageEntity::getContent)
+                    .containsExactly("first", "third");
+        }
+
+        private void corruptLastRecordChecksum(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(4);
+                channel.read(header, 0);
+                int second = 8 + header.flip().getInt();
+                channel.write(ByteBuffer.allocate(4).putInt(0, 0xDEADBEEF), second + 4);
+            }
+        }
+    }
+}
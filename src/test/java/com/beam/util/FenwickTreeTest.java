@@ -0,0 +1,68 @@
+package com.beam.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FenwickTree 단위 테스트
+ */
+class FenwickTreeTest {
+
+    @Test
+    @DisplayName("누적 합 - 단순 배열 합과 일치")
+    void prefixSum_matchesNaiveSum() {
+        Random random = new Random(42);
+        int[] values = new int[200];
+        FenwickTree tree = new FenwickTree(values.length);
+
+        for (int i = 0; i < 2_000; i++) {
+            int position = random.nextInt(values.length);
+            int delta = random.nextInt(7) - 3;
+            values[position] += delta;
+            tree.add(position, delta);
+        }
+
+        int expected = 0;
+        for (int i = 0; i < values.length; i++) {
+            expected += values[i];
+            assertEquals(expected, tree.prefixSum(i));
+        }
+    }
+
+    @Test
+    @DisplayName("배열로 구성 - add 로 쌓은 것과 동일")
+    void of_buildsSameTreeAsAdds() {
+        int[] counts = {3, 0, 1, 4, 1, 5, 9, 2, 6};
+        FenwickTree built = FenwickTree.of(counts);
+        FenwickTree added = new FenwickTree(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            added.add(i, counts[i]);
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals(added.prefixSum(i), built.prefixSum(i));
+        }
+    }
+
+    @Test
+    @DisplayName("범위 밖 누적 합 - 음수는 0, 끝 이후는 전체 합")
+    void prefixSum_outOfRange() {
+        FenwickTree tree = FenwickTree.of(new int[]{1, 2, 3});
+
+        assertEquals(0, tree.prefixSum(-1));
+        assertEquals(6, tree.prefixSum(100));
+    }
+
+    @Test
+    @DisplayName("범위 밖 갱신 - 예외")
+    void add_outOfRange_throws() {
+        FenwickTree tree = new FenwickTree(4);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.add(4, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.add(-1, 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.beam.websocket;
+
+import com.beam.ChatMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadUpdateBroadcaster Unit Tests")
+class ReadUpdateBroadcasterTest {
+
+    @Mock
+    private WebSocketMessageSender messageSender;
+
+    @Mock
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @InjectMocks
+    private ReadUpdateBroadcaster broadcaster;
+
+    @Nested
+    @DisplayName("Group Room Tests")
+    class GroupRoomTests {
+
+        @Test
+        @DisplayName("Should send one frame per room with the newest watermark of each reader")
+        @SuppressWarnings("unchecked")
+        void shouldCoalescePerRoom() {
+            // Given
+            broadcaster.recordGroupRead(1L, 10L, 5);
+            broadcaster.recordGroupRead(1L, 10L, 9);
+            broadcaster.recordGroupRead(1L, 10L, 7);
+            broadcaster.recordGroupRead(1L, 11L, 3);
+            broadcaster.recordGroupRead(2L, 10L, 4);
+
+            // When
+            broadcaster.flush();
+
+            // Then
+            ArgumentCaptor<Object> frame = ArgumentCaptor.forClass(Object.class);
+            verify(messagingTemplate).convertAndSend(eq("/topic/room.1.read-receipts"), frame.capture());
+            verify(messagingTemplate).convertAndSend(eq("/topic/room.2.read-receipts"), any(Object.class));
+            Map<String, Object> payload = (Map<String, Object>) frame.getValue();
+            assertThat(payload).containsEntry("type", "READ_UPDATE").containsEntry("roomId", 1L);
+            assertThat((Map<Long, Long>) payload.get("watermarks")).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 9L, 11L, 3L));
+        }
+
+        @Test
+        @DisplayName("Should send nothing when no reads happened in the window")
+        void shouldStayQuietWithoutReads() {
+            // Given
+            broadcaster.recordGroupRead(1L, 10L, 5);
+            broadcaster.flush();
+
+            // When
+            broadcaster.flush();
+
+            // Then
+            verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Legacy Room Tests")
+    class LegacyRoomTests {
+
+        @Test
+        @DisplayName("Should broadcast one readUpdate message carrying the watermark map")
+        void shouldBroadcastReadUpdate() throws Exception {
+            // Given
+            when(messageSender.getCurrentTimestamp()).thenReturn("12:00:00");
+            broadcaster.recordRoomRead("general", 1L, 40);
+            broadcaster.recordRoomRead("general", 2L, 42);
+
+            // When
+            broadcaster.flush();
+
+            // Then
+            ArgumentCaptor<ChatMessage> message = ArgumentCaptor.forClass(ChatMessage.class);
+            verify(messageSender, times(1)).broadcastToRoom(eq("general"), message.capture());
+            assertThat(message.getValue().getType()).isEqualTo("readUpdate");
+            assertThat(message.getValue().getContent()).contains("\"1\":40").contains("\"2\":42");
+        }
+    }
+}